@@ -0,0 +1,49 @@
+package com.tasky.api.configurations.cache;
+
+import com.tasky.api.models.Feature;
+import com.tasky.api.models.Project;
+import com.tasky.api.models.Run;
+import org.hibernate.cfg.AvailableSettings;
+
+/**
+ * The regions of the second-level cache, each holding the rows of an entity or the elements of a collection.
+ * Caching is declared through the Hibernate settings of the regions instead of annotations on the entities,
+ * so that every region can be turned off from the configuration.
+ */
+public enum CacheRegion {
+    PROJECT("project", AvailableSettings.CLASS_CACHE_PREFIX + "." + Project.class.getName()),
+    RUN("run", AvailableSettings.CLASS_CACHE_PREFIX + "." + Run.class.getName()),
+    FEATURE("feature", AvailableSettings.CLASS_CACHE_PREFIX + "." + Feature.class.getName()),
+    PROJECT_USERS("project-users", AvailableSettings.COLLECTION_CACHE_PREFIX + "." + Project.class.getName() + ".users");
+
+    private static final String CONCURRENCY_STRATEGY = "read-write";
+
+    private final String regionName;
+    private final String setting;
+
+    CacheRegion(String regionName, String setting) {
+        this.regionName = regionName;
+        this.setting = setting;
+    }
+
+    /**
+     * @return The name of the region, used for its configuration, its JCache cache and its meters.
+     */
+    public String getRegionName() {
+        return regionName;
+    }
+
+    /**
+     * @return The Hibernate setting declaring the entity or the collection as cached.
+     */
+    public String getSetting() {
+        return setting;
+    }
+
+    /**
+     * @return The value of the setting, the concurrency strategy followed by the name of the region.
+     */
+    public String getSettingValue() {
+        return CONCURRENCY_STRATEGY + "," + regionName;
+    }
+}
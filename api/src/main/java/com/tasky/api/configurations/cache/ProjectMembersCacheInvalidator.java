@@ -0,0 +1,73 @@
+package com.tasky.api.configurations.cache;
+
+import com.tasky.api.models.Project;
+import com.tasky.api.models.User;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.CollectionEntry;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+
+/**
+ * Evicts the cached members of projects when the projects of a user change.
+ * Memberships are written through User.projects, the owning side of the association, and Hibernate only keeps
+ * the cache of the collection being written, so the cached Project.users would keep the old members.
+ * Memberships rarely change, so the whole region is evicted once the transaction is over.
+ */
+public class ProjectMembersCacheInvalidator implements
+        PostCollectionRecreateEventListener,
+        PostCollectionUpdateEventListener,
+        PostCollectionRemoveEventListener {
+
+    private static final String OWNING_ROLE = User.class.getName() + ".projects";
+    private static final String CACHED_ROLE = Project.class.getName() + ".users";
+
+    private final CacheImplementor cache;
+
+    /**
+     * Constructs a ProjectMembersCacheInvalidator.
+     *
+     * @param cache The second-level cache of the session factory.
+     */
+    public ProjectMembersCacheInvalidator(CacheImplementor cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Registers the listener on the collection events of a session factory.
+     *
+     * @param registry The event listener registry of the session factory.
+     */
+    public void register(EventListenerRegistry registry) {
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        if(!event.getCollection().empty()) {
+            evictAfterCompletion(event);
+        }
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        evictAfterCompletion(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        evictAfterCompletion(event);
+    }
+
+    private void evictAfterCompletion(AbstractCollectionEvent event) {
+        CollectionEntry entry = event.getSession().getPersistenceContextInternal().getCollectionEntry(event.getCollection());
+        if(entry == null || !OWNING_ROLE.equals(entry.getRole())) {
+            return;
+        }
+        event.getSession().getActionQueue().registerProcess(
+                (AfterTransactionCompletionProcess) (success, session) -> cache.evictCollectionData(CACHED_ROLE)
+        );
+    }
+}
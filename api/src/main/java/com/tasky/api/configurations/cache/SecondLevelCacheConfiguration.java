@@ -0,0 +1,131 @@
+package com.tasky.api.configurations.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Configuration of the Hibernate second-level cache, kept in process by Ehcache through JCache.
+ * Projects, runs, features and the members of projects are read by most requests and rarely change,
+ * so their rows are cached by ID in bounded regions whose entries expire after a TTL.
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfiguration {
+
+    /**
+     * Creates the cache manager holding a bounded cache per enabled region.
+     * Each application context gets its own manager, so closing one never clears the regions of another.
+     *
+     * @param properties The settings of the second-level cache.
+     * @return A CacheManager instance.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(SecondLevelCacheProperties properties) {
+        ConfigurationBuilder configuration = ConfigurationBuilder.newConfigurationBuilder();
+
+        for(CacheRegion region : enabledRegions(properties)) {
+            SecondLevelCacheProperties.Region settings = properties.region(region);
+            configuration = configuration.withCache(
+                    region.getRegionName(),
+                    CacheConfigurationBuilder
+                            .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(settings.size()))
+                            .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(settings.ttlSeconds())))
+            );
+        }
+
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        return provider.getCacheManager(
+                URI.create("urn:tasky:second-level-cache:" + UUID.randomUUID()),
+                configuration.build()
+        );
+    }
+
+    /**
+     * Declares the enabled regions to Hibernate and hands it the cache manager.
+     * Statistics are generated only when the cache is on, to publish the hit ratios of the regions.
+     *
+     * @param properties The settings of the second-level cache.
+     * @param secondLevelCacheManager The cache manager holding the regions.
+     * @return A HibernatePropertiesCustomizer instance.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            SecondLevelCacheProperties properties,
+            CacheManager secondLevelCacheManager
+    ) {
+        return hibernateProperties -> {
+            List<CacheRegion> regions = enabledRegions(properties);
+            if(regions.isEmpty()) {
+                hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                return;
+            }
+
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            regions.forEach(region -> hibernateProperties.put(region.getSetting(), region.getSettingValue()));
+        };
+    }
+
+    /**
+     * Creates the meters of the enabled regions.
+     *
+     * @param properties The settings of the second-level cache.
+     * @param entityManagerFactory The EntityManagerFactory owning the second-level cache.
+     * @return A SecondLevelCacheMetrics instance.
+     */
+    @Bean
+    public SecondLevelCacheMetrics secondLevelCacheMetrics(
+            SecondLevelCacheProperties properties,
+            EntityManagerFactory entityManagerFactory
+    ) {
+        return new SecondLevelCacheMetrics(entityManagerFactory, enabledRegions(properties));
+    }
+
+    /**
+     * Creates the listener evicting the cached members of projects, registered only when their region is enabled.
+     *
+     * @param properties The settings of the second-level cache.
+     * @param entityManagerFactory The EntityManagerFactory owning the second-level cache.
+     * @return A ProjectMembersCacheInvalidator instance.
+     */
+    @Bean
+    public ProjectMembersCacheInvalidator projectMembersCacheInvalidator(
+            SecondLevelCacheProperties properties,
+            EntityManagerFactory entityManagerFactory
+    ) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        ProjectMembersCacheInvalidator invalidator = new ProjectMembersCacheInvalidator(sessionFactory.getCache());
+
+        if(properties.isEnabled(CacheRegion.PROJECT_USERS)) {
+            invalidator.register(sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class));
+        }
+        return invalidator;
+    }
+
+    private static List<CacheRegion> enabledRegions(SecondLevelCacheProperties properties) {
+        return Arrays.stream(CacheRegion.values()).filter(properties::isEnabled).toList();
+    }
+}
@@ -0,0 +1,81 @@
+package com.tasky.api.configurations.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.lang.NonNull;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the hit, miss and put counters and the hit ratio of the enabled regions of the second-level cache
+ * to the actuator metrics endpoint, from the statistics of Hibernate.
+ */
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final List<CacheRegion> regions;
+
+    /**
+     * Constructs a SecondLevelCacheMetrics.
+     *
+     * @param entityManagerFactory The EntityManagerFactory owning the second-level cache.
+     * @param regions The enabled regions.
+     */
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory, List<CacheRegion> regions) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.regions = regions;
+    }
+
+    /**
+     * Registers the meters of every enabled region.
+     *
+     * @param registry The meter registry of the application.
+     */
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for(CacheRegion region : regions) {
+            String name = region.getRegionName();
+
+            counter(registry, statistics, name, "cache.gets", CacheRegionStatistics::getHitCount, "hit", "The number of rows served from the region");
+            counter(registry, statistics, name, "cache.gets", CacheRegionStatistics::getMissCount, "miss", "The number of rows looked up in the region and read from the database");
+            counter(registry, statistics, name, "cache.puts", CacheRegionStatistics::getPutCount, null, "The number of rows put into the region");
+            Gauge.builder("cache.hit.ratio", statistics, s -> hitRatio(s.getDomainDataRegionStatistics(name)))
+                    .tags("cache", name)
+                    .description("The share of the lookups of the region served from the cache")
+                    .register(registry);
+        }
+    }
+
+    private static void counter(
+            MeterRegistry registry,
+            Statistics statistics,
+            String name,
+            String meter,
+            ToDoubleFunction<CacheRegionStatistics> count,
+            String result,
+            String description
+    ) {
+        FunctionCounter.Builder<Statistics> builder = FunctionCounter
+                .builder(meter, statistics, s -> count.applyAsDouble(s.getDomainDataRegionStatistics(name)))
+                .tags("cache", name)
+                .description(description);
+        if(result != null) {
+            builder.tags("result", result);
+        }
+        builder.register(registry);
+    }
+
+    private static double hitRatio(CacheRegionStatistics statistics) {
+        long lookups = statistics.getHitCount() + statistics.getMissCount();
+        return lookups == 0 ? 0 : (double) statistics.getHitCount() / lookups;
+    }
+}
@@ -0,0 +1,55 @@
+package com.tasky.api.configurations.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Settings of the second-level cache, bound from server.second-level-cache.
+ *
+ * @param enabled False to turn off the second-level cache as a whole.
+ * @param regions The settings of the regions, keyed by region name. Missing regions use the default settings.
+ */
+@ConfigurationProperties("server.second-level-cache")
+public record SecondLevelCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue Map<String, Region> regions
+) {
+
+    private static final Region DEFAULT_REGION = new Region(true, 10000, 600);
+
+    /**
+     * Retrieves the settings of a region.
+     *
+     * @param region The region.
+     * @return The configured settings of the region, or the default ones.
+     */
+    public Region region(CacheRegion region) {
+        return regions.getOrDefault(region.getRegionName(), DEFAULT_REGION);
+    }
+
+    /**
+     * Checks whether a region caches its rows.
+     *
+     * @param region The region.
+     * @return True if both the second-level cache and the region are enabled.
+     */
+    public boolean isEnabled(CacheRegion region) {
+        return enabled && region(region).enabled();
+    }
+
+    /**
+     * Settings of a region.
+     *
+     * @param enabled False to stop caching the entity or the collection of the region.
+     * @param size The maximum number of entries kept in the region.
+     * @param ttlSeconds The number of seconds an entry stays cached, which bounds how stale another instance can be.
+     */
+    public record Region(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("10000") long size,
+            @DefaultValue("600") long ttlSeconds
+    ) {
+    }
+}
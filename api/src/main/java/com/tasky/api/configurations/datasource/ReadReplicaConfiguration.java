@@ -0,0 +1,110 @@
+package com.tasky.api.configurations.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of the datasource, routing read-only transactions to streaming replicas when some are configured.
+ * The primary pool is the one Spring Boot would create, and every replica gets a read-only pool with the same settings,
+ * except that it gives up waiting for a connection after a health check period, so reads fall back to the primary early.
+ * Without replicas the primary pool is the datasource of the application.
+ */
+@Configuration
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaConfiguration {
+
+    /**
+     * Creates the connection pool of the primary, configured by spring.datasource.
+     *
+     * @param dataSourceProperties The settings of the primary datasource.
+     * @return A HikariDataSource instance.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Creates the monitor of the replicas and their connection pools.
+     *
+     * @param properties The settings of the read replicas.
+     * @param dataSourceProperties The settings of the primary datasource, whose login is the default one of the replicas.
+     * @param primaryDataSource The connection pool of the primary, whose settings are copied to the replicas.
+     * @return A ReplicaHealthMonitor instance.
+     */
+    @Bean(destroyMethod = "close")
+    public ReplicaHealthMonitor replicaHealthMonitor(
+            ReadReplicaProperties properties,
+            DataSourceProperties dataSourceProperties,
+            HikariDataSource primaryDataSource
+    ) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        for(ReadReplicaProperties.Replica replica : properties.replicas()) {
+            HikariDataSource pool = new HikariDataSource();
+            primaryDataSource.copyStateTo(pool);
+            pool.setPoolName("replica-" + pools.size());
+            pool.setJdbcUrl(replica.url());
+            pool.setUsername(StringUtils.hasText(replica.username()) ? replica.username() : dataSourceProperties.determineUsername());
+            pool.setPassword(StringUtils.hasText(replica.password()) ? replica.password() : dataSourceProperties.determinePassword());
+            pool.setReadOnly(true);
+            pool.setConnectionTimeout(Math.max(250, Math.min(primaryDataSource.getConnectionTimeout(), properties.healthCheckMillis())));
+            pools.add(pool);
+        }
+        return new ReplicaHealthMonitor(pools, properties.maxLagSeconds(), properties.healthCheckMillis());
+    }
+
+    /**
+     * Creates the datasource of the application.
+     *
+     * @param properties The settings of the read replicas.
+     * @param primaryDataSource The connection pool of the primary.
+     * @param replicaHealthMonitor The monitor picking the healthy replicas.
+     * @return The primary pool, or a lazy proxy over a routing datasource when replicas are configured.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            ReadReplicaProperties properties,
+            HikariDataSource primaryDataSource,
+            ReplicaHealthMonitor replicaHealthMonitor
+    ) {
+        if(!properties.isEnabled()) {
+            return primaryDataSource;
+        }
+        return new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(primaryDataSource, replicaHealthMonitor));
+    }
+
+    /**
+     * Releases the connection of a session once each transaction is over when replicas are configured,
+     * instead of holding it until the end of the request, so every transaction is routed on its own.
+     *
+     * @param properties The settings of the read replicas.
+     * @return A HibernatePropertiesCustomizer instance.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer readReplicaCustomizer(ReadReplicaProperties properties) {
+        return hibernateProperties -> {
+            if(properties.isEnabled()) {
+                hibernateProperties.put(
+                        AvailableSettings.CONNECTION_HANDLING,
+                        PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION
+                );
+            }
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package com.tasky.api.configurations.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Settings of the read replicas, bound from server.read-replicas.
+ *
+ * @param replicas The streaming replicas of the primary datasource. Without replicas every statement goes to the primary.
+ * @param maxLagSeconds The replay lag, in seconds, beyond which a replica stops serving reads until it catches up.
+ * @param healthCheckMillis The number of milliseconds between two checks of the lag of every replica.
+ */
+@ConfigurationProperties("server.read-replicas")
+public record ReadReplicaProperties(
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("5") double maxLagSeconds,
+        @DefaultValue("1000") long healthCheckMillis
+) {
+
+    /**
+     * Checks whether reads can be routed to replicas.
+     *
+     * @return True if at least one replica is configured.
+     */
+    public boolean isEnabled() {
+        return !replicas.isEmpty();
+    }
+
+    /**
+     * Settings of a replica.
+     *
+     * @param url The JDBC URL of the replica.
+     * @param username The login of the replica, the one of the primary if empty.
+     * @param password The password of the replica, the one of the primary if empty.
+     */
+    public record Replica(String url, String username, String password) {
+    }
+}
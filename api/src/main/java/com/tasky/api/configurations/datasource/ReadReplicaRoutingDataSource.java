@@ -0,0 +1,68 @@
+package com.tasky.api.configurations.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * DataSource handing out connections to a replica for the read-only transactions allowed by {@link ReadRouting},
+ * and to the primary for everything else. A write transaction marks its request, so the reads following it
+ * in the same request see it. The replica is picked once per request, so two read-only transactions of a request,
+ * such as the read of a validator and the read of the body, see the same replica.
+ * When no replica is healthy, or the picked one fails, reads fall back to the primary for the rest of the request.
+ * It must be wrapped in a LazyConnectionDataSourceProxy, so the connection is only fetched once the transaction
+ * started and its read-only flag is known.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final ReplicaHealthMonitor replicaHealthMonitor;
+
+    /**
+     * Constructs a ReadReplicaRoutingDataSource.
+     *
+     * @param primary The DataSource of the primary.
+     * @param replicaHealthMonitor The ReplicaHealthMonitor picking the healthy replicas.
+     */
+    public ReadReplicaRoutingDataSource(DataSource primary, ReplicaHealthMonitor replicaHealthMonitor) {
+        this.primary = primary;
+        this.replicaHealthMonitor = replicaHealthMonitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Optional<DataSource> replica = determineReplica();
+        if(replica.isPresent()) {
+            try {
+                return replica.get().getConnection();
+            } catch (SQLException e) {
+                replicaHealthMonitor.markUnhealthy(replica.get());
+                ReadRouting.dropReplicaOfRequest();
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    private Optional<DataSource> determineReplica() {
+        if(!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if(TransactionSynchronizationManager.isActualTransactionActive()) {
+                ReadRouting.markWritten();
+            }
+            return Optional.empty();
+        }
+
+        if(!ReadRouting.isReplicaAllowed()) {
+            return Optional.empty();
+        }
+        return ReadRouting.replicaOfRequest(replicaHealthMonitor::pick);
+    }
+}
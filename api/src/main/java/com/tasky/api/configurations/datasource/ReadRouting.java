@@ -0,0 +1,110 @@
+package com.tasky.api.configurations.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Decides whether a read-only transaction may be served by a replica.
+ * Replicas only serve the read-only transactions of GET and HEAD requests that did not write yet:
+ * the reads of a request that changes data load the rows it is about to write, so they must see the latest commit,
+ * and background threads, having no request, always read the primary.
+ * Loads whose results are cached by the instance are forced on the primary with {@link #onPrimary(Supplier)},
+ * since a row read from a lagging replica would otherwise stay cached after the replica caught up.
+ * The replica is picked once per request, so all the reads of a request see the same replica and never go back in time.
+ */
+public final class ReadRouting {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD");
+    private static final String WRITTEN = ReadRouting.class.getName() + ".WRITTEN";
+    private static final String REPLICA = ReadRouting.class.getName() + ".REPLICA";
+    private static final ThreadLocal<Boolean> ON_PRIMARY = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    /**
+     * Runs a read on the primary, whatever the current request.
+     *
+     * @param read The read to run.
+     * @param <T> The type of the result.
+     * @return The result of the read.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        if(Boolean.TRUE.equals(ON_PRIMARY.get())) {
+            return read.get();
+        }
+
+        ON_PRIMARY.set(true);
+        try {
+            return read.get();
+        } finally {
+            ON_PRIMARY.remove();
+        }
+    }
+
+    /**
+     * Checks whether a read-only transaction of the current thread may be served by a replica.
+     *
+     * @return True if the thread serves a GET or HEAD request that did not write and is not forced on the primary.
+     */
+    static boolean isReplicaAllowed() {
+        if(Boolean.TRUE.equals(ON_PRIMARY.get())) {
+            return false;
+        }
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if(!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return false;
+        }
+
+        HttpServletRequest request = servletAttributes.getRequest();
+        return READ_METHODS.contains(request.getMethod())
+                && attributes.getAttribute(WRITTEN, RequestAttributes.SCOPE_REQUEST) == null;
+    }
+
+    /**
+     * Records that the current request wrote, so its next reads are served by the primary.
+     */
+    static void markWritten() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if(attributes != null) {
+            attributes.setAttribute(WRITTEN, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Returns the replica serving the read-only transactions of the current request, picking it on the first one.
+     * When no replica is healthy on the first pick, the whole request reads the primary.
+     * Must only be called once {@link #isReplicaAllowed()} allowed the read.
+     *
+     * @param pick Picks a healthy replica, if any.
+     * @return An Optional containing the replica of the request, or empty if the request reads the primary.
+     */
+    static Optional<DataSource> replicaOfRequest(Supplier<Optional<DataSource>> pick) {
+        RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+        Object pinned = attributes.getAttribute(REPLICA, RequestAttributes.SCOPE_REQUEST);
+        if(pinned == null) {
+            Optional<DataSource> replica = pick.get();
+            attributes.setAttribute(REPLICA, replica.isPresent() ? replica.get() : Boolean.FALSE, RequestAttributes.SCOPE_REQUEST);
+            return replica;
+        }
+        return pinned instanceof DataSource replica ? Optional.of(replica) : Optional.empty();
+    }
+
+    /**
+     * Records that the replica of the current request failed, so its next reads are served by the primary.
+     */
+    static void dropReplicaOfRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if(attributes != null) {
+            attributes.setAttribute(REPLICA, Boolean.FALSE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
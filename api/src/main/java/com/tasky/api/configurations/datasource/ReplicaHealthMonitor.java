@@ -0,0 +1,151 @@
+package com.tasky.api.configurations.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps track of the replay lag of every replica, and picks the replica serving the next read among the healthy ones.
+ * A replica is healthy while it answers and its lag stays within the tolerance. The lag is zero when the replica
+ * replayed everything it received from a streaming primary, otherwise it is the age of the last replayed transaction.
+ * The lag of every replica is published to the actuator metrics endpoint.
+ */
+public class ReplicaHealthMonitor implements MeterBinder, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaHealthMonitor.class);
+    private static final String LAG_QUERY = """
+            select case
+                when not pg_is_in_recovery() then 0
+                when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn()
+                    and exists (select 1 from pg_stat_wal_receiver where status = 'streaming') then 0
+                else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 'Infinity')
+            end::float8""";
+
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Constructs a ReplicaHealthMonitor and starts checking the replicas.
+     *
+     * @param replicas The connection pools of the replicas, closed with the monitor.
+     * @param maxLagSeconds The replay lag, in seconds, beyond which a replica stops serving reads.
+     * @param healthCheckMillis The number of milliseconds between two checks.
+     */
+    public ReplicaHealthMonitor(List<HikariDataSource> replicas, double maxLagSeconds, long healthCheckMillis) {
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLagSeconds = maxLagSeconds;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if(!this.replicas.isEmpty()) {
+            this.scheduler.scheduleWithFixedDelay(this::checkAll, 0, healthCheckMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Picks the replica serving the next read, in turn among the healthy replicas.
+     *
+     * @return An Optional containing the replica, or empty if no replica is healthy.
+     */
+    public Optional<DataSource> pick() {
+        List<Replica> healthy = replicas.stream().filter(replica -> replica.healthy).toList();
+        if(healthy.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size())).pool);
+    }
+
+    /**
+     * Stops serving reads from a replica that failed to hand out a connection, until its next successful check.
+     *
+     * @param replica The failing replica.
+     */
+    public void markUnhealthy(DataSource replica) {
+        replicas.stream()
+                .filter(candidate -> candidate.pool == replica)
+                .forEach(candidate -> candidate.update(Double.NaN, false));
+    }
+
+    /**
+     * Checks the lag of every replica at once, instead of waiting for the next scheduled check.
+     */
+    public void checkAll() {
+        replicas.forEach(this::check);
+    }
+
+    /**
+     * Registers the lag gauge of every replica.
+     *
+     * @param registry The meter registry of the application.
+     */
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        for(Replica replica : replicas) {
+            Gauge.builder("db.replica.lag", replica, candidate -> candidate.lagSeconds)
+                    .tags("replica", replica.pool.getPoolName())
+                    .baseUnit("seconds")
+                    .description("The replay lag of the replica, NaN while it does not answer")
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Stops the checks and closes the connection pools of the replicas.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private void check(Replica replica) {
+        try(Connection connection = replica.pool.getConnection();
+            Statement statement = connection.createStatement();
+            ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            double lagSeconds = resultSet.getDouble(1);
+            replica.update(lagSeconds, lagSeconds <= maxLagSeconds);
+        } catch (SQLException | RuntimeException e) {
+            replica.update(Double.NaN, false);
+        }
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+        private volatile boolean healthy;
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        private synchronized void update(double lagSeconds, boolean healthy) {
+            if(this.healthy != healthy) {
+                logger.info("Replica {} {} reads, lag {} s", pool.getPoolName(), healthy ? "serves" : "stops serving", lagSeconds);
+            }
+            this.lagSeconds = lagSeconds;
+            this.healthy = healthy;
+        }
+    }
+}
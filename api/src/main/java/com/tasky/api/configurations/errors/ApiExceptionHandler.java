@@ -4,6 +4,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -131,6 +132,29 @@ public class ApiExceptionHandler {
                 HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles OptimisticLockingFailureException, raised when a row was updated by another request
+     * between its read and its update, and returns an appropriate response.
+     */
+    @ExceptionHandler(value = OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleApiRequestException(
+            OptimisticLockingFailureException e,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) {
+        ApiException apiException = new ApiException(
+                "The resource was modified by another request, retry with its current state",
+                HttpStatus.CONFLICT,
+                ZonedDateTime.now()
+        );
+
+        logger.error(apiException.toString());
+
+        return new ResponseEntity<>(
+                apiException,
+                HttpStatus.CONFLICT);
+    }
+
     /**
      * Handles BadCredentialsException and returns an appropriate response.
      * */
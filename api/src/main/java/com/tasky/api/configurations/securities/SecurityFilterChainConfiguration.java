@@ -57,6 +57,8 @@ public class SecurityFilterChainConfiguration {
                              .dispatcherTypeMatchers(DispatcherType.FORWARD, DispatcherType.ERROR)
                              .permitAll()
                              .requestMatchers(HttpMethod.GET,"/actuator/health").permitAll()
+                             .requestMatchers(HttpMethod.GET,"/actuator/metrics/**")
+                             .hasRole("ADMIN")
                              .requestMatchers(HttpMethod.POST,"/api/v1/user/auth")
                              .permitAll()
                              .requestMatchers(HttpMethod.GET,"/api/v1/user/profile")
@@ -65,8 +67,16 @@ public class SecurityFilterChainConfiguration {
                                              AuthorityAuthorizationManager.hasAnyRole("USER","PROJECT_MANAGER","ADMIN")
                                      )
                              )
+                             .requestMatchers(HttpMethod.GET,"/api/v1/user/suggest")
+                             .access(
+                                     AuthorizationManagers.allOf(
+                                             AuthorityAuthorizationManager.hasAnyRole("ADMIN","PROJECT_MANAGER")
+                                     )
+                             )
                              .requestMatchers("/api/v1/user/**")
                              .hasRole("ADMIN")
+                             .requestMatchers(HttpMethod.POST,"/api/v1/import")
+                             .hasRole("ADMIN")
                              .requestMatchers(HttpMethod.GET,"/api/v1/project/**")
                              .access(
                                      AuthorizationManagers.allOf(
@@ -101,6 +111,12 @@ public class SecurityFilterChainConfiguration {
                              )
                              .requestMatchers("/api/v1/run/**")
                              .hasRole("PROJECT_MANAGER")
+                             .requestMatchers(HttpMethod.GET,"/api/v1/search")
+                             .access(
+                                     AuthorizationManagers.allOf(
+                                             AuthorityAuthorizationManager.hasAnyRole("USER","PROJECT_MANAGER")
+                                     )
+                             )
                              .anyRequest()
                              .denyAll()
                 )
@@ -12,6 +12,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Controller class handling endpoints related to comments.
  */
@@ -46,6 +48,27 @@ public class CommentController {
                 );
     }
 
+    /**
+     * Creates several comments associated with a ToDo in a single call.
+     *
+     * @param authentication The authentication object representing the current authenticated user.
+     * @param toDoId         The unique identifier (ID) of the ToDo to associate the comments with.
+     * @param requests       The requests containing the details of each comment.
+     */
+    @PostMapping("toDo/{toDoId}/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    void createComments(Authentication authentication, @PathVariable Long toDoId, @RequestBody List<CreateCommentRequest> requests) {
+
+        logger.info("POST /api/v1/comment/toDo/%s/batch".formatted(toDoId));
+
+        commentService
+                .createComments(
+                        authentication,
+                        toDoId,
+                        requests
+                );
+    }
+
     /**
      * Retrieves a comment by its unique identifier (ID).
      *
@@ -72,6 +95,8 @@ public class CommentController {
      * @param toDoId         The unique identifier (ID) of the ToDo task to filter the comments for.
      * @param content        The pattern to search for in comment content.
      * @param page           The page number of the result.
+     * @param after          The cursor of the page, empty for the first one, to paginate by keyset instead of page number.
+     * @param slice          True to skip counting the results, the pagination then only tells whether a next page exists.
      * @return A SearchCommentsResponse containing the filtered comments and pagination information.
      */
     @GetMapping("/toDo/{toDoId}")
@@ -79,10 +104,12 @@ public class CommentController {
             Authentication authentication,
             @PathVariable Long toDoId,
             @PathParam("pattern") String content,
-            @PathParam("page") Integer page
+            @PathParam("page") Integer page,
+            @PathParam("after") String after,
+            @PathParam("slice") Boolean slice
     ) {
         logger.info("GET /api/v1/comment/toDo/%s".formatted(toDoId));
-        return commentService.getAllCommentWhereNameContainsAndToDoIs(authentication,toDoId,content,page);
+        return commentService.getAllCommentWhereNameContainsAndToDoIs(authentication,toDoId,content,page,after,slice);
     }
 
     /**
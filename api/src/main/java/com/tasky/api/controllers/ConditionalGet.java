@@ -0,0 +1,86 @@
+package com.tasky.api.controllers;
+
+import com.tasky.api.dao.ResourceVersion;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Answers conditional GET requests from the validators of a resource, read before the resource itself.
+ * The validators and the resource are read by the same read-only transaction, on a single snapshot of a single server,
+ * so the entity tag sent along a resource is always the one of that state of the resource.
+ * Only the pages of a list fetched by number are validated, and they take their total from the validators: a slice or
+ * a keyset page is read without them, since they would aggregate every row of the list the page avoids counting.
+ * The response may be stored by the client but must be revalidated before it is reused, overriding the no-store
+ * written by Spring Security, so that the client sends its entity tag back with If-None-Match.
+ */
+@Component
+class ConditionalGet {
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private final TransactionTemplate snapshot;
+
+    /**
+     * Constructs a ConditionalGet.
+     *
+     * @param transactionManager The transaction manager, starting the transactions reading a resource.
+     */
+    ConditionalGet(PlatformTransactionManager transactionManager) {
+        this.snapshot = new TransactionTemplate(transactionManager);
+        this.snapshot.setReadOnly(true);
+        this.snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Reads the validators of a resource and sets them on the response, then reads the resource unless the validators
+     * match the conditional headers of the request. When they match, the response is a 304 Not Modified without body.
+     *
+     * @param request  The request, whose response gets the validators.
+     * @param version  Reads the validators of the resource.
+     * @param resource Reads the resource.
+     * @param <T>      The type of the resource.
+     * @return The resource, or null if the client already has its current state.
+     */
+    <T> T read(ServletWebRequest request, Supplier<ResourceVersion> version, Supplier<T> resource) {
+        return snapshot.execute(status -> notModified(request, version.get()) ? null : resource.get());
+    }
+
+    /**
+     * Reads a page of a list like {@link #read(ServletWebRequest, Supplier, Supplier)} when it is fetched by number,
+     * passing it the number of rows counted by the validators. A slice or a keyset page is read without validators.
+     *
+     * @param request The request, whose response gets the validators.
+     * @param after   The cursor of a keyset page, or null.
+     * @param slice   True for a slice, fetched without counting the rows of the list.
+     * @param version Reads the validators of the list.
+     * @param page    Reads the page, given the number of rows of the list, or null when it was not counted.
+     * @param <T>     The type of the page.
+     * @return The page, or null if the client already has the current state of the list.
+     */
+    <T> T readPage(ServletWebRequest request, String after, Boolean slice, Supplier<ResourceVersion> version, Function<Long, T> page) {
+        if(after != null || Boolean.TRUE.equals(slice)) {
+            return page.apply(null);
+        }
+        return snapshot.execute(status -> {
+            ResourceVersion validators = version.get();
+            return notModified(request, validators) ? null : page.apply(validators.rows());
+        });
+    }
+
+    private static boolean notModified(ServletWebRequest request, ResourceVersion version) {
+        HttpServletResponse response = request.getResponse();
+        if(response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        }
+        return request.checkNotModified(version.eTag(), version.lastModified());
+    }
+}
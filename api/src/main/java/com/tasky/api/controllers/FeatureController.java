@@ -11,6 +11,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
 
 /**
  * Controller class that handles HTTP requests related to features in the Tasky API.
@@ -20,14 +23,17 @@ import org.springframework.web.bind.annotation.*;
 public class FeatureController {
     private final Logger logger = LoggerFactory.getLogger(FeatureController.class);
     private final FeatureService featureService;
+    private final ConditionalGet conditionalGet;
 
     /**
      * Constructor for FeatureController.
      *
      * @param featureService The service responsible for handling feature-related operations.
+     * @param conditionalGet Answers the conditional GET requests of the features.
      */
-    public FeatureController(FeatureService featureService) {
+    public FeatureController(FeatureService featureService, ConditionalGet conditionalGet) {
         this.featureService = featureService;
+        this.conditionalGet = conditionalGet;
     }
 
     /**
@@ -44,38 +50,69 @@ public class FeatureController {
         featureService.createFeature(authentication,runId,request);
     }
 
+    /**
+     * Handles POST requests to create several features within a run in a single call.
+     *
+     * @param authentication The authentication details of the user making the request.
+     * @param requests       The request body containing the information of each new feature.
+     * @param runId          The ID of the run to which the features belong.
+     */
+    @PostMapping("run/{runId}/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    void createFeatures(Authentication authentication, @RequestBody List<CreateFeatureRequest> requests, @PathVariable Long runId) {
+        logger.info("POST /api/v1/feature/run/%s/batch".formatted(runId));
+        featureService.createFeatures(authentication,runId,requests);
+    }
+
     /**
      * Handles GET requests to retrieve a feature by its ID.
      *
      * @param authentication The authentication details of the user making the request.
+     * @param request        The request, answered by a 304 Not Modified when the client already has the current state of the feature.
      * @param featureId      The ID of the feature to retrieve.
-     * @return The feature DTO corresponding to the given ID.
+     * @return The feature DTO corresponding to the given ID, or null when not modified.
      */
     @GetMapping("{featureId}")
-    FeatureDto getFeatureById(Authentication authentication, @PathVariable Long featureId) {
+    FeatureDto getFeatureById(Authentication authentication, ServletWebRequest request, @PathVariable Long featureId) {
         logger.info("GET /api/v1/feature/%s".formatted(featureId));
-        return featureService.findFeatureById(authentication,featureId);
+        return conditionalGet.read(
+                request,
+                () -> featureService.findFeatureVersionById(authentication,featureId),
+                () -> featureService.findFeatureById(authentication,featureId)
+        );
     }
 
     /**
      * Handles GET requests to search for features within a run based on name and page.
      *
      * @param authentication The authentication details of the user making the request.
+     * @param request        The request, answered by a 304 Not Modified when the client already has the current state of the matching features.
      * @param runId          The ID of the run to which the features belong.
      * @param page           The page number for pagination.
      * @param name           The search pattern for feature names.
-     * @return The search response containing a list of matching features and pagination information.
+     * @param after          The cursor of the page, empty for the first one, to paginate by keyset instead of page number.
+     * @param slice          True to skip counting the results, the pagination then only tells whether a next page exists.
+     * @return The search response containing a list of matching features and pagination information, or null when not modified.
      */
     @GetMapping("run/{runId}")
-    SearchFeatureResponse getFeatureWhereRunIsAndNameContaining(Authentication authentication, @PathVariable Long runId, @PathParam("page") Integer page, @PathParam("name") String name) {
+    SearchFeatureResponse getFeatureWhereRunIsAndNameContaining(Authentication authentication, ServletWebRequest request, @PathVariable Long runId, @PathParam("page") Integer page, @PathParam("name") String name, @PathParam("after") String after, @PathParam("slice") Boolean slice) {
         logger.info("GET /api/v1/feature/run/%s".formatted(runId));
-        return featureService
-                .findFeatureWhereRunIsAndNameContaining(
-                        authentication,
-                        runId,
-                        name,
-                        page
-                );
+        return conditionalGet.readPage(
+                request,
+                after,
+                slice,
+                () -> featureService.findFeatureVersionWhereRunIsAndNameContaining(authentication,runId,name),
+                total -> featureService
+                        .findFeatureWhereRunIsAndNameContaining(
+                                authentication,
+                                runId,
+                                name,
+                                page,
+                                after,
+                                slice,
+                                total
+                        )
+        );
     }
 
     /**
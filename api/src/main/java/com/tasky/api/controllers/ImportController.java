@@ -0,0 +1,43 @@
+package com.tasky.api.controllers;
+
+import com.tasky.api.dto.importer.ImportResponse;
+import com.tasky.api.services.importer.ImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+/**
+ * Controller class that handles bulk imports in the Tasky API.
+ */
+@RestController
+@RequestMapping("/api/v1/import")
+public class ImportController {
+    private final Logger logger = LoggerFactory.getLogger(ImportController.class);
+    private final ImportService importService;
+
+    /**
+     * Constructor for ImportController.
+     *
+     * @param importService The service responsible for handling imports.
+     */
+    public ImportController(ImportService importService) {
+        this.importService = importService;
+    }
+
+    /**
+     * Handles POST requests to import an NDJSON document of projects, runs, features, to-dos and comments.
+     * The body is read as a stream, one record per line.
+     *
+     * @param inputStream The request body.
+     * @return The number of rows imported per entity and the throughput of the import.
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    ImportResponse importProjects(InputStream inputStream) {
+        logger.info("POST /api/v1/import");
+        return importService.importProjects(inputStream);
+    }
+}
@@ -1,12 +1,19 @@
 package com.tasky.api.controllers;
 
+import com.tasky.api.dto.deletion.DeletionJobDto;
 import com.tasky.api.dto.project.*;
 import com.tasky.api.services.project.ProjectService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.net.URI;
 
 /**
  * Controller class that handles HTTP requests related to projects in the Tasky API.
@@ -16,14 +23,17 @@ import org.springframework.web.bind.annotation.*;
 public class ProjectController {
     private final Logger logger = LoggerFactory.getLogger(ProjectController.class);
     private final ProjectService projectService;
+    private final ConditionalGet conditionalGet;
 
     /**
      * Constructor for ProjectController.
      *
      * @param projectService The service responsible for handling project-related operations.
+     * @param conditionalGet Answers the conditional GET requests of the projects.
      */
-    public ProjectController(ProjectService projectService) {
+    public ProjectController(ProjectService projectService, ConditionalGet conditionalGet) {
         this.projectService = projectService;
+        this.conditionalGet = conditionalGet;
     }
 
     /**
@@ -67,38 +77,87 @@ public class ProjectController {
      * Handles GET requests to retrieve a project by its ID.
      *
      * @param authentication The authentication details of the user making the request.
+     * @param request        The request, answered by a 304 Not Modified when the client already has the current state of the project and its members.
      * @param projectId      The ID of the project to retrieve.
-     * @return The project DTO corresponding to the given ID.
+     * @return The project DTO corresponding to the given ID, or null when not modified.
      */
     @GetMapping("{projectId}")
-    public ProjectDto getProjectById(Authentication authentication, @PathVariable Long projectId) {
+    public ProjectDto getProjectById(Authentication authentication, ServletWebRequest request, @PathVariable Long projectId) {
         logger.info("GET /api/v1/project/"+projectId);
-        return projectService.findProjectById(authentication, projectId);
+        return conditionalGet.read(
+                request,
+                () -> projectService.findProjectVersionById(authentication, projectId),
+                () -> projectService.findProjectById(authentication, projectId)
+        );
+    }
+
+    /**
+     * Handles GET requests to export a project with its runs, features, to-dos and comments.
+     * The records are streamed to the response as NDJSON while they are read from the database.
+     *
+     * @param authentication The authentication details of the user making the request.
+     * @param projectId      The ID of the project to export.
+     * @param response       The response the records are written to.
+     */
+    @GetMapping("{projectId}/export")
+    public void exportProject(Authentication authentication, @PathVariable Long projectId, HttpServletResponse response) throws IOException {
+        logger.info("GET /api/v1/project/"+projectId+"/export");
+        response.setContentType("application/x-ndjson");
+        projectService.exportProject(authentication, projectId, response.getOutputStream());
     }
 
     /**
      * Handles GET requests to search for projects based on name pattern and page number.
      *
      * @param authentication The authentication details of the user making the request.
+     * @param request        The request, answered by a 304 Not Modified when the client already has the current state of the matching projects.
      * @param pattern        The search pattern for project names.
      * @param page           The page number for pagination.
-     * @return The search response containing a list of matching projects and pagination information.
+     * @param after          The cursor of the page, empty for the first one, to paginate by keyset instead of page number.
+     * @param slice          True to skip counting the results, the pagination then only tells whether a next page exists.
+     * @return The search response containing a list of matching projects and pagination information, or null when not modified.
      */
     @GetMapping
-    public SearchProjectResponse searchProjects(Authentication authentication, @RequestParam(required = false) String pattern, @RequestParam(required = false) Integer page) {
+    public SearchProjectResponse searchProjects(Authentication authentication, ServletWebRequest request, @RequestParam(required = false) String pattern, @RequestParam(required = false) Integer page, @RequestParam(required = false) String after, @RequestParam(required = false) Boolean slice) {
        logger.info("GET /api/v1/project");
-       return projectService.findProject(authentication, pattern, page);
+        return conditionalGet.readPage(
+                request,
+                after,
+                slice,
+                () -> projectService.findProjectVersion(authentication, pattern),
+                total -> projectService.findProject(authentication, pattern, page, after, slice, total)
+        );
     }
 
     /**
      * Handles DELETE requests to delete a project by its ID.
+     * A large project is deleted in the background: the request is then accepted,
+     * and the Location header points to the status of the deletion job.
      *
      * @param projectId The ID of the project to delete.
+     * @return No content once the project is deleted, or the accepted deletion job.
      */
     @DeleteMapping("{projectId}")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteProject(@PathVariable Long projectId) {
-        logger.info("DELETE /api/v1/project"+projectId);
-        projectService.deleteProjectById(projectId);
+    public ResponseEntity<DeletionJobDto> deleteProject(@PathVariable Long projectId) {
+        logger.info("DELETE /api/v1/project/"+projectId);
+        return projectService
+                .deleteProjectById(projectId)
+                .map(job -> ResponseEntity
+                        .accepted()
+                        .location(URI.create("/api/v1/project/deletion/"+job.jobId()))
+                        .body(job))
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    /**
+     * Handles GET requests to retrieve the status of a job deleting a project.
+     *
+     * @param jobId The ID of the deletion job.
+     * @return The deletion job DTO corresponding to the given ID.
+     */
+    @GetMapping("deletion/{jobId}")
+    public DeletionJobDto getDeletionJob(@PathVariable Long jobId) {
+        logger.info("GET /api/v1/project/deletion/"+jobId);
+        return projectService.getDeletionJob(jobId);
     }
 }
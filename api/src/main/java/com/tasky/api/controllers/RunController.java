@@ -11,6 +11,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 /**
  * Controller class that handles HTTP requests related to runs in the Tasky API.
@@ -20,14 +21,17 @@ import org.springframework.web.bind.annotation.*;
 public class RunController {
     private final Logger logger = LoggerFactory.getLogger(RunController.class);
     private final RunService runService;
+    private final ConditionalGet conditionalGet;
 
     /**
      * Constructor for RunController.
      *
      * @param runService The service responsible for handling run-related operations.
+     * @param conditionalGet Answers the conditional GET requests of the runs.
      */
-    public RunController(RunService runService) {
+    public RunController(RunService runService, ConditionalGet conditionalGet) {
         this.runService = runService;
+        this.conditionalGet = conditionalGet;
     }
 
     /**
@@ -50,28 +54,42 @@ public class RunController {
      * Handles GET requests to retrieve a run by its ID.
      *
      * @param authentication The authentication details of the user making the request.
+     * @param request        The request, answered by a 304 Not Modified when the client already has the current state of the run.
      * @param runId          The ID of the run to retrieve.
-     * @return The run DTO corresponding to the given ID.
+     * @return The run DTO corresponding to the given ID, or null when not modified.
      */
     @GetMapping("{runId}")
-    RunDto getRunById(Authentication authentication, @PathVariable Long runId) {
+    RunDto getRunById(Authentication authentication, ServletWebRequest request, @PathVariable Long runId) {
         logger.info("GET /api/v1/run/%s".formatted(runId));
-        return runService.findById(authentication,runId);
+        return conditionalGet.read(
+                request,
+                () -> runService.findVersionById(authentication,runId),
+                () -> runService.findById(authentication,runId)
+        );
     }
 
     /**
      * Handles GET requests to search for runs within a project based on name pattern and page number.
      *
      * @param authentication The authentication details of the user making the request.
+     * @param request        The request, answered by a 304 Not Modified when the client already has the current state of the matching runs.
      * @param projectId      The ID of the project in which to search for runs.
      * @param page           The page number for pagination.
      * @param name           The search pattern for run names.
-     * @return The search response containing a list of matching runs and pagination information.
+     * @param after          The cursor of the page, empty for the first one, to paginate by keyset instead of page number.
+     * @param slice          True to skip counting the results, the pagination then only tells whether a next page exists.
+     * @return The search response containing a list of matching runs and pagination information, or null when not modified.
      */
     @GetMapping("project/{projectId}")
-    SearchRunResponse getAllRunByProjectIdAndByNameContaining(Authentication authentication, @PathVariable Long projectId, @PathParam("page") Integer page, @PathParam("name") String name) {
+    SearchRunResponse getAllRunByProjectIdAndByNameContaining(Authentication authentication, ServletWebRequest request, @PathVariable Long projectId, @PathParam("page") Integer page, @PathParam("name") String name, @PathParam("after") String after, @PathParam("slice") Boolean slice) {
         logger.info("GET /api/v1/run/project/%s".formatted(projectId));
-        return runService.findRunByProjectIdAndByNameContaining(authentication,projectId,name,page);
+        return conditionalGet.readPage(
+                request,
+                after,
+                slice,
+                () -> runService.findVersionByProjectIdAndByNameContaining(authentication,projectId,name),
+                total -> runService.findRunByProjectIdAndByNameContaining(authentication,projectId,name,page,after,slice,total)
+        );
     }
 
     /**
@@ -0,0 +1,41 @@
+package com.tasky.api.controllers;
+
+import com.tasky.api.dto.search.SearchResponse;
+import com.tasky.api.services.search.SearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller class that handles full-text searches in the Tasky API.
+ */
+@RestController
+@RequestMapping("/api/v1/search")
+public class SearchController {
+    private final Logger logger = LoggerFactory.getLogger(SearchController.class);
+    private final SearchService searchService;
+
+    /**
+     * Constructor for SearchController.
+     *
+     * @param searchService The service responsible for handling searches.
+     */
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * Handles GET requests to search projects, runs, features, to-dos and comments by name, description and content.
+     *
+     * @param authentication The authentication details of the user making the request.
+     * @param query          The query, in the web search syntax: words, "quoted phrases", or and -excluded words.
+     * @param type           The type of hits to search, project, run, feature, toDo or comment, every type if missing.
+     * @return The most relevant hits among the projects the user can access.
+     */
+    @GetMapping
+    public SearchResponse search(Authentication authentication, @RequestParam(required = false) String query, @RequestParam(required = false) String type) {
+        logger.info("GET /api/v1/search");
+        return searchService.search(authentication, query, type);
+    }
+}
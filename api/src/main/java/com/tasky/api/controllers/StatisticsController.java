@@ -0,0 +1,71 @@
+package com.tasky.api.controllers;
+
+import com.tasky.api.dto.statistics.ProjectStatisticsDto;
+import com.tasky.api.dto.statistics.RunBurndownDto;
+import com.tasky.api.dto.statistics.RunStatisticsDto;
+import com.tasky.api.services.statistics.StatisticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller class that handles HTTP requests related to the progress of projects and runs and the burndown of runs in the Tasky API.
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class StatisticsController {
+    private final Logger logger = LoggerFactory.getLogger(StatisticsController.class);
+    private final StatisticsService statisticsService;
+
+    /**
+     * Constructor for StatisticsController.
+     *
+     * @param statisticsService The service responsible for reading the progress of projects and runs.
+     */
+    public StatisticsController(StatisticsService statisticsService) {
+        this.statisticsService = statisticsService;
+    }
+
+    /**
+     * Handles GET requests to retrieve the progress of a project, of its runs and of its features.
+     *
+     * @param authentication The authentication details of the user making the request.
+     * @param projectId      The ID of the project.
+     * @return The number of to-dos of the project by status and type, along with the ones of its runs and features.
+     */
+    @GetMapping("project/{projectId}/statistics")
+    ProjectStatisticsDto getProjectStatistics(Authentication authentication, @PathVariable Long projectId) {
+        logger.info("GET /api/v1/project/%s/statistics".formatted(projectId));
+        return statisticsService.getProjectStatistics(authentication, projectId);
+    }
+
+    /**
+     * Handles GET requests to retrieve the progress of a run and of its features.
+     *
+     * @param authentication The authentication details of the user making the request.
+     * @param runId          The ID of the run.
+     * @return The number of to-dos of the run by status and type, along with the ones of its features.
+     */
+    @GetMapping("run/{runId}/statistics")
+    RunStatisticsDto getRunStatistics(Authentication authentication, @PathVariable Long runId) {
+        logger.info("GET /api/v1/run/%s/statistics".formatted(runId));
+        return statisticsService.getRunStatistics(authentication, runId);
+    }
+
+    /**
+     * Handles GET requests to retrieve the burndown of a run.
+     *
+     * @param authentication The authentication details of the user making the request.
+     * @param runId          The ID of the run.
+     * @return The number of to-dos of the run at the end of each day, from its start until today.
+     */
+    @GetMapping("run/{runId}/burndown")
+    RunBurndownDto getRunBurndown(Authentication authentication, @PathVariable Long runId) {
+        logger.info("GET /api/v1/run/%s/burndown".formatted(runId));
+        return statisticsService.getRunBurndown(authentication, runId);
+    }
+}
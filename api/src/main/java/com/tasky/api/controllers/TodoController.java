@@ -11,6 +11,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
 
 /**
  * Controller class that handles HTTP requests related to To-Do tasks in the Tasky API.
@@ -20,14 +23,17 @@ import org.springframework.web.bind.annotation.*;
 public class TodoController {
     private final Logger logger = LoggerFactory.getLogger(TodoController.class);
     private final TodoService todoService;
+    private final ConditionalGet conditionalGet;
 
     /**
      * Constructor for TodoController.
      *
      * @param todoService The service responsible for handling To-Do task-related operations.
+     * @param conditionalGet Answers the conditional GET requests of the To-Do tasks.
      */
-    public TodoController(TodoService todoService) {
+    public TodoController(TodoService todoService, ConditionalGet conditionalGet) {
         this.todoService = todoService;
+        this.conditionalGet = conditionalGet;
     }
 
     /**
@@ -44,46 +50,83 @@ public class TodoController {
         todoService.createTodo(authentication,featureId,request);
     }
 
+    /**
+     * Handles POST requests to create several To-Do tasks within a feature in a single call.
+     *
+     * @param authentication The authentication details of the user making the request.
+     * @param featureId      The ID of the feature in which the To-Do tasks will be created.
+     * @param requests       The request body containing the information of each new To-Do task.
+     */
+    @PostMapping("feature/{featureId}/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    void createTodos(Authentication authentication, @PathVariable Long featureId, @RequestBody List<CreateToDoRequest> requests) {
+        logger.info("POST /api/v1/toDo/feature/%s/batch".formatted(featureId));
+        todoService.createTodos(authentication,featureId,requests);
+    }
+
     /**
      * Handles GET requests to retrieve a To-Do task by its ID.
      *
      * @param authentication The authentication details of the user making the request.
+     * @param request        The request, answered by a 304 Not Modified when the client already has the current state of the To-Do task.
      * @param toDoId         The ID of the To-Do task to retrieve.
-     * @return The To-Do task DTO corresponding to the given ID.
+     * @return The To-Do task DTO corresponding to the given ID, or null when not modified.
      */
     @GetMapping("{toDoId}")
-    TodoDto getTodoById(Authentication authentication, @PathVariable Long toDoId) {
+    TodoDto getTodoById(Authentication authentication, ServletWebRequest request, @PathVariable Long toDoId) {
         logger.info("GET /api/v1/toDo/%s".formatted(toDoId));
-        return todoService.findToDoById(authentication,toDoId);
+        return conditionalGet.read(
+                request,
+                () -> todoService.findToDoVersionById(authentication,toDoId),
+                () -> todoService.findToDoById(authentication,toDoId)
+        );
     }
 
     /**
      * Handles GET requests to retrieve all To-Do tasks associated with the authenticated user's profile.
      *
      * @param authentication The authentication details of the user making the request.
+     * @param request        The request, answered by a 304 Not Modified when the client already has the current state of the matching To-Do tasks.
      * @param page           The page number for pagination.
      * @param name           The search pattern for To-Do task names.
-     * @return The search response containing a list of matching To-Do tasks and pagination information.
+     * @param after          The cursor of the page, empty for the first one, to paginate by keyset instead of page number.
+     * @param slice          True to skip counting the results, the pagination then only tells whether a next page exists.
+     * @return The search response containing a list of matching To-Do tasks and pagination information, or null when not modified.
      */
     @GetMapping("profile")
-    SearchToDoResponse getAllMyTodo(Authentication authentication, @PathParam("page") Integer page, @PathParam("name") String name) {
+    SearchToDoResponse getAllMyTodo(Authentication authentication, ServletWebRequest request, @PathParam("page") Integer page, @PathParam("name") String name, @PathParam("after") String after, @PathParam("slice") Boolean slice) {
         logger.info("GET /api/v1/toDo/profile");
-        return todoService.findTodosWhereUserIsAnNameContains(authentication,name,page);
+        return conditionalGet.readPage(
+                request,
+                after,
+                slice,
+                () -> todoService.findTodosVersionWhereUserIsAnNameContains(authentication,name),
+                total -> todoService.findTodosWhereUserIsAnNameContains(authentication,name,page,after,slice,total)
+        );
     }
 
     /**
      * Handles GET requests to retrieve all To-Do tasks associated with a specific feature based on name pattern and page number.
      *
      * @param authentication The authentication details of the user making the request.
+     * @param request        The request, answered by a 304 Not Modified when the client already has the current state of the matching To-Do tasks.
      * @param featureId      The ID of the feature for which to retrieve To-Do tasks.
      * @param page           The page number for pagination.
      * @param name           The search pattern for To-Do task names.
-     * @return The search response containing a list of matching To-Do tasks and pagination information.
+     * @param after          The cursor of the page, empty for the first one, to paginate by keyset instead of page number.
+     * @param slice          True to skip counting the results, the pagination then only tells whether a next page exists.
+     * @return The search response containing a list of matching To-Do tasks and pagination information, or null when not modified.
      */
     @GetMapping("feature/{featureId}")
-    SearchToDoResponse getAllTodosWhereFeatureIsAndNameContains(Authentication authentication, @PathVariable Long featureId, @PathParam("page") Integer page, @PathParam("name") String name) {
+    SearchToDoResponse getAllTodosWhereFeatureIsAndNameContains(Authentication authentication, ServletWebRequest request, @PathVariable Long featureId, @PathParam("page") Integer page, @PathParam("name") String name, @PathParam("after") String after, @PathParam("slice") Boolean slice) {
         logger.info("GET /api/v1/toDo/feature/%s".formatted(featureId));
-        return todoService.findTodosWhereFeatureIsAndNameContains(authentication,featureId,name,page);
+        return conditionalGet.readPage(
+                request,
+                after,
+                slice,
+                () -> todoService.findTodosVersionWhereFeatureIsAndNameContains(authentication,featureId,name),
+                total -> todoService.findTodosWhereFeatureIsAndNameContains(authentication,featureId,name,page,after,slice,total)
+        );
     }
 
     /**
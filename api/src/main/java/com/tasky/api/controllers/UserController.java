@@ -1,5 +1,6 @@
 package com.tasky.api.controllers;
 
+import com.tasky.api.dto.deletion.DeletionJobDto;
 import com.tasky.api.dto.user.*;
 import com.tasky.api.services.user.UserService;
 import org.slf4j.Logger;
@@ -10,6 +11,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+
 /**
  * Controller class to handle user-related API endpoints.
  */
@@ -93,9 +96,22 @@ public class UserController {
      * @return A {@link SearchUsersResponse} containing the list of matching users.
      */
     @GetMapping
-    public SearchUsersResponse getUsers(@RequestParam(required = false) String type, @RequestParam(required = false) String pattern,  @RequestParam(required = false) Integer page) {
+    public SearchUsersResponse getUsers(@RequestParam(required = false) String type, @RequestParam(required = false) String pattern,  @RequestParam(required = false) Integer page, @RequestParam(required = false) String after, @RequestParam(required = false) Boolean slice) {
         logger.info("GET /api/v1/user");
-        return userService.searchUsers(new SearchUsersRequest(type,pattern,page));
+        return userService.searchUsers(new SearchUsersRequest(type,pattern,page,after,slice));
+    }
+
+    /**
+     * Suggests users while an email or a name is being typed, from an in-memory index.
+     *
+     * @param query The typed text, matched against the start of the email, first name and last name.
+     * @param limit The maximum number of users to suggest, 10 if missing.
+     * @return A {@link SuggestUsersResponse} containing the suggested users.
+     */
+    @GetMapping("suggest")
+    public SuggestUsersResponse suggestUsers(@RequestParam(required = false) String query, @RequestParam(required = false) Integer limit) {
+        logger.info("GET /api/v1/user/suggest");
+        return userService.suggestUsers(query, limit);
     }
 
     /**
@@ -127,14 +143,34 @@ public class UserController {
 
     /**
      * Deletes a user based on their ID.
+     * A large user is deleted in the background: the request is then accepted,
+     * and the Location header points to the status of the deletion job.
      *
      * @param id The ID of the user to be deleted.
+     * @return No content once the user is deleted, or the accepted deletion job.
      */
-    @ResponseStatus(HttpStatus.NO_CONTENT)
     @DeleteMapping("{id}")
-    public void deleteUser(@PathVariable Long id) {
-        logger.info("DELETE /api/v1/user"+id);
-        userService.deleteUserById(id);
+    public ResponseEntity<DeletionJobDto> deleteUser(@PathVariable Long id) {
+        logger.info("DELETE /api/v1/user/"+id);
+        return userService
+                .deleteUserById(id)
+                .map(job -> ResponseEntity
+                        .accepted()
+                        .location(URI.create("/api/v1/user/deletion/"+job.jobId()))
+                        .body(job))
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    /**
+     * Retrieves the status of a job deleting a user.
+     *
+     * @param jobId The ID of the deletion job.
+     * @return The {@link DeletionJobDto} of the job.
+     */
+    @GetMapping("deletion/{jobId}")
+    public DeletionJobDto getDeletionJob(@PathVariable Long jobId) {
+        logger.info("GET /api/v1/user/deletion/"+jobId);
+        return userService.getDeletionJob(jobId);
     }
 
 }
@@ -0,0 +1,12 @@
+package com.tasky.api.dao;
+
+/**
+ * A resource loaded together with the membership of the caller in the project owning it,
+ * resolved by a single statement.
+ *
+ * @param resource The loaded resource.
+ * @param member True if the caller is a member of the project owning the resource.
+ * @param <T> The type of the resource.
+ */
+public record AuthorizedResource<T>(T resource, boolean member) {
+}
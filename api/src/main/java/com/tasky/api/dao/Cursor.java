@@ -0,0 +1,52 @@
+package com.tasky.api.dao;
+
+import com.tasky.api.configurations.errors.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of a keyset page: the sort key and the ID of the last row of the previous page.
+ * The next page holds the rows ordered after (key, id), so it is found by an index range scan whatever its depth.
+ *
+ * @param key The sort key of the last row returned.
+ * @param id The unique identifier (ID) of the last row returned, which breaks ties between equal keys.
+ */
+public record Cursor(String key, Long id) {
+
+    /**
+     * Position before the first row, as IDs are positive and every key sorts at or after the empty string.
+     */
+    public static final Cursor FIRST = new Cursor("", 0L);
+
+    /**
+     * Encodes the cursor as an opaque URL safe token.
+     *
+     * @return The token to send back to the client.
+     */
+    public String encode() {
+        byte[] bytes = (id + ":" + key).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Decodes a token built by {@link #encode()}. An empty token is the position before the first row.
+     *
+     * @param token The token sent by the client.
+     * @return The decoded cursor.
+     * @throws BadRequestException If the token is not a valid cursor.
+     */
+    public static Cursor decode(String token) {
+        if(token == null || token.isBlank()) {
+            return FIRST;
+        }
+
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':');
+            return new Cursor(value.substring(separator + 1), Long.parseLong(value.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.tasky.api.dao;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page of a keyset search, with the cursor of the following page.
+ *
+ * @param content The rows of the page.
+ * @param next The cursor of the following page, or null if this page is the last one.
+ * @param <T> The type of the rows.
+ */
+public record CursorPage<T>(List<T> content, Cursor next) {
+
+    /**
+     * Builds a page from rows fetched with one extra row, whose presence tells that a following page exists.
+     *
+     * @param rows The rows fetched, at most size + 1.
+     * @param size The size of the page.
+     * @param cursorOf Builds the cursor positioned on a row.
+     * @return The page of at most size rows.
+     * @param <T> The type of the rows.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, Cursor> cursorOf) {
+        if(rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+
+        List<T> content = rows.subList(0, size);
+        return new CursorPage<>(content, cursorOf.apply(content.get(size - 1)));
+    }
+
+    /**
+     * @return The token of the following page, or null if this page is the last one.
+     */
+    public String nextCursor() {
+        return next == null ? null : next.encode();
+    }
+}
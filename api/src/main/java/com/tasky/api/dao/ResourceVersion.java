@@ -0,0 +1,77 @@
+package com.tasky.api.dao;
+
+import java.sql.Timestamp;
+
+/**
+ * The validators of a resource, or of the rows of a list, read by an aggregate query instead of the rows themselves,
+ * so that a conditional GET is answered without loading, mapping and serializing what the client already has.
+ * A resource has a strong entity tag, derived from its ID and version. A list has a weak one, derived from the number
+ * of its rows and their last update, since a list with the same rows may be serialized differently. The number of rows
+ * of a list is kept, so a page of the list read along with its validators does not count them again.
+ *
+ * @param eTag         The entity tag, quoted.
+ * @param lastModified The time of the last update of the resource in milliseconds, or -1 when it is not known.
+ * @param rows         The number of rows of the list, on every page, or -1 for a single resource.
+ */
+public record ResourceVersion(String eTag, long lastModified, long rows) {
+
+    /**
+     * Builds the validators of a single resource.
+     *
+     * @param eTag         The entity tag, quoted.
+     * @param lastModified The time of the last update of the resource in milliseconds, or -1 when it is not known.
+     */
+    public ResourceVersion(String eTag, long lastModified) {
+        this(eTag, lastModified, -1);
+    }
+
+    /**
+     * Builds the validators of a single row.
+     *
+     * @param id        The unique identifier (ID) of the row.
+     * @param version   The version of the row, incremented by every update.
+     * @param updatedAt The time of the last update of the row.
+     */
+    public ResourceVersion(Long id, Integer version, Timestamp updatedAt) {
+        this("\"%s-%s\"".formatted(id, version), updatedAt == null ? -1 : updatedAt.getTime());
+    }
+
+    /**
+     * Builds the validators of a row along with its members, whose changes do not update the row.
+     * The time of the last update is not known, since adding a member updates neither the row nor the member.
+     *
+     * @param id                 The unique identifier (ID) of the row.
+     * @param version            The version of the row, incremented by every update.
+     * @param members            The number of members of the row.
+     * @param membersLastUpdated The time of the last update of a member, or of another row read along with the row, null without any.
+     */
+    public ResourceVersion(Long id, Integer version, Long members, Timestamp membersLastUpdated) {
+        this("\"%s-%s-%s-%s\"".formatted(id, version, members, millis(membersLastUpdated)), -1);
+    }
+
+    /**
+     * Builds the validators of the rows of a list.
+     *
+     * @param rows        The number of rows of the list, on every page.
+     * @param lastUpdated The time of the last update of a row, null for an empty list.
+     */
+    public ResourceVersion(Long rows, Timestamp lastUpdated) {
+        this("W/\"%s-%s\"".formatted(rows, millis(lastUpdated)), -1, rows);
+    }
+
+    /**
+     * Builds the validators of the rows of a list along with their members.
+     *
+     * @param rows               The number of rows of the list, on every page.
+     * @param lastUpdated        The time of the last update of a row, null for an empty list.
+     * @param members            The number of members of the rows.
+     * @param membersLastUpdated The time of the last update of a member, null without members.
+     */
+    public ResourceVersion(Long rows, Timestamp lastUpdated, Long members, Timestamp membersLastUpdated) {
+        this("W/\"%s-%s-%s-%s\"".formatted(rows, millis(lastUpdated), members, millis(membersLastUpdated)), -1, rows);
+    }
+
+    private static long millis(Timestamp timestamp) {
+        return timestamp == null ? 0 : timestamp.getTime();
+    }
+}
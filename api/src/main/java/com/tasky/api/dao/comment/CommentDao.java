@@ -1,10 +1,15 @@
 package com.tasky.api.dao.comment;
 
+import com.tasky.api.dao.AuthorizedResource;
+import com.tasky.api.dao.Cursor;
+import com.tasky.api.dao.CursorPage;
+import com.tasky.api.dto.comment.CommentDto;
 import com.tasky.api.models.Comment;
-import com.tasky.api.models.ToDo;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -19,6 +24,13 @@ public interface CommentDao {
      */
     void createComment(Comment comment);
 
+    /**
+     * Creates several comments in a single batched transaction.
+     *
+     * @param comments The comments to be created.
+     */
+    void createComments(List<Comment> comments);
+
     /**
      * Retrieves a comment by its unique identifier (ID).
      *
@@ -31,23 +43,44 @@ public interface CommentDao {
      * Retrieves a page of comments associated with a specific ToDo based on the ToDo's unique identifier,
      * where the comment's name contains the specified pattern.
      *
-     * @param toDo     The ToDo to retrieve comments for.
+     * @param toDoId   The unique identifier (ID) of the ToDo to retrieve comments for.
      * @param name     The pattern to search for in comment names.
      * @param pageable The pageable configuration for the result page.
      * @return A Page containing comments associated with the specified ToDo that match the name pattern.
      */
-    Page<Comment> selectAllCommentForTodoWhereNameContains(ToDo toDo, String name, Pageable pageable);
+    Page<CommentDto> selectAllCommentForTodoWhereNameContains(Long toDoId, String name, Pageable pageable);
+
+    /**
+     * Retrieves a keyset page of comments associated with a specific ToDo, where the comment's name contains the specified pattern.
+     *
+     * @param toDoId   The unique identifier (ID) of the ToDo to retrieve comments for.
+     * @param name     The pattern to search for in comment names.
+     * @param after    The position of the last row of the previous page.
+     * @param size     The size of the page.
+     * @return A CursorPage containing comments ordered by name and ID.
+     */
+    CursorPage<CommentDto> selectAllCommentForTodoWhereNameContains(Long toDoId, String name, Cursor after, int size);
+
+    /**
+     * Retrieves a slice of comments associated with a specific ToDo, where the comment's name contains the specified pattern, without counting the matching rows.
+     *
+     * @param toDoId   The unique identifier (ID) of the ToDo to retrieve comments for.
+     * @param name     The pattern to search for in comment names.
+     * @param pageable The pageable configuration for the result slice.
+     * @return A Slice containing comments associated with the specified ToDo that match the name pattern.
+     */
+    Slice<CommentDto> selectAllCommentForTodoWhereNameContainsAsSlice(Long toDoId, String name, Pageable pageable);
 
     /**
      * Retrieves a page of comments associated with a specific ToDo based on the ToDo's unique identifier,
      * where the comment's content contains the specified pattern.
      *
-     * @param toDo     The ToDo to retrieve comments for.
+     * @param toDoId   The unique identifier (ID) of the ToDo to retrieve comments for.
      * @param content  The pattern to search for in comment content.
      * @param pageable The pageable configuration for the result page.
      * @return A Page containing comments associated with the specified ToDo that match the content pattern.
      */
-    Page<Comment> selectAllCommentForTodoWhereContentContains(ToDo toDo, String content, Pageable pageable);
+    Page<CommentDto> selectAllCommentForTodoWhereContentContains(Long toDoId, String content, Pageable pageable);
 
     /**
      * Updates an existing comment.
@@ -63,4 +96,23 @@ public interface CommentDao {
      */
     void deleteCommentById(Long id);
 
+    /**
+     * Retrieves a comment by its unique identifier (ID) together with the membership of a user
+     * in the project owning it, in a single statement.
+     *
+     * @param id The unique identifier (ID) of the comment to retrieve.
+     * @param userId The unique identifier (ID) of the user.
+     * @return An Optional containing the comment and the membership of the user, or an empty Optional if not found.
+     */
+    Optional<AuthorizedResource<Comment>> selectCommentByIdForMember(Long id, Long userId);
+
+    /**
+     * Retrieves the CommentDto of a comment by its unique identifier (ID) together with the membership of a user
+     * in the project owning it, in a single statement and without loading the entity.
+     *
+     * @param id The unique identifier (ID) of the comment to retrieve.
+     * @param userId The unique identifier (ID) of the user.
+     * @return An Optional containing the CommentDto and the membership of the user, or an empty Optional if not found.
+     */
+    Optional<AuthorizedResource<CommentDto>> selectCommentDtoByIdForMember(Long id, Long userId);
 }
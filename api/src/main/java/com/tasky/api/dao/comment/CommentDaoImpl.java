@@ -1,11 +1,16 @@
 package com.tasky.api.dao.comment;
+import com.tasky.api.dao.AuthorizedResource;
+import com.tasky.api.dao.Cursor;
+import com.tasky.api.dao.CursorPage;
+import com.tasky.api.dto.comment.CommentDto;
 import com.tasky.api.models.Comment;
-import com.tasky.api.models.ToDo;
 import com.tasky.api.repositories.CommentRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -33,6 +38,14 @@ public class CommentDaoImpl implements CommentDao {
         repository.save(comment);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void createComments(List<Comment> comments) {
+        repository.saveAll(comments);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -46,16 +59,33 @@ public class CommentDaoImpl implements CommentDao {
      * {@inheritDoc}
      */
     @Override
-    public Page<Comment> selectAllCommentForTodoWhereNameContains(ToDo toDo, String name, Pageable pageable) {
-        return repository.getAllByToDoIsAndNameContaining(toDo, name, pageable);
+    public Page<CommentDto> selectAllCommentForTodoWhereNameContains(Long toDoId, String name, Pageable pageable) {
+        return repository.getAllByToDoIsAndNameContainingIgnoreCase(toDoId, name, pageable);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPage<CommentDto> selectAllCommentForTodoWhereNameContains(Long toDoId, String name, Cursor after, int size) {
+        List<CommentDto> comments = repository.getAllByToDoIsAndNameContainingAfter(toDoId, name, after.key(), after.id(), Pageable.ofSize(size + 1));
+        return CursorPage.of(comments, size, comment -> new Cursor(comment.name(), comment.commentId()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Slice<CommentDto> selectAllCommentForTodoWhereNameContainsAsSlice(Long toDoId, String name, Pageable pageable) {
+        return repository.getSliceByToDoIsAndNameContainingIgnoreCase(toDoId,name,pageable);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Page<Comment> selectAllCommentForTodoWhereContentContains(ToDo toDo, String content, Pageable pageable) {
-        return repository.getAllByToDoIsAndContentContaining(toDo, content, pageable);
+    public Page<CommentDto> selectAllCommentForTodoWhereContentContains(Long toDoId, String content, Pageable pageable) {
+        return repository.getAllByToDoIsAndContentContainingIgnoreCase(toDoId, content, pageable);
     }
 
 
@@ -74,4 +104,20 @@ public class CommentDaoImpl implements CommentDao {
     public void deleteCommentById(Long id) {
         repository.deleteById(id);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<AuthorizedResource<Comment>> selectCommentByIdForMember(Long id, Long userId) {
+        return repository.findByIdForMember(id, userId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<AuthorizedResource<CommentDto>> selectCommentDtoByIdForMember(Long id, Long userId) {
+        return repository.findDtoByIdForMember(id, userId);
+    }
 }
@@ -0,0 +1,126 @@
+package com.tasky.api.dao.deletion;
+
+import com.tasky.api.dto.deletion.DeletionJobDto;
+
+import java.util.Optional;
+
+/**
+ * The DeletionDao interface defines methods to size and delete project and user trees in bounded chunks,
+ * and to keep track of the background jobs running these deletions.
+ */
+public interface DeletionDao {
+
+    String PROJECT = "project";
+    String USER = "user";
+
+    String PENDING = "Pending";
+    String RUNNING = "Running";
+    String COMPLETED = "Completed";
+    String FAILED = "Failed";
+
+    /**
+     * Counts the runs, features, to-dos and comments of a project, stopping at a limit.
+     *
+     * @param projectId The unique identifier (ID) of the project.
+     * @param limit     The number of rows after which counting stops.
+     * @return The number of rows deleted along with the project, at most the limit.
+     */
+    long countProjectRows(Long projectId, long limit);
+
+    /**
+     * Counts the projects created by a user, their trees, and the to-dos and comments assigned to the user, stopping at a limit.
+     *
+     * @param userId The unique identifier (ID) of the user.
+     * @param limit  The number of rows after which counting stops.
+     * @return The number of rows deleted along with the user, at most the limit.
+     */
+    long countUserRows(Long userId, long limit);
+
+    /**
+     * Deletes the next chunk of the rows of a project, leaves first: comments, to-dos, features, then runs.
+     * Each chunk is deleted by a single statement in its own transaction, so its locks are released right away.
+     *
+     * @param projectId The unique identifier (ID) of the project.
+     * @param chunkSize The maximum number of rows to delete.
+     * @return The number of rows deleted, 0 once only the project row itself is left.
+     */
+    int deleteProjectChunk(Long projectId, int chunkSize);
+
+    /**
+     * Deletes the next chunk of the rows of a user, leaves first: the trees of the projects created by the user,
+     * those projects, then the comments and to-dos assigned to the user.
+     * Each chunk is deleted by a single statement in its own transaction, so its locks are released right away.
+     *
+     * @param userId    The unique identifier (ID) of the user.
+     * @param chunkSize The maximum number of rows to delete.
+     * @return The number of rows deleted, 0 once only the user row and its memberships are left.
+     */
+    int deleteUserChunk(Long userId, int chunkSize);
+
+    /**
+     * Deletes the to-dos assigned to a user, along with their comments, removes them from the counts of their features,
+     * and logs their deletion for the burndown of their runs.
+     * A user deleted at once is deleted by cascade, which would leave the counts and the burndowns of other users' projects behind.
+     *
+     * @param userId The unique identifier (ID) of the user.
+     * @return The number of to-dos deleted.
+     */
+    int deleteToDosOfUser(Long userId);
+
+    /**
+     * Locks a user out while its rows are deleted: its tokens are revoked by bumping their version,
+     * and its password is cleared so that no password matches it anymore.
+     *
+     * @param userId The unique identifier (ID) of the user.
+     */
+    void disableUser(Long userId);
+
+    /**
+     * Creates a pending deletion job.
+     *
+     * @param resource   The kind of deleted row, project or user.
+     * @param resourceId The unique identifier (ID) of the deleted row.
+     * @param totalRows  The number of rows known to be deleted, a lower bound when counting stopped at a limit.
+     * @return The created job, or the unfinished job already deleting the same row.
+     */
+    DeletionJobDto insertJob(String resource, Long resourceId, long totalRows);
+
+    /**
+     * Records the progress of a deletion job.
+     *
+     * @param jobId       The unique identifier (ID) of the job.
+     * @param status      The status of the job.
+     * @param totalRows   The number of rows to delete.
+     * @param deletedRows The number of rows deleted so far.
+     * @param error       The reason of the failure of the job, null otherwise.
+     */
+    void updateJob(Long jobId, String status, long totalRows, long deletedRows, String error);
+
+    /**
+     * Retrieves a deletion job by its ID.
+     *
+     * @param jobId    The unique identifier (ID) of the job.
+     * @param resource The kind of row deleted by the job, project or user.
+     * @return An Optional containing the job, or empty if no such job deletes this kind of row.
+     */
+    Optional<DeletionJobDto> selectJobById(Long jobId, String resource);
+
+    /**
+     * Retrieves the unfinished deletion job of a row.
+     *
+     * @param resource   The kind of deleted row, project or user.
+     * @param resourceId The unique identifier (ID) of the deleted row.
+     * @return An Optional containing the job, or empty if the row is not being deleted.
+     */
+    Optional<DeletionJobDto> selectActiveJob(String resource, Long resourceId);
+
+    /**
+     * Claims the oldest job waiting to run, or an unfinished job whose progress was not recorded for a while,
+     * typically left over by a stopped instance. A claimed job is running and freshly updated,
+     * so only one instance claims it.
+     *
+     * @param staleSeconds The number of seconds without progress after which a running job is claimed again.
+     * @return An Optional containing the claimed job, or empty if no job is waiting.
+     */
+    Optional<DeletionJobDto> claimNextJob(long staleSeconds);
+}
@@ -0,0 +1,278 @@
+package com.tasky.api.dao.deletion;
+
+import com.tasky.api.dto.deletion.DeletionJobDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the DeletionDao interface using set-based statements.
+ * A tree is described by the queries selecting the IDs of its rows, leaves first, each taking the ID of the root.
+ * The same queries size the tree and delete its next chunk.
+ * The deleted to-dos are removed from the counts of their features, and their deletion logged for the burndown of their runs,
+ * by the statement deleting them.
+ */
+@Repository("DELETION_CHUNKS")
+public class DeletionDaoImpl implements DeletionDao {
+
+    private static final List<TreeLevel> PROJECT_TREE = List.of(
+            new TreeLevel("comment", """
+                    select c.id from comment c
+                    join to_do t on t.id = c.to_do_id
+                    join feature f on f.id = t.feature_id
+                    where f.project_id = ?"""),
+            new TreeLevel("to_do", """
+                    select t.id from to_do t
+                    join feature f on f.id = t.feature_id
+                    where f.project_id = ?"""),
+            new TreeLevel("feature", "select id from feature where project_id = ?"),
+            new TreeLevel("run", "select id from run where project_id = ?")
+    );
+
+    private static final List<TreeLevel> USER_TREE = List.of(
+            new TreeLevel("comment", """
+                    select c.id from comment c
+                    join to_do t on t.id = c.to_do_id
+                    join feature f on f.id = t.feature_id
+                    join project p on p.id = f.project_id
+                    where p.created_by = ?"""),
+            new TreeLevel("to_do", """
+                    select t.id from to_do t
+                    join feature f on f.id = t.feature_id
+                    join project p on p.id = f.project_id
+                    where p.created_by = ?"""),
+            new TreeLevel("feature", """
+                    select f.id from feature f
+                    join project p on p.id = f.project_id
+                    where p.created_by = ?"""),
+            new TreeLevel("run", """
+                    select r.id from run r
+                    join project p on p.id = r.project_id
+                    where p.created_by = ?"""),
+            new TreeLevel("project", "select id from project where created_by = ?"),
+            new TreeLevel("comment", """
+                    select c.id from comment c
+                    join to_do t on t.id = c.to_do_id
+                    where t.user_id = ?"""),
+            new TreeLevel("to_do", "select id from to_do where user_id = ?")
+    );
+
+    private static final String DELETE_TO_DO_CHUNK = """
+            with deleted as (
+                %s
+                returning id, feature_id, status, type
+            ), counted as (
+                insert into feature_to_do_count (feature_id, status, type, to_dos)
+                select feature_id, status, type, -count(*)
+                from deleted
+                group by feature_id, status, type
+                order by feature_id, status, type
+                on conflict (feature_id, status, type) do update set to_dos = feature_to_do_count.to_dos + excluded.to_dos
+            ), logged as (
+                insert into to_do_transition (to_do_id, run_id, from_status, to_status)
+                select deleted.id, f.run_id, deleted.status, null
+                from deleted
+                join feature f on f.id = deleted.feature_id
+                where f.run_id is not null
+            )
+            select count(*) from deleted
+            """;
+
+    private static final String DELETE_TO_DOS_OF_USER = DELETE_TO_DO_CHUNK.formatted("delete from to_do where user_id = ?");
+
+    private static final String DISABLE_USER = """
+            update user_account
+            set token_version = token_version + 1, password = '', updated_at = CURRENT_TIMESTAMP
+            where id = ?
+            """;
+
+    private static final String JOB_COLUMNS = "id, resource, resource_id, status, total_rows, deleted_rows, error, created_at, updated_at";
+
+    private static final String INSERT_JOB = """
+            insert into deletion_job (resource, resource_id, total_rows)
+            values (?, ?, ?)
+            on conflict (resource, resource_id) where status in ('Pending', 'Running') do nothing
+            returning %s
+            """.formatted(JOB_COLUMNS);
+
+    private static final String UPDATE_JOB = """
+            update deletion_job
+            set status = ?, total_rows = ?, deleted_rows = ?, error = ?, updated_at = CURRENT_TIMESTAMP
+            where id = ?
+            """;
+
+    private static final String SELECT_JOB = """
+            select %s
+            from deletion_job
+            where id = ? and resource = ?
+            """.formatted(JOB_COLUMNS);
+
+    private static final String SELECT_ACTIVE_JOB = """
+            select %s
+            from deletion_job
+            where resource = ? and resource_id = ? and status in ('Pending', 'Running')
+            """.formatted(JOB_COLUMNS);
+
+    private static final String CLAIM_NEXT_JOB = """
+            update deletion_job
+            set status = 'Running', updated_at = CURRENT_TIMESTAMP
+            where id = (
+                select id
+                from deletion_job
+                where status = 'Pending'
+                    or (status = 'Running' and updated_at < CURRENT_TIMESTAMP - make_interval(secs => ?))
+                order by id
+                limit 1
+                for update skip locked
+            )
+            returning %s
+            """.formatted(JOB_COLUMNS);
+
+    private static final RowMapper<DeletionJobDto> JOB_MAPPER = (resultSet, rowNum) -> new DeletionJobDto(
+            resultSet.getLong("id"),
+            resultSet.getString("resource"),
+            resultSet.getLong("resource_id"),
+            resultSet.getString("status"),
+            resultSet.getLong("total_rows"),
+            resultSet.getLong("deleted_rows"),
+            resultSet.getString("error"),
+            resultSet.getTimestamp("created_at"),
+            resultSet.getTimestamp("updated_at")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DeletionDaoImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long countProjectRows(Long projectId, long limit) {
+        return countRows(PROJECT_TREE, projectId, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long countUserRows(Long userId, long limit) {
+        return countRows(USER_TREE, userId, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int deleteProjectChunk(Long projectId, int chunkSize) {
+        return deleteChunk(PROJECT_TREE, projectId, chunkSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int deleteUserChunk(Long userId, int chunkSize) {
+        return deleteChunk(USER_TREE, userId, chunkSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int deleteToDosOfUser(Long userId) {
+        return jdbcTemplate.queryForObject(DELETE_TO_DOS_OF_USER, Integer.class, userId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void disableUser(Long userId) {
+        jdbcTemplate.update(DISABLE_USER, userId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DeletionJobDto insertJob(String resource, Long resourceId, long totalRows) {
+        return jdbcTemplate.query(INSERT_JOB, JOB_MAPPER, resource, resourceId, totalRows)
+                .stream()
+                .findFirst()
+                .or(() -> selectActiveJob(resource, resourceId))
+                .orElseThrow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateJob(Long jobId, String status, long totalRows, long deletedRows, String error) {
+        jdbcTemplate.update(UPDATE_JOB, status, totalRows, deletedRows, error, jobId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<DeletionJobDto> selectJobById(Long jobId, String resource) {
+        return jdbcTemplate.query(SELECT_JOB, JOB_MAPPER, jobId, resource).stream().findFirst();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<DeletionJobDto> selectActiveJob(String resource, Long resourceId) {
+        return jdbcTemplate.query(SELECT_ACTIVE_JOB, JOB_MAPPER, resource, resourceId).stream().findFirst();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<DeletionJobDto> claimNextJob(long staleSeconds) {
+        return jdbcTemplate.query(CLAIM_NEXT_JOB, JOB_MAPPER, staleSeconds).stream().findFirst();
+    }
+
+    private long countRows(List<TreeLevel> tree, Long rootId, long limit) {
+        // The union stops reading as soon as the limit is reached, so sizing a huge tree stays cheap.
+        String sql = tree.stream()
+                .map(TreeLevel::selectIds)
+                .collect(Collectors.joining("\nunion all\n", "select count(*) from (\n", "\nlimit ?\n) tree"));
+
+        List<Object> parameters = new ArrayList<>();
+        tree.forEach(level -> parameters.add(rootId));
+        parameters.add(limit);
+
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, parameters.toArray());
+        return count == null ? 0 : count;
+    }
+
+    private int deleteChunk(List<TreeLevel> tree, Long rootId, int chunkSize) {
+        for(TreeLevel level : tree) {
+            int deleted = "to_do".equals(level.table())
+                    ? jdbcTemplate.queryForObject(DELETE_TO_DO_CHUNK.formatted(level.deleteChunk()), Integer.class, rootId, chunkSize)
+                    : jdbcTemplate.update(level.deleteChunk(), rootId, chunkSize);
+            if(deleted > 0) {
+                return deleted;
+            }
+        }
+        return 0;
+    }
+
+    private record TreeLevel(String table, String selectIds) {
+
+        private String deleteChunk() {
+            return "delete from %s where id in (%s limit ?)".formatted(table, selectIds);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.tasky.api.dao.exporter;
+
+import com.tasky.api.dto.importer.ImportRecord;
+
+import java.util.function.Consumer;
+
+/**
+ * The ExportDao interface defines methods to stream project trees out of the database.
+ */
+public interface ExportDao {
+
+    /**
+     * Streams a project, then its runs, features, to-dos and comments, read from a single snapshot.
+     * Rows are read through a forward-only cursor and handed to the consumer one by one, so parents always come before
+     * their children and no entity is loaded in the persistence context.
+     * The ref of a record is its ID prefixed by its entity, so that refs are unique in the document, and a feature
+     * outside of a run has the project as parent.
+     *
+     * @param projectId The unique identifier (ID) of the project to export.
+     * @param consumer  The consumer receiving each record, in the format accepted by the import.
+     * @return false if the project does not exist, in which case the consumer is never called.
+     */
+    boolean exportProject(Long projectId, Consumer<ImportRecord> consumer);
+}
@@ -0,0 +1,200 @@
+package com.tasky.api.dao.exporter;
+
+import com.tasky.api.dto.importer.ImportRecord;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.*;
+import java.time.ZoneId;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of the ExportDao interface using server-side cursors.
+ */
+@Repository("EXPORT_CURSOR")
+public class ExportDaoImpl implements ExportDao {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String SELECT_PROJECT = """
+            select 'project-' || p.id as ref, p.name, p.description, p.status, p.due_date, u.email
+            from project p
+            join user_account u on u.id = p.created_by
+            where p.id = ?
+            """;
+
+    private static final String SELECT_RUNS = """
+            select 'run-' || id as ref, 'project-' || project_id as parent, name, description, status, start_date, end_date
+            from run
+            where project_id = ?
+            """;
+
+    private static final String SELECT_FEATURES = """
+            select 'feature-' || id as ref, coalesce('run-' || run_id, 'project-' || project_id) as parent, name, description, status
+            from feature
+            where project_id = ?
+            """;
+
+    private static final String SELECT_TO_DOS = """
+            select 'toDo-' || t.id as ref, 'feature-' || t.feature_id as parent, t.name, t.type, t.description, t.status, u.email
+            from to_do t
+            join feature f on f.id = t.feature_id
+            left join user_account u on u.id = t.user_id
+            where f.project_id = ?
+            """;
+
+    private static final String SELECT_COMMENTS = """
+            select 'comment-' || c.id as ref, 'toDo-' || c.to_do_id as parent, c.name, c.content
+            from comment c
+            join to_do t on t.id = c.to_do_id
+            join feature f on f.id = t.feature_id
+            where f.project_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExportDaoImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean exportProject(Long projectId, Consumer<ImportRecord> consumer) {
+        Boolean exported = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            int isolation = connection.getTransactionIsolation();
+
+            // PostgreSQL only uses a cursor for the fetch size inside a transaction.
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            try {
+                return exportProject(connection, projectId, consumer);
+            } finally {
+                connection.rollback();
+                connection.setTransactionIsolation(isolation);
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+
+        return Boolean.TRUE.equals(exported);
+    }
+
+    private boolean exportProject(Connection connection, Long projectId, Consumer<ImportRecord> consumer) throws SQLException {
+        boolean found = stream(connection, SELECT_PROJECT, projectId, resultSet -> consumer.accept(new ImportRecord(
+                "project",
+                resultSet.getString("ref"),
+                null,
+                resultSet.getString("name"),
+                resultSet.getString("description"),
+                null,
+                resultSet.getString("status"),
+                null,
+                resultSet.getString("email"),
+                toEpochSecond(resultSet.getTimestamp("due_date")),
+                null,
+                null
+        )));
+
+        if(!found) {
+            return false;
+        }
+
+        stream(connection, SELECT_RUNS, projectId, resultSet -> consumer.accept(new ImportRecord(
+                "run",
+                resultSet.getString("ref"),
+                resultSet.getString("parent"),
+                resultSet.getString("name"),
+                resultSet.getString("description"),
+                null,
+                resultSet.getString("status"),
+                null,
+                null,
+                null,
+                toEpochSecond(resultSet.getTimestamp("start_date")),
+                toEpochSecond(resultSet.getTimestamp("end_date"))
+        )));
+
+        stream(connection, SELECT_FEATURES, projectId, resultSet -> consumer.accept(new ImportRecord(
+                "feature",
+                resultSet.getString("ref"),
+                resultSet.getString("parent"),
+                resultSet.getString("name"),
+                resultSet.getString("description"),
+                null,
+                resultSet.getString("status"),
+                null,
+                null,
+                null,
+                null,
+                null
+        )));
+
+        stream(connection, SELECT_TO_DOS, projectId, resultSet -> consumer.accept(new ImportRecord(
+                "toDo",
+                resultSet.getString("ref"),
+                resultSet.getString("parent"),
+                resultSet.getString("name"),
+                resultSet.getString("description"),
+                resultSet.getString("type"),
+                resultSet.getString("status"),
+                null,
+                resultSet.getString("email"),
+                null,
+                null,
+                null
+        )));
+
+        stream(connection, SELECT_COMMENTS, projectId, resultSet -> consumer.accept(new ImportRecord(
+                "comment",
+                resultSet.getString("ref"),
+                resultSet.getString("parent"),
+                resultSet.getString("name"),
+                null,
+                null,
+                null,
+                resultSet.getString("content"),
+                null,
+                null,
+                null,
+                null
+        )));
+
+        return true;
+    }
+
+    /**
+     * Runs the query through a forward-only cursor and hands each row to the handler.
+     *
+     * @return true if at least one row was read.
+     */
+    private boolean stream(Connection connection, String sql, Long projectId, RowHandler handler) throws SQLException {
+        boolean found = false;
+        try (PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setLong(1, projectId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while(resultSet.next()) {
+                    found = true;
+                    handler.handle(resultSet);
+                }
+            }
+        }
+        return found;
+    }
+
+    private static Long toEpochSecond(Timestamp timestamp) {
+        if(timestamp == null) {
+            return null;
+        }
+
+        return timestamp.toLocalDateTime().atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    @FunctionalInterface
+    private interface RowHandler {
+        void handle(ResultSet resultSet) throws SQLException;
+    }
+}
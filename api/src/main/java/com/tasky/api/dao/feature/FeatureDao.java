@@ -1,11 +1,16 @@
 package com.tasky.api.dao.feature;
 
+import com.tasky.api.dao.AuthorizedResource;
+import com.tasky.api.dao.Cursor;
+import com.tasky.api.dao.CursorPage;
+import com.tasky.api.dao.ResourceVersion;
+import com.tasky.api.dto.feature.FeatureDto;
 import com.tasky.api.models.Feature;
-import com.tasky.api.models.Project;
-import com.tasky.api.models.Run;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -20,6 +25,13 @@ public interface FeatureDao {
      */
     void createFeature(Feature feature);
 
+    /**
+     * Creates several features in a single batched transaction.
+     *
+     * @param features The Feature objects to be created.
+     */
+    void createFeatures(List<Feature> features);
+
     /**
      * Retrieves a feature by its unique identifier (ID).
      *
@@ -31,22 +43,43 @@ public interface FeatureDao {
     /**
      * Retrieves a page of features associated with a specific project, where the feature's name contains the specified pattern.
      *
-     * @param project  The Project associated with the features to retrieve.
+     * @param projectId The unique identifier (ID) of the Project associated with the features to retrieve.
      * @param name     The pattern to search for in feature names.
      * @param pageable The pageable configuration for the result page.
      * @return A Page containing features associated with the specified project that match the name pattern.
      */
-    Page<Feature> findAllFeatureWhereProjectIsAndNameContaining(Project project, String name, Pageable pageable);
+    Page<FeatureDto> findAllFeatureWhereProjectIsAndNameContaining(Long projectId, String name, Pageable pageable);
 
     /**
      * Retrieves a page of features associated with a specific run, where the feature's name contains the specified pattern.
      *
-     * @param run      The Run associated with the features to retrieve.
+     * @param runId    The unique identifier (ID) of the Run associated with the features to retrieve.
      * @param name     The pattern to search for in feature names.
      * @param pageable The pageable configuration for the result page.
      * @return A Page containing features associated with the specified run that match the name pattern.
      */
-    Page<Feature> findAllFeatureWhereRunIsAndNameContaining(Run run, String name, Pageable pageable);
+    Page<FeatureDto> findAllFeatureWhereRunIsAndNameContaining(Long runId, String name, Pageable pageable);
+
+    /**
+     * Retrieves a keyset page of features associated with a specific run, where the feature's name contains the specified pattern.
+     *
+     * @param runId    The unique identifier (ID) of the Run associated with the features to retrieve.
+     * @param name     The pattern to search for in feature names.
+     * @param after    The position of the last row of the previous page.
+     * @param size     The size of the page.
+     * @return A CursorPage containing features ordered by name and ID.
+     */
+    CursorPage<FeatureDto> findAllFeatureWhereRunIsAndNameContaining(Long runId, String name, Cursor after, int size);
+
+    /**
+     * Retrieves a slice of features associated with a specific run, where the feature's name contains the specified pattern, without counting the matching rows.
+     *
+     * @param runId    The unique identifier (ID) of the Run associated with the features to retrieve.
+     * @param name     The pattern to search for in feature names.
+     * @param pageable The pageable configuration for the result slice.
+     * @return A Slice containing features associated with the specified run that match the name pattern.
+     */
+    Slice<FeatureDto> findAllFeatureWhereRunIsAndNameContainingAsSlice(Long runId, String name, Pageable pageable);
 
     /**
      * Updates an existing feature.
@@ -61,4 +94,43 @@ public interface FeatureDao {
      * @param featureId The unique identifier (ID) of the feature to be deleted.
      */
     void deleteFeatureById(Long featureId);
+
+    /**
+     * Retrieves a feature by its unique identifier (ID) together with the membership of a user
+     * in the project owning it, in a single statement.
+     *
+     * @param featureId The unique identifier (ID) of the feature to retrieve.
+     * @param userId The unique identifier (ID) of the user.
+     * @return An Optional containing the feature and the membership of the user, or an empty Optional if not found.
+     */
+    Optional<AuthorizedResource<Feature>> findFeatureByIdForMember(Long featureId, Long userId);
+
+    /**
+     * Retrieves the FeatureDto of a feature by its unique identifier (ID) together with the membership of a user
+     * in the project owning it, in a single statement and without loading the entity.
+     *
+     * @param featureId The unique identifier (ID) of the feature to retrieve.
+     * @param userId The unique identifier (ID) of the user.
+     * @return An Optional containing the FeatureDto and the membership of the user, or an empty Optional if not found.
+     */
+    Optional<AuthorizedResource<FeatureDto>> findFeatureDtoByIdForMember(Long featureId, Long userId);
+
+    /**
+     * Retrieves the validators of a feature by its unique identifier (ID) together with the membership of a user
+     * in the project owning it, in a single statement and without reading the feature.
+     *
+     * @param featureId The unique identifier (ID) of the feature.
+     * @param userId The unique identifier (ID) of the user.
+     * @return An Optional containing the validators of the feature and the membership of the user, or an empty Optional if not found.
+     */
+    Optional<AuthorizedResource<ResourceVersion>> findFeatureVersionByIdForMember(Long featureId, Long userId);
+
+    /**
+     * Retrieves the validators of the features associated with a specific run, where the feature names contain the specified pattern.
+     *
+     * @param runId The unique identifier (ID) of the Run associated with the features.
+     * @param name  The pattern to search for in feature names.
+     * @return The validators of the features, shared by every page of the list.
+     */
+    ResourceVersion findAllFeatureVersionWhereRunIsAndNameContaining(Long runId, String name);
 }
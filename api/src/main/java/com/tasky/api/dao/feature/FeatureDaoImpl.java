@@ -1,13 +1,18 @@
 package com.tasky.api.dao.feature;
 
+import com.tasky.api.dao.AuthorizedResource;
+import com.tasky.api.dao.Cursor;
+import com.tasky.api.dao.CursorPage;
+import com.tasky.api.dao.ResourceVersion;
+import com.tasky.api.dto.feature.FeatureDto;
 import com.tasky.api.models.Feature;
-import com.tasky.api.models.Project;
-import com.tasky.api.models.Run;
 import com.tasky.api.repositories.FeatureRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -29,6 +34,14 @@ public class FeatureDaoImpl implements FeatureDao {
         repository.save(feature);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void createFeatures(List<Feature> features) {
+        repository.saveAll(features);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -41,16 +54,33 @@ public class FeatureDaoImpl implements FeatureDao {
      * {@inheritDoc}
      */
     @Override
-    public Page<Feature> findAllFeatureWhereProjectIsAndNameContaining(Project project, String name, Pageable pageable) {
-        return repository.findAllByProjectIsAndNameContaining(project,name,pageable);
+    public Page<FeatureDto> findAllFeatureWhereProjectIsAndNameContaining(Long projectId, String name, Pageable pageable) {
+        return repository.findAllByProjectIsAndNameContainingIgnoreCase(projectId,name,pageable);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Page<Feature> findAllFeatureWhereRunIsAndNameContaining(Run run, String name, Pageable pageable) {
-        return repository.findAllByRunIsAndNameContaining(run,name,pageable);
+    public Page<FeatureDto> findAllFeatureWhereRunIsAndNameContaining(Long runId, String name, Pageable pageable) {
+        return repository.findAllByRunIsAndNameContainingIgnoreCase(runId,name,pageable);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPage<FeatureDto> findAllFeatureWhereRunIsAndNameContaining(Long runId, String name, Cursor after, int size) {
+        List<FeatureDto> features = repository.findAllByRunIsAndNameContainingAfter(runId, name, after.key(), after.id(), Pageable.ofSize(size + 1));
+        return CursorPage.of(features, size, feature -> new Cursor(feature.name(), feature.id()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Slice<FeatureDto> findAllFeatureWhereRunIsAndNameContainingAsSlice(Long runId, String name, Pageable pageable) {
+        return repository.findSliceByRunIsAndNameContainingIgnoreCase(runId,name,pageable);
     }
 
     /**
@@ -68,4 +98,36 @@ public class FeatureDaoImpl implements FeatureDao {
     public void deleteFeatureById(Long featureId) {
         repository.deleteById(featureId);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<AuthorizedResource<Feature>> findFeatureByIdForMember(Long featureId, Long userId) {
+        return repository.findByIdForMember(featureId, userId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<AuthorizedResource<FeatureDto>> findFeatureDtoByIdForMember(Long featureId, Long userId) {
+        return repository.findDtoByIdForMember(featureId, userId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<AuthorizedResource<ResourceVersion>> findFeatureVersionByIdForMember(Long featureId, Long userId) {
+        return repository.findVersionByIdForMember(featureId, userId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResourceVersion findAllFeatureVersionWhereRunIsAndNameContaining(Long runId, String name) {
+        return repository.findVersionByRunIsAndNameContainingIgnoreCase(runId, name);
+    }
 }
@@ -0,0 +1,22 @@
+package com.tasky.api.dao.importer;
+
+import com.tasky.api.dto.importer.ImportRecord;
+
+import java.util.Iterator;
+
+/**
+ * The ImportDao interface defines methods to bulk load project trees.
+ */
+public interface ImportDao {
+
+    /**
+     * Streams the records into a staging table, then resolves their references and inserts them into the
+     * project, run, feature, to_do and comment tables in a single transaction.
+     * The records are consumed one by one and never held in memory.
+     *
+     * @param records The records to import, projects, runs, features, to-dos and comments in any order.
+     * @return The number of rows inserted in each table.
+     * @throws com.tasky.api.configurations.errors.BadRequestException If a ref is duplicated, a parent is ambiguous, or a parent or an owner cannot be resolved.
+     */
+    ImportedRows importRecords(Iterator<ImportRecord> records);
+}
@@ -0,0 +1,350 @@
+package com.tasky.api.dao.importer;
+
+import com.tasky.api.configurations.errors.BadRequestException;
+import com.tasky.api.dto.importer.ImportRecord;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the ImportDao interface using the PostgreSQL COPY protocol.
+ * Records are copied into a temporary staging table, and every following step is a set-wise statement on that table.
+ */
+@Repository("IMPORT_COPY")
+public class ImportDaoImpl implements ImportDao {
+
+    /**
+     * Must match the allocationSize of the entities, so that imported IDs never overlap the blocks Hibernate reserves.
+     */
+    private static final int ALLOCATION_SIZE = 50;
+    private static final int MAX_REPORTED_ERRORS = 10;
+
+    private static final String CREATE_STAGING_TABLE = """
+            create temporary table import_row (
+                line bigint primary key,
+                entity text not null,
+                ref text not null,
+                parent text,
+                name text,
+                description text,
+                type text,
+                status text,
+                content text,
+                owner text,
+                due_date timestamp,
+                start_date timestamp,
+                end_date timestamp,
+                id bigint,
+                parent_id bigint,
+                parent_entity text,
+                user_id bigint
+            ) with (fillfactor = 50) on commit drop
+            """;
+
+    private static final String COPY_STAGING_TABLE = """
+            copy import_row (line, entity, ref, parent, name, description, type, status, content, owner, due_date, start_date, end_date)
+            from stdin
+            """;
+
+    /**
+     * Gives each row of an entity an ID from blocks reserved on its sequence, and the ID and entity of its parent,
+     * whose rows were numbered by the previous statements.
+     */
+    private static final String ALLOCATE_IDS = """
+            with numbered as (
+                select line, parent, row_number() over (order by line) - 1 as position
+                from import_row
+                where entity = '%1$s'
+            ), blocks as (
+                select row_number() over () - 1 as block, hi
+                from (select nextval('%2$s_id_seq') as hi from generate_series(0, %4$d)) allocated
+                where hi >= %5$d
+            )
+            update import_row staged
+            set id = blocks.hi - %5$d + 1 + numbered.position %% %5$d,
+                parent_id = parent.id,
+                parent_entity = parent.entity
+            from numbered
+            join blocks on blocks.block = numbered.position / %5$d
+            left join import_row parent on parent.entity = any('{%3$s}') and parent.ref = numbered.parent
+            where staged.line = numbered.line
+            """;
+
+    private static final String RESOLVE_OWNERS = """
+            update import_row staged
+            set user_id = user_account.id
+            from user_account
+            where user_account.email = staged.owner
+            """;
+
+    private static final String INSERT_PROJECTS = """
+            insert into project (id, name, due_date, description, status, created_by)
+            select id, name, due_date, description, coalesce(status, 'New'), user_id
+            from import_row
+            where entity = 'project'
+            """;
+
+    private static final String INSERT_RUNS = """
+            insert into run (id, name, description, start_date, end_date, status, project_id)
+            select id, name, description, start_date, end_date, coalesce(status, 'New'), parent_id
+            from import_row
+            where entity = 'run'
+            """;
+
+    /**
+     * A feature belongs to a run, whose project it takes, or directly to a project when it is outside of any run.
+     */
+    private static final String INSERT_FEATURES = """
+            insert into feature (id, name, description, run_id, project_id, status)
+            select feature.id, feature.name, feature.description, run.id, coalesce(run.parent_id, feature.parent_id), coalesce(feature.status, 'New')
+            from import_row feature
+            left join import_row run on feature.parent_entity = 'run' and run.entity = 'run' and run.ref = feature.parent
+            where feature.entity = 'feature'
+            """;
+
+    private static final String INSERT_TO_DOS = """
+            insert into to_do (id, name, type, description, status, feature_id, user_id)
+            select id, name, type, description, coalesce(status, 'New'), parent_id, user_id
+            from import_row
+            where entity = 'toDo'
+            """;
+
+    private static final String INSERT_TO_DO_COUNTS = """
+            insert into feature_to_do_count (feature_id, status, type, to_dos)
+            select parent_id, coalesce(status, 'New'), type, count(*)
+            from import_row
+            where entity = 'toDo'
+            group by 1, 2, 3
+            """;
+
+    private static final String INSERT_TO_DO_TRANSITIONS = """
+            insert into to_do_transition (to_do_id, run_id, from_status, to_status)
+            select to_do.id, feature.parent_id, null, coalesce(to_do.status, 'New')
+            from import_row to_do
+            join import_row feature on feature.entity = 'feature' and feature.ref = to_do.parent
+            where to_do.entity = 'toDo' and feature.parent_entity = 'run'
+            """;
+
+    private static final String INSERT_COMMENTS = """
+            insert into comment (id, name, content, to_do_id)
+            select id, name, content, parent_id
+            from import_row
+            where entity = 'comment'
+            """;
+
+    private final Logger logger = LoggerFactory.getLogger(ImportDaoImpl.class);
+    private final JdbcTemplate jdbcTemplate;
+
+    public ImportDaoImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImportedRows importRecords(Iterator<ImportRecord> records) {
+        return jdbcTemplate.execute((ConnectionCallback<ImportedRows>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                ImportedRows importedRows = importRecords(connection, records);
+                connection.commit();
+                return importedRows;
+            } catch (RuntimeException | SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+    }
+
+    private ImportedRows importRecords(Connection connection, Iterator<ImportRecord> records) throws SQLException {
+        long start = System.nanoTime();
+        execute(connection, CREATE_STAGING_TABLE);
+        long staged = copy(connection, records);
+        logger.info("Staged {} rows in {} ms", staged, elapsedMillis(start));
+
+        start = System.nanoTime();
+        execute(connection, "create index on import_row (entity, ref)");
+        execute(connection, "analyze import_row");
+        verify(connection, """
+                select 'Duplicated ref ' || ref || ' for ' || entity
+                from import_row
+                group by entity, ref
+                having count(*) > 1
+                """);
+
+        Map<String, Long> counts = countByEntity(connection);
+        allocateIds(connection, "project", "project", counts);
+        allocateIds(connection, "run", "run", counts, "project");
+        allocateIds(connection, "feature", "feature", counts, "run", "project");
+        allocateIds(connection, "toDo", "to_do", counts, "feature");
+        allocateIds(connection, "comment", "comment", counts, "toDo");
+        execute(connection, RESOLVE_OWNERS);
+        verify(connection, """
+                select 'Record ' || line || ': unknown parent ' || coalesce(parent, '')
+                from import_row
+                where entity <> 'project' and parent_id is null
+                union all
+                select 'Record ' || line || ': ambiguous parent ' || parent
+                from import_row feature
+                where entity = 'feature'
+                  and exists (select 1 from import_row run where run.entity = 'run' and run.ref = feature.parent)
+                  and exists (select 1 from import_row project where project.entity = 'project' and project.ref = feature.parent)
+                union all
+                select 'Record ' || line || ': unknown owner ' || owner
+                from import_row
+                where owner is not null and user_id is null
+                """);
+        logger.info("Resolved references of {} rows in {} ms", staged, elapsedMillis(start));
+
+        start = System.nanoTime();
+        ImportedRows importedRows = new ImportedRows(
+                execute(connection, INSERT_PROJECTS),
+                execute(connection, INSERT_RUNS),
+                execute(connection, INSERT_FEATURES),
+                execute(connection, INSERT_TO_DOS),
+                execute(connection, INSERT_COMMENTS)
+        );
+        // The features are new, so their counts are inserted without conflicts.
+        execute(connection, INSERT_TO_DO_COUNTS);
+        execute(connection, INSERT_TO_DO_TRANSITIONS);
+        logger.info("Inserted {} rows in {} ms", importedRows.total(), elapsedMillis(start));
+
+        return importedRows;
+    }
+
+    private long copy(Connection connection, Iterator<ImportRecord> records) throws SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGING_TABLE);
+        StringBuilder row = new StringBuilder();
+        long line = 0;
+
+        try {
+            while(records.hasNext()) {
+                ImportRecord record = records.next();
+                line++;
+
+                row.setLength(0);
+                row.append(line);
+                appendField(row, record.entity());
+                appendField(row, record.ref());
+                appendField(row, record.parent());
+                appendField(row, record.name());
+                appendField(row, record.description());
+                appendField(row, record.type());
+                appendField(row, record.status());
+                appendField(row, record.content());
+                appendField(row, record.owner());
+                appendField(row, toTimestamp(record.dueDate()));
+                appendField(row, toTimestamp(record.startDate()));
+                appendField(row, toTimestamp(record.endDate()));
+                row.append('\n');
+
+                byte[] bytes = row.toString().getBytes(StandardCharsets.UTF_8);
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+            }
+            copyIn.endCopy();
+        } finally {
+            if(copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+
+        return line;
+    }
+
+    private void allocateIds(Connection connection, String entity, String table, Map<String, Long> counts, String... parents) throws SQLException {
+        long count = counts.getOrDefault(entity, 0L);
+        if(count == 0) {
+            return;
+        }
+
+        // One spare block covers a first nextval below the allocation size, which would yield negative IDs.
+        execute(connection, ALLOCATE_IDS.formatted(entity, table, String.join(",", parents), count / ALLOCATION_SIZE + 1, ALLOCATION_SIZE));
+    }
+
+    private Map<String, Long> countByEntity(Connection connection) throws SQLException {
+        Map<String, Long> counts = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select entity, count(*) from import_row group by entity")) {
+            while(resultSet.next()) {
+                counts.put(resultSet.getString(1), resultSet.getLong(2));
+            }
+        }
+        return counts;
+    }
+
+    private void verify(Connection connection, String sql) throws SQLException {
+        List<String> stackTrace = new ArrayList<>();
+        try (Statement statement = connection.createStatement()) {
+            statement.setMaxRows(MAX_REPORTED_ERRORS);
+            try (ResultSet resultSet = statement.executeQuery(sql)) {
+                while(resultSet.next()) {
+                    stackTrace.add(resultSet.getString(1));
+                }
+            }
+        }
+
+        if(!stackTrace.isEmpty()) {
+            stackTrace.forEach(logger::error);
+            throw new BadRequestException(stackTrace.toString());
+        }
+    }
+
+    private int execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+            return Math.max(statement.getUpdateCount(), 0);
+        }
+    }
+
+    private static String toTimestamp(Long epochSecond) {
+        if(epochSecond == null) {
+            return null;
+        }
+
+        return Timestamp.valueOf(Instant.ofEpochSecond(epochSecond).atZone(ZoneId.systemDefault()).toLocalDateTime()).toString();
+    }
+
+    /**
+     * Appends a tab separated field in the text format of COPY.
+     */
+    private static void appendField(StringBuilder row, String value) {
+        row.append('\t');
+        if(value == null) {
+            row.append("\\N");
+            return;
+        }
+
+        for(int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> row.append("\\\\");
+                case '\t' -> row.append("\\t");
+                case '\n' -> row.append("\\n");
+                case '\r' -> row.append("\\r");
+                default -> row.append(c);
+            }
+        }
+    }
+
+    private static long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
@@ -0,0 +1,14 @@
+package com.tasky.api.dao.importer;
+
+/**
+ * The number of rows inserted in each table by an import.
+ */
+public record ImportedRows(long projects, long runs, long features, long toDos, long comments) {
+
+    /**
+     * @return The total number of rows inserted.
+     */
+    public long total() {
+        return projects + runs + features + toDos + comments;
+    }
+}
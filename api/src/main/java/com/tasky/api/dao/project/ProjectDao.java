@@ -1,10 +1,15 @@
 package com.tasky.api.dao.project;
 
+import com.tasky.api.dao.Cursor;
+import com.tasky.api.dao.CursorPage;
+import com.tasky.api.dao.ResourceVersion;
+import com.tasky.api.dto.project.ProjectDto;
 import com.tasky.api.models.Project;
-import com.tasky.api.models.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -27,24 +32,72 @@ public interface ProjectDao {
      */
     Optional<Project> selectProjectById(Long projectId);
 
+    /**
+     * Retrieves the ProjectDto of a project by its ID, with its members, without loading the entity.
+     *
+     * @param projectId The ID of the project to retrieve.
+     * @return An optional containing the retrieved project, or empty if not found.
+     */
+    Optional<ProjectDto> selectProjectDtoById(Long projectId);
+
     /**
      * Retrieves a paginated list of all projects from the database.
      *
      * @param name     The name pattern to filter projects by.
      * @param pageable The pagination information.
-     * @return A page of projects that match the criteria.
+     * @return A page of projects that match the criteria, with their members.
+     */
+    Page<ProjectDto> selectAllProject(String name, Pageable pageable);
+
+    /**
+     * Retrieves a keyset page of projects whose name contains the pattern.
+     *
+     * @param name     The name pattern to filter projects by.
+     * @param after    The position of the last row of the previous page.
+     * @param size     The size of the page.
+     * @return A CursorPage of projects ordered by name and ID, with their members.
      */
-    Page<Project> selectAllProject(String name, Pageable pageable);
+    CursorPage<ProjectDto> selectAllProject(String name, Cursor after, int size);
+
+    /**
+     * Retrieves a slice of all projects whose name contains the pattern, without counting the matching rows.
+     *
+     * @param name     The name pattern to filter projects by.
+     * @param pageable The pageable configuration for the result slice.
+     * @return A slice of projects that match the criteria, with their members.
+     */
+    Slice<ProjectDto> selectAllProjectAsSlice(String name, Pageable pageable);
 
     /**
      * Retrieves a paginated list of projects associated with a specific user.
      *
      * @param name     The name pattern to filter projects by.
-     * @param user     The user associated with the projects.
+     * @param userId   The ID of the user associated with the projects.
      * @param pageable The pagination information.
-     * @return A page of projects that match the criteria.
+     * @return A page of projects that match the criteria, with their members.
+     */
+    Page<ProjectDto> selectAllProjectForUser(String name, Long userId, Pageable pageable);
+
+    /**
+     * Retrieves a keyset page of projects associated with a specific user.
+     *
+     * @param name     The name pattern to filter projects by.
+     * @param userId   The ID of the user associated with the projects.
+     * @param after    The position of the last row of the previous page.
+     * @param size     The size of the page.
+     * @return A CursorPage of projects ordered by name and ID, with their members.
      */
-    Page<Project> selectAllProjectForUser(String name, User user, Pageable pageable);
+    CursorPage<ProjectDto> selectAllProjectForUser(String name, Long userId, Cursor after, int size);
+
+    /**
+     * Retrieves a slice of projects associated with a specific user, without counting the matching rows.
+     *
+     * @param name     The name pattern to filter projects by.
+     * @param userId   The ID of the user associated with the projects.
+     * @param pageable The pageable configuration for the result slice.
+     * @return A slice of projects that match the criteria, with their members.
+     */
+    Slice<ProjectDto> selectAllProjectForUserAsSlice(String name, Long userId, Pageable pageable);
 
     /**
      * Checks if a project with the specified ID exists in the database.
@@ -55,7 +108,8 @@ public interface ProjectDao {
     Boolean isProjectExistsWithId(Long id);
 
     /**
-     * Deletes a project from the database by its ID.
+     * Deletes a project from the database by its ID, with a single statement relying on the ON DELETE CASCADE
+     * of its memberships, runs, features, to-dos and comments, so none of them is loaded.
      *
      * @param id The ID of the project to delete.
      */
@@ -67,4 +121,37 @@ public interface ProjectDao {
      * @param project The updated project entity.
      */
     void updateProject(Project project);
+
+    /**
+     * Retrieves the IDs of the projects a user is a member of.
+     *
+     * @param userId The ID of the user.
+     * @return The list of project IDs the user is a member of.
+     */
+    List<Long> selectProjectIdsForMember(Long userId);
+
+    /**
+     * Retrieves the validators of a project by its ID, along with its members, without reading the project.
+     *
+     * @param projectId The ID of the project.
+     * @return An optional containing the validators of the project, or empty if not found.
+     */
+    Optional<ResourceVersion> selectProjectVersionById(Long projectId);
+
+    /**
+     * Retrieves the validators of the projects matching a name pattern, along with their members.
+     *
+     * @param name The name pattern to filter projects by.
+     * @return The validators of the projects, shared by every page of the list.
+     */
+    ResourceVersion selectAllProjectVersion(String name);
+
+    /**
+     * Retrieves the validators of the projects associated with a specific user and matching a name pattern, along with their members.
+     *
+     * @param name   The name pattern to filter projects by.
+     * @param userId The ID of the user associated with the projects.
+     * @return The validators of the projects, shared by every page of the list.
+     */
+    ResourceVersion selectAllProjectForUserVersion(String name, Long userId);
 }
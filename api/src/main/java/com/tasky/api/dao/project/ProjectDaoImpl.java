@@ -1,13 +1,24 @@
 package com.tasky.api.dao.project;
 
+import com.tasky.api.dao.Cursor;
+import com.tasky.api.dao.CursorPage;
+import com.tasky.api.dao.ResourceVersion;
+import com.tasky.api.dto.project.ProjectDto;
+import com.tasky.api.dto.project.ProjectMemberDto;
+import com.tasky.api.dto.user.UserDto;
 import com.tasky.api.models.Project;
-import com.tasky.api.models.User;
 import com.tasky.api.repositories.ProjectRepository;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Data Access Object Implementation (DAO) interface for managing Project entities.
@@ -41,16 +52,58 @@ public class ProjectDaoImpl implements ProjectDao {
      * {@inheritDoc}
      */
     @Override
-    public Page<Project> selectAllProject(String name, Pageable pageable) {
-        return repository.findProjectByNameContaining(name, pageable);
+    public Optional<ProjectDto> selectProjectDtoById(Long projectId) {
+        return repository.findDtoById(projectId).map(project -> withMembers(List.of(project)).get(0));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Page<Project> selectAllProjectForUser(String name, User user, Pageable pageable) {
-        return repository.findProjectByNameContainingAndUsersContains(name, user, pageable);
+    public Page<ProjectDto> selectAllProject(String name, Pageable pageable) {
+        return withMembers(repository.findProjectByNameContainingIgnoreCase(name, pageable));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPage<ProjectDto> selectAllProject(String name, Cursor after, int size) {
+        List<ProjectDto> projects = repository.findProjectByNameContainingAfter(name, after.key(), after.id(), Pageable.ofSize(size + 1));
+        return withMembers(CursorPage.of(projects, size, project -> new Cursor(project.name(), project.projectID())));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Slice<ProjectDto> selectAllProjectAsSlice(String name, Pageable pageable) {
+        return withMembers(repository.findProjectSliceByNameContainingIgnoreCase(name, pageable));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<ProjectDto> selectAllProjectForUser(String name, Long userId, Pageable pageable) {
+        return withMembers(repository.findProjectByNameContainingIgnoreCaseAndUsersContains(name, userId, pageable));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPage<ProjectDto> selectAllProjectForUser(String name, Long userId, Cursor after, int size) {
+        List<ProjectDto> projects = repository.findProjectByNameContainingAndUsersContainsAfter(name, userId, after.key(), after.id(), Pageable.ofSize(size + 1));
+        return withMembers(CursorPage.of(projects, size, project -> new Cursor(project.name(), project.projectID())));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Slice<ProjectDto> selectAllProjectForUserAsSlice(String name, Long userId, Pageable pageable) {
+        return withMembers(repository.findProjectSliceByNameContainingIgnoreCaseAndUsersContains(name, userId, pageable));
     }
 
     /**
@@ -66,7 +119,7 @@ public class ProjectDaoImpl implements ProjectDao {
      */
     @Override
     public void deleteProjectById(Long id) {
-        repository.deleteById(id);
+        repository.deleteProjectById(id);
     }
 
     /**
@@ -76,4 +129,70 @@ public class ProjectDaoImpl implements ProjectDao {
     public void updateProject(Project project) {
         repository.save(project);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Long> selectProjectIdsForMember(Long userId) {
+        return repository.findProjectIdsByMemberId(userId);
+    }
+
+    private Page<ProjectDto> withMembers(Page<ProjectDto> page) {
+        return new PageImpl<>(withMembers(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    private Slice<ProjectDto> withMembers(Slice<ProjectDto> slice) {
+        return new SliceImpl<>(withMembers(slice.getContent()), slice.getPageable(), slice.hasNext());
+    }
+
+    private CursorPage<ProjectDto> withMembers(CursorPage<ProjectDto> page) {
+        return new CursorPage<>(withMembers(page.content()), page.next());
+    }
+
+    /**
+     * Reads the members of the projects in one statement and attaches them to their projects.
+     */
+    private List<ProjectDto> withMembers(List<ProjectDto> projects) {
+        if(projects.isEmpty()) {
+            return projects;
+        }
+
+        Map<Long, List<UserDto>> members = repository
+                .findMembersByProjectIdIn(projects.stream().map(ProjectDto::projectID).toList())
+                .stream()
+                .collect(Collectors.groupingBy(
+                        ProjectMemberDto::projectId,
+                        Collectors.mapping(ProjectMemberDto::user, Collectors.toList())
+                ));
+
+        return projects
+                .stream()
+                .map(project -> project.withUsers(members.getOrDefault(project.projectID(), List.of())))
+                .toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<ResourceVersion> selectProjectVersionById(Long projectId) {
+        return repository.findVersionById(projectId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResourceVersion selectAllProjectVersion(String name) {
+        return repository.findVersionByNameContainingIgnoreCase(name);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResourceVersion selectAllProjectForUserVersion(String name, Long userId) {
+        return repository.findVersionByNameContainingIgnoreCaseAndUsersContains(name, userId);
+    }
 }
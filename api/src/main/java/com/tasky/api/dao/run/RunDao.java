@@ -1,9 +1,14 @@
 package com.tasky.api.dao.run;
 
-import com.tasky.api.models.Project;
+import com.tasky.api.dao.AuthorizedResource;
+import com.tasky.api.dao.Cursor;
+import com.tasky.api.dao.CursorPage;
+import com.tasky.api.dao.ResourceVersion;
+import com.tasky.api.dto.run.RunDto;
 import com.tasky.api.models.Run;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.Optional;
 
@@ -30,12 +35,33 @@ public interface RunDao {
     /**
      * Retrieves a page of runs associated with a specific project, where the run names contain the specified pattern.
      *
-     * @param project  The Project associated with the runs to retrieve.
+     * @param projectId The unique identifier (ID) of the Project associated with the runs to retrieve.
      * @param name     The pattern to search for in run names.
      * @param pageable The pageable configuration for the result page.
      * @return A Page containing runs associated with the specified project.
      */
-    Page<Run> findAllRunWhereProjectIsAndNameContaining(Project project, String name, Pageable pageable);
+    Page<RunDto> findAllRunWhereProjectIsAndNameContaining(Long projectId, String name, Pageable pageable);
+
+    /**
+     * Retrieves a keyset page of runs associated with a specific project, where the run names contain the specified pattern.
+     *
+     * @param projectId The unique identifier (ID) of the Project associated with the runs to retrieve.
+     * @param name     The pattern to search for in run names.
+     * @param after    The position of the last row of the previous page.
+     * @param size     The size of the page.
+     * @return A CursorPage containing runs ordered by name and ID.
+     */
+    CursorPage<RunDto> findAllRunWhereProjectIsAndNameContaining(Long projectId, String name, Cursor after, int size);
+
+    /**
+     * Retrieves a slice of runs associated with a specific project, where the run names contain the specified pattern, without counting the matching rows.
+     *
+     * @param projectId The unique identifier (ID) of the Project associated with the runs to retrieve.
+     * @param name     The pattern to search for in run names.
+     * @param pageable The pageable configuration for the result slice.
+     * @return A Slice containing runs associated with the specified project.
+     */
+    Slice<RunDto> findAllRunWhereProjectIsAndNameContainingAsSlice(Long projectId, String name, Pageable pageable);
 
     /**
      * Updates an existing run.
@@ -51,4 +77,42 @@ public interface RunDao {
      */
     void deleteRunById(Long runId);
 
+    /**
+     * Retrieves a run by its unique identifier (ID) together with the membership of a user
+     * in the project owning it, in a single statement.
+     *
+     * @param runId The unique identifier (ID) of the run to retrieve.
+     * @param userId The unique identifier (ID) of the user.
+     * @return An Optional containing the run and the membership of the user, or an empty Optional if not found.
+     */
+    Optional<AuthorizedResource<Run>> findRunByIdForMember(Long runId, Long userId);
+
+    /**
+     * Retrieves the RunDto of a run by its unique identifier (ID) together with the membership of a user
+     * in the project owning it, in a single statement and without loading the entity.
+     *
+     * @param runId The unique identifier (ID) of the run to retrieve.
+     * @param userId The unique identifier (ID) of the user.
+     * @return An Optional containing the RunDto and the membership of the user, or an empty Optional if not found.
+     */
+    Optional<AuthorizedResource<RunDto>> findRunDtoByIdForMember(Long runId, Long userId);
+
+    /**
+     * Retrieves the validators of a run by its unique identifier (ID) together with the membership of a user
+     * in the project owning it, in a single statement and without reading the run.
+     *
+     * @param runId The unique identifier (ID) of the run.
+     * @param userId The unique identifier (ID) of the user.
+     * @return An Optional containing the validators of the run and the membership of the user, or an empty Optional if not found.
+     */
+    Optional<AuthorizedResource<ResourceVersion>> findRunVersionByIdForMember(Long runId, Long userId);
+
+    /**
+     * Retrieves the validators of the runs associated with a specific project, where the run names contain the specified pattern.
+     *
+     * @param projectId The unique identifier (ID) of the Project associated with the runs.
+     * @param name     The pattern to search for in run names.
+     * @return The validators of the runs, shared by every page of the list.
+     */
+    ResourceVersion findAllRunVersionWhereProjectIsAndNameContaining(Long projectId, String name);
 }
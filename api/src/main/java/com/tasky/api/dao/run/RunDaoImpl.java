@@ -1,12 +1,18 @@
 package com.tasky.api.dao.run;
 
-import com.tasky.api.models.Project;
+import com.tasky.api.dao.AuthorizedResource;
+import com.tasky.api.dao.Cursor;
+import com.tasky.api.dao.CursorPage;
+import com.tasky.api.dao.ResourceVersion;
+import com.tasky.api.dto.run.RunDto;
 import com.tasky.api.models.Run;
 import com.tasky.api.repositories.RunRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -40,8 +46,25 @@ public class RunDaoImpl implements RunDao {
      * {@inheritDoc}
      */
     @Override
-    public Page<Run> findAllRunWhereProjectIsAndNameContaining(Project project, String name, Pageable pageable) {
-        return repository.findAllByProjectIsAndNameContaining(project,name,pageable);
+    public Page<RunDto> findAllRunWhereProjectIsAndNameContaining(Long projectId, String name, Pageable pageable) {
+        return repository.findAllByProjectIsAndNameContainingIgnoreCase(projectId,name,pageable);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPage<RunDto> findAllRunWhereProjectIsAndNameContaining(Long projectId, String name, Cursor after, int size) {
+        List<RunDto> runs = repository.findAllByProjectIsAndNameContainingAfter(projectId, name, after.key(), after.id(), Pageable.ofSize(size + 1));
+        return CursorPage.of(runs, size, run -> new Cursor(run.name(), run.runId()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Slice<RunDto> findAllRunWhereProjectIsAndNameContainingAsSlice(Long projectId, String name, Pageable pageable) {
+        return repository.findSliceByProjectIsAndNameContainingIgnoreCase(projectId,name,pageable);
     }
 
     /**
@@ -59,4 +82,36 @@ public class RunDaoImpl implements RunDao {
     public void deleteRunById(Long runId) {
         repository.deleteById(runId);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<AuthorizedResource<Run>> findRunByIdForMember(Long runId, Long userId) {
+        return repository.findByIdForMember(runId, userId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<AuthorizedResource<RunDto>> findRunDtoByIdForMember(Long runId, Long userId) {
+        return repository.findDtoByIdForMember(runId, userId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<AuthorizedResource<ResourceVersion>> findRunVersionByIdForMember(Long runId, Long userId) {
+        return repository.findVersionByIdForMember(runId, userId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResourceVersion findAllRunVersionWhereProjectIsAndNameContaining(Long projectId, String name) {
+        return repository.findVersionByProjectIsAndNameContainingIgnoreCase(projectId, name);
+    }
 }
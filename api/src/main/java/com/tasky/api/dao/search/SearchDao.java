@@ -0,0 +1,24 @@
+package com.tasky.api.dao.search;
+
+import com.tasky.api.dto.search.SearchResponse;
+
+import java.util.List;
+
+/**
+ * The SearchDao interface defines methods to run full-text searches across projects, runs, features, to-dos and comments.
+ */
+public interface SearchDao {
+
+    /**
+     * Searches the names, descriptions and comment contents matching a query, ranked by relevance.
+     * Names weigh more than descriptions and contents. Only the first matches of each type are ranked, so the
+     * response is reported as truncated when a type has more matches, more relevant hits possibly being missed.
+     *
+     * @param query    The query, in the web search syntax: words, "quoted phrases", or and -excluded words.
+     * @param types    The types of hits to search among project, run, feature, toDo and comment.
+     * @param memberId The unique identifier (ID) of the user whose projects the hits must belong to, null to search every project.
+     * @param limit    The maximum number of hits.
+     * @return The hits, most relevant first, and whether some matches were not ranked.
+     */
+    SearchResponse search(String query, List<String> types, Long memberId, int limit);
+}
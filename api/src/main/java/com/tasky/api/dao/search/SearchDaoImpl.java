@@ -0,0 +1,142 @@
+package com.tasky.api.dao.search;
+
+import com.tasky.api.dto.search.SearchHitDto;
+import com.tasky.api.dto.search.SearchResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Implementation of the SearchDao interface using the PostgreSQL full-text search.
+ * Each table has a weighted search_vector column, kept current by triggers and indexed with GIN.
+ */
+@Repository("SEARCH_FTS")
+public class SearchDaoImpl implements SearchDao {
+
+    private static final String SEARCH = """
+            with query as (select websearch_to_tsquery('english', ?) as q)
+            select hits.type, hits.id, hits.project_id, hits.name, hits.rank, hits.truncated,
+                   ts_headline('english', coalesce(hits.text, ''), query.q, 'MaxFragments=1, MaxWords=20, MinWords=5') as headline
+            from (
+                select typed_hits.*, bool_or(typed_hits.candidates_truncated) over () as truncated
+                from (
+                    %s
+                ) typed_hits
+                order by rank desc, type, id
+                limit ?
+            ) hits
+            cross join query
+            order by hits.rank desc, hits.type, hits.id
+            """;
+
+    /**
+     * Ranks the first matches of a type, up to the number of candidates. One more match is read to tell whether
+     * the type has more matches than are ranked, but it is not ranked.
+     */
+    private static final String SEARCH_TYPE = """
+            (select candidates.type, candidates.id, candidates.project_id, candidates.name, candidates.text,
+                    ts_rank(candidates.search_vector, query.q) as rank, candidates.candidates_truncated
+            from (
+                select matches.*, row_number() over () as position, count(*) over () > %6$d as candidates_truncated
+                from (
+                    select '%1$s' as type, s.id, %3$s as project_id, s.name, %4$s as text, s.search_vector
+                    from %2$s
+                    cross join query
+                    where s.search_vector @@ query.q%5$s
+                    limit %6$d + 1
+                ) matches
+            ) candidates
+            cross join query
+            where candidates.position <= %6$d
+            order by rank desc, candidates.id
+            limit ?)
+            """;
+
+    private static final String MEMBER_FILTER = """
+
+                and %s in (select project_id from user_account_project where user_account_id = ?)""";
+
+    /**
+     * The table searched for each type, aliased s, with the expressions of its project and of its headline text.
+     */
+    private static final Map<String, Source> SOURCES = Map.of(
+            "project", new Source("project s", "s.id", "s.description"),
+            "run", new Source("run s", "s.project_id", "s.description"),
+            "feature", new Source("feature s", "s.project_id", "s.description"),
+            "toDo", new Source("to_do s join feature f on f.id = s.feature_id", "f.project_id", "s.description"),
+            "comment", new Source("comment s join to_do t on t.id = s.to_do_id join feature f on f.id = t.feature_id", "f.project_id", "s.content")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int candidatesPerType;
+
+    /**
+     * Constructs a SearchDaoImpl.
+     *
+     * @param jdbcTemplate      The JdbcTemplate running the searches.
+     * @param candidatesPerType The maximum number of matching rows ranked per type. Ranking reads the vector of every
+     *                          candidate, so bounding them keeps the latency of frequent words flat whatever the size
+     *                          of the tables. Past this number, the most relevant hits are searched among the first
+     *                          matches and the response is reported as truncated.
+     */
+    public SearchDaoImpl(JdbcTemplate jdbcTemplate, @Value("${server.search.candidates-per-type:2000}") int candidatesPerType) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.candidatesPerType = candidatesPerType;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SearchResponse search(String query, List<String> types, Long memberId, int limit) {
+        StringJoiner branches = new StringJoiner("union all\n");
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(query);
+
+        for(String type : types) {
+            Source source = SOURCES.get(type);
+            if(source == null) {
+                throw new IllegalArgumentException("Unknown search type " + type);
+            }
+
+            String memberFilter = "";
+            if(memberId != null) {
+                memberFilter = MEMBER_FILTER.formatted(source.projectId());
+                parameters.add(memberId);
+            }
+            branches.add(SEARCH_TYPE.formatted(type, source.from(), source.projectId(), source.text(), memberFilter, candidatesPerType));
+            parameters.add(limit);
+        }
+        parameters.add(limit);
+
+        return jdbcTemplate.query(
+                SEARCH.formatted(branches),
+                (ResultSetExtractor<SearchResponse>) resultSet -> {
+                    List<SearchHitDto> hits = new ArrayList<>();
+                    boolean truncated = false;
+                    while(resultSet.next()) {
+                        hits.add(new SearchHitDto(
+                                resultSet.getString("type"),
+                                resultSet.getLong("id"),
+                                resultSet.getLong("project_id"),
+                                resultSet.getString("name"),
+                                resultSet.getString("headline"),
+                                resultSet.getFloat("rank")
+                        ));
+                        truncated = resultSet.getBoolean("truncated");
+                    }
+                    return new SearchResponse(hits, truncated);
+                },
+                parameters.toArray()
+        );
+    }
+
+    private record Source(String from, String projectId, String text) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.tasky.api.dao.statistics;
+
+import java.time.LocalDate;
+
+/**
+ * The number of to-dos of a run with a status at the end of a day.
+ *
+ * @param day    The day.
+ * @param status The status of the to-dos.
+ * @param toDos  The number of to-dos.
+ */
+public record BurndownCount(LocalDate day, String status, long toDos) {
+}
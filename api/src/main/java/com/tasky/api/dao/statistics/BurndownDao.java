@@ -0,0 +1,59 @@
+package com.tasky.api.dao.statistics;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The BurndownDao interface defines methods to log the changes of status of the to-dos of runs, to roll the log up
+ * into daily snapshots, and to read the burndown of a run from these snapshots.
+ */
+public interface BurndownDao {
+
+    /**
+     * Appends changes of status to the log, in the transaction of the change of the to-dos.
+     * The changes of to-dos of features outside of a run are not logged.
+     *
+     * @param transitions The changes of status.
+     */
+    void addTransitions(Collection<StatusTransition> transitions);
+
+    /**
+     * Logs the deletion of every to-do of a feature, before the feature is deleted along with them.
+     *
+     * @param featureId The unique identifier (ID) of the feature.
+     */
+    void addDeletionsOfFeature(Long featureId);
+
+    /**
+     * Claims the day following the last rolled up one, if it is over, until the end of the transaction.
+     * A concurrent claim waits for the transaction, then claims the next day.
+     *
+     * @return An Optional containing the day to roll up, or empty if every day over is rolled up.
+     */
+    Optional<LocalDate> claimNextDay();
+
+    /**
+     * Writes the snapshot of a day for every run whose to-dos changed that day, from the previous snapshot of the run
+     * and the log of the day.
+     *
+     * @param day The day to roll up.
+     * @return The number of snapshot rows written.
+     */
+    int rollUpDay(LocalDate day);
+
+    /**
+     * @return The current day of the database, the one of the log.
+     */
+    LocalDate selectToday();
+
+    /**
+     * Retrieves the number of to-dos of each status of a run at the end of every day they changed, until today,
+     * from its snapshots and the log of the days not rolled up yet.
+     *
+     * @param runId The unique identifier (ID) of the run.
+     * @return The counts of every status of each day the run changed, in the order of the days.
+     */
+    List<BurndownCount> selectBurndownOfRun(Long runId);
+}
@@ -0,0 +1,191 @@
+package com.tasky.api.dao.statistics;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Implementation of the BurndownDao interface using an append-only log of the changes of status, rolled up every day
+ * into sparse snapshots. The burndown of a run costs its snapshots and the log of the days not rolled up yet,
+ * whatever the age of the run.
+ * A day is rolled up an hour after its end, so that the transactions started that day are committed.
+ */
+@Repository("BURNDOWN_SNAPSHOTS")
+public class BurndownDaoImpl implements BurndownDao {
+
+    private static final String ADD_TRANSITIONS = """
+            insert into to_do_transition (to_do_id, run_id, from_status, to_status)
+            select changed.to_do_id, f.run_id, changed.from_status, changed.to_status
+            from (values %s) as changed (to_do_id, feature_id, from_status, to_status)
+            join feature f on f.id = changed.feature_id
+            where f.run_id is not null
+            """;
+
+    private static final String ADD_DELETIONS_OF_FEATURE = """
+            insert into to_do_transition (to_do_id, run_id, from_status, to_status)
+            select t.id, f.run_id, t.status, null
+            from to_do t
+            join feature f on f.id = t.feature_id
+            where f.id = ? and f.run_id is not null
+            """;
+
+    private static final String CLAIM_NEXT_DAY = """
+            update run_burndown_rollup
+            set rolled_up_to = rolled_up_to + 1
+            where rolled_up_to + 1 < (LOCALTIMESTAMP - interval '1 hour')::date
+            returning rolled_up_to
+            """;
+
+    private static final String ROLL_UP_DAY = """
+            with changed as (
+                select run_id, status, sum(change) as change
+                from (
+                    select run_id, to_status as status, 1 as change
+                    from to_do_transition
+                    where created_at >= ?::date and created_at < ?::date + 1 and to_status is not null
+                    union all
+                    select run_id, from_status, -1
+                    from to_do_transition
+                    where created_at >= ?::date and created_at < ?::date + 1 and from_status is not null
+                ) transitions
+                group by run_id, status
+            ), previous as (
+                select distinct on (b.run_id, b.status) b.run_id, b.status, b.to_dos
+                from run_burndown b
+                where b.run_id in (select run_id from changed) and b.day < ?::date
+                order by b.run_id, b.status, b.day desc
+            )
+            insert into run_burndown (run_id, day, status, to_dos)
+            select run_id, ?::date, status, sum(to_dos)
+            from (
+                select run_id, status, to_dos from previous
+                union all
+                select run_id, status, change from changed
+            ) counts
+            group by run_id, status
+            order by run_id, status
+            on conflict (run_id, day, status) do update set to_dos = excluded.to_dos
+            """;
+
+    // A single statement, so that a concurrent roll up cannot count a day both in a snapshot and in the log.
+    private static final String SELECT_BURNDOWN_OF_RUN = """
+            with rollup as (
+                select rolled_up_to from run_burndown_rollup
+            )
+            select day, status, to_dos, false as change
+            from run_burndown
+            where run_id = ? and day <= (select rolled_up_to from rollup)
+            union all
+            select created_at::date, status, sum(change), true
+            from (
+                select created_at, to_status as status, 1 as change
+                from to_do_transition
+                where run_id = ? and created_at >= (select rolled_up_to + 1 from rollup) and to_status is not null
+                union all
+                select created_at, from_status, -1
+                from to_do_transition
+                where run_id = ? and created_at >= (select rolled_up_to + 1 from rollup) and from_status is not null
+            ) transitions
+            group by 1, 2
+            order by 1, 2
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BurndownDaoImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addTransitions(Collection<StatusTransition> transitions) {
+        if(transitions.isEmpty()) {
+            return;
+        }
+
+        List<Object> parameters = new ArrayList<>(transitions.size() * 4);
+        for(StatusTransition transition : transitions) {
+            parameters.add(transition.toDoId());
+            parameters.add(transition.featureId());
+            parameters.add(transition.fromStatus());
+            parameters.add(transition.toStatus());
+        }
+
+        String values = String.join(", ", Collections.nCopies(transitions.size(), "(?::bigint, ?::bigint, ?::text, ?::text)"));
+        jdbcTemplate.update(ADD_TRANSITIONS.formatted(values), parameters.toArray());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addDeletionsOfFeature(Long featureId) {
+        jdbcTemplate.update(ADD_DELETIONS_OF_FEATURE, featureId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<LocalDate> claimNextDay() {
+        return jdbcTemplate.query(CLAIM_NEXT_DAY, (resultSet, rowNum) -> resultSet.getObject(1, LocalDate.class))
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int rollUpDay(LocalDate day) {
+        return jdbcTemplate.update(ROLL_UP_DAY, day, day, day, day, day, day);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LocalDate selectToday() {
+        return jdbcTemplate.queryForObject("select CURRENT_DATE", LocalDate.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<BurndownCount> selectBurndownOfRun(Long runId) {
+        // Snapshots give the counts of their day, the log of the following days changes the counts of the previous day.
+        List<BurndownCount> burndown = new ArrayList<>();
+        Map<String, Long> counts = new TreeMap<>();
+        LocalDate[] day = new LocalDate[1];
+
+        jdbcTemplate.query(SELECT_BURNDOWN_OF_RUN, resultSet -> {
+            LocalDate rowDay = resultSet.getObject("day", LocalDate.class);
+            if(!rowDay.equals(day[0])) {
+                flush(burndown, day[0], counts);
+                day[0] = rowDay;
+            }
+
+            String status = resultSet.getString("status");
+            long toDos = resultSet.getLong("to_dos");
+            if(resultSet.getBoolean("change")) {
+                counts.merge(status, toDos, Long::sum);
+            } else {
+                counts.put(status, toDos);
+            }
+        }, runId, runId, runId);
+        flush(burndown, day[0], counts);
+
+        return burndown;
+    }
+
+    private static void flush(List<BurndownCount> burndown, LocalDate day, Map<String, Long> counts) {
+        if(day != null) {
+            counts.forEach((status, toDos) -> burndown.add(new BurndownCount(day, status, toDos)));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.tasky.api.dao.statistics;
+
+import com.tasky.api.dto.statistics.FeatureStatisticsDto;
+import com.tasky.api.dto.statistics.RunStatisticsDto;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The StatisticsDao interface defines methods to maintain the number of to-dos of each feature by status and type,
+ * and to read the progress of runs and projects from these counts.
+ */
+public interface StatisticsDao {
+
+    /**
+     * Adds changes to the number of to-dos of features, in the transaction of the change of the to-dos.
+     * The counts are locked in a fixed order, so that concurrent changes wait for each other instead of deadlocking.
+     *
+     * @param changes The changes of the number of to-dos, negative for removed to-dos.
+     */
+    void addToDoCounts(Collection<ToDoCount> changes);
+
+    /**
+     * Rebuilds the number of to-dos of a range of features from their to-dos.
+     * Must run in a repeatable read transaction, so that a count changed by a concurrent transaction after the to-dos
+     * were counted fails the reconciliation instead of being overwritten.
+     *
+     * @param fromFeatureId The unique identifier (ID) of the first feature of the range.
+     * @param toFeatureId   The unique identifier (ID) following the last feature of the range.
+     * @return The number of counts that were wrong.
+     */
+    int reconcileToDoCounts(long fromFeatureId, long toFeatureId);
+
+    /**
+     * @return The highest unique identifier (ID) of a feature, 0 without features.
+     */
+    long selectMaxFeatureId();
+
+    /**
+     * Retrieves the runs of a project, without their features.
+     *
+     * @param projectId The unique identifier (ID) of the project.
+     * @return The runs of the project without statistics, in the order of their creation.
+     */
+    List<RunStatisticsDto> selectRunsOfProject(Long projectId);
+
+    /**
+     * Retrieves the progress of every feature of a project, whether it belongs to a run or not.
+     *
+     * @param projectId The unique identifier (ID) of the project.
+     * @return The progress of each feature, in the order of their creation.
+     */
+    List<FeatureStatisticsDto> selectFeaturesOfProject(Long projectId);
+
+    /**
+     * Retrieves the progress of every feature of a run.
+     *
+     * @param runId The unique identifier (ID) of the run.
+     * @return The progress of each feature, in the order of their creation.
+     */
+    List<FeatureStatisticsDto> selectFeaturesOfRun(Long runId);
+}
@@ -0,0 +1,178 @@
+package com.tasky.api.dao.statistics;
+
+import com.tasky.api.dto.statistics.FeatureStatisticsDto;
+import com.tasky.api.dto.statistics.RunStatisticsDto;
+import com.tasky.api.dto.statistics.ToDoStatisticsDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+/**
+ * Implementation of the StatisticsDao interface using a table of counters, one row per feature, status and type.
+ * The progress of a run or a project is read by joining its features to their counters, so it costs a few rows
+ * per feature whatever the number of to-dos.
+ */
+@Repository("STATISTICS_COUNTERS")
+public class StatisticsDaoImpl implements StatisticsDao {
+
+    private static final Comparator<ToDoCount> LOCK_ORDER = Comparator
+            .comparing(ToDoCount::featureId)
+            .thenComparing(ToDoCount::status)
+            .thenComparing(ToDoCount::type);
+
+    private static final String ADD_TO_DO_COUNTS = """
+            insert into feature_to_do_count (feature_id, status, type, to_dos)
+            values %s
+            on conflict (feature_id, status, type) do update set to_dos = feature_to_do_count.to_dos + excluded.to_dos
+            """;
+
+    private static final String CORRECT_TO_DO_COUNTS = """
+            insert into feature_to_do_count (feature_id, status, type, to_dos)
+            select feature_id, status, type, count(*)
+            from to_do
+            where feature_id >= ? and feature_id < ?
+            group by feature_id, status, type
+            order by feature_id, status, type
+            on conflict (feature_id, status, type) do update set to_dos = excluded.to_dos
+            where feature_to_do_count.to_dos <> excluded.to_dos
+            """;
+
+    private static final String DELETE_EMPTY_TO_DO_COUNTS = """
+            delete from feature_to_do_count c
+            where c.feature_id >= ? and c.feature_id < ?
+                and not exists (
+                    select 1 from to_do t
+                    where t.feature_id = c.feature_id and t.status = c.status and t.type = c.type
+                )
+            """;
+
+    private static final String SELECT_RUNS_OF_PROJECT = """
+            select id, name
+            from run
+            where project_id = ?
+            order by id
+            """;
+
+    private static final String SELECT_FEATURES = """
+            select f.id, f.run_id, f.name, c.status, c.type, c.to_dos
+            from feature f
+            left join feature_to_do_count c on c.feature_id = f.id and c.to_dos <> 0
+            where f.%s = ?
+            order by f.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StatisticsDaoImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addToDoCounts(Collection<ToDoCount> changes) {
+        // A statement cannot update a row twice, so the changes of a same count are summed first.
+        Map<ToDoCount, Long> merged = new TreeMap<>(LOCK_ORDER);
+        for(ToDoCount change : changes) {
+            merged.merge(new ToDoCount(change.featureId(), change.status(), change.type(), 0), change.toDos(), Long::sum);
+        }
+        merged.values().removeIf(toDos -> toDos == 0);
+        if(merged.isEmpty()) {
+            return;
+        }
+
+        List<Object> parameters = new ArrayList<>(merged.size() * 4);
+        merged.forEach((count, toDos) -> {
+            parameters.add(count.featureId());
+            parameters.add(count.status());
+            parameters.add(count.type());
+            parameters.add(toDos);
+        });
+
+        String values = String.join(", ", Collections.nCopies(merged.size(), "(?, ?, ?, ?)"));
+        jdbcTemplate.update(ADD_TO_DO_COUNTS.formatted(values), parameters.toArray());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int reconcileToDoCounts(long fromFeatureId, long toFeatureId) {
+        return jdbcTemplate.update(CORRECT_TO_DO_COUNTS, fromFeatureId, toFeatureId)
+                + jdbcTemplate.update(DELETE_EMPTY_TO_DO_COUNTS, fromFeatureId, toFeatureId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long selectMaxFeatureId() {
+        Long maxFeatureId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from feature", Long.class);
+        return maxFeatureId == null ? 0 : maxFeatureId;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<RunStatisticsDto> selectRunsOfProject(Long projectId) {
+        return jdbcTemplate.query(
+                SELECT_RUNS_OF_PROJECT,
+                (resultSet, rowNum) -> new RunStatisticsDto(
+                        resultSet.getLong("id"),
+                        resultSet.getString("name"),
+                        ToDoStatisticsDto.empty(),
+                        List.of()
+                ),
+                projectId
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<FeatureStatisticsDto> selectFeaturesOfProject(Long projectId) {
+        return selectFeatures("project_id", projectId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<FeatureStatisticsDto> selectFeaturesOfRun(Long runId) {
+        return selectFeatures("run_id", runId);
+    }
+
+    private List<FeatureStatisticsDto> selectFeatures(String parentColumn, Long parentId) {
+        // One row per count of each feature, in the order of the features, folded into one statistics per feature.
+        Map<Long, FeatureStatisticsDto> features = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_FEATURES.formatted(parentColumn), resultSet -> {
+            long featureId = resultSet.getLong("id");
+            FeatureStatisticsDto feature = features.get(featureId);
+            if(feature == null) {
+                feature = new FeatureStatisticsDto(
+                        featureId,
+                        resultSet.getObject("run_id", Long.class),
+                        resultSet.getString("name"),
+                        ToDoStatisticsDto.empty()
+                );
+            }
+
+            String status = resultSet.getString("status");
+            if(status != null) {
+                feature = new FeatureStatisticsDto(
+                        feature.featureId(),
+                        feature.runId(),
+                        feature.name(),
+                        feature.toDos().plus(status, resultSet.getString("type"), resultSet.getLong("to_dos"))
+                );
+            }
+            features.put(featureId, feature);
+        }, parentId);
+
+        return new ArrayList<>(features.values());
+    }
+}
@@ -0,0 +1,12 @@
+package com.tasky.api.dao.statistics;
+
+/**
+ * A change of status of a to-do, logged for the burndown of its run.
+ *
+ * @param toDoId     The unique identifier (ID) of the to-do.
+ * @param featureId  The unique identifier (ID) of the feature of the to-do.
+ * @param fromStatus The status before the change, null for a created to-do.
+ * @param toStatus   The status after the change, null for a deleted to-do.
+ */
+public record StatusTransition(Long toDoId, Long featureId, String fromStatus, String toStatus) {
+}
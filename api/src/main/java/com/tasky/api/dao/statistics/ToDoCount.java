@@ -0,0 +1,12 @@
+package com.tasky.api.dao.statistics;
+
+/**
+ * A number of to-dos of a feature with a status and a type, or a change of that number.
+ *
+ * @param featureId The unique identifier (ID) of the feature.
+ * @param status    The status of the to-dos.
+ * @param type      The type of the to-dos.
+ * @param toDos     The number of to-dos, negative for to-dos removed from the count.
+ */
+public record ToDoCount(Long featureId, String status, String type, long toDos) {
+}
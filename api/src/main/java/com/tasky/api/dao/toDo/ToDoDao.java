@@ -1,11 +1,16 @@
 package com.tasky.api.dao.toDo;
 
-import com.tasky.api.models.Feature;
+import com.tasky.api.dao.AuthorizedResource;
+import com.tasky.api.dao.Cursor;
+import com.tasky.api.dao.CursorPage;
+import com.tasky.api.dao.ResourceVersion;
+import com.tasky.api.dto.toDo.TodoDto;
 import com.tasky.api.models.ToDo;
-import com.tasky.api.models.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -20,6 +25,13 @@ public interface ToDoDao {
      */
     void createTodo(ToDo toDo);
 
+    /**
+     * Creates several ToDos in a single batched transaction.
+     *
+     * @param toDos The ToDo objects to be created.
+     */
+    void createTodos(List<ToDo> toDos);
+
     /**
      * Retrieves a ToDo by its unique identifier (ID).
      *
@@ -32,35 +44,125 @@ public interface ToDoDao {
      * Retrieves a page of ToDos associated with a specific Feature based on the Feature's unique identifier,
      * where the ToDo's name contains the specified pattern.
      *
-     * @param feature  The Feature associated with the ToDos to retrieve.
+     * @param featureId The unique identifier (ID) of the Feature associated with the ToDos to retrieve.
      * @param name     The pattern to search for in ToDo names.
      * @param pageable The pageable configuration for the result page.
      * @return A Page containing ToDos associated with the specified Feature that match the name pattern.
      */
-    Page<ToDo> selectAllToDoWhereFeatureIdIsAndNameContaining(Feature feature, String name, Pageable pageable);
+    Page<TodoDto> selectAllToDoWhereFeatureIdIsAndNameContaining(Long featureId, String name, Pageable pageable);
+
+    /**
+     * Retrieves a keyset page of ToDos associated with a specific Feature, where the ToDo's name contains the specified pattern.
+     *
+     * @param featureId The unique identifier (ID) of the Feature associated with the ToDos to retrieve.
+     * @param name     The pattern to search for in ToDo names.
+     * @param after    The position of the last row of the previous page.
+     * @param size     The size of the page.
+     * @return A CursorPage containing ToDos ordered by name and ID.
+     */
+    CursorPage<TodoDto> selectAllToDoWhereFeatureIdIsAndNameContaining(Long featureId, String name, Cursor after, int size);
+
+    /**
+     * Retrieves a slice of ToDos associated with a specific Feature, where the ToDo's name contains the specified pattern, without counting the matching rows.
+     *
+     * @param featureId The unique identifier (ID) of the Feature associated with the ToDos to retrieve.
+     * @param name     The pattern to search for in ToDo names.
+     * @param pageable The pageable configuration for the result slice.
+     * @return A Slice containing ToDos associated with the specified Feature that match the name pattern.
+     */
+    Slice<TodoDto> selectAllToDoWhereFeatureIdIsAndNameContainingAsSlice(Long featureId, String name, Pageable pageable);
 
     /**
      * Retrieves a page of ToDos associated with a specific User,
      * where the ToDo's name contains the specified pattern.
      *
-     * @param user     The User associated with the ToDos to retrieve.
+     * @param userId   The unique identifier (ID) of the User associated with the ToDos to retrieve.
      * @param name     The pattern to search for in ToDo names.
      * @param pageable The pageable configuration for the result page.
      * @return A Page containing ToDos associated with the specified User that match the name pattern.
      */
-    Page<ToDo> selectToDosWhereUserIsAndNameContaining(User user, String name, Pageable pageable);
+    Page<TodoDto> selectToDosWhereUserIsAndNameContaining(Long userId, String name, Pageable pageable);
+
     /**
-     * Updates an existing ToDo.
+     * Retrieves a keyset page of ToDos associated with a specific User, where the ToDo's name contains the specified pattern.
+     *
+     * @param userId   The unique identifier (ID) of the User associated with the ToDos to retrieve.
+     * @param name     The pattern to search for in ToDo names.
+     * @param after    The position of the last row of the previous page.
+     * @param size     The size of the page.
+     * @return A CursorPage containing ToDos ordered by name and ID.
+     */
+    CursorPage<TodoDto> selectToDosWhereUserIsAndNameContaining(Long userId, String name, Cursor after, int size);
+
+    /**
+     * Retrieves a slice of ToDos associated with a specific User, where the ToDo's name contains the specified pattern, without counting the matching rows.
+     *
+     * @param userId   The unique identifier (ID) of the User associated with the ToDos to retrieve.
+     * @param name     The pattern to search for in ToDo names.
+     * @param pageable The pageable configuration for the result slice.
+     * @return A Slice containing ToDos associated with the specified User that match the name pattern.
+     */
+    Slice<TodoDto> selectToDosWhereUserIsAndNameContainingAsSlice(Long userId, String name, Pageable pageable);
+    /**
+     * Updates an existing ToDo, flushing its UPDATE right away.
      *
      * @param toDo The ToDo object containing updated information to be saved.
+     * @throws org.springframework.dao.DataIntegrityViolationException If the ToDo is assigned to a user that does not exist.
      */
     void updateTodo(ToDo toDo);
 
     /**
-     * Deletes a ToDo by its unique identifier (ID).
+     * Deletes a ToDo by its unique identifier (ID), flushing the deletion to the database.
      *
      * @param toDo The unique identifier (ID) of the ToDo to be deleted.
      */
     void deleteTodoById(Long toDo);
 
+    /**
+     * Retrieves a ToDo by its unique identifier (ID) together with the membership of a user
+     * in the project owning it, in a single statement.
+     *
+     * @param id The unique identifier (ID) of the ToDo to retrieve.
+     * @param userId The unique identifier (ID) of the user.
+     * @return An Optional containing the ToDo and the membership of the user, or an empty Optional if not found.
+     */
+    Optional<AuthorizedResource<ToDo>> selectToDoByIdForMember(Long id, Long userId);
+
+    /**
+     * Retrieves the TodoDto of a ToDo by its unique identifier (ID) together with the membership of a user
+     * in the project owning it, in a single statement and without loading the entity.
+     *
+     * @param id The unique identifier (ID) of the ToDo to retrieve.
+     * @param userId The unique identifier (ID) of the user.
+     * @return An Optional containing the TodoDto and the membership of the user, or an empty Optional if not found.
+     */
+    Optional<AuthorizedResource<TodoDto>> selectToDoDtoByIdForMember(Long id, Long userId);
+
+    /**
+     * Retrieves the validators of a ToDo by its unique identifier (ID) together with the membership of a user
+     * in the project owning it, in a single statement and without reading the ToDo.
+     *
+     * @param id     The unique identifier (ID) of the ToDo.
+     * @param userId The unique identifier (ID) of the user.
+     * @return An Optional containing the validators of the ToDo and the membership of the user, or an empty Optional if not found.
+     */
+    Optional<AuthorizedResource<ResourceVersion>> selectToDoVersionByIdForMember(Long id, Long userId);
+
+    /**
+     * Retrieves the validators of the ToDos associated with a specific Feature, where the ToDo's name contains the specified pattern.
+     *
+     * @param featureId The unique identifier (ID) of the Feature associated with the ToDos.
+     * @param name      The pattern to search for in ToDo names.
+     * @return The validators of the ToDos, shared by every page of the list.
+     */
+    ResourceVersion selectAllToDoVersionWhereFeatureIdIsAndNameContaining(Long featureId, String name);
+
+    /**
+     * Retrieves the validators of the ToDos associated with a specific User, where the ToDo's name contains the specified pattern.
+     *
+     * @param userId The unique identifier (ID) of the User associated with the ToDos.
+     * @param name   The pattern to search for in ToDo names.
+     * @return The validators of the ToDos, shared by every page of the list.
+     */
+    ResourceVersion selectToDosVersionWhereUserIsAndNameContaining(Long userId, String name);
 }
@@ -1,13 +1,18 @@
 package com.tasky.api.dao.toDo;
 
-import com.tasky.api.models.Feature;
+import com.tasky.api.dao.AuthorizedResource;
+import com.tasky.api.dao.Cursor;
+import com.tasky.api.dao.CursorPage;
+import com.tasky.api.dao.ResourceVersion;
+import com.tasky.api.dto.toDo.TodoDto;
 import com.tasky.api.models.ToDo;
-import com.tasky.api.models.User;
 import com.tasky.api.repositories.ToDoRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository("TO_DO_JPA")
@@ -27,6 +32,14 @@ public class ToDoDaoImpl implements ToDoDao {
         toDoRepository.save(toDo);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void createTodos(List<ToDo> toDos) {
+        toDoRepository.saveAll(toDos);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -39,16 +52,50 @@ public class ToDoDaoImpl implements ToDoDao {
      * {@inheritDoc}
      */
     @Override
-    public Page<ToDo> selectAllToDoWhereFeatureIdIsAndNameContaining(Feature feature, String name, Pageable pageable) {
-        return toDoRepository.findAllByFeatureIsAndNameContaining(feature,name,pageable);
+    public Page<TodoDto> selectAllToDoWhereFeatureIdIsAndNameContaining(Long featureId, String name, Pageable pageable) {
+        return toDoRepository.findAllByFeatureIsAndNameContainingIgnoreCase(featureId,name,pageable);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPage<TodoDto> selectAllToDoWhereFeatureIdIsAndNameContaining(Long featureId, String name, Cursor after, int size) {
+        List<TodoDto> toDos = toDoRepository.findAllByFeatureIsAndNameContainingAfter(featureId, name, after.key(), after.id(), Pageable.ofSize(size + 1));
+        return CursorPage.of(toDos, size, toDo -> new Cursor(toDo.title(), toDo.toDoId()));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Page<ToDo> selectToDosWhereUserIsAndNameContaining(User user, String name, Pageable pageable) {
-       return toDoRepository.findAllByUserAndAndNameContaining(user,name,pageable);
+    public Slice<TodoDto> selectAllToDoWhereFeatureIdIsAndNameContainingAsSlice(Long featureId, String name, Pageable pageable) {
+        return toDoRepository.findSliceByFeatureIsAndNameContainingIgnoreCase(featureId,name,pageable);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<TodoDto> selectToDosWhereUserIsAndNameContaining(Long userId, String name, Pageable pageable) {
+       return toDoRepository.findAllByUserAndAndNameContainingIgnoreCase(userId,name,pageable);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPage<TodoDto> selectToDosWhereUserIsAndNameContaining(Long userId, String name, Cursor after, int size) {
+        List<TodoDto> toDos = toDoRepository.findAllByUserAndNameContainingAfter(userId, name, after.key(), after.id(), Pageable.ofSize(size + 1));
+        return CursorPage.of(toDos, size, toDo -> new Cursor(toDo.title(), toDo.toDoId()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Slice<TodoDto> selectToDosWhereUserIsAndNameContainingAsSlice(Long userId, String name, Pageable pageable) {
+        return toDoRepository.findSliceByUserAndNameContainingIgnoreCase(userId,name,pageable);
     }
 
     /**
@@ -56,7 +103,7 @@ public class ToDoDaoImpl implements ToDoDao {
      */
     @Override
     public void updateTodo(ToDo toDo) {
-        toDoRepository.save(toDo);
+        toDoRepository.saveAndFlush(toDo);
     }
 
     /**
@@ -64,6 +111,48 @@ public class ToDoDaoImpl implements ToDoDao {
      */
     @Override
     public void deleteTodoById(Long toDo) {
+        // Flushed like an update, so the row is locked before the counts of its feature, in the order updates lock them.
         toDoRepository.deleteById(toDo);
+        toDoRepository.flush();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<AuthorizedResource<ToDo>> selectToDoByIdForMember(Long id, Long userId) {
+        return toDoRepository.findByIdForMember(id, userId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<AuthorizedResource<TodoDto>> selectToDoDtoByIdForMember(Long id, Long userId) {
+        return toDoRepository.findDtoByIdForMember(id, userId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<AuthorizedResource<ResourceVersion>> selectToDoVersionByIdForMember(Long id, Long userId) {
+        return toDoRepository.findVersionByIdForMember(id, userId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResourceVersion selectAllToDoVersionWhereFeatureIdIsAndNameContaining(Long featureId, String name) {
+        return toDoRepository.findVersionByFeatureIsAndNameContainingIgnoreCase(featureId, name);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResourceVersion selectToDosVersionWhereUserIsAndNameContaining(Long userId, String name) {
+        return toDoRepository.findVersionByUserAndNameContainingIgnoreCase(userId, name);
     }
 }
@@ -1,9 +1,14 @@
 package com.tasky.api.dao.user;
 
+import com.tasky.api.dao.Cursor;
+import com.tasky.api.dao.CursorPage;
+import com.tasky.api.dto.user.UserSuggestionDto;
 import com.tasky.api.models.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -44,6 +49,25 @@ public interface UserDao {
      */
     Page<User> selectAllUsersByEmail(String email, Pageable page);
 
+    /**
+     * Retrieves a keyset page of users whose email addresses match the provided search pattern.
+     *
+     * @param email The search pattern to match against email addresses.
+     * @param after The position of the last row of the previous page.
+     * @param size The size of the page.
+     * @return A {@link CursorPage} containing the users ordered by email address and ID.
+     */
+    CursorPage<User> selectAllUsersByEmail(String email, Cursor after, int size);
+
+    /**
+     * Retrieves a slice of users whose email addresses match the provided search pattern, without counting the matching rows.
+     *
+     * @param email The search pattern to match against email addresses.
+     * @param page The pageable configuration for the result slice.
+     * @return A {@link Slice} containing the users whose email addresses match the search pattern.
+     */
+    Slice<User> selectAllUsersByEmailAsSlice(String email, Pageable page);
+
     /**
      * Retrieves a page of users whose last names match the provided search pattern.
      *
@@ -53,6 +77,25 @@ public interface UserDao {
      */
     Page<User> selectAllUsersByLastName(String lastName, Pageable page);
 
+    /**
+     * Retrieves a keyset page of users whose last names match the provided search pattern.
+     *
+     * @param lastName The search pattern to match against last names.
+     * @param after The position of the last row of the previous page.
+     * @param size The size of the page.
+     * @return A {@link CursorPage} containing the users ordered by last name and ID.
+     */
+    CursorPage<User> selectAllUsersByLastName(String lastName, Cursor after, int size);
+
+    /**
+     * Retrieves a slice of users whose last names match the provided search pattern, without counting the matching rows.
+     *
+     * @param lastName The search pattern to match against last names.
+     * @param page The pageable configuration for the result slice.
+     * @return A {@link Slice} containing the users whose last names match the search pattern.
+     */
+    Slice<User> selectAllUsersByLastNameAsSlice(String lastName, Pageable page);
+
     /**
      * Retrieves a page of users whose first names match the provided search pattern.
      *
@@ -63,7 +106,27 @@ public interface UserDao {
     Page<User> selectAllUsersByFirstName(String firstName, Pageable page);
 
     /**
-     * Deletes a user with the specified ID.
+     * Retrieves a keyset page of users whose first names match the provided search pattern.
+     *
+     * @param firstName The search pattern to match against first names.
+     * @param after The position of the last row of the previous page.
+     * @param size The size of the page.
+     * @return A {@link CursorPage} containing the users ordered by first name and ID.
+     */
+    CursorPage<User> selectAllUsersByFirstName(String firstName, Cursor after, int size);
+
+    /**
+     * Retrieves a slice of users whose first names match the provided search pattern, without counting the matching rows.
+     *
+     * @param firstName The search pattern to match against first names.
+     * @param page The pageable configuration for the result slice.
+     * @return A {@link Slice} containing the users whose first names match the search pattern.
+     */
+    Slice<User> selectAllUsersByFirstNameAsSlice(String firstName, Pageable page);
+
+    /**
+     * Deletes a user with the specified ID, with a single statement relying on the ON DELETE CASCADE
+     * of its memberships, created projects and assigned to-dos, so none of them is loaded.
      *
      * @param id The ID of the user to be deleted.
      */
@@ -86,4 +149,27 @@ public interface UserDao {
      */
     Optional<User> selectUserById(Long id);
 
+    /**
+     * Retrieves a reference to a user by their ID, without loading it.
+     * The existence of the user is only checked by the foreign key of the row the reference is written to.
+     *
+     * @param id The ID of the user.
+     * @return A reference to the user, whose state is loaded on its first access.
+     */
+    User getUserReferenceById(Long id);
+
+    /**
+     * Retrieves the current token version of a user by their ID.
+     *
+     * @param id The ID of the user.
+     * @return An Optional containing the token version, or empty if no user with the given ID exists.
+     */
+    Optional<Integer> selectTokenVersionById(Long id);
+
+    /**
+     * Retrieves the fields of every user shown by the user pickers.
+     *
+     * @return The suggestion of every user.
+     */
+    List<UserSuggestionDto> selectAllUserSuggestions();
 }
@@ -1,11 +1,16 @@
 package com.tasky.api.dao.user;
 
+import com.tasky.api.dao.Cursor;
+import com.tasky.api.dao.CursorPage;
+import com.tasky.api.dto.user.UserSuggestionDto;
 import com.tasky.api.models.User;
 import com.tasky.api.repositories.UserRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -52,7 +57,24 @@ public class UserDaoImpl implements UserDao {
      */
     @Override
     public Page<User> selectAllUsersByEmail(String email, Pageable page) {
-        return userRepository.findAllByEmailContains(email,page);
+        return userRepository.findAllByEmailContainsIgnoreCase(email,page);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPage<User> selectAllUsersByEmail(String email, Cursor after, int size) {
+        List<User> users = userRepository.findAllByEmailContainsAfter(email, after.key(), after.id(), Pageable.ofSize(size + 1));
+        return CursorPage.of(users, size, user -> new Cursor(user.getEmail(), user.getId()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Slice<User> selectAllUsersByEmailAsSlice(String email, Pageable page) {
+        return userRepository.findSliceByEmailContainsIgnoreCase(email,page);
     }
 
     /**
@@ -60,7 +82,24 @@ public class UserDaoImpl implements UserDao {
      */
     @Override
     public Page<User> selectAllUsersByLastName(String lastName, Pageable page) {
-        return userRepository.findUsersByLastNameContaining(lastName,page);
+        return userRepository.findUsersByLastNameContainingIgnoreCase(lastName,page);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPage<User> selectAllUsersByLastName(String lastName, Cursor after, int size) {
+        List<User> users = userRepository.findUsersByLastNameContainingAfter(lastName, after.key(), after.id(), Pageable.ofSize(size + 1));
+        return CursorPage.of(users, size, user -> new Cursor(user.getLastName(), user.getId()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Slice<User> selectAllUsersByLastNameAsSlice(String lastName, Pageable page) {
+        return userRepository.findUsersSliceByLastNameContainingIgnoreCase(lastName,page);
     }
 
     /**
@@ -68,7 +107,24 @@ public class UserDaoImpl implements UserDao {
      */
     @Override
     public Page<User> selectAllUsersByFirstName(String firstName, Pageable page) {
-        return userRepository.findUsersByFirstNameContaining(firstName,page);
+        return userRepository.findUsersByFirstNameContainingIgnoreCase(firstName,page);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPage<User> selectAllUsersByFirstName(String firstName, Cursor after, int size) {
+        List<User> users = userRepository.findUsersByFirstNameContainingAfter(firstName, after.key(), after.id(), Pageable.ofSize(size + 1));
+        return CursorPage.of(users, size, user -> new Cursor(user.getFirstName(), user.getId()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Slice<User> selectAllUsersByFirstNameAsSlice(String firstName, Pageable page) {
+        return userRepository.findUsersSliceByFirstNameContainingIgnoreCase(firstName,page);
     }
 
     /**
@@ -76,7 +132,7 @@ public class UserDaoImpl implements UserDao {
      */
     @Override
     public void deleteUserById(Long id) {
-        userRepository.deleteById(id);
+        userRepository.deleteUserById(id);
     }
 
     /**
@@ -95,5 +151,27 @@ public class UserDaoImpl implements UserDao {
         return userRepository.findById(id);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public User getUserReferenceById(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Integer> selectTokenVersionById(Long id) {
+        return userRepository.findTokenVersionById(id);
+    }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<UserSuggestionDto> selectAllUserSuggestions() {
+        return userRepository.findAllSuggestions();
+    }
 }
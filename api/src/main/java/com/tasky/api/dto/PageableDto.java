@@ -1,4 +1,26 @@
 package com.tasky.api.dto;
 
-public record PageableDto(Integer currentPage, Integer lastPage, Integer numberOfPage, Integer numberOfResult){}
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.data.domain.Slice;
 
+/**
+ * Pagination details of a search. Counted pages carry the last page and the number of pages,
+ * slices only tell whether a next page exists.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PageableDto(Integer currentPage, Integer lastPage, Integer numberOfPage, Integer numberOfResult, Boolean hasNext){
+
+    public PageableDto(Integer currentPage, Integer lastPage, Integer numberOfPage, Integer numberOfResult) {
+        this(currentPage, lastPage, numberOfPage, numberOfResult, null);
+    }
+
+    /**
+     * Builds the pagination details of a slice, fetched without count query.
+     *
+     * @param slice The slice returned by the search.
+     * @return The pagination details, without last page nor number of pages.
+     */
+    public static PageableDto of(Slice<?> slice) {
+        return new PageableDto(slice.getNumber(), null, null, slice.getNumberOfElements(), slice.hasNext());
+    }
+}
@@ -1,8 +1,13 @@
 package com.tasky.api.dto.comment;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.tasky.api.dto.PageableDto;
 
 import java.util.List;
 
-public record SearchCommentsResponse(List<CommentDto> comments, PageableDto pageable) {
+/**
+ * Comments matching a search. Cursor searches return nextCursor instead of the pageable totals.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SearchCommentsResponse(List<CommentDto> comments, PageableDto pageable, String nextCursor) {
 }
@@ -0,0 +1,16 @@
+package com.tasky.api.dto.deletion;
+
+import java.sql.Timestamp;
+
+public record DeletionJobDto(
+        Long jobId,
+        String resource,
+        Long resourceId,
+        String status,
+        long totalRows,
+        long deletedRows,
+        String error,
+        Timestamp createdAt,
+        Timestamp updatedAt
+) {
+}
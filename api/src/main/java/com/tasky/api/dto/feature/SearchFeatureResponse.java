@@ -1,8 +1,13 @@
 package com.tasky.api.dto.feature;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.tasky.api.dto.PageableDto;
 
 import java.util.List;
 
-public record SearchFeatureResponse(List<FeatureDto> features, PageableDto pageable) {
+/**
+ * Features matching a search, with either the pageable totals or the cursor of the next page.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SearchFeatureResponse(List<FeatureDto> features, PageableDto pageable, String nextCursor) {
 }
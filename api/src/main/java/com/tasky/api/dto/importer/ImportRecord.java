@@ -0,0 +1,27 @@
+package com.tasky.api.dto.importer;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One line of an NDJSON import document.
+ * The entity is one of project, run, feature, toDo or comment. The ref identifies the record inside the document,
+ * and parent is the ref of the record it belongs to: a feature belongs to a run, or to a project when it is outside
+ * of any run. Owners are user emails and dates are epoch seconds.
+ * Exports are written in the same format.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportRecord(
+        String entity,
+        String ref,
+        String parent,
+        String name,
+        String description,
+        String type,
+        String status,
+        String content,
+        String owner,
+        Long dueDate,
+        Long startDate,
+        Long endDate
+) {
+}
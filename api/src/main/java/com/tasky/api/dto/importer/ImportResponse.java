@@ -0,0 +1,13 @@
+package com.tasky.api.dto.importer;
+
+public record ImportResponse(
+        long rows,
+        long projects,
+        long runs,
+        long features,
+        long toDos,
+        long comments,
+        long elapsedMillis,
+        long rowsPerSecond
+) {
+}
@@ -6,4 +6,19 @@ import java.sql.Timestamp;
 import java.util.List;
 
 public record ProjectDto(Long projectID, String name, Timestamp dueDate, String description, String creator, List<UserDto> users) {
+
+    /**
+     * Builds a project without its members, as selected by the constructor expressions of the project queries.
+     */
+    public ProjectDto(Long projectID, String name, Timestamp dueDate, String description, String creator) {
+        this(projectID, name, dueDate, description, creator, List.of());
+    }
+
+    /**
+     * @param users The members of the project.
+     * @return A copy of this project with the given members.
+     */
+    public ProjectDto withUsers(List<UserDto> users) {
+        return new ProjectDto(projectID, name, dueDate, description, creator, users);
+    }
 }
@@ -0,0 +1,9 @@
+package com.tasky.api.dto.project;
+
+import com.tasky.api.dto.user.UserDto;
+
+/**
+ * A member of a project, as selected when the members of a page of projects are read in one statement.
+ */
+public record ProjectMemberDto(Long projectId, UserDto user) {
+}
@@ -1,8 +1,14 @@
 package com.tasky.api.dto.project;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.tasky.api.dto.PageableDto;
 
 import java.util.List;
 
-public record SearchProjectResponse(List<ProjectDto> projects, PageableDto pageable) {
+/**
+ * Projects matching a search. When the search is made with a cursor, pageable is left out and nextCursor
+ * holds the token of the next page, or is absent on the last one.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SearchProjectResponse(List<ProjectDto> projects, PageableDto pageable, String nextCursor) {
 }
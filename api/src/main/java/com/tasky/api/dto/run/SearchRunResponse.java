@@ -1,8 +1,13 @@
 package com.tasky.api.dto.run;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.tasky.api.dto.PageableDto;
 
 import java.util.List;
 
-public record SearchRunResponse(List<RunDto> runs, PageableDto pageable) {
+/**
+ * Runs matching a search, with either the pageable totals or the cursor of the next page.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SearchRunResponse(List<RunDto> runs, PageableDto pageable, String nextCursor) {
 }
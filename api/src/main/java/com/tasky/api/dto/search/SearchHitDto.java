@@ -0,0 +1,14 @@
+package com.tasky.api.dto.search;
+
+/**
+ * A project, run, feature, to-do or comment matching a full-text search.
+ *
+ * @param type      The type of the hit: project, run, feature, toDo or comment.
+ * @param id        The unique identifier (ID) of the hit.
+ * @param projectId The unique identifier (ID) of the project owning the hit.
+ * @param name      The name of the hit.
+ * @param headline  The fragment of the description or content around the matched terms, matches wrapped in b tags.
+ * @param rank      The relevance of the hit, higher first.
+ */
+public record SearchHitDto(String type, Long id, Long projectId, String name, String headline, Float rank) {
+}
@@ -0,0 +1,13 @@
+package com.tasky.api.dto.search;
+
+import java.util.List;
+
+/**
+ * The most relevant hits of a full-text search, most relevant first.
+ *
+ * @param hits      The hits, most relevant first.
+ * @param truncated True if a type had more matches than are ranked, in which case more relevant hits may have been
+ *                  missed and the query should be refined.
+ */
+public record SearchResponse(List<SearchHitDto> hits, Boolean truncated) {
+}
@@ -0,0 +1,15 @@
+package com.tasky.api.dto.statistics;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * The number of to-dos of a run at the end of a day.
+ *
+ * @param day       The day.
+ * @param total     The number of to-dos.
+ * @param remaining The number of to-dos not completed yet.
+ * @param statuses  The number of to-dos of each status.
+ */
+public record BurndownDayDto(LocalDate day, long total, long remaining, Map<String, Long> statuses) {
+}
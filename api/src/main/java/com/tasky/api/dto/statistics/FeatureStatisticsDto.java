@@ -0,0 +1,12 @@
+package com.tasky.api.dto.statistics;
+
+/**
+ * The progress of a feature.
+ *
+ * @param featureId The unique identifier (ID) of the feature.
+ * @param runId     The unique identifier (ID) of the run of the feature, null for a feature of the project itself.
+ * @param name      The name of the feature.
+ * @param toDos     The number of to-dos of the feature by status and type.
+ */
+public record FeatureStatisticsDto(Long featureId, Long runId, String name, ToDoStatisticsDto toDos) {
+}
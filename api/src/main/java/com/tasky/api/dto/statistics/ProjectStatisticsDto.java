@@ -0,0 +1,14 @@
+package com.tasky.api.dto.statistics;
+
+import java.util.List;
+
+/**
+ * The progress of a project, of each of its runs and of each of its features.
+ *
+ * @param projectId The unique identifier (ID) of the project.
+ * @param toDos     The number of to-dos of the project by status and type.
+ * @param runs      The progress of each run of the project, along with its features.
+ * @param features  The progress of each feature of the project outside of a run.
+ */
+public record ProjectStatisticsDto(Long projectId, ToDoStatisticsDto toDos, List<RunStatisticsDto> runs, List<FeatureStatisticsDto> features) {
+}
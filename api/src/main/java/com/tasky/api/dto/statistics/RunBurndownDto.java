@@ -0,0 +1,13 @@
+package com.tasky.api.dto.statistics;
+
+import java.util.List;
+
+/**
+ * The burndown of a run, one point per day from the start of the run until today.
+ *
+ * @param runId The unique identifier (ID) of the run.
+ * @param name  The name of the run.
+ * @param days  The number of to-dos of the run at the end of each day, today's being the current one.
+ */
+public record RunBurndownDto(Long runId, String name, List<BurndownDayDto> days) {
+}
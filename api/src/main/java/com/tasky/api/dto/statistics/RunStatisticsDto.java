@@ -0,0 +1,14 @@
+package com.tasky.api.dto.statistics;
+
+import java.util.List;
+
+/**
+ * The progress of a run and of each of its features.
+ *
+ * @param runId    The unique identifier (ID) of the run.
+ * @param name     The name of the run.
+ * @param toDos    The number of to-dos of the features of the run by status and type.
+ * @param features The progress of each feature of the run.
+ */
+public record RunStatisticsDto(Long runId, String name, ToDoStatisticsDto toDos, List<FeatureStatisticsDto> features) {
+}
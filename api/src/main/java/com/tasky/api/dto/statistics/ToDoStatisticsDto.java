@@ -0,0 +1,69 @@
+package com.tasky.api.dto.statistics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The number of to-dos by status and by type, every status and type being listed even without to-dos.
+ *
+ * @param total     The number of to-dos.
+ * @param completed The number of completed to-dos.
+ * @param statuses  The number of to-dos of each status.
+ * @param types     The number of to-dos of each type.
+ */
+public record ToDoStatisticsDto(long total, long completed, Map<String, Long> statuses, Map<String, Long> types) {
+
+    public static final List<String> STATUSES = List.of("New", "In progress", "Completed");
+    public static final List<String> TYPES = List.of("task", "bug");
+
+    /**
+     * @return The statistics of no to-do.
+     */
+    public static ToDoStatisticsDto empty() {
+        return new ToDoStatisticsDto(0, 0, zeros(STATUSES), zeros(TYPES));
+    }
+
+    /**
+     * @param status The status of the to-dos.
+     * @param type   The type of the to-dos.
+     * @param toDos  The number of to-dos.
+     * @return A copy of these statistics counting the given to-dos too.
+     */
+    public ToDoStatisticsDto plus(String status, String type, long toDos) {
+        Map<String, Long> plusStatuses = new LinkedHashMap<>(statuses);
+        Map<String, Long> plusTypes = new LinkedHashMap<>(types);
+        plusStatuses.merge(status, toDos, Long::sum);
+        plusTypes.merge(type, toDos, Long::sum);
+        return new ToDoStatisticsDto(
+                total + toDos,
+                "Completed".equals(status) ? completed + toDos : completed,
+                Collections.unmodifiableMap(plusStatuses),
+                Collections.unmodifiableMap(plusTypes)
+        );
+    }
+
+    /**
+     * @param other The statistics of other to-dos.
+     * @return The statistics of the to-dos of both.
+     */
+    public ToDoStatisticsDto plus(ToDoStatisticsDto other) {
+        Map<String, Long> plusStatuses = new LinkedHashMap<>(statuses);
+        Map<String, Long> plusTypes = new LinkedHashMap<>(types);
+        other.statuses.forEach((status, toDos) -> plusStatuses.merge(status, toDos, Long::sum));
+        other.types.forEach((type, toDos) -> plusTypes.merge(type, toDos, Long::sum));
+        return new ToDoStatisticsDto(
+                total + other.total,
+                completed + other.completed,
+                Collections.unmodifiableMap(plusStatuses),
+                Collections.unmodifiableMap(plusTypes)
+        );
+    }
+
+    private static Map<String, Long> zeros(List<String> keys) {
+        Map<String, Long> zeros = new LinkedHashMap<>();
+        keys.forEach(key -> zeros.put(key, 0L));
+        return Collections.unmodifiableMap(zeros);
+    }
+}
@@ -1,8 +1,13 @@
 package com.tasky.api.dto.toDo;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.tasky.api.dto.PageableDto;
 
 import java.util.List;
 
-public record SearchToDoResponse(List<TodoDto> toDos, PageableDto pageable) {
+/**
+ * To-dos matching a search. Cursor searches return nextCursor instead of the pageable totals.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SearchToDoResponse(List<TodoDto> toDos, PageableDto pageable, String nextCursor) {
 }
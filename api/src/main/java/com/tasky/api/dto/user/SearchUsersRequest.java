@@ -1,4 +1,4 @@
 package com.tasky.api.dto.user;
 
-public record SearchUsersRequest(String type, String pattern, Integer page) {
+public record SearchUsersRequest(String type, String pattern, Integer page, String after, Boolean slice) {
 }
@@ -1,7 +1,13 @@
 package com.tasky.api.dto.user;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.tasky.api.dto.PageableDto;
+
 import java.util.List;
 
-public record SearchUsersResponse(List<UserDto> users, PageableDto pageableDto){}
+/**
+ * Users matching a search, with either the pageable totals or, for cursor searches, the cursor of the next page.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SearchUsersResponse(List<UserDto> users, PageableDto pageableDto, String nextCursor) {}
 
@@ -0,0 +1,9 @@
+package com.tasky.api.dto.user;
+
+import java.util.List;
+
+/**
+ * Users whose email, first name or last name start with the typed text.
+ */
+public record SuggestUsersResponse(List<UserSuggestionDto> users) {
+}
@@ -0,0 +1,7 @@
+package com.tasky.api.dto.user;
+
+/**
+ * A user suggested while typing, with the fields the user pickers display.
+ */
+public record UserSuggestionDto(Long id, String email, String firstName, String lastName, String role) {
+}
@@ -1,11 +1,15 @@
 package com.tasky.api.filters;
 
+import com.tasky.api.models.User;
+import com.tasky.api.services.user.TokenVersionService;
 import com.tasky.api.services.user.UserDetailsService;
 import com.tasky.api.utilities.JwtUtility;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,24 +19,33 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Objects;
 
 /**
  * Custom authentication filter that processes JWT tokens and sets the authenticated user in the SecurityContextHolder.
+ * When the stateless principal mode is enabled, the principal is built from the token claims
+ * and only its token version is checked, instead of loading the user from the database.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtility jwtUtility;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionService tokenVersionService;
+
+    @Value("${server.stateless-principal:false}")
+    private boolean statelessPrincipal;
 
     /**
-     * Constructs a JwtAuthenticationFilter with the specified JwtUtility and UserDetailsService.
+     * Constructs a JwtAuthenticationFilter with the specified JwtUtility, UserDetailsService and TokenVersionService.
      *
      * @param jwtUtility The JwtUtility implementation.
      * @param userDetailsService The UserDetailsService implementation.
+     * @param tokenVersionService The TokenVersionService used to detect revoked tokens.
      */
-    public JwtAuthenticationFilter(JwtUtility jwtUtility, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtility jwtUtility, UserDetailsService userDetailsService, TokenVersionService tokenVersionService) {
         this.jwtUtility = jwtUtility;
         this.userDetailsService = userDetailsService;
+        this.tokenVersionService = tokenVersionService;
     }
 
     /**
@@ -58,13 +71,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String jwt = authHeader.substring(7);
-        String subject = jwtUtility.getSubject(jwt);
+        Claims claims = jwtUtility.verifyToken(jwt);
+        String subject = claims.getSubject();
 
         if(subject != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(subject);
+            UserDetails userDetails = resolvePrincipal(claims);
 
-            if(jwtUtility.isTokenValid(jwt, userDetails.getUsername())) {
+            if(userDetails != null && jwtUtility.isTokenValid(claims, userDetails.getUsername())) {
 
                 UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
@@ -86,4 +100,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         }
     }
+
+    /**
+     * Resolves the principal of a verified token.
+     *
+     * @param claims The verified claims of the token.
+     * @return The principal, or null if the token has been revoked.
+     */
+    private UserDetails resolvePrincipal(Claims claims) {
+        Long userId = jwtUtility.getUserId(claims);
+        Integer tokenVersion = jwtUtility.getTokenVersion(claims);
+
+        if(statelessPrincipal && userId != null) {
+            if(!tokenVersionService.isCurrent(userId, tokenVersion)) {
+                return null;
+            }
+
+            User principal = new User();
+            principal.setId(userId);
+            principal.setEmail(claims.getSubject());
+            principal.setRole(jwtUtility.getRole(claims));
+            principal.setTokenVersion(tokenVersion);
+            return principal;
+        }
+
+        User user = (User) userDetailsService.loadUserByUsername(claims.getSubject());
+
+        if(!Objects.equals(user.getTokenVersion(), tokenVersion)) {
+            return null;
+        }
+
+        return user;
+    }
 }
@@ -3,6 +3,7 @@ package com.tasky.api.models;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -10,12 +11,12 @@ import java.time.Instant;
 /**
  * Represents a Comments.
  */
-@Entity @Data @NoArgsConstructor
+@Entity @DynamicUpdate @Data @NoArgsConstructor
 public class Comment {
     @SequenceGenerator(
             name= "comment_id_seq",
             sequenceName = "comment_id_seq",
-            allocationSize = 1
+            allocationSize = 50
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
@@ -27,6 +28,7 @@ public class Comment {
     @ManyToOne @JoinColumn(name ="to_do_id",nullable = false) private ToDo toDo;
     @Column(nullable = false) private Timestamp createdAt;
     @Column(nullable = false) private Timestamp updatedAt;
+    @Version private Integer version;
 
     public Comment(String name, String content, ToDo toDo) {
         Timestamp timestamp = Timestamp.from(Instant.now());
@@ -3,6 +3,7 @@ package com.tasky.api.models;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -11,12 +12,12 @@ import java.util.Set;
 /**
  * Represents a Feature.
  */
-@Entity @Data @NoArgsConstructor
+@Entity @DynamicUpdate @Data @NoArgsConstructor
 public class Feature {
     @SequenceGenerator(
             name= "feature_id_seq",
             sequenceName = "feature_id_seq",
-            allocationSize = 1
+            allocationSize = 50
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
@@ -28,6 +29,7 @@ public class Feature {
     @Column(nullable = false) private String status;
     @Column(nullable = false) private Timestamp createdAt;
     @Column(nullable = false) private Timestamp updatedAt;
+    @Version private Integer version;
     @ManyToOne @JoinColumn(name ="run_id") private Run run;
     @ManyToOne @JoinColumn(name ="project_id",nullable = false) private Project project;
     @OneToMany(mappedBy = "feature", cascade = CascadeType.ALL,orphanRemoval = true)
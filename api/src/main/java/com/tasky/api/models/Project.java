@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -14,12 +15,12 @@ import java.util.Set;
 /**
  * Represents a Project.
  */
-@Entity @Data @NoArgsConstructor @ToString
+@Entity @DynamicUpdate @Data @NoArgsConstructor @ToString
 public class Project {
     @SequenceGenerator(
             name= "project_id_seq",
             sequenceName = "project_id_seq",
-            allocationSize = 1
+            allocationSize = 50
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
@@ -34,6 +35,7 @@ public class Project {
     @ManyToOne @JoinColumn(name ="created_by",nullable = false) private User user;
     @Column(nullable = false) private Timestamp createdAt;
     @Column(nullable = false) private Timestamp updatedAt;
+    @Version private Integer version;
 
     @ManyToMany(cascade = CascadeType.ALL,mappedBy = "projects")
     private List<User> users =  new ArrayList<>();
@@ -3,6 +3,7 @@ package com.tasky.api.models;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -11,12 +12,12 @@ import java.util.Set;
 /**
  * Represents a Run.
  */
-@Entity @Data @NoArgsConstructor
+@Entity @DynamicUpdate @Data @NoArgsConstructor
 public class Run {
     @SequenceGenerator(
             name= "run_id_seq",
             sequenceName = "run_id_seq",
-            allocationSize = 1
+            allocationSize = 50
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
@@ -31,6 +32,7 @@ public class Run {
     @ManyToOne @JoinColumn(name ="project_id",nullable = false) private Project project;
     @Column(nullable = false) private Timestamp createdAt;
     @Column(nullable = false) private Timestamp updatedAt;
+    @Version private Integer version;
     @OneToMany(mappedBy = "run" , cascade = CascadeType.ALL,orphanRemoval = true)
     private Set<Feature> features;
 
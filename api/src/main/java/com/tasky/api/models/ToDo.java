@@ -3,6 +3,7 @@ package com.tasky.api.models;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -11,12 +12,12 @@ import java.util.Set;
 /**
  * Represents a ToDo.
  */
-@Entity @Data @NoArgsConstructor
+@Entity @DynamicUpdate @Data @NoArgsConstructor
 public class ToDo {
     @SequenceGenerator(
             name= "to_do_id_seq",
             sequenceName = "to_do_id_seq",
-            allocationSize = 1
+            allocationSize = 50
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
@@ -32,6 +33,7 @@ public class ToDo {
     @ManyToOne @JoinColumn(name ="user_id") private User user;
     @Column(nullable = false) Timestamp createdAt;
     @Column(nullable = false) Timestamp updatedAt;
+    @Version private Integer version;
     @OneToMany(mappedBy = "toDo", cascade = CascadeType.ALL,orphanRemoval = true)
     private Set<Comment> comments;
 
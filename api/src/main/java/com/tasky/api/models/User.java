@@ -30,7 +30,7 @@ public class User implements UserDetails {
     @SequenceGenerator(
             name= "user_account_id_seq",
             sequenceName = "user_account_id_seq",
-            allocationSize = 1
+            allocationSize = 50
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
@@ -43,6 +43,7 @@ public class User implements UserDetails {
     @Column(nullable = false) private String password;
     @Column(nullable = false) private Boolean neverConnected;
     @Column(nullable = false) private String role;
+    @Column(nullable = false) private Integer tokenVersion = 0;
     @Column(nullable = false) private Timestamp createdAt;
     @Column(nullable = false) private Timestamp updatedAt;
 
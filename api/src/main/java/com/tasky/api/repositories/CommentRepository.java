@@ -1,39 +1,144 @@
 package com.tasky.api.repositories;
 
+import com.tasky.api.dao.AuthorizedResource;
+import com.tasky.api.dto.comment.CommentDto;
 import com.tasky.api.models.Comment;
-import com.tasky.api.models.ToDo;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository interface for managing Comment entities.
+ * The reads select the columns of a CommentDto with a constructor expression, so no entity is loaded into the persistence context.
  */
 public interface CommentRepository extends JpaRepository<Comment,Long> {
     /**
-     * Retrieves a page of comments associated with a specific ToDo, where the comment names contain the specified pattern.
+     * Retrieves a page of comments associated with a specific ToDo, where the comment names contain the specified pattern, ignoring case.
      *
-     * @param toDo     The ToDo associated with the comments to retrieve.
+     * @param toDoId   The unique identifier (ID) of the ToDo associated with the comments to retrieve.
      * @param name     The pattern to search for in comment names.
      * @param pageable The pageable configuration for the result page.
      * @return A Page containing comments associated with the specified ToDo.
      */
-    Page<Comment> getAllByToDoIsAndNameContaining(ToDo toDo, String name, Pageable pageable);
+    @Query("""
+            select new com.tasky.api.dto.comment.CommentDto(c.id, c.name, c.content, c.createdAt)
+            from Comment c
+            where c.toDo.id = :toDoId
+            and upper(c.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            """)
+    Page<CommentDto> getAllByToDoIsAndNameContainingIgnoreCase(@Param("toDoId") Long toDoId, @Param("name") String name, Pageable pageable);
+
+    /**
+     * Retrieves a slice of comments associated with a specific ToDo, where the comment names contain the specified pattern, ignoring case.
+     * Only size + 1 rows are read to tell whether a next page exists, no count query is run.
+     *
+     * @param toDoId   The unique identifier (ID) of the ToDo associated with the comments to retrieve.
+     * @param name     The pattern to search for in comment names.
+     * @param pageable The pageable configuration for the result slice.
+     * @return A Slice containing comments associated with the specified ToDo.
+     */
+    @Query("""
+            select new com.tasky.api.dto.comment.CommentDto(c.id, c.name, c.content, c.createdAt)
+            from Comment c
+            where c.toDo.id = :toDoId
+            and upper(c.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            """)
+    Slice<CommentDto> getSliceByToDoIsAndNameContainingIgnoreCase(@Param("toDoId") Long toDoId, @Param("name") String name, Pageable pageable);
     /**
-     * Retrieves a page of comments associated with a specific ToDo, where the comment content contains the specified pattern.
+     * Retrieves a page of comments associated with a specific ToDo, where the comment content contains the specified pattern, ignoring case.
      *
-     * @param toDo     The ToDo associated with the comments to retrieve.
+     * @param toDoId   The unique identifier (ID) of the ToDo associated with the comments to retrieve.
      * @param content  The pattern to search for in comment content.
      * @param pageable The pageable configuration for the result page.
      * @return A Page containing comments associated with the specified ToDo.
      */
-    Page<Comment> getAllByToDoIsAndContentContaining(ToDo toDo, String content, Pageable pageable);
+    @Query("""
+            select new com.tasky.api.dto.comment.CommentDto(c.id, c.name, c.content, c.createdAt)
+            from Comment c
+            where c.toDo.id = :toDoId
+            and upper(c.content) like upper(:#{'%' + escape(#content) + '%'}) escape :#{escapeCharacter()}
+            """)
+    Page<CommentDto> getAllByToDoIsAndContentContainingIgnoreCase(@Param("toDoId") Long toDoId, @Param("content") String content, Pageable pageable);
 
     /**
      * Retrieves a page of comments associated with a specific ToDo.
      *
-     * @param toDo     The ToDo associated with the comments to retrieve.
+     * @param toDoId   The unique identifier (ID) of the ToDo associated with the comments to retrieve.
      * @param pageable The pageable configuration for the result page.
      * @return A Page containing comments associated with the specified ToDo.
      */
-    Page<Comment> getAllByToDoIs(ToDo toDo, Pageable pageable);
+    @Query("""
+            select new com.tasky.api.dto.comment.CommentDto(c.id, c.name, c.content, c.createdAt)
+            from Comment c
+            where c.toDo.id = :toDoId
+            """)
+    Page<CommentDto> getAllByToDoIs(@Param("toDoId") Long toDoId, Pageable pageable);
+
+    /**
+     * Retrieves a keyset page of comments associated with a specific ToDo, where the comment names contain the specified pattern, ignoring case.
+     * Rows are ordered by name and ID and start after the given position, so deep pages cost as much as the first one.
+     *
+     * @param toDoId   The unique identifier (ID) of the ToDo associated with the comments to retrieve.
+     * @param name     The pattern to search for in comment names.
+     * @param afterKey The sort key of the last row of the previous page.
+     * @param afterId  The ID of the last row of the previous page.
+     * @param pageable The size of the page, without count query.
+     * @return The comments of the page, ordered by name and ID.
+     */
+    @Query("""
+            select new com.tasky.api.dto.comment.CommentDto(c.id, c.name, c.content, c.createdAt)
+            from Comment c
+            where c.toDo.id = :toDoId
+            and upper(c.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            and c.name >= :afterKey
+            and (c.name > :afterKey or c.id > :afterId)
+            order by c.name, c.id
+            """)
+    List<CommentDto> getAllByToDoIsAndNameContainingAfter(@Param("toDoId") Long toDoId, @Param("name") String name, @Param("afterKey") String afterKey, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Retrieves a comment together with the membership of a user in the project owning it, in a single statement.
+     *
+     * @param id     The unique identifier (ID) of the comment.
+     * @param userId The unique identifier (ID) of the user.
+     * @return An Optional containing the comment and the membership of the user, or empty if the comment does not exist.
+     */
+    @Query("""
+            select new com.tasky.api.dao.AuthorizedResource(c, exists (select m.id from p.users m where m.id = :userId))
+            from Comment c
+            join fetch c.toDo t
+            join fetch t.feature f
+            join fetch f.project p
+            join fetch p.user
+            left join fetch f.run
+            left join fetch t.user
+            where c.id = :id
+            """)
+    Optional<AuthorizedResource<Comment>> findByIdForMember(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Retrieves the columns of a comment needed by a read, together with the membership of a user in the project owning it, in a single statement.
+     *
+     * @param id     The unique identifier (ID) of the comment.
+     * @param userId The unique identifier (ID) of the user.
+     * @return An Optional containing the comment and the membership of the user, or empty if the comment does not exist.
+     */
+    @Query("""
+            select new com.tasky.api.dao.AuthorizedResource(
+                new com.tasky.api.dto.comment.CommentDto(c.id, c.name, c.content, c.createdAt),
+                exists (select m.id from p.users m where m.id = :userId)
+            )
+            from Comment c
+            join c.toDo t
+            join t.feature f
+            join f.project p
+            where c.id = :id
+            """)
+    Optional<AuthorizedResource<CommentDto>> findDtoByIdForMember(@Param("id") Long id, @Param("userId") Long userId);
 }
@@ -1,32 +1,160 @@
 package com.tasky.api.repositories;
 
+import com.tasky.api.dao.AuthorizedResource;
+import com.tasky.api.dao.ResourceVersion;
+import com.tasky.api.dto.feature.FeatureDto;
 import com.tasky.api.models.Feature;
-import com.tasky.api.models.Project;
-import com.tasky.api.models.Run;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for managing Feature entities.
+ * The reads select the columns of a FeatureDto with a constructor expression, so no entity is loaded into the persistence context.
  */
 public interface FeatureRepository extends JpaRepository<Feature, Long> {
     /**
-     * Retrieves a page of features associated with a specific Project, where the feature names contain the specified pattern.
+     * Retrieves a page of features associated with a specific Project, where the feature names contain the specified pattern, ignoring case.
      *
-     * @param project  The Project associated with the features to retrieve.
+     * @param projectId The unique identifier (ID) of the Project associated with the features to retrieve.
      * @param name     The pattern to search for in feature names.
      * @param pageable The pageable configuration for the result page.
      * @return A Page containing features associated with the specified Project.
      */
-    Page<Feature> findAllByProjectIsAndNameContaining(Project project, String name, Pageable pageable);
+    @Query("""
+            select new com.tasky.api.dto.feature.FeatureDto(f.id, f.name, f.description, f.status, f.createdAt, f.updatedAt)
+            from Feature f
+            where f.project.id = :projectId
+            and upper(f.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            """)
+    Page<FeatureDto> findAllByProjectIsAndNameContainingIgnoreCase(@Param("projectId") Long projectId, @Param("name") String name, Pageable pageable);
     /**
-     * Retrieves a page of features associated with a specific Run, where the feature names contain the specified pattern.
+     * Retrieves a page of features associated with a specific Run, where the feature names contain the specified pattern, ignoring case.
      *
-     * @param run      The Run associated with the features to retrieve.
+     * @param runId    The unique identifier (ID) of the Run associated with the features to retrieve.
      * @param name     The pattern to search for in feature names.
      * @param pageable The pageable configuration for the result page.
      * @return A Page containing features associated with the specified Run.
      */
-    Page<Feature> findAllByRunIsAndNameContaining(Run run, String name, Pageable pageable);
+    @Query("""
+            select new com.tasky.api.dto.feature.FeatureDto(f.id, f.name, f.description, f.status, f.createdAt, f.updatedAt)
+            from Feature f
+            where f.run.id = :runId
+            and upper(f.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            """)
+    Page<FeatureDto> findAllByRunIsAndNameContainingIgnoreCase(@Param("runId") Long runId, @Param("name") String name, Pageable pageable);
+
+    /**
+     * Retrieves a slice of features associated with a specific Run, where the feature names contain the specified pattern, ignoring case.
+     * Only size + 1 rows are read to tell whether a next page exists, no count query is run.
+     *
+     * @param runId    The unique identifier (ID) of the Run associated with the features to retrieve.
+     * @param name     The pattern to search for in feature names.
+     * @param pageable The pageable configuration for the result slice.
+     * @return A Slice containing features associated with the specified Run.
+     */
+    @Query("""
+            select new com.tasky.api.dto.feature.FeatureDto(f.id, f.name, f.description, f.status, f.createdAt, f.updatedAt)
+            from Feature f
+            where f.run.id = :runId
+            and upper(f.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            """)
+    Slice<FeatureDto> findSliceByRunIsAndNameContainingIgnoreCase(@Param("runId") Long runId, @Param("name") String name, Pageable pageable);
+
+    /**
+     * Retrieves a keyset page of features associated with a specific Run, where the feature names contain the specified pattern, ignoring case.
+     * Rows are ordered by name and ID and start after the given position, so deep pages cost as much as the first one.
+     *
+     * @param runId    The unique identifier (ID) of the Run associated with the features to retrieve.
+     * @param name     The pattern to search for in feature names.
+     * @param afterKey The sort key of the last row of the previous page.
+     * @param afterId  The ID of the last row of the previous page.
+     * @param pageable The size of the page, without count query.
+     * @return The features of the page, ordered by name and ID.
+     */
+    @Query("""
+            select new com.tasky.api.dto.feature.FeatureDto(f.id, f.name, f.description, f.status, f.createdAt, f.updatedAt)
+            from Feature f
+            where f.run.id = :runId
+            and upper(f.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            and f.name >= :afterKey
+            and (f.name > :afterKey or f.id > :afterId)
+            order by f.name, f.id
+            """)
+    List<FeatureDto> findAllByRunIsAndNameContainingAfter(@Param("runId") Long runId, @Param("name") String name, @Param("afterKey") String afterKey, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Retrieves a feature together with the membership of a user in the project owning it, in a single statement.
+     *
+     * @param id     The unique identifier (ID) of the feature.
+     * @param userId The unique identifier (ID) of the user.
+     * @return An Optional containing the feature and the membership of the user, or empty if the feature does not exist.
+     */
+    @Query("""
+            select new com.tasky.api.dao.AuthorizedResource(f, exists (select m.id from p.users m where m.id = :userId))
+            from Feature f
+            join fetch f.project p
+            join fetch p.user
+            left join fetch f.run
+            where f.id = :id
+            """)
+    Optional<AuthorizedResource<Feature>> findByIdForMember(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Retrieves the columns of a feature needed by a read, together with the membership of a user in the project owning it, in a single statement.
+     *
+     * @param id     The unique identifier (ID) of the feature.
+     * @param userId The unique identifier (ID) of the user.
+     * @return An Optional containing the feature and the membership of the user, or empty if the feature does not exist.
+     */
+    @Query("""
+            select new com.tasky.api.dao.AuthorizedResource(
+                new com.tasky.api.dto.feature.FeatureDto(f.id, f.name, f.description, f.status, f.createdAt, f.updatedAt),
+                exists (select m.id from p.users m where m.id = :userId)
+            )
+            from Feature f
+            join f.project p
+            where f.id = :id
+            """)
+    Optional<AuthorizedResource<FeatureDto>> findDtoByIdForMember(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Retrieves the validators of a feature, together with the membership of a user in the project owning it, in a single statement.
+     *
+     * @param id     The unique identifier (ID) of the feature.
+     * @param userId The unique identifier (ID) of the user.
+     * @return An Optional containing the validators of the feature and the membership of the user, or empty if the feature does not exist.
+     */
+    @Query("""
+            select new com.tasky.api.dao.AuthorizedResource(
+                new com.tasky.api.dao.ResourceVersion(f.id, f.version, f.updatedAt),
+                exists (select m.id from p.users m where m.id = :userId)
+            )
+            from Feature f
+            join f.project p
+            where f.id = :id
+            """)
+    Optional<AuthorizedResource<ResourceVersion>> findVersionByIdForMember(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Retrieves the validators of the features associated with a specific run, where the feature names contain the specified pattern, ignoring case.
+     * The features are counted rather than read, on every page of the list.
+     *
+     * @param runId The unique identifier (ID) of the run associated with the features.
+     * @param name     The pattern to search for in feature names.
+     * @return The validators of the features, derived from their number and their last update.
+     */
+    @Query("""
+            select new com.tasky.api.dao.ResourceVersion(count(f), max(f.updatedAt))
+            from Feature f
+            where f.run.id = :runId
+            and upper(f.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            """)
+    ResourceVersion findVersionByRunIsAndNameContainingIgnoreCase(@Param("runId") Long runId, @Param("name") String name);
 }
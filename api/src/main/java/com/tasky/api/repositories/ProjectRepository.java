@@ -1,36 +1,172 @@
 package com.tasky.api.repositories;
 
+import com.tasky.api.dao.ResourceVersion;
+import com.tasky.api.dto.project.ProjectDto;
+import com.tasky.api.dto.project.ProjectMemberDto;
 import com.tasky.api.models.Project;
-import com.tasky.api.models.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Set;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for managing Project entities.
+ * The reads select the columns of a ProjectDto with a constructor expression, and the members of a page of projects are read in one statement.
  */
 public interface ProjectRepository extends JpaRepository<Project,Long> {
 
     /**
-     * Retrieves a page of projects whose names contain the specified pattern.
+     * Retrieves a page of projects whose names contain the specified pattern, ignoring case.
      *
      * @param name     The pattern to search for in project names.
      * @param pageable The pageable configuration for the result page.
      * @return A Page containing projects matching the specified name pattern.
      */
-    Page<Project> findProjectByNameContaining(String name, Pageable pageable);
+    @Query("""
+            select new com.tasky.api.dto.project.ProjectDto(p.id, p.name, p.dueDate, p.description, c.email)
+            from Project p
+            join p.user c
+            where upper(p.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            """)
+    Page<ProjectDto> findProjectByNameContainingIgnoreCase(@Param("name") String name, Pageable pageable);
 
     /**
-     * Retrieves a page of projects whose names contain the specified pattern and are associated with a specific user.
+     * Retrieves a slice of projects whose names contain the specified pattern, ignoring case.
+     * Only size + 1 rows are read to tell whether a next page exists, no count query is run.
      *
      * @param name     The pattern to search for in project names.
-     * @param user     The User associated with the projects to retrieve.
+     * @param pageable The pageable configuration for the result slice.
+     * @return A Slice containing projects matching the specified name pattern.
+     */
+    @Query("""
+            select new com.tasky.api.dto.project.ProjectDto(p.id, p.name, p.dueDate, p.description, c.email)
+            from Project p
+            join p.user c
+            where upper(p.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            """)
+    Slice<ProjectDto> findProjectSliceByNameContainingIgnoreCase(@Param("name") String name, Pageable pageable);
+
+    /**
+     * Retrieves a page of projects whose names contain the specified pattern, ignoring case, and are associated with a specific user.
+     * The projects are joined from the memberships of the user, so only the projects of the user are read.
+     *
+     * @param name     The pattern to search for in project names.
+     * @param userId   The unique identifier (ID) of the User associated with the projects to retrieve.
      * @param pageable The pageable configuration for the result page.
      * @return A Page containing projects matching the specified name pattern and associated with the given User.
      */
-    Page<Project> findProjectByNameContainingAndUsersContains(String name, User user, Pageable pageable);
+    @Query("""
+            select new com.tasky.api.dto.project.ProjectDto(p.id, p.name, p.dueDate, p.description, c.email)
+            from Project p
+            join p.user c
+            join p.users u
+            where u.id = :userId
+            and upper(p.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            """)
+    Page<ProjectDto> findProjectByNameContainingIgnoreCaseAndUsersContains(@Param("name") String name, @Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Retrieves a slice of projects whose names contain the specified pattern, ignoring case, and are associated with a specific user.
+     * Only size + 1 rows are read to tell whether a next page exists, no count query is run.
+     *
+     * @param name     The pattern to search for in project names.
+     * @param userId   The unique identifier (ID) of the User associated with the projects to retrieve.
+     * @param pageable The pageable configuration for the result slice.
+     * @return A Slice containing projects matching the specified name pattern and associated with the given User.
+     */
+    @Query("""
+            select new com.tasky.api.dto.project.ProjectDto(p.id, p.name, p.dueDate, p.description, c.email)
+            from Project p
+            join p.user c
+            join p.users u
+            where u.id = :userId
+            and upper(p.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            """)
+    Slice<ProjectDto> findProjectSliceByNameContainingIgnoreCaseAndUsersContains(@Param("name") String name, @Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Retrieves a keyset page of projects whose names contain the specified pattern, ignoring case.
+     * Rows are ordered by name and ID and start after the given position, so deep pages cost as much as the first one.
+     *
+     * @param name     The pattern to search for in project names.
+     * @param afterKey The sort key of the last row of the previous page.
+     * @param afterId  The ID of the last row of the previous page.
+     * @param pageable The size of the page, without count query.
+     * @return The projects of the page, ordered by name and ID.
+     */
+    @Query("""
+            select new com.tasky.api.dto.project.ProjectDto(p.id, p.name, p.dueDate, p.description, c.email)
+            from Project p
+            join p.user c
+            where upper(p.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            and p.name >= :afterKey
+            and (p.name > :afterKey or p.id > :afterId)
+            order by p.name, p.id
+            """)
+    List<ProjectDto> findProjectByNameContainingAfter(@Param("name") String name, @Param("afterKey") String afterKey, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Retrieves a keyset page of projects whose names contain the specified pattern, ignoring case, and are associated with a specific user.
+     * Rows are ordered by name and ID and start after the given position, so deep pages cost as much as the first one.
+     *
+     * @param name     The pattern to search for in project names.
+     * @param userId   The unique identifier (ID) of the User associated with the projects to retrieve.
+     * @param afterKey The sort key of the last row of the previous page.
+     * @param afterId  The ID of the last row of the previous page.
+     * @param pageable The size of the page, without count query.
+     * @return The projects of the page, ordered by name and ID.
+     */
+    @Query("""
+            select new com.tasky.api.dto.project.ProjectDto(p.id, p.name, p.dueDate, p.description, c.email)
+            from Project p
+            join p.user c
+            join p.users u
+            where u.id = :userId
+            and upper(p.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            and p.name >= :afterKey
+            and (p.name > :afterKey or p.id > :afterId)
+            order by p.name, p.id
+            """)
+    List<ProjectDto> findProjectByNameContainingAndUsersContainsAfter(@Param("name") String name, @Param("userId") Long userId, @Param("afterKey") String afterKey, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Retrieves the columns of a project needed by a read, without its members.
+     *
+     * @param id The unique identifier (ID) of the project.
+     * @return An Optional containing the project, or empty if the project does not exist.
+     */
+    @Query("""
+            select new com.tasky.api.dto.project.ProjectDto(p.id, p.name, p.dueDate, p.description, c.email)
+            from Project p
+            join p.user c
+            where p.id = :id
+            """)
+    Optional<ProjectDto> findDtoById(@Param("id") Long id);
+
+    /**
+     * Retrieves the members of several projects in a single statement.
+     *
+     * @param projectIds The unique identifiers (IDs) of the projects.
+     * @return The members of the projects, each with the ID of its project.
+     */
+    @Query("""
+            select new com.tasky.api.dto.project.ProjectMemberDto(
+                p.id,
+                new com.tasky.api.dto.user.UserDto(u.id, u.firstName, u.lastName, u.email, u.role, u.neverConnected)
+            )
+            from Project p
+            join p.users u
+            where p.id in :projectIds
+            """)
+    List<ProjectMemberDto> findMembersByProjectIdIn(@Param("projectIds") Collection<Long> projectIds);
 
     /**
      * Checks if a project with the specified ID exists.
@@ -39,4 +175,78 @@ public interface ProjectRepository extends JpaRepository<Project,Long> {
      * @return true if a project with the given ID exists; otherwise, false.
      */
     boolean existsProjectById(Long id);
+
+    /**
+     * Retrieves the IDs of the projects a user is a member of, straight from the join table.
+     *
+     * @param userId The unique identifier (ID) of the user.
+     * @return The list of project IDs the user is a member of.
+     */
+    @Query(value = "select project_id from user_account_project where user_account_id = :userId", nativeQuery = true)
+    List<Long> findProjectIdsByMemberId(@Param("userId") Long userId);
+
+    /**
+     * Deletes a project by its ID with a single statement, without loading it.
+     * The ON DELETE CASCADE of the schema deletes its memberships, runs, features, to-dos and comments.
+     *
+     * @param id The unique identifier (ID) of the project to delete.
+     * @return The number of deleted projects, 0 or 1.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from Project p where p.id = :id")
+    int deleteProjectById(@Param("id") Long id);
+
+    /**
+     * Retrieves the validators of a project along with its members and its creator, which are part of its reads.
+     *
+     * @param id The unique identifier (ID) of the project.
+     * @return An Optional containing the validators of the project, or empty if the project does not exist.
+     */
+    @Query("""
+            select new com.tasky.api.dao.ResourceVersion(p.id, p.version, count(m), greatest(max(m.updatedAt), c.updatedAt))
+            from Project p
+            join p.user c
+            left join p.users m
+            where p.id = :id
+            group by p.id, p.version, c.updatedAt
+            """)
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * Retrieves the validators of the projects whose names contain the specified pattern, ignoring case, along with their members.
+     * The projects and their members are counted rather than read, on every page of the list.
+     * The creators are part of the reads of the projects, so their last update counts as an update of their projects.
+     *
+     * @param name The pattern to search for in project names.
+     * @return The validators of the projects, derived from the number and the last update of the projects and of their members.
+     */
+    @Query("""
+            select new com.tasky.api.dao.ResourceVersion(count(distinct p.id), max(greatest(p.updatedAt, c.updatedAt)), count(m), max(m.updatedAt))
+            from Project p
+            join p.user c
+            left join p.users m
+            where upper(p.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            """)
+    ResourceVersion findVersionByNameContainingIgnoreCase(@Param("name") String name);
+
+    /**
+     * Retrieves the validators of the projects whose names contain the specified pattern, ignoring case, and are associated with a specific user,
+     * along with their members. The projects and their members are counted rather than read, on every page of the list.
+     * The creators are part of the reads of the projects, so their last update counts as an update of their projects.
+     *
+     * @param name   The pattern to search for in project names.
+     * @param userId The unique identifier (ID) of the User associated with the projects.
+     * @return The validators of the projects, derived from the number and the last update of the projects and of their members.
+     */
+    @Query("""
+            select new com.tasky.api.dao.ResourceVersion(count(distinct p.id), max(greatest(p.updatedAt, c.updatedAt)), count(m), max(m.updatedAt))
+            from Project p
+            join p.user c
+            join p.users u
+            left join p.users m
+            where u.id = :userId
+            and upper(p.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            """)
+    ResourceVersion findVersionByNameContainingIgnoreCaseAndUsersContains(@Param("name") String name, @Param("userId") Long userId);
 }
@@ -1,23 +1,145 @@
 package com.tasky.api.repositories;
 
-import com.tasky.api.models.Project;
+import com.tasky.api.dao.AuthorizedResource;
+import com.tasky.api.dao.ResourceVersion;
+import com.tasky.api.dto.run.RunDto;
 import com.tasky.api.models.Run;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for managing Run entities.
+ * The reads select the columns of a RunDto with a constructor expression, so no entity is loaded into the persistence context.
  */
 public interface RunRepository extends JpaRepository<Run,Long> {
 
     /**
-     * Retrieves a page of runs associated with a specific project, where the run names contain the specified pattern.
+     * Retrieves a page of runs associated with a specific project, where the run names contain the specified pattern, ignoring case.
      *
-     * @param project  The Project associated with the runs to retrieve.
+     * @param projectId The unique identifier (ID) of the Project associated with the runs to retrieve.
      * @param name     The pattern to search for in run names.
      * @param pageable The pageable configuration for the result page.
      * @return A Page containing runs associated with the specified project and matching the name pattern.
      */
-    Page<Run> findAllByProjectIsAndNameContaining(Project project, String name, Pageable pageable);
+    @Query("""
+            select new com.tasky.api.dto.run.RunDto(r.id, r.name, r.description, r.status, r.startDate, r.endDate)
+            from Run r
+            where r.project.id = :projectId
+            and upper(r.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            """)
+    Page<RunDto> findAllByProjectIsAndNameContainingIgnoreCase(@Param("projectId") Long projectId, @Param("name") String name, Pageable pageable);
+
+    /**
+     * Retrieves a slice of runs associated with a specific project, where the run names contain the specified pattern, ignoring case.
+     * Only size + 1 rows are read to tell whether a next page exists, no count query is run.
+     *
+     * @param projectId The unique identifier (ID) of the Project associated with the runs to retrieve.
+     * @param name     The pattern to search for in run names.
+     * @param pageable The pageable configuration for the result slice.
+     * @return A Slice containing runs associated with the specified project.
+     */
+    @Query("""
+            select new com.tasky.api.dto.run.RunDto(r.id, r.name, r.description, r.status, r.startDate, r.endDate)
+            from Run r
+            where r.project.id = :projectId
+            and upper(r.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            """)
+    Slice<RunDto> findSliceByProjectIsAndNameContainingIgnoreCase(@Param("projectId") Long projectId, @Param("name") String name, Pageable pageable);
+
+    /**
+     * Retrieves a keyset page of runs associated with a specific project, where the run names contain the specified pattern, ignoring case.
+     * Rows are ordered by name and ID and start after the given position, so deep pages cost as much as the first one.
+     *
+     * @param projectId The unique identifier (ID) of the Project associated with the runs to retrieve.
+     * @param name     The pattern to search for in run names.
+     * @param afterKey The sort key of the last row of the previous page.
+     * @param afterId  The ID of the last row of the previous page.
+     * @param pageable The size of the page, without count query.
+     * @return The runs of the page, ordered by name and ID.
+     */
+    @Query("""
+            select new com.tasky.api.dto.run.RunDto(r.id, r.name, r.description, r.status, r.startDate, r.endDate)
+            from Run r
+            where r.project.id = :projectId
+            and upper(r.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            and r.name >= :afterKey
+            and (r.name > :afterKey or r.id > :afterId)
+            order by r.name, r.id
+            """)
+    List<RunDto> findAllByProjectIsAndNameContainingAfter(@Param("projectId") Long projectId, @Param("name") String name, @Param("afterKey") String afterKey, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Retrieves a run together with the membership of a user in the project owning it, in a single statement.
+     *
+     * @param id     The unique identifier (ID) of the run.
+     * @param userId The unique identifier (ID) of the user.
+     * @return An Optional containing the run and the membership of the user, or empty if the run does not exist.
+     */
+    @Query("""
+            select new com.tasky.api.dao.AuthorizedResource(r, exists (select m.id from p.users m where m.id = :userId))
+            from Run r
+            join fetch r.project p
+            join fetch p.user
+            where r.id = :id
+            """)
+    Optional<AuthorizedResource<Run>> findByIdForMember(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Retrieves the columns of a run needed by a read, together with the membership of a user in the project owning it, in a single statement.
+     *
+     * @param id     The unique identifier (ID) of the run.
+     * @param userId The unique identifier (ID) of the user.
+     * @return An Optional containing the run and the membership of the user, or empty if the run does not exist.
+     */
+    @Query("""
+            select new com.tasky.api.dao.AuthorizedResource(
+                new com.tasky.api.dto.run.RunDto(r.id, r.name, r.description, r.status, r.startDate, r.endDate),
+                exists (select m.id from p.users m where m.id = :userId)
+            )
+            from Run r
+            join r.project p
+            where r.id = :id
+            """)
+    Optional<AuthorizedResource<RunDto>> findDtoByIdForMember(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Retrieves the validators of a run, together with the membership of a user in the project owning it, in a single statement.
+     *
+     * @param id     The unique identifier (ID) of the run.
+     * @param userId The unique identifier (ID) of the user.
+     * @return An Optional containing the validators of the run and the membership of the user, or empty if the run does not exist.
+     */
+    @Query("""
+            select new com.tasky.api.dao.AuthorizedResource(
+                new com.tasky.api.dao.ResourceVersion(r.id, r.version, r.updatedAt),
+                exists (select m.id from p.users m where m.id = :userId)
+            )
+            from Run r
+            join r.project p
+            where r.id = :id
+            """)
+    Optional<AuthorizedResource<ResourceVersion>> findVersionByIdForMember(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Retrieves the validators of the runs associated with a specific project, where the run names contain the specified pattern, ignoring case.
+     * The runs are counted rather than read, on every page of the list.
+     *
+     * @param projectId The unique identifier (ID) of the project associated with the runs.
+     * @param name     The pattern to search for in run names.
+     * @return The validators of the runs, derived from their number and their last update.
+     */
+    @Query("""
+            select new com.tasky.api.dao.ResourceVersion(count(r), max(r.updatedAt))
+            from Run r
+            where r.project.id = :projectId
+            and upper(r.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            """)
+    ResourceVersion findVersionByProjectIsAndNameContainingIgnoreCase(@Param("projectId") Long projectId, @Param("name") String name);
 }
@@ -1,34 +1,221 @@
 package com.tasky.api.repositories;
 
-import com.tasky.api.models.Feature;
+import com.tasky.api.dao.AuthorizedResource;
+import com.tasky.api.dao.ResourceVersion;
+import com.tasky.api.dto.toDo.TodoDto;
 import com.tasky.api.models.ToDo;
-import com.tasky.api.models.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository interface for managing ToDo entities.
+ * The reads select the columns of a TodoDto with a constructor expression, so no entity is loaded into the persistence context.
  */
 public interface ToDoRepository extends JpaRepository<ToDo,Long> {
 
     /**
-     * Retrieves a page of To-Do items associated with a specific feature, where the To-Do item names contain the specified pattern.
+     * Retrieves a page of To-Do items associated with a specific feature, where the To-Do item names contain the specified pattern, ignoring case.
      *
-     * @param feature  The Feature associated with the To-Do items to retrieve.
-     * @param name     The pattern to search for in To-Do item names.
-     * @param pageable The pageable configuration for the result page.
+     * @param featureId The unique identifier (ID) of the feature associated with the To-Do items to retrieve.
+     * @param name      The pattern to search for in To-Do item names.
+     * @param pageable  The pageable configuration for the result page.
      * @return A Page containing To-Do items associated with the specified feature and matching the name pattern.
      */
-    Page<ToDo> findAllByFeatureIsAndNameContaining(Feature feature, String name, Pageable pageable);
+    @Query("""
+            select new com.tasky.api.dto.toDo.TodoDto(t.id, t.name, t.type, t.description, t.status, t.createdAt, t.updatedAt)
+            from ToDo t
+            where t.feature.id = :featureId
+            and upper(t.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            """)
+    Page<TodoDto> findAllByFeatureIsAndNameContainingIgnoreCase(@Param("featureId") Long featureId, @Param("name") String name, Pageable pageable);
 
     /**
-     * Retrieves a page of To-Do items associated with a specific user, where the To-Do item names contain the specified pattern.
+     * Retrieves a slice of To-Do items associated with a specific feature, where the To-Do item names contain the specified pattern, ignoring case.
+     * Only size + 1 rows are read to tell whether a next page exists, no count query is run.
      *
-     * @param user     The User associated with the To-Do items to retrieve.
+     * @param featureId The unique identifier (ID) of the feature associated with the To-Do items to retrieve.
+     * @param name      The pattern to search for in To-Do item names.
+     * @param pageable  The pageable configuration for the result slice.
+     * @return A Slice containing To-Do items associated with the specified feature and matching the name pattern.
+     */
+    @Query("""
+            select new com.tasky.api.dto.toDo.TodoDto(t.id, t.name, t.type, t.description, t.status, t.createdAt, t.updatedAt)
+            from ToDo t
+            where t.feature.id = :featureId
+            and upper(t.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            """)
+    Slice<TodoDto> findSliceByFeatureIsAndNameContainingIgnoreCase(@Param("featureId") Long featureId, @Param("name") String name, Pageable pageable);
+
+    /**
+     * Retrieves a page of To-Do items associated with a specific user, where the To-Do item names contain the specified pattern, ignoring case.
+     *
+     * @param userId   The unique identifier (ID) of the user associated with the To-Do items to retrieve.
      * @param name     The pattern to search for in To-Do item names.
      * @param pageable The pageable configuration for the result page.
      * @return A Page containing To-Do items associated with the specified user and matching the name pattern.
      */
-    Page<ToDo> findAllByUserAndAndNameContaining(User user,String name, Pageable pageable);
+    @Query("""
+            select new com.tasky.api.dto.toDo.TodoDto(t.id, t.name, t.type, t.description, t.status, t.createdAt, t.updatedAt)
+            from ToDo t
+            where t.user.id = :userId
+            and upper(t.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            """)
+    Page<TodoDto> findAllByUserAndAndNameContainingIgnoreCase(@Param("userId") Long userId, @Param("name") String name, Pageable pageable);
 
+    /**
+     * Retrieves a slice of To-Do items associated with a specific user, where the To-Do item names contain the specified pattern, ignoring case.
+     * Only size + 1 rows are read to tell whether a next page exists, no count query is run.
+     *
+     * @param userId   The unique identifier (ID) of the user associated with the To-Do items to retrieve.
+     * @param name     The pattern to search for in To-Do item names.
+     * @param pageable The pageable configuration for the result slice.
+     * @return A Slice containing To-Do items associated with the specified user and matching the name pattern.
+     */
+    @Query("""
+            select new com.tasky.api.dto.toDo.TodoDto(t.id, t.name, t.type, t.description, t.status, t.createdAt, t.updatedAt)
+            from ToDo t
+            where t.user.id = :userId
+            and upper(t.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            """)
+    Slice<TodoDto> findSliceByUserAndNameContainingIgnoreCase(@Param("userId") Long userId, @Param("name") String name, Pageable pageable);
+
+    /**
+     * Retrieves a keyset page of To-Do items associated with a specific feature, where the To-Do item names contain the specified pattern, ignoring case.
+     * Rows are ordered by name and ID and start after the given position, so deep pages cost as much as the first one.
+     *
+     * @param featureId The unique identifier (ID) of the feature associated with the To-Do items to retrieve.
+     * @param name      The pattern to search for in To-Do item names.
+     * @param afterKey  The sort key of the last row of the previous page.
+     * @param afterId   The ID of the last row of the previous page.
+     * @param pageable  The size of the page, without count query.
+     * @return The To-Do items of the page, ordered by name and ID.
+     */
+    @Query("""
+            select new com.tasky.api.dto.toDo.TodoDto(t.id, t.name, t.type, t.description, t.status, t.createdAt, t.updatedAt)
+            from ToDo t
+            where t.feature.id = :featureId
+            and upper(t.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            and t.name >= :afterKey
+            and (t.name > :afterKey or t.id > :afterId)
+            order by t.name, t.id
+            """)
+    List<TodoDto> findAllByFeatureIsAndNameContainingAfter(@Param("featureId") Long featureId, @Param("name") String name, @Param("afterKey") String afterKey, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Retrieves a keyset page of To-Do items associated with a specific user, where the To-Do item names contain the specified pattern, ignoring case.
+     * Rows are ordered by name and ID and start after the given position, so deep pages cost as much as the first one.
+     *
+     * @param userId   The unique identifier (ID) of the user associated with the To-Do items to retrieve.
+     * @param name     The pattern to search for in To-Do item names.
+     * @param afterKey The sort key of the last row of the previous page.
+     * @param afterId  The ID of the last row of the previous page.
+     * @param pageable The size of the page, without count query.
+     * @return The To-Do items of the page, ordered by name and ID.
+     */
+    @Query("""
+            select new com.tasky.api.dto.toDo.TodoDto(t.id, t.name, t.type, t.description, t.status, t.createdAt, t.updatedAt)
+            from ToDo t
+            where t.user.id = :userId
+            and upper(t.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            and t.name >= :afterKey
+            and (t.name > :afterKey or t.id > :afterId)
+            order by t.name, t.id
+            """)
+    List<TodoDto> findAllByUserAndNameContainingAfter(@Param("userId") Long userId, @Param("name") String name, @Param("afterKey") String afterKey, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Retrieves a To-Do item together with the membership of a user in the project owning it, in a single statement.
+     *
+     * @param id     The unique identifier (ID) of the To-Do item.
+     * @param userId The unique identifier (ID) of the user.
+     * @return An Optional containing the To-Do item and the membership of the user, or empty if the To-Do item does not exist.
+     */
+    @Query("""
+            select new com.tasky.api.dao.AuthorizedResource(t, exists (select m.id from p.users m where m.id = :userId))
+            from ToDo t
+            join fetch t.feature f
+            join fetch f.project p
+            join fetch p.user
+            left join fetch f.run
+            left join fetch t.user
+            where t.id = :id
+            """)
+    Optional<AuthorizedResource<ToDo>> findByIdForMember(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Retrieves the columns of a To-Do item needed by a read, together with the membership of a user in the project owning it, in a single statement.
+     *
+     * @param id     The unique identifier (ID) of the To-Do item.
+     * @param userId The unique identifier (ID) of the user.
+     * @return An Optional containing the To-Do item and the membership of the user, or empty if the To-Do item does not exist.
+     */
+    @Query("""
+            select new com.tasky.api.dao.AuthorizedResource(
+                new com.tasky.api.dto.toDo.TodoDto(t.id, t.name, t.type, t.description, t.status, t.createdAt, t.updatedAt),
+                exists (select m.id from p.users m where m.id = :userId)
+            )
+            from ToDo t
+            join t.feature f
+            join f.project p
+            where t.id = :id
+            """)
+    Optional<AuthorizedResource<TodoDto>> findDtoByIdForMember(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Retrieves the validators of a to-do, together with the membership of a user in the project owning it, in a single statement.
+     *
+     * @param id     The unique identifier (ID) of the to-do.
+     * @param userId The unique identifier (ID) of the user.
+     * @return An Optional containing the validators of the to-do and the membership of the user, or empty if the to-do does not exist.
+     */
+    @Query("""
+            select new com.tasky.api.dao.AuthorizedResource(
+                new com.tasky.api.dao.ResourceVersion(t.id, t.version, t.updatedAt),
+                exists (select m.id from p.users m where m.id = :userId)
+            )
+            from ToDo t
+            join t.feature f
+            join f.project p
+            where t.id = :id
+            """)
+    Optional<AuthorizedResource<ResourceVersion>> findVersionByIdForMember(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Retrieves the validators of the to-dos associated with a specific feature, where the to-do names contain the specified pattern, ignoring case.
+     * The to-dos are counted rather than read, on every page of the list.
+     *
+     * @param featureId The unique identifier (ID) of the feature associated with the to-dos.
+     * @param name     The pattern to search for in to-do names.
+     * @return The validators of the to-dos, derived from their number and their last update.
+     */
+    @Query("""
+            select new com.tasky.api.dao.ResourceVersion(count(t), max(t.updatedAt))
+            from ToDo t
+            where t.feature.id = :featureId
+            and upper(t.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            """)
+    ResourceVersion findVersionByFeatureIsAndNameContainingIgnoreCase(@Param("featureId") Long featureId, @Param("name") String name);
+
+    /**
+     * Retrieves the validators of the to-dos associated with a specific user, where the to-do names contain the specified pattern, ignoring case.
+     * The to-dos are counted rather than read, on every page of the list.
+     *
+     * @param userId The unique identifier (ID) of the user associated with the to-dos.
+     * @param name     The pattern to search for in to-do names.
+     * @return The validators of the to-dos, derived from their number and their last update.
+     */
+    @Query("""
+            select new com.tasky.api.dao.ResourceVersion(count(t), max(t.updatedAt))
+            from ToDo t
+            where t.user.id = :userId
+            and upper(t.name) like upper(:#{'%' + escape(#name) + '%'}) escape :#{escapeCharacter()}
+            """)
+    ResourceVersion findVersionByUserAndNameContainingIgnoreCase(@Param("userId") Long userId, @Param("name") String name);
 }
@@ -1,10 +1,17 @@
 package com.tasky.api.repositories;
 
+import com.tasky.api.dto.user.UserSuggestionDto;
 import com.tasky.api.models.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -22,27 +29,142 @@ public interface UserRepository extends JpaRepository<User,Long> {
     Boolean existsUserByEmail(String email);
 
     /**
-     * Retrieves a page of users whose email addresses match the provided search pattern.
+     * Retrieves a page of users whose email addresses contain the provided search pattern, ignoring case.
      *
      * @param email The search pattern to match against email addresses.
      * @return A {@link Page} containing the users whose email addresses match the search pattern.
      */
-    Page<User> findAllByEmailContains(String email, Pageable page);
+    Page<User> findAllByEmailContainsIgnoreCase(String email, Pageable page);
 
     /**
-     * Retrieves a page of users whose firstname match the provided search pattern.
+     * Retrieves a slice of users whose email addresses contain the provided search pattern, ignoring case.
+     * Only size + 1 rows are read to tell whether a next page exists, no count query is run.
+     *
+     * @param email The search pattern to match against email addresses.
+     * @param page The pageable configuration for the result slice.
+     * @return A {@link Slice} containing the users whose email addresses match the search pattern.
+     */
+    Slice<User> findSliceByEmailContainsIgnoreCase(String email, Pageable page);
+
+    /**
+     * Retrieves a page of users whose firstname contain the provided search pattern, ignoring case.
      *
      * @param firstName The search pattern to match against firstname.
      * @return A {@link Page} containing the users whose firstname match the search pattern.
      */
-    Page<User> findUsersByFirstNameContaining(String firstName, Pageable page);
+    Page<User> findUsersByFirstNameContainingIgnoreCase(String firstName, Pageable page);
 
     /**
-     * Retrieves a page of users whose lastName match the provided search pattern.
+     * Retrieves a slice of users whose firstname contain the provided search pattern, ignoring case.
+     * Only size + 1 rows are read to tell whether a next page exists, no count query is run.
+     *
+     * @param firstName The search pattern to match against firstname.
+     * @param page The pageable configuration for the result slice.
+     * @return A {@link Slice} containing the users whose firstname match the search pattern.
+     */
+    Slice<User> findUsersSliceByFirstNameContainingIgnoreCase(String firstName, Pageable page);
+
+    /**
+     * Retrieves a page of users whose lastName contain the provided search pattern, ignoring case.
      *
      * @param lastName The search pattern to match against lastName.
      * @return A {@link Page} containing the users whose lastName match the search pattern.
      */
-    Page<User> findUsersByLastNameContaining(String lastName, Pageable page);
+    Page<User> findUsersByLastNameContainingIgnoreCase(String lastName, Pageable page);
 
+    /**
+     * Retrieves a slice of users whose lastName contain the provided search pattern, ignoring case.
+     * Only size + 1 rows are read to tell whether a next page exists, no count query is run.
+     *
+     * @param lastName The search pattern to match against lastName.
+     * @param page The pageable configuration for the result slice.
+     * @return A {@link Slice} containing the users whose lastName match the search pattern.
+     */
+    Slice<User> findUsersSliceByLastNameContainingIgnoreCase(String lastName, Pageable page);
+
+    /**
+     * Retrieves a keyset page of users whose email addresses contain the provided search pattern, ignoring case.
+     * Rows are ordered by email and ID and start after the given position, so deep pages cost as much as the first one.
+     *
+     * @param email The search pattern to match against email addresses.
+     * @param afterKey The sort key of the last row of the previous page.
+     * @param afterId  The ID of the last row of the previous page.
+     * @param pageable The size of the page, without count query.
+     * @return The users of the page, ordered by email and ID.
+     */
+    @Query("""
+            select u from User u
+            where upper(u.email) like upper(:#{'%' + escape(#email) + '%'}) escape :#{escapeCharacter()}
+            and u.email >= :afterKey
+            and (u.email > :afterKey or u.id > :afterId)
+            order by u.email, u.id
+            """)
+    List<User> findAllByEmailContainsAfter(@Param("email") String email, @Param("afterKey") String afterKey, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Retrieves a keyset page of users whose firstname contain the provided search pattern, ignoring case.
+     * Rows are ordered by firstName and ID and start after the given position, so deep pages cost as much as the first one.
+     *
+     * @param firstName The search pattern to match against firstname.
+     * @param afterKey The sort key of the last row of the previous page.
+     * @param afterId  The ID of the last row of the previous page.
+     * @param pageable The size of the page, without count query.
+     * @return The users of the page, ordered by firstName and ID.
+     */
+    @Query("""
+            select u from User u
+            where upper(u.firstName) like upper(:#{'%' + escape(#firstName) + '%'}) escape :#{escapeCharacter()}
+            and u.firstName >= :afterKey
+            and (u.firstName > :afterKey or u.id > :afterId)
+            order by u.firstName, u.id
+            """)
+    List<User> findUsersByFirstNameContainingAfter(@Param("firstName") String firstName, @Param("afterKey") String afterKey, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Retrieves a keyset page of users whose lastName contain the provided search pattern, ignoring case.
+     * Rows are ordered by lastName and ID and start after the given position, so deep pages cost as much as the first one.
+     *
+     * @param lastName The search pattern to match against lastName.
+     * @param afterKey The sort key of the last row of the previous page.
+     * @param afterId  The ID of the last row of the previous page.
+     * @param pageable The size of the page, without count query.
+     * @return The users of the page, ordered by lastName and ID.
+     */
+    @Query("""
+            select u from User u
+            where upper(u.lastName) like upper(:#{'%' + escape(#lastName) + '%'}) escape :#{escapeCharacter()}
+            and u.lastName >= :afterKey
+            and (u.lastName > :afterKey or u.id > :afterId)
+            order by u.lastName, u.id
+            """)
+    List<User> findUsersByLastNameContainingAfter(@Param("lastName") String lastName, @Param("afterKey") String afterKey, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Retrieves the current token version of a user without loading the user entity.
+     *
+     * @param id The unique identifier (ID) of the user.
+     * @return An Optional containing the token version, or empty if the user does not exist.
+     */
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    /**
+     * Retrieves the fields of every user shown by the user pickers, without loading the user entities.
+     *
+     * @return The suggestion of every user.
+     */
+    @Query("select new com.tasky.api.dto.user.UserSuggestionDto(u.id, u.email, u.firstName, u.lastName, u.role) from User u")
+    List<UserSuggestionDto> findAllSuggestions();
+
+    /**
+     * Deletes a user by its ID with a single statement, without loading it.
+     * The ON DELETE CASCADE of the schema deletes its memberships, the projects it created with their trees, and the to-dos assigned to it.
+     *
+     * @param id The unique identifier (ID) of the user to delete.
+     * @return The number of deleted users, 0 or 1.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from User u where u.id = :id")
+    int deleteUserById(@Param("id") Long id);
 }
@@ -6,6 +6,8 @@ import com.tasky.api.dto.comment.SearchCommentsResponse;
 import com.tasky.api.dto.comment.UpdateCommentRequest;
 import org.springframework.security.core.Authentication;
 
+import java.util.List;
+
 /**
  * The CommentService interface defines methods to handle operations related to comments.
  */
@@ -20,6 +22,16 @@ public interface CommentService {
      */
     void createComment(Authentication authentication, Long toDoId, CreateCommentRequest request);
 
+    /**
+     * Creates several comments associated with a ToDo.
+     * Access to the ToDo is checked once, and every request is validated before any comment is inserted.
+     *
+     * @param authentication The authentication object representing the current authenticated user.
+     * @param toDoId         The unique identifier (ID) of the ToDo to associate the comments with.
+     * @param requests       The requests containing the details of each comment.
+     */
+    void createComments(Authentication authentication, Long toDoId, List<CreateCommentRequest> requests);
+
     /**
      * Retrieves a comment by its unique identifier (ID) with access control.
      *
@@ -53,8 +65,11 @@ public interface CommentService {
      * @param toDoId         The unique identifier (ID) of the ToDo to filter the comments for.
      * @param name           The pattern to search for in comment names.
      * @param page           The page number of the result.
+     * @param after          The cursor of the page to fetch, empty for the first page. When present, the page is fetched by keyset
+     *                       and the response carries the cursor of the next page instead of the pagination totals.
+     * @param slice          True to fetch the page without count query, the pagination details then only tell whether a next page exists.
      * @return A SearchCommentsResponse containing the filtered comments and pagination information.
      */
-    SearchCommentsResponse getAllCommentWhereNameContainsAndToDoIs(Authentication authentication, Long toDoId, String name, Integer page);
+    SearchCommentsResponse getAllCommentWhereNameContainsAndToDoIs(Authentication authentication, Long toDoId, String name, Integer page, String after, Boolean slice);
 
 }
\ No newline at end of file
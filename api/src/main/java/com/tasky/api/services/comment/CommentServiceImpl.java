@@ -3,6 +3,8 @@ package com.tasky.api.services.comment;
 import com.tasky.api.configurations.errors.BadRequestException;
 import com.tasky.api.configurations.errors.NotFoundException;
 import com.tasky.api.configurations.errors.UnauthorizedException;
+import com.tasky.api.dao.Cursor;
+import com.tasky.api.dao.CursorPage;
 import com.tasky.api.dao.comment.CommentDao;
 import com.tasky.api.dao.toDo.ToDoDao;
 import com.tasky.api.dto.PageableDto;
@@ -10,19 +12,20 @@ import com.tasky.api.dto.comment.CommentDto;
 import com.tasky.api.dto.comment.CreateCommentRequest;
 import com.tasky.api.dto.comment.SearchCommentsResponse;
 import com.tasky.api.dto.comment.UpdateCommentRequest;
-import com.tasky.api.mappers.CommentDtoMapper;
 import com.tasky.api.models.Comment;
-import com.tasky.api.models.Project;
 import com.tasky.api.models.ToDo;
 import com.tasky.api.models.User;
+import com.tasky.api.services.membership.MembershipService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -35,15 +38,17 @@ import java.util.List;
 @Service
 public class CommentServiceImpl implements CommentService {
 
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int PAGE_SIZE = 5;
     private final Logger logger = LoggerFactory.getLogger(CommentService.class);
     private final ToDoDao toDoDao;
     private final CommentDao commentDao;
-    private final CommentDtoMapper commentDtoMapper;
+    private final MembershipService membershipService;
 
-    public CommentServiceImpl(@Qualifier("TO_DO_JPA") ToDoDao toDoDao, @Qualifier("COMMENT_JPA") CommentDao commentDao, CommentDtoMapper commentDtoMapper) {
+    public CommentServiceImpl(@Qualifier("TO_DO_JPA") ToDoDao toDoDao, @Qualifier("COMMENT_JPA") CommentDao commentDao, MembershipService membershipService) {
         this.toDoDao = toDoDao;
         this.commentDao = commentDao;
-        this.commentDtoMapper = commentDtoMapper;
+        this.membershipService = membershipService;
     }
 
     /**
@@ -55,13 +60,63 @@ public class CommentServiceImpl implements CommentService {
      */
     @Override
     public void createComment(Authentication authentication, Long toDoId, CreateCommentRequest request) {
-        ToDo toDo = evaluateTodoId(toDoId);
-        evaluateUserAccessToTodo(authentication,toDo);
+        ToDo toDo = retrieveAuthorizedToDo(authentication, toDoId);
         verifyCreateRequest(request);
         Comment comment = new Comment(request.name(), request.content(), toDo);
         commentDao.createComment(comment);
     }
 
+    /**
+     * Creates several comments associated with a ToDo.
+     *
+     * @param authentication The authentication object representing the current authenticated user.
+     * @param toDoId         The unique identifier (ID) of the ToDo to associate the comments with.
+     * @param requests       The requests containing the details of each comment.
+     * @throws NotFoundException     If the ToDo with the given ID is not found.
+     * @throws UnauthorizedException If the user doesn't have access to the ToDo resource.
+     * @throws BadRequestException   If the batch is empty, too large or contains invalid comments.
+     */
+    @Override
+    public void createComments(Authentication authentication, Long toDoId, List<CreateCommentRequest> requests) {
+        ToDo toDo = retrieveAuthorizedToDo(authentication, toDoId);
+
+        if(requests == null || requests.isEmpty()) {
+            throw new BadRequestException("At least one comment is required");
+        }
+
+        if(requests.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("A batch cannot contain more than %s comments".formatted(MAX_BATCH_SIZE));
+        }
+
+        List<String> stackTrace = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>(requests.size());
+
+        for(int index = 0; index < requests.size(); index++) {
+            CreateCommentRequest request = requests.get(index);
+
+            if(request == null) {
+                stackTrace.add("Item %s: body is required".formatted(index));
+                continue;
+            }
+
+            List<String> errors = validateCreateRequest(request);
+
+            if(errors.isEmpty()) {
+                comments.add(new Comment(request.name(), request.content(), toDo));
+            } else {
+                for(String error : errors) {
+                    stackTrace.add("Item %s: %s".formatted(index, error));
+                }
+            }
+        }
+
+        if(!stackTrace.isEmpty()) {
+            throw new BadRequestException(stackTrace.toString());
+        }
+
+        commentDao.createComments(comments);
+    }
+
     /**
      * Retrieves a comment by its unique identifier (ID) with access control.
      *
@@ -72,10 +127,15 @@ public class CommentServiceImpl implements CommentService {
      * @throws UnauthorizedException If the user doesn't have access to the comment resource.
      */
     @Override
+    @Transactional(readOnly = true)
     public CommentDto selectCommentById(Authentication authentication, Long commentId) {
-        Comment comment = retrieveCommentById(commentId);
-        evaluateAccessToComment(comment,authentication);
-        return commentDtoMapper.apply(comment);
+        User user = retrieveUserFromAuthentication(authentication);
+        return membershipService.checkAccess(
+                user,
+                commentDao.selectCommentDtoByIdForMember(commentId, user.getId()).orElseThrow(
+                        () -> new NotFoundException("Comment with id %s does not exists".formatted(commentId))
+                )
+        );
     }
 
     /**
@@ -89,9 +149,9 @@ public class CommentServiceImpl implements CommentService {
      * @throws BadRequestException   If no changes are made to the comment.
      */
     @Override
+    @Transactional
     public void updateComment(Authentication authentication, Long commentId, UpdateCommentRequest request) {
-        Comment comment = retrieveCommentById(commentId);
-        evaluateAccessToComment(comment,authentication);
+        Comment comment = retrieveAuthorizedComment(authentication, commentId);
         Comment commentModified = processCommentChanges(comment,request);
         commentDao.updateComment(commentModified);
     }
@@ -106,8 +166,7 @@ public class CommentServiceImpl implements CommentService {
      */
     @Override
     public void deleteComment(Authentication authentication, Long commentId) {
-        Comment comment = retrieveCommentById(commentId);
-        evaluateAccessToComment(comment,authentication);
+        Comment comment = retrieveAuthorizedComment(authentication, commentId);
         commentDao.deleteCommentById(commentId);
     }
 
@@ -123,17 +182,38 @@ public class CommentServiceImpl implements CommentService {
      * @return A SearchCommentsResponse containing the filtered comments and pagination information.
      */
     @Override
-    public SearchCommentsResponse getAllCommentWhereNameContainsAndToDoIs(Authentication authentication, Long toDoId, String name, Integer page) {
-        ToDo toDo = evaluateTodoId(toDoId);
-        evaluateUserAccessToTodo(authentication,toDo);
+    @Transactional(readOnly = true)
+    public SearchCommentsResponse getAllCommentWhereNameContainsAndToDoIs(Authentication authentication, Long toDoId, String name, Integer page, String after, Boolean slice) {
+        checkAccessToToDo(authentication, toDoId);
+        String pattern = proccessPattern(name);
+
+        if(after != null) {
+            CursorPage<CommentDto> comments = commentDao.selectAllCommentForTodoWhereNameContains(toDoId,pattern,Cursor.decode(after),PAGE_SIZE);
+            return new SearchCommentsResponse(
+                    comments.content(),
+                    null,
+                    comments.nextCursor()
+            );
+        }
+
         page = proccessPage(page);
         Pageable pageable = buildPageable(page);
-        String pattern = proccessPattern(name);
-        Page<Comment> pageResult = commentDao.selectAllCommentForTodoWhereNameContains(toDo,pattern,pageable);
+
+        if(Boolean.TRUE.equals(slice)) {
+            Slice<CommentDto> sliceResult = commentDao.selectAllCommentForTodoWhereNameContainsAsSlice(toDoId,pattern,pageable);
+
+            if(page != 0 && !sliceResult.hasContent()) {
+                throw new BadRequestException("Page requested does not exists");
+            }
+
+            return new SearchCommentsResponse(sliceResult.getContent(),PageableDto.of(sliceResult),null);
+        }
+
+        Page<CommentDto> pageResult = commentDao.selectAllCommentForTodoWhereNameContains(toDoId,pattern,pageable);
         return buildSearchResponse(pageResult,page);
     }
 
-    private SearchCommentsResponse buildSearchResponse(Page<Comment> pageComment, Integer page) {
+    private SearchCommentsResponse buildSearchResponse(Page<CommentDto> pageComment, Integer page) {
 
         if(page != 0 && (pageComment.getTotalPages()-1) < page) {
             throw new BadRequestException("Page requested does not exists");
@@ -148,16 +228,13 @@ public class CommentServiceImpl implements CommentService {
 
 
 
-        List<CommentDto> comments =
-                pageComment.getContent()
-                        .stream()
-                        .map(commentDtoMapper)
-                        .toList();
+        List<CommentDto> comments = pageComment.getContent();
 
 
         return new SearchCommentsResponse(
                 comments,
-                pageableDto
+                pageableDto,
+                null
         );
     }
 
@@ -166,7 +243,7 @@ public class CommentServiceImpl implements CommentService {
     }
 
     private Pageable buildPageable(Integer page) {
-        return PageRequest.of(page,5);
+        return PageRequest.of(page,PAGE_SIZE);
     }
 
     private String proccessPattern(String pattern) {
@@ -177,92 +254,66 @@ public class CommentServiceImpl implements CommentService {
         return (User) authentication.getPrincipal();
     }
 
-    private void  evaluateAccessToComment(Comment comment, Authentication authentication) {
+    private ToDo retrieveAuthorizedToDo(Authentication authentication, Long toDoId) {
         User user = retrieveUserFromAuthentication(authentication);
-        boolean isFullAccess = user.getRole().equals("PROJECT_MANAGER");
-
-        if (!isFullAccess) {
-            comment.getToDo()
-                    .getFeature()
-                    .getProject()
-                    .getUsers()
-                    .stream()
-                    .filter(
-                            user1 -> user1
-                                    .getEmail()
-                                    .equals(
-                                            user.getEmail()
-                                    )
-                    )
-                    .findFirst()
-                    .orElseThrow(
-                            () -> new UnauthorizedException("You can't access to this resource")
-                    );
-        }
+        return membershipService.checkAccess(
+                user,
+                toDoDao.selectToDoByIdForMember(toDoId, user.getId()).orElseThrow(
+                        () -> new NotFoundException("ToDo with id %s does not exists".formatted(toDoId))
+                )
+        );
     }
 
-    private ToDo evaluateTodoId(Long toDoId) {
-        return toDoDao.selectToDoById(toDoId).orElseThrow(
-                () -> new NotFoundException("ToDo with id %s does not exists".formatted(toDoId))
+    private void checkAccessToToDo(Authentication authentication, Long toDoId) {
+        User user = retrieveUserFromAuthentication(authentication);
+        membershipService.checkAccess(
+                user,
+                toDoDao.selectToDoDtoByIdForMember(toDoId, user.getId()).orElseThrow(
+                        () -> new NotFoundException("ToDo with id %s does not exists".formatted(toDoId))
+                )
         );
     }
 
-    private void evaluateUserAccessToTodo(Authentication authentication, ToDo toDo) {
-        User user = retrieveUserFromAuthentication(authentication);
+    private void verifyCreateRequest(CreateCommentRequest request) {
+        List<String> stackTrace = validateCreateRequest(request);
 
-        boolean fullAccess = user.getRole().equals("PROJECT_MANAGER");
-
-        if(!fullAccess) {
-            Project project = toDo.getFeature().getProject();
-
-            project.getUsers()
-                    .stream()
-                    .filter(
-                            user1 -> user1
-                                    .getEmail()
-                                    .equals(
-                                            user.getEmail()
-                                    )
-                    )
-                    .findFirst()
-                    .orElseThrow(
-                            () -> new UnauthorizedException("You can't access to this resource")
-                    );
+        if(!stackTrace.isEmpty()) {
+            throw new BadRequestException(stackTrace.toString());
         }
     }
 
-    private void verifyCreateRequest(CreateCommentRequest request) {
-        boolean isBadRequest = false;
+    private List<String> validateCreateRequest(CreateCommentRequest request) {
         List<String> stackTrace = new ArrayList<>();
         if(request.content() == null) {
             String message = "Missing field content";
             stackTrace.add(message);
             logger.error(message);
-            isBadRequest = true;
         }
 
         if(request.name() == null) {
             String message = "Missing field name";
             stackTrace.add(message);
             logger.error(message);
-            isBadRequest = true;
         }
 
-        if(isBadRequest) {
-            throw new BadRequestException(stackTrace.toString());
-        }
+        return stackTrace;
     }
 
-    private Comment retrieveCommentById(Long commentId) {
-        return commentDao
-                .selectCommentById(
-                        commentId
-                )
-                .orElseThrow(
-                        () -> new NotFoundException(
-                                "Comment with id %s does not exists".formatted(commentId)
+    private Comment retrieveAuthorizedComment(Authentication authentication, Long commentId) {
+        User user = retrieveUserFromAuthentication(authentication);
+        return membershipService.checkAccess(
+                user,
+                commentDao
+                        .selectCommentByIdForMember(
+                                commentId,
+                                user.getId()
+                        )
+                        .orElseThrow(
+                                () -> new NotFoundException(
+                                        "Comment with id %s does not exists".formatted(commentId)
+                                )
                         )
-                );
+        );
     }
 
     private Comment processCommentChanges(Comment comment, UpdateCommentRequest request) {
@@ -0,0 +1,41 @@
+package com.tasky.api.services.deletion;
+
+import com.tasky.api.dto.deletion.DeletionJobDto;
+
+import java.util.Optional;
+
+/**
+ * Service interface for deletions of projects and users along with everything they own.
+ */
+public interface DeletionService {
+
+    /**
+     * Deletes a project, its runs, features, to-dos and comments.
+     * A small tree is deleted at once by a single statement, a large one by a background job deleting it in chunks.
+     *
+     * @param projectId The unique identifier (ID) of an existing project.
+     * @return An Optional containing the job deleting the project, or empty if the project is already deleted.
+     */
+    Optional<DeletionJobDto> deleteProject(Long projectId);
+
+    /**
+     * Deletes a user, the projects it created with their trees, and the to-dos assigned to it.
+     * A small tree is deleted at once by a single statement, a large one by a background job deleting it in chunks,
+     * in which case the user is locked out until the job completes.
+     *
+     * @param userId The unique identifier (ID) of an existing user.
+     * @param email  The email of the user.
+     * @return An Optional containing the job deleting the user, or empty if the user is already deleted.
+     */
+    Optional<DeletionJobDto> deleteUser(Long userId, String email);
+
+    /**
+     * Retrieves a deletion job by its ID.
+     *
+     * @param jobId    The unique identifier (ID) of the job.
+     * @param resource The kind of row deleted by the job, project or user.
+     * @return The DeletionJobDto of the job.
+     * @throws com.tasky.api.configurations.errors.NotFoundException If no such job deletes this kind of row.
+     */
+    DeletionJobDto getJob(Long jobId, String resource);
+}
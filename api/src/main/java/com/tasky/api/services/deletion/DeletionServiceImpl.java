@@ -0,0 +1,273 @@
+package com.tasky.api.services.deletion;
+
+import com.tasky.api.configurations.errors.NotFoundException;
+import com.tasky.api.dao.deletion.DeletionDao;
+import com.tasky.api.dao.project.ProjectDao;
+import com.tasky.api.dao.user.UserDao;
+import com.tasky.api.dto.deletion.DeletionJobDto;
+import com.tasky.api.models.User;
+import com.tasky.api.services.invalidation.Invalidation;
+import com.tasky.api.services.invalidation.InvalidationBus;
+import com.tasky.api.services.invalidation.LocalCacheInvalidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service implementation for deletions of projects and users along with everything they own.
+ * Trees up to the async threshold are deleted by a single statement, relying on the ON DELETE CASCADE of the schema.
+ * The to-dos assigned to a user are deleted first, in the same transaction, so they leave the counts of their features.
+ * Larger trees are queued as deletion jobs in the database, and a worker thread of every instance claims them one
+ * at a time and deletes them in chunks, so neither the heap nor the locks of a deletion grow with the size of the tree.
+ * A job whose instance stopped is claimed again by another instance once its progress is stale.
+ * Deleted rows bypass the persistence context, so the local caches are invalidated, and the other instances told,
+ * once the root row is deleted.
+ */
+@Service
+public class DeletionServiceImpl implements DeletionService, SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeletionService.class);
+
+    private final DeletionDao deletionDao;
+    private final ProjectDao projectDao;
+    private final UserDao userDao;
+    private final LocalCacheInvalidator localCacheInvalidator;
+    private final InvalidationBus invalidationBus;
+    private final TransactionTemplate userDeletion;
+    private final long asyncThreshold;
+    private final int chunkSize;
+    private final int pollMillis;
+    private final long staleSeconds;
+
+    private final Semaphore queued = new Semaphore(0);
+    private volatile boolean running;
+    private Thread worker;
+
+    /**
+     * Constructs a DeletionServiceImpl.
+     *
+     * @param deletionDao The DeletionDao implementation used to size and delete trees in chunks and to track jobs.
+     * @param projectDao The ProjectDao implementation used to delete a project row.
+     * @param userDao The UserDao implementation used to delete a user row.
+     * @param localCacheInvalidator The LocalCacheInvalidator evicting the deleted rows from the caches of this instance.
+     * @param invalidationBus The InvalidationBus telling the other instances about the deletions.
+     * @param transactionManager The transaction manager, deleting a small user and its assigned to-dos at once.
+     * @param asyncThreshold The number of rows of a tree above which it is deleted by a background job.
+     * @param chunkSize The maximum number of rows deleted by a statement of a job.
+     * @param pollMillis The number of milliseconds between two looks for jobs queued by other instances.
+     * @param staleSeconds The number of seconds without progress after which a running job is claimed again.
+     */
+    public DeletionServiceImpl(
+            @Qualifier("DELETION_CHUNKS") DeletionDao deletionDao,
+            @Qualifier("PROJECT_JPA") ProjectDao projectDao,
+            @Qualifier("JPA") UserDao userDao,
+            LocalCacheInvalidator localCacheInvalidator,
+            InvalidationBus invalidationBus,
+            PlatformTransactionManager transactionManager,
+            @Value("${server.deletion.async-threshold:10000}") long asyncThreshold,
+            @Value("${server.deletion.chunk-size:1000}") int chunkSize,
+            @Value("${server.deletion.poll-millis:1000}") int pollMillis,
+            @Value("${server.deletion.stale-seconds:60}") long staleSeconds
+    ) {
+        this.deletionDao = deletionDao;
+        this.projectDao = projectDao;
+        this.userDao = userDao;
+        this.localCacheInvalidator = localCacheInvalidator;
+        this.invalidationBus = invalidationBus;
+        this.userDeletion = new TransactionTemplate(transactionManager);
+        this.asyncThreshold = asyncThreshold;
+        this.chunkSize = chunkSize;
+        this.pollMillis = pollMillis;
+        this.staleSeconds = staleSeconds;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<DeletionJobDto> deleteProject(Long projectId) {
+        Optional<DeletionJobDto> active = deletionDao.selectActiveJob(DeletionDao.PROJECT, projectId);
+        if(active.isPresent()) {
+            return active;
+        }
+
+        long rows = deletionDao.countProjectRows(projectId, asyncThreshold + 1);
+        if(rows <= asyncThreshold) {
+            projectDao.deleteProjectById(projectId);
+            deleted(Invalidation.of(Invalidation.Type.PROJECT_DELETED, projectId));
+            return Optional.empty();
+        }
+
+        return Optional.of(queue(DeletionDao.PROJECT, projectId, rows));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<DeletionJobDto> deleteUser(Long userId, String email) {
+        Optional<DeletionJobDto> active = deletionDao.selectActiveJob(DeletionDao.USER, userId);
+        if(active.isPresent()) {
+            return active;
+        }
+
+        long rows = deletionDao.countUserRows(userId, asyncThreshold + 1);
+        if(rows <= asyncThreshold) {
+            userDeletion.executeWithoutResult(status -> {
+                deletionDao.deleteToDosOfUser(userId);
+                userDao.deleteUserById(userId);
+            });
+            deleted(Invalidation.userDeleted(userId, email));
+            return Optional.empty();
+        }
+
+        deletionDao.disableUser(userId);
+        invalidationBus.publish(Invalidation.user(userId, email));
+        return Optional.of(queue(DeletionDao.USER, userId, rows));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DeletionJobDto getJob(Long jobId, String resource) {
+        return deletionDao
+                .selectJobById(jobId, resource)
+                .orElseThrow(
+                        () -> new NotFoundException("Deletion job with id "+jobId+" does not exists")
+                );
+    }
+
+    /**
+     * Starts the worker running the deletion jobs on a daemon thread.
+     */
+    @Override
+    public synchronized void start() {
+        if(running) {
+            return;
+        }
+
+        running = true;
+        worker = new Thread(this::work, "deletion-worker");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Stops the worker once its current chunk is deleted. An unfinished job is resumed after it becomes stale.
+     */
+    @Override
+    public synchronized void stop() {
+        if(!running) {
+            return;
+        }
+
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(pollMillis * 2L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private DeletionJobDto queue(String resource, Long resourceId, long rows) {
+        DeletionJobDto job = deletionDao.insertJob(resource, resourceId, rows);
+        logger.info("Queued deletion job {} of {} {}, more than {} rows", job.jobId(), resource, resourceId, asyncThreshold);
+        queued.release();
+        return job;
+    }
+
+    private void work() {
+        while(running) {
+            try {
+                Optional<DeletionJobDto> job = deletionDao.claimNextJob(staleSeconds);
+                if(job.isPresent()) {
+                    run(job.get());
+                    continue;
+                }
+            } catch (DataAccessException e) {
+                logger.warn("Could not claim a deletion job", e);
+            }
+
+            try {
+                if(queued.tryAcquire(pollMillis, TimeUnit.MILLISECONDS)) {
+                    queued.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void run(DeletionJobDto job) {
+        long start = System.nanoTime();
+        long deletedRows = job.deletedRows();
+        boolean project = DeletionDao.PROJECT.equals(job.resource());
+        Long resourceId = job.resourceId();
+
+        long totalRows = job.totalRows();
+
+        try {
+            // The request only counted up to the threshold, the worker counts the remaining rows and the root row.
+            totalRows = deletedRows + 1 + (project
+                    ? deletionDao.countProjectRows(resourceId, Long.MAX_VALUE)
+                    : deletionDao.countUserRows(resourceId, Long.MAX_VALUE));
+            deletionDao.updateJob(job.jobId(), DeletionDao.RUNNING, totalRows, deletedRows, null);
+
+            int deleted;
+            while((deleted = project ? deletionDao.deleteProjectChunk(resourceId, chunkSize) : deletionDao.deleteUserChunk(resourceId, chunkSize)) > 0) {
+                deletedRows += deleted;
+                deletionDao.updateJob(job.jobId(), DeletionDao.RUNNING, totalRows, deletedRows, null);
+                if(!running) {
+                    return;
+                }
+            }
+
+            if(project) {
+                projectDao.deleteProjectById(resourceId);
+                deleted(Invalidation.of(Invalidation.Type.PROJECT_DELETED, resourceId));
+            } else {
+                String email = userDao.selectUserById(resourceId).map(User::getEmail).orElse(null);
+                userDao.deleteUserById(resourceId);
+                deleted(Invalidation.userDeleted(resourceId, email));
+            }
+
+            deletionDao.updateJob(job.jobId(), DeletionDao.COMPLETED, deletedRows + 1, deletedRows + 1, null);
+            logger.info(
+                    "Deletion job {} of {} {} deleted {} rows in {} ms",
+                    job.jobId(), job.resource(), resourceId, deletedRows + 1, (System.nanoTime() - start) / 1_000_000
+            );
+        } catch (DataAccessException e) {
+            if(!running) {
+                // Interrupted by the shutdown, the job stays running and is resumed once stale.
+                return;
+            }
+            logger.error("Deletion job {} of {} {} failed", job.jobId(), job.resource(), resourceId, e);
+            deletionDao.updateJob(job.jobId(), DeletionDao.FAILED, totalRows, deletedRows, e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private void deleted(Invalidation invalidation) {
+        localCacheInvalidator.apply(invalidation);
+        invalidationBus.publish(invalidation);
+    }
+}
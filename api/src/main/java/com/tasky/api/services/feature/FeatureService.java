@@ -1,11 +1,14 @@
 package com.tasky.api.services.feature;
 
+import com.tasky.api.dao.ResourceVersion;
 import com.tasky.api.dto.feature.CreateFeatureRequest;
 import com.tasky.api.dto.feature.FeatureDto;
 import com.tasky.api.dto.feature.SearchFeatureResponse;
 import com.tasky.api.dto.feature.UpdateFeatureRequest;
 import org.springframework.security.core.Authentication;
 
+import java.util.List;
+
 /**
  * Service interface for managing features.
  */
@@ -20,6 +23,16 @@ public interface FeatureService {
      */
     void createFeature(Authentication authentication ,Long runId, CreateFeatureRequest request);
 
+    /**
+     * Create several features associated with a run.
+     * Access to the run is checked once, and every request is validated before any feature is inserted.
+     *
+     * @param authentication The authentication object for the user creating the features.
+     * @param runId          The unique identifier (ID) of the run associated with the features.
+     * @param requests       The request objects containing the details of each feature.
+     */
+    void createFeatures(Authentication authentication, Long runId, List<CreateFeatureRequest> requests);
+
     /**
      * Find a feature by its unique identifier (ID).
      *
@@ -29,6 +42,15 @@ public interface FeatureService {
      */
     FeatureDto findFeatureById(Authentication authentication, Long featureId);
 
+    /**
+     * Retrieves the validators of a feature by its unique identifier, without reading the feature, to answer conditional requests.
+     *
+     * @param authentication The authentication object representing the current user.
+     * @param featureId       The unique identifier of the feature.
+     * @return The validators of the feature.
+     */
+    ResourceVersion findFeatureVersionById(Authentication authentication, Long featureId);
+
     /**
      * Find features associated with a run and matching a name pattern.
      *
@@ -36,9 +58,23 @@ public interface FeatureService {
      * @param runId          The unique identifier (ID) of the run associated with the features.
      * @param name           The pattern to search for in feature names.
      * @param page           The page number for pagination.
+     * @param after          The cursor of the page to fetch, empty for the first page. When present, the page is fetched by keyset
+     *                       and the response carries the cursor of the next page instead of the pagination totals.
+     * @param slice          True to fetch the page without count query, the pagination details then only tell whether a next page exists.
+     * @param total          The number of matching features, already counted by their validators, or null to count them with the page.
      * @return A SearchFeatureResponse containing a list of matching features and pagination details.
      */
-    SearchFeatureResponse findFeatureWhereRunIsAndNameContaining(Authentication authentication, Long runId, String name, Integer page);
+    SearchFeatureResponse findFeatureWhereRunIsAndNameContaining(Authentication authentication, Long runId, String name, Integer page, String after, Boolean slice, Long total);
+
+    /**
+     * Retrieves the validators of the features of a run matching a name pattern, without reading the features, to answer conditional requests.
+     *
+     * @param authentication The authentication object representing the current user.
+     * @param runId          The unique identifier of the run associated with the features.
+     * @param name           The pattern to search for in feature names.
+     * @return The validators of the features, shared by every page of the list.
+     */
+    ResourceVersion findFeatureVersionWhereRunIsAndNameContaining(Authentication authentication, Long runId, String name);
 
     /**
      * Update an existing feature.
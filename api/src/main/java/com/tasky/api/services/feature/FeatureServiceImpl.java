@@ -2,23 +2,31 @@ package com.tasky.api.services.feature;
 
 import com.tasky.api.configurations.errors.BadRequestException;
 import com.tasky.api.configurations.errors.NotFoundException;
-import com.tasky.api.configurations.errors.UnauthorizedException;
+import com.tasky.api.dao.Cursor;
+import com.tasky.api.dao.CursorPage;
+import com.tasky.api.dao.ResourceVersion;
 import com.tasky.api.dao.feature.FeatureDao;
 import com.tasky.api.dao.run.RunDao;
+import com.tasky.api.dao.statistics.BurndownDao;
 import com.tasky.api.dto.PageableDto;
 import com.tasky.api.dto.feature.CreateFeatureRequest;
 import com.tasky.api.dto.feature.FeatureDto;
 import com.tasky.api.dto.feature.SearchFeatureResponse;
 import com.tasky.api.dto.feature.UpdateFeatureRequest;
-import com.tasky.api.mappers.FeatureDtoMapper;
 import com.tasky.api.models.Feature;
 import com.tasky.api.models.Run;
 import com.tasky.api.models.User;
+import com.tasky.api.services.invalidation.Invalidation;
+import com.tasky.api.services.invalidation.InvalidationBus;
+import com.tasky.api.services.membership.MembershipService;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -31,14 +39,19 @@ import java.util.List;
 @Service
 public class FeatureServiceImpl implements FeatureService {
 
+    private static final int MAX_BATCH_SIZE = 1000;
     private final RunDao runDao;
     private final FeatureDao featureDao;
-    private final FeatureDtoMapper featureDtoMapper;
+    private final MembershipService membershipService;
+    private final InvalidationBus invalidationBus;
+    private final BurndownDao burndownDao;
 
-    public FeatureServiceImpl(RunDao runDao, FeatureDao featureDao, FeatureDtoMapper featureDtoMapper) {
+    public FeatureServiceImpl(RunDao runDao, FeatureDao featureDao, MembershipService membershipService, InvalidationBus invalidationBus, BurndownDao burndownDao) {
         this.runDao = runDao;
         this.featureDao = featureDao;
-        this.featureDtoMapper = featureDtoMapper;
+        this.membershipService = membershipService;
+        this.invalidationBus = invalidationBus;
+        this.burndownDao = burndownDao;
     }
 
     /**
@@ -46,24 +59,12 @@ public class FeatureServiceImpl implements FeatureService {
      */
     @Override
     public void createFeature(Authentication authentication, Long runId ,CreateFeatureRequest request) {
-        Run run = retriveRun(runId);
         User userAuthenticated = retriveAuthenticatedUser(authentication);
-        checkAccessToRun(userAuthenticated,run);
+        Run run = retriveAuthorizedRun(userAuthenticated, runId);
 
-        boolean isBadRequest = false;
-        List<String> stackTrace = new ArrayList<>();
-
-        if(request.name() == null) {
-            stackTrace.add("Field name is required");
-            isBadRequest = true;
-        }
+        List<String> stackTrace = validateCreateRequest(request);
 
-        if(request.description() == null) {
-            isBadRequest = true;
-            stackTrace.add("Field description is required");
-        }
-
-        if(isBadRequest) {
+        if(!stackTrace.isEmpty()) {
             throw new BadRequestException(stackTrace.toString());
         }
 
@@ -82,21 +83,105 @@ public class FeatureServiceImpl implements FeatureService {
      * {@inheritDoc}
      */
     @Override
+    public void createFeatures(Authentication authentication, Long runId, List<CreateFeatureRequest> requests) {
+        User userAuthenticated = retriveAuthenticatedUser(authentication);
+        Run run = retriveAuthorizedRun(userAuthenticated, runId);
+
+        if(requests == null || requests.isEmpty()) {
+            throw new BadRequestException("At least one feature is required");
+        }
+
+        if(requests.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("A batch cannot contain more than %s features".formatted(MAX_BATCH_SIZE));
+        }
+
+        List<String> stackTrace = new ArrayList<>();
+        List<Feature> features = new ArrayList<>(requests.size());
+
+        for(int index = 0; index < requests.size(); index++) {
+            CreateFeatureRequest request = requests.get(index);
+
+            if(request == null) {
+                stackTrace.add("Item %s: body is required".formatted(index));
+                continue;
+            }
+
+            List<String> errors = validateCreateRequest(request);
+
+            if(errors.isEmpty()) {
+                features.add(new Feature(request.name(), request.description(), run, run.getProject()));
+            } else {
+                for(String error : errors) {
+                    stackTrace.add("Item %s: %s".formatted(index, error));
+                }
+            }
+        }
+
+        if(!stackTrace.isEmpty()) {
+            throw new BadRequestException(stackTrace.toString());
+        }
+
+        featureDao.createFeatures(features);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
     public FeatureDto findFeatureById(Authentication authentication, Long featureId) {
-        Feature feature = retriveFeature(featureId);
         User userAuthenticated = retriveAuthenticatedUser(authentication);
-        checkAccessToFeature(userAuthenticated,feature);
-        return featureDtoMapper.apply(feature);
+        return membershipService.checkAccess(
+                userAuthenticated,
+                featureDao
+                        .findFeatureDtoByIdForMember(
+                                featureId,
+                                userAuthenticated.getId()
+                        )
+                        .orElseThrow(
+                                () -> new NotFoundException(
+                                        "Feature with id %s does not exists"
+                                                .formatted(
+                                                        featureId
+                                                )
+                                )
+                        )
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion findFeatureVersionById(Authentication authentication, Long featureId) {
+        User userAuthenticated = retriveAuthenticatedUser(authentication);
+        return membershipService.checkAccess(
+                userAuthenticated,
+                featureDao
+                        .findFeatureVersionByIdForMember(
+                                featureId,
+                                userAuthenticated.getId()
+                        )
+                        .orElseThrow(
+                                () -> new NotFoundException(
+                                        "Feature with id %s does not exists"
+                                                .formatted(
+                                                        featureId
+                                                )
+                                )
+                        )
+        );
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public SearchFeatureResponse findFeatureWhereRunIsAndNameContaining(Authentication authentication, Long runId, String name, Integer page) {
-        Run run = retriveRun(runId);
+    @Transactional(readOnly = true)
+    public SearchFeatureResponse findFeatureWhereRunIsAndNameContaining(Authentication authentication, Long runId, String name, Integer page, String after, Boolean slice, Long total) {
         User userAuthenticated = retriveAuthenticatedUser(authentication);
-        checkAccessToRun(userAuthenticated,run);
+        checkAccessToRun(userAuthenticated, runId);
 
         int currentPage = 0;
 
@@ -110,9 +195,30 @@ public class FeatureServiceImpl implements FeatureService {
             pattern = name;
         }
 
+        if(after != null) {
+            CursorPage<FeatureDto> features = featureDao.findAllFeatureWhereRunIsAndNameContaining(runId,pattern,Cursor.decode(after),6);
+            return new SearchFeatureResponse(
+                    features.content(),
+                    null,
+                    features.nextCursor()
+            );
+        }
+
         Pageable pageable = PageRequest.of(currentPage,6);
 
-        Page<Feature> pageResult = featureDao.findAllFeatureWhereRunIsAndNameContaining(run,pattern,pageable);
+        if(Boolean.TRUE.equals(slice)) {
+            Slice<FeatureDto> sliceResult = featureDao.findAllFeatureWhereRunIsAndNameContainingAsSlice(runId,pattern,pageable);
+
+            if(currentPage != 0 && !sliceResult.hasContent()) {
+                throw new BadRequestException("Page requested does not exists");
+            }
+
+            return new SearchFeatureResponse(sliceResult.getContent(),PageableDto.of(sliceResult),null);
+        }
+
+        Page<FeatureDto> pageResult = total == null
+                ? featureDao.findAllFeatureWhereRunIsAndNameContaining(runId,pattern,pageable)
+                : new PageImpl<>(featureDao.findAllFeatureWhereRunIsAndNameContainingAsSlice(runId,pattern,pageable).getContent(),pageable,total);
 
         if(currentPage != 0 && (pageResult.getTotalPages()-1) < page) {
             throw new BadRequestException("Page requested does not exists");
@@ -125,15 +231,12 @@ public class FeatureServiceImpl implements FeatureService {
                 pageResult.getNumberOfElements()
         );
 
-        List<FeatureDto> features = pageResult
-                .getContent()
-                .stream()
-                .map(featureDtoMapper)
-                .toList();
+        List<FeatureDto> features = pageResult.getContent();
 
         return new SearchFeatureResponse(
                 features,
-                pageableDto
+                pageableDto,
+                null
         );
     }
 
@@ -141,10 +244,21 @@ public class FeatureServiceImpl implements FeatureService {
      * {@inheritDoc}
      */
     @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion findFeatureVersionWhereRunIsAndNameContaining(Authentication authentication, Long runId, String name) {
+        User userAuthenticated = retriveAuthenticatedUser(authentication);
+        checkAccessToRun(userAuthenticated, runId);
+        return featureDao.findAllFeatureVersionWhereRunIsAndNameContaining(runId, name == null ? "" : name);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
     public void updateFeature(Authentication authentication, Long featureId, UpdateFeatureRequest request) {
-        Feature feature = retriveFeature(featureId);
         User userAuthenticated = retriveAuthenticatedUser(authentication);
-        checkAccessToFeature(userAuthenticated,feature);
+        Feature feature = retriveAuthorizedFeature(userAuthenticated, featureId);
         boolean changes = false;
 
         if(request.name() != null && !request.name().equals(feature.getName())) {
@@ -175,79 +289,86 @@ public class FeatureServiceImpl implements FeatureService {
 
         feature.setUpdatedAt(Timestamp.from(Instant.now()));
         featureDao.updateFeature(feature);
+        invalidationBus.publish(Invalidation.of(Invalidation.Type.FEATURE, featureId));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Transactional
     public void deleteFeatureById(Authentication authentication, Long featureId) {
-       Feature feature = retriveFeature(featureId);
        User userAuthenticated = retriveAuthenticatedUser(authentication);
-       checkAccessToFeature(userAuthenticated,feature);
+       Feature feature = retriveAuthorizedFeature(userAuthenticated, featureId);
+       // The to-dos are deleted by cascade, their deletion is logged for the burndown of the run beforehand.
+       burndownDao.addDeletionsOfFeature(featureId);
        featureDao.deleteFeatureById(featureId);
+       invalidationBus.publish(Invalidation.of(Invalidation.Type.FEATURE, featureId));
+    }
+
+    private List<String> validateCreateRequest(CreateFeatureRequest request) {
+        List<String> stackTrace = new ArrayList<>();
+
+        if(request.name() == null) {
+            stackTrace.add("Field name is required");
+        }
+
+        if(request.description() == null) {
+            stackTrace.add("Field description is required");
+        }
+
+        return stackTrace;
     }
 
     private User retriveAuthenticatedUser(Authentication authentication) {
         return (User) authentication.getPrincipal();
     }
 
-    private Run retriveRun(Long runId) {
-        return runDao
-                .findRunById(runId)
-                .orElseThrow(
-                        () -> new NotFoundException(
-                                "Run with id %s does not exists"
-                                        .formatted(runId)
+    private Run retriveAuthorizedRun(User user, Long runId) {
+        return membershipService.checkAccess(
+                user,
+                runDao
+                        .findRunByIdForMember(runId, user.getId())
+                        .orElseThrow(
+                                () -> new NotFoundException(
+                                        "Run with id %s does not exists"
+                                                .formatted(runId)
+                                )
                         )
-                );
-    }
-
-    private void checkAccessToRun(User user, Run run) {
-        boolean fullAccess = user.getRole().equals("PROJECT_MANAGER");
-        if(!fullAccess) {
-            run.getProject()
-                    .getUsers()
-                    .stream()
-                    .filter(
-                            user1 -> user1.getEmail().equals(user.getEmail())
-                    )
-                    .findFirst()
-                    .orElseThrow(
-                            () -> new UnauthorizedException("You can't access to this resource")
-                    );
-        }
+        );
     }
 
-    private Feature retriveFeature(Long featureId) {
-        return featureDao
-                .findFeatureById(
-                        featureId
-                )
-                .orElseThrow(
-                        () -> new NotFoundException(
-                                "Feature with id %s does not exists"
-                                        .formatted(
-                                                featureId
-                                        )
+    private void checkAccessToRun(User user, Long runId) {
+        membershipService.checkAccess(
+                user,
+                runDao
+                        .findRunDtoByIdForMember(runId, user.getId())
+                        .orElseThrow(
+                                () -> new NotFoundException(
+                                        "Run with id %s does not exists"
+                                                .formatted(runId)
+                                )
                         )
-                );
+        );
     }
 
-    private void checkAccessToFeature(User user, Feature feature) {
-        if(!user.getRole().equals("PROJECT_MANAGER")) {
-            feature
-                    .getProject()
-                    .getUsers()
-                    .stream()
-                    .filter(
-                            user1 -> user1.getEmail().equals(user.getEmail())
-                    )
-                    .findFirst()
-                    .orElseThrow(
-                            () -> new UnauthorizedException("You can't access to this resource")
-                    );
-        }
+    private Feature retriveAuthorizedFeature(User user, Long featureId) {
+        return membershipService.checkAccess(
+                user,
+                featureDao
+                        .findFeatureByIdForMember(
+                                featureId,
+                                user.getId()
+                        )
+                        .orElseThrow(
+                                () -> new NotFoundException(
+                                        "Feature with id %s does not exists"
+                                                .formatted(
+                                                        featureId
+                                                )
+                                )
+                        )
+        );
     }
 
 }
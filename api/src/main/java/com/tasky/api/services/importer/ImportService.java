@@ -0,0 +1,20 @@
+package com.tasky.api.services.importer;
+
+import com.tasky.api.dto.importer.ImportResponse;
+
+import java.io.InputStream;
+
+/**
+ * Service interface for bulk imports of project trees.
+ */
+public interface ImportService {
+
+    /**
+     * Imports an NDJSON document of projects, runs, features, to-dos and comments.
+     * The document is streamed, so memory use does not depend on its size. Either every record is imported or none is.
+     *
+     * @param inputStream The NDJSON document, one record per line.
+     * @return The number of rows imported per entity and the throughput of the import.
+     */
+    ImportResponse importProjects(InputStream inputStream);
+}
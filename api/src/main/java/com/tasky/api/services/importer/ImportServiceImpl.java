@@ -0,0 +1,202 @@
+package com.tasky.api.services.importer;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tasky.api.configurations.errors.BadRequestException;
+import com.tasky.api.dao.importer.ImportDao;
+import com.tasky.api.dao.importer.ImportedRows;
+import com.tasky.api.dto.importer.ImportRecord;
+import com.tasky.api.dto.importer.ImportResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Service implementation for bulk imports of project trees.
+ */
+@Service
+public class ImportServiceImpl implements ImportService {
+
+    private static final int PROGRESS_INTERVAL = 10_000;
+    private static final Set<String> ENTITIES = Set.of("project", "run", "feature", "toDo", "comment");
+    private static final Set<String> STATUSES = Set.of("New", "In progress", "Completed");
+    private static final Set<String> TYPES = Set.of("task", "bug");
+
+    private final Logger logger = LoggerFactory.getLogger(ImportService.class);
+    private final ImportDao importDao;
+    private final ObjectMapper objectMapper;
+
+    public ImportServiceImpl(@Qualifier("IMPORT_COPY") ImportDao importDao, ObjectMapper objectMapper) {
+        this.importDao = importDao;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImportResponse importProjects(InputStream inputStream) {
+        long start = System.nanoTime();
+        ImportedRows importedRows;
+
+        try (MappingIterator<ImportRecord> records = objectMapper.readerFor(ImportRecord.class).readValues(inputStream)) {
+            importedRows = importDao.importRecords(new RecordIterator(records, start));
+        } catch (IOException e) {
+            String message = "Unable to read the import document: %s".formatted(e.getMessage());
+            logger.error(message);
+            throw new BadRequestException(message);
+        }
+
+        long elapsedNanos = Math.max(System.nanoTime() - start, 1);
+        long rows = importedRows.total();
+        ImportResponse response = new ImportResponse(
+                rows,
+                importedRows.projects(),
+                importedRows.runs(),
+                importedRows.features(),
+                importedRows.toDos(),
+                importedRows.comments(),
+                elapsedNanos / 1_000_000,
+                rowsPerSecond(rows, elapsedNanos)
+        );
+        logger.info("Imported {} rows in {} ms ({} rows/s)", rows, response.elapsedMillis(), response.rowsPerSecond());
+
+        return response;
+    }
+
+    private List<String> validateRecord(ImportRecord record) {
+        List<String> stackTrace = new ArrayList<>();
+
+        if(record == null) {
+            stackTrace.add("body is required");
+            return stackTrace;
+        }
+
+        if(record.entity() == null || !ENTITIES.contains(record.entity())) {
+            stackTrace.add("entity must be one of %s".formatted(ENTITIES));
+            return stackTrace;
+        }
+
+        if(record.ref() == null) {
+            stackTrace.add("ref is required");
+        }
+
+        if(record.name() == null) {
+            stackTrace.add("name is required");
+        }
+
+        if(!record.entity().equals("project") && record.parent() == null) {
+            stackTrace.add("parent is required");
+        }
+
+        if(record.status() != null && (record.entity().equals("comment") || !STATUSES.contains(record.status()))) {
+            stackTrace.add("Invalid status");
+        }
+
+        switch (record.entity()) {
+            case "project" -> {
+                if(record.dueDate() == null) {
+                    stackTrace.add("dueDate is required");
+                }
+                if(record.owner() == null) {
+                    stackTrace.add("owner is required");
+                }
+            }
+            case "run" -> {
+                if(record.startDate() == null) {
+                    stackTrace.add("startDate is required");
+                }
+                if(record.endDate() == null) {
+                    stackTrace.add("endDate is required");
+                }
+            }
+            case "toDo" -> {
+                if(record.type() == null || !TYPES.contains(record.type())) {
+                    stackTrace.add("Invalid type");
+                }
+            }
+            case "comment" -> {
+                if(record.content() == null) {
+                    stackTrace.add("content is required");
+                }
+            }
+            default -> {
+            }
+        }
+
+        return stackTrace;
+    }
+
+    private static long rowsPerSecond(long rows, long elapsedNanos) {
+        return Math.round(rows / (elapsedNanos / 1_000_000_000.0));
+    }
+
+    /**
+     * Reads the records one at a time, validates them and logs the progress of the import.
+     */
+    private final class RecordIterator implements Iterator<ImportRecord> {
+        private final MappingIterator<ImportRecord> records;
+        private final long start;
+        private long count;
+
+        private RecordIterator(MappingIterator<ImportRecord> records, long start) {
+            this.records = records;
+            this.start = start;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                return records.hasNextValue();
+            } catch (IOException e) {
+                throw invalidRecord(count + 1, List.of(e.getMessage()));
+            }
+        }
+
+        @Override
+        public ImportRecord next() {
+            if(!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            ImportRecord record;
+            try {
+                record = records.nextValue();
+            } catch (IOException e) {
+                throw invalidRecord(count + 1, List.of(e.getMessage()));
+            }
+            count++;
+
+            List<String> errors = validateRecord(record);
+            if(!errors.isEmpty()) {
+                throw invalidRecord(count, errors);
+            }
+
+            if(count % PROGRESS_INTERVAL == 0) {
+                long elapsedNanos = Math.max(System.nanoTime() - start, 1);
+                logger.info("Streamed {} import records ({} rows/s)", count, rowsPerSecond(count, elapsedNanos));
+            }
+
+            return record;
+        }
+
+        private BadRequestException invalidRecord(long recordNumber, List<String> errors) {
+            List<String> stackTrace = new ArrayList<>();
+            for(String error : errors) {
+                String message = "Record %s: %s".formatted(recordNumber, error);
+                stackTrace.add(message);
+                logger.error(message);
+            }
+            return new BadRequestException(stackTrace.toString());
+        }
+    }
+}
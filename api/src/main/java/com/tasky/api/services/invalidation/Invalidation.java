@@ -0,0 +1,123 @@
+package com.tasky.api.services.invalidation;
+
+import java.util.Optional;
+
+/**
+ * Compact message telling the other instances which of their in-process entries are stale.
+ * It is encoded as "TYPE|id|key" to stay far below the 8000 bytes accepted by pg_notify.
+ *
+ * @param type The kind of change.
+ * @param id The unique identifier (ID) of the changed row.
+ * @param key The email of a changed or deleted user, or the ID of the user joining a project, null otherwise.
+ */
+public record Invalidation(Type type, Long id, String key) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Kinds of changes published on the invalidation bus.
+     */
+    public enum Type {
+        /** A user was registered, updated or deleted, the key is the email of the user. */
+        USER,
+        /** A user and the projects it created were deleted, the key is the email of the user. */
+        USER_DELETED,
+        /** A user joined the project, the key is the ID of the user. */
+        MEMBER,
+        /** A project was updated. */
+        PROJECT,
+        /** A project and everything it owns were deleted. */
+        PROJECT_DELETED,
+        /** A run was updated. */
+        RUN,
+        /** A run and its features were deleted. */
+        RUN_DELETED,
+        /** A feature was updated or deleted. */
+        FEATURE
+    }
+
+    /**
+     * Creates the message of a registered, updated or deleted user.
+     *
+     * @param userId The unique identifier (ID) of the user.
+     * @param email The email of the user.
+     * @return An Invalidation instance.
+     */
+    public static Invalidation user(Long userId, String email) {
+        return new Invalidation(Type.USER, userId, email);
+    }
+
+    /**
+     * Creates the message of a deleted user, whose projects were deleted along with it.
+     *
+     * @param userId The unique identifier (ID) of the user.
+     * @param email The email of the user.
+     * @return An Invalidation instance.
+     */
+    public static Invalidation userDeleted(Long userId, String email) {
+        return new Invalidation(Type.USER_DELETED, userId, email);
+    }
+
+    /**
+     * Creates the message of a user joining a project.
+     *
+     * @param userId The unique identifier (ID) of the user.
+     * @param projectId The unique identifier (ID) of the project.
+     * @return An Invalidation instance.
+     */
+    public static Invalidation member(Long userId, Long projectId) {
+        return new Invalidation(Type.MEMBER, projectId, String.valueOf(userId));
+    }
+
+    /**
+     * Creates the message of a changed row identified by its ID only.
+     *
+     * @param type The kind of change.
+     * @param id The unique identifier (ID) of the row.
+     * @return An Invalidation instance.
+     */
+    public static Invalidation of(Type type, Long id) {
+        return new Invalidation(type, id, null);
+    }
+
+    /**
+     * Encodes the message as the payload of a notification.
+     *
+     * @return The encoded message.
+     */
+    public String encode() {
+        return type + SEPARATOR + id + SEPARATOR + (key == null ? "" : key);
+    }
+
+    /**
+     * Decodes the payload of a notification.
+     *
+     * @param payload The encoded message.
+     * @return An Optional containing the message, or empty if the payload is malformed.
+     */
+    public static Optional<Invalidation> decode(String payload) {
+        String[] fields = payload.split("\\|", 3);
+        if(fields.length != 3) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(new Invalidation(
+                    Type.valueOf(fields[0]),
+                    Long.valueOf(fields[1]),
+                    fields[2].isEmpty() ? null : fields[2]
+            ));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Retrieves the ID carried by the key of a message.
+     *
+     * @return The key as a Long, for messages whose key is an ID.
+     */
+    public Long keyAsId() {
+        return Long.valueOf(key);
+    }
+}
@@ -0,0 +1,220 @@
+package com.tasky.api.services.invalidation;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Invalidation bus keeping the in-process caches of every instance coherent, built on PostgreSQL LISTEN/NOTIFY.
+ * Writers publish a compact {@link Invalidation} with pg_notify once their change is committed, and every instance
+ * listens on a dedicated connection, outside the pool, and evicts the matching local entries.
+ * Messages carry the ID of the publishing instance, which already invalidated its own caches and ignores them.
+ * Notifications are not stored, so after the listening connection is lost every local cache is emptied.
+ */
+@Component
+public class InvalidationBus implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvalidationBus.class);
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final String SEPARATOR = "|";
+    private static final long MIN_BACKOFF_MILLIS = 500;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final LocalCacheInvalidator localCacheInvalidator;
+    private final boolean enabled;
+    private final String channel;
+    private final int pollMillis;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread listener;
+
+    /**
+     * Constructs an InvalidationBus.
+     *
+     * @param jdbcTemplate The JdbcTemplate used to publish invalidations through the pool.
+     * @param dataSourceProperties The settings of the datasource, used to open the listening connection.
+     * @param localCacheInvalidator The LocalCacheInvalidator applying the invalidations of other instances.
+     * @param enabled False to neither publish nor listen, for a single instance.
+     * @param channel The name of the notification channel, shared by every instance.
+     * @param pollMillis The maximum number of milliseconds to wait for notifications before checking for shutdown.
+     */
+    public InvalidationBus(
+            JdbcTemplate jdbcTemplate,
+            DataSourceProperties dataSourceProperties,
+            LocalCacheInvalidator localCacheInvalidator,
+            @Value("${server.invalidation-bus.enabled:true}") boolean enabled,
+            @Value("${server.invalidation-bus.channel:cache_invalidation}") String channel,
+            @Value("${server.invalidation-bus.poll-millis:500}") int pollMillis
+    ) {
+        if(!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid invalidation channel " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.localCacheInvalidator = localCacheInvalidator;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.pollMillis = pollMillis;
+    }
+
+    /**
+     * Publishes an invalidation to the other instances.
+     * Outside a transaction the notification is sent at once, inside one it is only sent if the transaction commits.
+     * A failed publication is logged and not rethrown, since the change is already committed:
+     * other instances then serve their entries until they expire.
+     *
+     * @param invalidation The invalidation to publish, already applied to the caches of this instance.
+     */
+    public void publish(Invalidation invalidation) {
+        if(!enabled) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.queryForList("select pg_notify(?, ?)", channel, nodeId + SEPARATOR + invalidation.encode());
+        } catch (DataAccessException e) {
+            logger.warn("Could not publish {}", invalidation, e);
+        }
+    }
+
+    /**
+     * Starts listening for the invalidations of other instances on a daemon thread.
+     */
+    @Override
+    public synchronized void start() {
+        if(!enabled || running) {
+            return;
+        }
+
+        running = true;
+        listener = new Thread(this::listen, "invalidation-bus-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    /**
+     * Stops listening and closes the listening connection.
+     */
+    @Override
+    public synchronized void stop() {
+        if(!running) {
+            return;
+        }
+
+        running = false;
+        listener.interrupt();
+        closeQuietly(connection);
+        try {
+            listener.join(pollMillis * 2L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        long backoffMillis = MIN_BACKOFF_MILLIS;
+        boolean listenedBefore = false;
+
+        while(running) {
+            try(Connection listening = openListeningConnection()) {
+                connection = listening;
+                if(listenedBefore) {
+                    localCacheInvalidator.invalidateAll();
+                }
+                listenedBefore = true;
+                backoffMillis = MIN_BACKOFF_MILLIS;
+
+                PGConnection pgConnection = listening.unwrap(PGConnection.class);
+                while(running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+                    if(notifications != null) {
+                        for(PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if(!running) {
+                    return;
+                }
+                logger.warn("Lost the invalidation channel {}, listening again in {} ms", channel, backoffMillis, e);
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private Connection openListeningConnection() throws SQLException {
+        Connection listening = DriverManager.getConnection(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword()
+        );
+        try(Statement statement = listening.createStatement()) {
+            statement.execute("LISTEN " + channel);
+        } catch (SQLException e) {
+            closeQuietly(listening);
+            throw e;
+        }
+        return listening;
+    }
+
+    private void receive(String payload) {
+        int separator = payload.indexOf(SEPARATOR);
+        if(separator < 0 || nodeId.equals(payload.substring(0, separator))) {
+            return;
+        }
+
+        Invalidation.decode(payload.substring(separator + 1)).ifPresentOrElse(
+                invalidation -> {
+                    try {
+                        localCacheInvalidator.apply(invalidation);
+                    } catch (RuntimeException e) {
+                        logger.warn("Could not apply {}", invalidation, e);
+                    }
+                },
+                () -> logger.warn("Ignored malformed invalidation {}", payload)
+        );
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if(connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // The connection is being discarded.
+        }
+    }
+}
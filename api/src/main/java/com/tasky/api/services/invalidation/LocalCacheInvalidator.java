@@ -0,0 +1,125 @@
+package com.tasky.api.services.invalidation;
+
+import com.tasky.api.dao.user.UserDao;
+import com.tasky.api.models.Feature;
+import com.tasky.api.models.Project;
+import com.tasky.api.models.Run;
+import com.tasky.api.services.membership.MembershipService;
+import com.tasky.api.services.user.PrincipalCache;
+import com.tasky.api.services.user.TokenVersionService;
+import com.tasky.api.services.user.UserSuggestionIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the invalidations published by other instances to the in-process caches of this instance:
+ * token versions, principals, memberships, user suggestions and the second-level cache.
+ * Entries are dropped rather than updated, so the next read loads the committed row from the database.
+ */
+@Component
+public class LocalCacheInvalidator {
+
+    private static final String PROJECT_USERS_ROLE = Project.class.getName() + ".users";
+
+    private final TokenVersionService tokenVersionService;
+    private final PrincipalCache principalCache;
+    private final MembershipService membershipService;
+    private final UserSuggestionIndex userSuggestionIndex;
+    private final UserDao userDao;
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Constructs a LocalCacheInvalidator.
+     *
+     * @param tokenVersionService The TokenVersionService whose versions are reloaded.
+     * @param principalCache The PrincipalCache whose principals are evicted.
+     * @param membershipService The MembershipService whose memberships are updated.
+     * @param userSuggestionIndex The UserSuggestionIndex whose users are refreshed.
+     * @param userDao The UserDao implementation used to read the current state of a changed user.
+     * @param entityManagerFactory The EntityManagerFactory owning the second-level cache.
+     */
+    public LocalCacheInvalidator(
+            TokenVersionService tokenVersionService,
+            PrincipalCache principalCache,
+            MembershipService membershipService,
+            UserSuggestionIndex userSuggestionIndex,
+            @Qualifier("JPA") UserDao userDao,
+            EntityManagerFactory entityManagerFactory
+    ) {
+        this.tokenVersionService = tokenVersionService;
+        this.principalCache = principalCache;
+        this.membershipService = membershipService;
+        this.userSuggestionIndex = userSuggestionIndex;
+        this.userDao = userDao;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Evicts the local entries made stale by a change committed on another instance,
+     * or by a set-based deletion of this instance that bypassed the persistence context.
+     *
+     * @param invalidation The published invalidation.
+     */
+    public void apply(Invalidation invalidation) {
+        Long id = invalidation.id();
+        Cache cache = secondLevelCache();
+
+        switch (invalidation.type()) {
+            case USER -> {
+                tokenVersionService.forget(id);
+                principalCache.invalidate(invalidation.key());
+                membershipService.removeUser(id);
+                userDao.selectUserById(id).ifPresentOrElse(
+                        userSuggestionIndex::put,
+                        () -> userSuggestionIndex.remove(id)
+                );
+            }
+            case USER_DELETED -> {
+                tokenVersionService.forget(id);
+                principalCache.invalidate(invalidation.key());
+                membershipService.removeUser(id);
+                userSuggestionIndex.remove(id);
+                cache.evictEntityData(Project.class);
+                cache.evictCollectionData(PROJECT_USERS_ROLE);
+                cache.evictEntityData(Run.class);
+                cache.evictEntityData(Feature.class);
+            }
+            case MEMBER -> {
+                membershipService.addMember(invalidation.keyAsId(), id);
+                cache.evictCollectionData(PROJECT_USERS_ROLE, id);
+            }
+            case PROJECT -> cache.evictEntityData(Project.class, id);
+            case PROJECT_DELETED -> {
+                membershipService.removeProject(id);
+                cache.evictEntityData(Project.class, id);
+                cache.evictCollectionData(PROJECT_USERS_ROLE, id);
+                cache.evictEntityData(Run.class);
+                cache.evictEntityData(Feature.class);
+            }
+            case RUN -> cache.evictEntityData(Run.class, id);
+            case RUN_DELETED -> {
+                cache.evictEntityData(Run.class, id);
+                cache.evictEntityData(Feature.class);
+            }
+            case FEATURE -> cache.evictEntityData(Feature.class, id);
+        }
+    }
+
+    /**
+     * Evicts every local entry, used when invalidations may have been missed while the instance was not listening.
+     */
+    public void invalidateAll() {
+        tokenVersionService.forgetAll();
+        principalCache.invalidateAll();
+        membershipService.clear();
+        userSuggestionIndex.clear();
+        secondLevelCache().evictAllRegions();
+    }
+
+    private Cache secondLevelCache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
@@ -0,0 +1,167 @@
+package com.tasky.api.services.membership;
+
+import com.tasky.api.configurations.datasource.ReadRouting;
+import com.tasky.api.configurations.errors.UnauthorizedException;
+import com.tasky.api.dao.AuthorizedResource;
+import com.tasky.api.dao.project.ProjectDao;
+import com.tasky.api.models.User;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared authorization component answering "is this user a member of this project" without loading entities.
+ * It keeps an in-memory index from user id to a bitmap of project ids, loaded from user_account_project
+ * the first time a user is checked and kept current when members are added and projects or users are deleted.
+ * Bitmaps are never mutated once published, every change replaces them with an updated copy.
+ */
+@Service
+public class MembershipService {
+
+    private final ProjectDao projectDao;
+    private final Map<Long, BitSet> memberships = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a MembershipService with the specified ProjectDao.
+     *
+     * @param projectDao The ProjectDao implementation used to load the projects of a user.
+     */
+    public MembershipService(@Qualifier("PROJECT_JPA") ProjectDao projectDao) {
+        this.projectDao = projectDao;
+    }
+
+    /**
+     * Ensures that a user can access a project.
+     * Project managers can access every project, other users must be members of it.
+     *
+     * @param user The authenticated user.
+     * @param projectId The unique identifier (ID) of the project.
+     * @throws UnauthorizedException If the user is not allowed to access the project.
+     */
+    public void checkAccessToProject(User user, Long projectId) {
+        if(!hasAccessToProject(user, projectId)) {
+            throw new UnauthorizedException("You can't access to this resource");
+        }
+    }
+
+    /**
+     * Ensures that a user can access a resource loaded together with the membership of the user.
+     * Project managers can access every resource, other users must be members of the project owning it.
+     *
+     * @param user The authenticated user.
+     * @param authorizedResource The resource and the membership of the user, resolved by a single statement.
+     * @param <T> The type of the resource.
+     * @return The resource.
+     * @throws UnauthorizedException If the user is not allowed to access the resource.
+     */
+    public <T> T checkAccess(User user, AuthorizedResource<T> authorizedResource) {
+        if(!isProjectManager(user) && !authorizedResource.member()) {
+            throw new UnauthorizedException("You can't access to this resource");
+        }
+        return authorizedResource.resource();
+    }
+
+    /**
+     * Checks whether a user can access a project.
+     *
+     * @param user The authenticated user.
+     * @param projectId The unique identifier (ID) of the project.
+     * @return True if the user is a project manager or a member of the project.
+     */
+    public boolean hasAccessToProject(User user, Long projectId) {
+        return isProjectManager(user) || isMember(user.getId(), projectId);
+    }
+
+    /**
+     * Checks whether a user is a member of a project.
+     *
+     * @param userId The unique identifier (ID) of the user.
+     * @param projectId The unique identifier (ID) of the project.
+     * @return True if the user is a member of the project.
+     */
+    public boolean isMember(Long userId, Long projectId) {
+        if(userId == null || !isIndexable(projectId)) {
+            return false;
+        }
+
+        return memberships
+                .computeIfAbsent(userId, this::loadProjects)
+                .get(projectId.intValue());
+    }
+
+    /**
+     * Records that a user became a member of a project.
+     *
+     * @param userId The unique identifier (ID) of the user.
+     * @param projectId The unique identifier (ID) of the project.
+     */
+    public void addMember(Long userId, Long projectId) {
+        if(!isIndexable(projectId)) {
+            return;
+        }
+
+        memberships.computeIfPresent(userId, (id, projects) -> {
+            BitSet updated = (BitSet) projects.clone();
+            updated.set(projectId.intValue());
+            return updated;
+        });
+    }
+
+    /**
+     * Removes a deleted project from every indexed user.
+     *
+     * @param projectId The unique identifier (ID) of the deleted project.
+     */
+    public void removeProject(Long projectId) {
+        if(!isIndexable(projectId)) {
+            return;
+        }
+
+        memberships.replaceAll((id, projects) -> {
+            if(!projects.get(projectId.intValue())) {
+                return projects;
+            }
+            BitSet updated = (BitSet) projects.clone();
+            updated.clear(projectId.intValue());
+            return updated;
+        });
+    }
+
+    /**
+     * Removes a deleted user from the index.
+     *
+     * @param userId The unique identifier (ID) of the deleted user.
+     */
+    public void removeUser(Long userId) {
+        memberships.remove(userId);
+    }
+
+    /**
+     * Empties the index, so the projects of every user are loaded again on next use.
+     */
+    public void clear() {
+        memberships.clear();
+    }
+
+    private boolean isProjectManager(User user) {
+        return user.getRole().equals("PROJECT_MANAGER");
+    }
+
+    private BitSet loadProjects(Long userId) {
+        List<Long> projectIds = ReadRouting.onPrimary(() -> projectDao.selectProjectIdsForMember(userId));
+        BitSet projects = new BitSet();
+        projectIds
+                .stream()
+                .filter(this::isIndexable)
+                .forEach(projectId -> projects.set(projectId.intValue()));
+        return projects;
+    }
+
+    private boolean isIndexable(Long projectId) {
+        return projectId != null && projectId >= 0 && projectId <= Integer.MAX_VALUE;
+    }
+}
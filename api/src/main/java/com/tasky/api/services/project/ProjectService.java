@@ -1,9 +1,14 @@
 package com.tasky.api.services.project;
 
+import com.tasky.api.dao.ResourceVersion;
+import com.tasky.api.dto.deletion.DeletionJobDto;
 import com.tasky.api.dto.project.*;
 import org.springframework.lang.Nullable;
 import org.springframework.security.core.Authentication;
 
+import java.io.OutputStream;
+import java.util.Optional;
+
 public interface ProjectService {
 
     /**
@@ -39,20 +44,63 @@ public interface ProjectService {
      */
     ProjectDto findProjectById(Authentication authentication, Long projectId);
 
+    /**
+     * Retrieves the validators of a project and its members by its unique identifier, without reading the project,
+     * to answer conditional requests.
+     *
+     * @param authentication The authentication object representing the current user.
+     * @param projectId      The unique identifier of the project.
+     * @return The validators of the project.
+     */
+    ResourceVersion findProjectVersionById(Authentication authentication, Long projectId);
+
     /**
      * Searches for projects based on optional pattern and pagination.
      *
      * @param authentication The authentication object representing the current user.
      * @param pattern        The optional pattern to search for in project names or descriptions.
      * @param page           The optional page number for pagination.
+     * @param after          The cursor of the page to fetch, empty for the first page. When present, the page is fetched by keyset
+     *                       and the response carries the cursor of the next page instead of the pagination totals.
+     * @param slice          True to fetch the page without count query, the pagination details then only tell whether a next page exists.
+     * @param total          The number of matching projects, already counted by their validators, or null to count them with the page.
      * @return A SearchProjectResponse object containing matching project details and pagination information.
      */
-    SearchProjectResponse findProject(Authentication authentication,  @Nullable String pattern, @Nullable Integer page);
+    SearchProjectResponse findProject(Authentication authentication,  @Nullable String pattern, @Nullable Integer page, @Nullable String after, @Nullable Boolean slice, @Nullable Long total);
+
+    /**
+     * Retrieves the validators of the projects matching an optional pattern, along with their members, without reading the projects,
+     * to answer conditional requests.
+     *
+     * @param authentication The authentication object representing the current user.
+     * @param pattern        The optional pattern to search for in project names.
+     * @return The validators of the projects, shared by every page of the list.
+     */
+    ResourceVersion findProjectVersion(Authentication authentication, @Nullable String pattern);
 
     /**
-     * Deletes a project by its unique identifier.
+     * Deletes a project by its unique identifier, along with its runs, features, to-dos and comments.
+     * A large project is deleted in the background.
      *
      * @param projectId The unique identifier of the project to be deleted.
+     * @return An Optional containing the job deleting the project in the background, or empty if it is already deleted.
+     */
+    Optional<DeletionJobDto> deleteProjectById(Long projectId);
+
+    /**
+     * Retrieves the status of a job deleting a project in the background.
+     *
+     * @param jobId The unique identifier of the deletion job.
+     * @return The DeletionJobDto of the job.
+     */
+    DeletionJobDto getDeletionJob(Long jobId);
+
+    /**
+     * Streams a project and its runs, features, to-dos and comments as NDJSON.
+     *
+     * @param authentication The authentication object representing the current user.
+     * @param projectId      The unique identifier of the project to export.
+     * @param outputStream   The stream the records are written to.
      */
-    void deleteProjectById(Long projectId);
+    void exportProject(Authentication authentication, Long projectId, OutputStream outputStream);
 }
@@ -3,22 +3,42 @@ package com.tasky.api.services.project;
 import com.tasky.api.configurations.errors.BadRequestException;
 import com.tasky.api.configurations.errors.NotFoundException;
 import com.tasky.api.configurations.errors.UnauthorizedException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tasky.api.dao.Cursor;
+import com.tasky.api.dao.CursorPage;
+import com.tasky.api.dao.ResourceVersion;
+import com.tasky.api.dao.deletion.DeletionDao;
+import com.tasky.api.dao.exporter.ExportDao;
 import com.tasky.api.dao.project.ProjectDao;
 import com.tasky.api.dao.user.UserDao;
 import com.tasky.api.dto.PageableDto;
+import com.tasky.api.dto.deletion.DeletionJobDto;
+import com.tasky.api.dto.importer.ImportRecord;
 import com.tasky.api.dto.project.*;
-import com.tasky.api.mappers.ProjectDtoMapper;
 import com.tasky.api.models.Project;
 import com.tasky.api.models.User;
+import com.tasky.api.services.deletion.DeletionService;
+import com.tasky.api.services.invalidation.Invalidation;
+import com.tasky.api.services.invalidation.InvalidationBus;
+import com.tasky.api.services.membership.MembershipService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.ZoneId;
@@ -31,12 +51,20 @@ public class ProjectServiceImpl implements ProjectService {
     private final ProjectDao projectDao;
     private final UserDao userDao;
 
-    private final ProjectDtoMapper projectDtoMapper;
+    private final MembershipService membershipService;
+    private final ExportDao exportDao;
+    private final ObjectMapper objectMapper;
+    private final InvalidationBus invalidationBus;
+    private final DeletionService deletionService;
 
-    public ProjectServiceImpl(@Qualifier("PROJECT_JPA") ProjectDao projectDao, ProjectDtoMapper projectDtoMapper, @Qualifier("JPA") UserDao userDao) {
+    public ProjectServiceImpl(@Qualifier("PROJECT_JPA") ProjectDao projectDao, @Qualifier("JPA") UserDao userDao, MembershipService membershipService, @Qualifier("EXPORT_CURSOR") ExportDao exportDao, ObjectMapper objectMapper, InvalidationBus invalidationBus, DeletionService deletionService) {
         this.projectDao = projectDao;
-        this.projectDtoMapper = projectDtoMapper;
         this.userDao = userDao;
+        this.membershipService = membershipService;
+        this.exportDao = exportDao;
+        this.objectMapper = objectMapper;
+        this.invalidationBus = invalidationBus;
+        this.deletionService = deletionService;
     }
 
     /**
@@ -110,6 +138,7 @@ public class ProjectServiceImpl implements ProjectService {
      * @throws NotFoundException   If the project with the given ID is not found.
      */
     @Override
+    @Transactional
     public void updateProject(Long projectId, UpdateProjectRequest request) {
 
 
@@ -155,6 +184,7 @@ public class ProjectServiceImpl implements ProjectService {
 
         project.setUpdatedAt(Timestamp.from(Instant.now()));
         projectDao.updateProject(project);
+        invalidationBus.publish(Invalidation.of(Invalidation.Type.PROJECT, projectId));
 
     }
 
@@ -179,6 +209,8 @@ public class ProjectServiceImpl implements ProjectService {
         projects.add(project);
         user.setProjects(projects);
         userDao.updateUser(user);
+        membershipService.addMember(user.getId(), project.getId());
+        invalidationBus.publish(Invalidation.member(user.getId(), project.getId()));
     }
 
     /**
@@ -191,11 +223,40 @@ public class ProjectServiceImpl implements ProjectService {
      * @throws UnauthorizedException If the authenticated user is not authorized to access the project.
      */
     @Override
+    @Transactional(readOnly = true)
     public ProjectDto findProjectById(Authentication authentication, Long projectId) {
         User user = retriveAuthenticatedUser(authentication);
-        Project project = retrieveProject(projectId);
-        checkRightToAccessToProject(user,project);
-        return projectDtoMapper.apply(project);
+        ProjectDto project = projectDao
+                .selectProjectDtoById(
+                        projectId
+                ).orElseThrow(
+                        () -> new NotFoundException("Project with id "+projectId+" does not exists")
+                );
+        membershipService.checkAccessToProject(user, projectId);
+        return project;
+    }
+
+    /**
+     * Retrieves the validators of a project and its members based on its ID, without reading the project.
+     *
+     * @param authentication The authentication object representing the current authenticated user.
+     * @param projectId      The ID of the project.
+     * @return The validators of the project.
+     * @throws NotFoundException   If the project with the given ID is not found.
+     * @throws UnauthorizedException If the authenticated user is not authorized to access the project.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion findProjectVersionById(Authentication authentication, Long projectId) {
+        User user = retriveAuthenticatedUser(authentication);
+        ResourceVersion version = projectDao
+                .selectProjectVersionById(
+                        projectId
+                ).orElseThrow(
+                        () -> new NotFoundException("Project with id "+projectId+" does not exists")
+                );
+        membershipService.checkAccessToProject(user, projectId);
+        return version;
     }
 
     /**
@@ -204,11 +265,15 @@ public class ProjectServiceImpl implements ProjectService {
      * @param authentication The authentication object representing the current authenticated user.
      * @param pattern        The search pattern for project names.
      * @param page           The page number for pagination.
+     * @param after          The cursor of the page to fetch, empty for the first page, or null for offset pagination.
+     * @param slice          True to fetch the page without counting the matching projects.
+     * @param total          The number of matching projects, already counted by their validators, or null to count them with the page.
      * @return A SearchProjectResponse containing a list of matching projects and pagination information.
      * @throws BadRequestException If the requested page does not exist.
      */
     @Override
-    public SearchProjectResponse findProject(Authentication authentication, String pattern, Integer page) {
+    @Transactional(readOnly = true)
+    public SearchProjectResponse findProject(Authentication authentication, String pattern, Integer page, String after, Boolean slice, Long total) {
         int currentPage = 0;
         int perPage = 5;
         String searchPattern = "";
@@ -227,10 +292,41 @@ public class ProjectServiceImpl implements ProjectService {
            searchPattern  = pattern;
         }
 
+        if(after != null) {
+            Cursor cursor = Cursor.decode(after);
+            CursorPage<ProjectDto> projects = isFullAccess
+                    ? projectDao.selectAllProject(searchPattern,cursor,perPage)
+                    : projectDao.selectAllProjectForUser(searchPattern,user.getId(),cursor,perPage);
+
+            return new SearchProjectResponse(
+                    projects.content(),
+                    null,
+                    projects.nextCursor()
+            );
+        }
+
         Pageable pageable = PageRequest.of(currentPage,perPage);
 
+        if(Boolean.TRUE.equals(slice)) {
+            Slice<ProjectDto> requestResult = isFullAccess
+                    ? projectDao.selectAllProjectAsSlice(searchPattern,pageable)
+                    : projectDao.selectAllProjectForUserAsSlice(searchPattern,user.getId(),pageable);
+
+            if(currentPage != 0 && !requestResult.hasContent()) {
+                throw new BadRequestException("Page requested does not exists");
+            }
+
+            return new SearchProjectResponse(
+                    requestResult.getContent(),
+                    PageableDto.of(requestResult),
+                    null
+            );
+        }
+
         if(isFullAccess) {
-            Page<Project> requestResult = projectDao.selectAllProject(searchPattern,pageable);
+            Page<ProjectDto> requestResult = total == null
+                    ? projectDao.selectAllProject(searchPattern,pageable)
+                    : new PageImpl<>(projectDao.selectAllProjectAsSlice(searchPattern,pageable).getContent(),pageable,total);
 
             PageableDto pageableDto = new PageableDto(
                     currentPage,
@@ -243,27 +339,16 @@ public class ProjectServiceImpl implements ProjectService {
                 throw new BadRequestException("Page requested does not exists");
             }
 
-            List<ProjectDto> projects = requestResult
-                    .getContent()
-                    .stream()
-                    .map(projectDtoMapper)
-                    .toList();
+            List<ProjectDto> projects = requestResult.getContent();
 
-            return new SearchProjectResponse(projects,pageableDto);
+            return new SearchProjectResponse(projects,pageableDto,null);
         }
 
-        Page<Project> requestResult = projectDao
-                .selectAllProjectForUser(
-                        searchPattern,
-                        user,
-                        pageable
-                );
+        Page<ProjectDto> requestResult = total == null
+                ? projectDao.selectAllProjectForUser(searchPattern,user.getId(),pageable)
+                : new PageImpl<>(projectDao.selectAllProjectForUserAsSlice(searchPattern,user.getId(),pageable).getContent(),pageable,total);
 
-        List<ProjectDto> projects = requestResult
-                .getContent()
-                .stream()
-                .map(projectDtoMapper)
-                .toList();
+        List<ProjectDto> projects = requestResult.getContent();
 
         PageableDto pageableDto = new PageableDto(
                 currentPage,
@@ -276,24 +361,109 @@ public class ProjectServiceImpl implements ProjectService {
             throw new BadRequestException("Page requested does not exists");
         }
 
-        return new SearchProjectResponse(projects,pageableDto);
+        return new SearchProjectResponse(projects,pageableDto,null);
+    }
+
+    /**
+     * Retrieves the validators of the projects matching the provided search pattern, without reading the projects.
+     * A project manager gets the validators of every matching project, other users those of their projects.
+     *
+     * @param authentication The authentication object representing the current authenticated user.
+     * @param pattern        The search pattern for project names.
+     * @return The validators of the projects, shared by every page of the search.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion findProjectVersion(Authentication authentication, String pattern) {
+        User user = retriveAuthenticatedUser(authentication);
+        String searchPattern = pattern == null ? "" : pattern;
+
+        if(user.getRole().equals("PROJECT_MANAGER")) {
+            return projectDao.selectAllProjectVersion(searchPattern);
+        }
+
+        return projectDao.selectAllProjectForUserVersion(searchPattern, user.getId());
     }
 
     /**
-     * Deletes a project based on its ID.
+     * Deletes a project based on its ID, along with its runs, features, to-dos and comments.
+     * A large project is deleted in the background, by a job whose status is returned.
      *
      * @param projectId The ID of the project to delete.
+     * @return An Optional containing the job deleting the project, or empty if the project is already deleted.
      * @throws NotFoundException If the project with the given ID is not found.
      */
     @Override
-    public void deleteProjectById(Long projectId) {
+    public Optional<DeletionJobDto> deleteProjectById(Long projectId) {
 
         if(!projectDao.isProjectExistsWithId(projectId)) {
 
             throw new NotFoundException("Project with id "+projectId+" does not exists");
         }
 
-        projectDao.deleteProjectById(projectId);
+        return deletionService.deleteProject(projectId);
+    }
+
+    /**
+     * Retrieves the status of a job deleting a project in the background.
+     *
+     * @param jobId The ID of the deletion job.
+     * @return The DeletionJobDto of the job.
+     * @throws NotFoundException If no job deleting a project has the given ID.
+     */
+    @Override
+    public DeletionJobDto getDeletionJob(Long jobId) {
+        return deletionService.getJob(jobId, DeletionDao.PROJECT);
+    }
+
+    /**
+     * Streams a project and its runs, features, to-dos and comments as NDJSON, in the format accepted by the import.
+     * Records are written as they are read from the database, nothing is written if the project cannot be exported.
+     *
+     * @param authentication The authentication object representing the current authenticated user.
+     * @param projectId      The ID of the project to export.
+     * @param outputStream   The stream the records are written to.
+     * @throws NotFoundException     If the project with the given ID is not found.
+     * @throws UnauthorizedException If the authenticated user is not authorized to access the project.
+     */
+    @Override
+    public void exportProject(Authentication authentication, Long projectId, OutputStream outputStream) {
+        if(!projectDao.isProjectExistsWithId(projectId)) {
+            String message = "Project with id "+projectId+" does not exists";
+            logger.error(message);
+            throw new NotFoundException(message);
+        }
+        membershipService.checkAccessToProject(retriveAuthenticatedUser(authentication), projectId);
+
+        ObjectWriter writer = objectMapper
+                .writerFor(ImportRecord.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        boolean found;
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            // Leave flushing to the container, so that nothing is committed before the project is found.
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            generator.setRootValueSeparator(null);
+
+            found = exportDao.exportProject(projectId, record -> {
+                try {
+                    writer.writeValue(generator, record);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // The project may have been deleted since it was checked.
+        if(!found) {
+            String message = "Project with id "+projectId+" does not exists";
+            logger.error(message);
+            throw new NotFoundException(message);
+        }
     }
 
     private User retriveAuthenticatedUser(Authentication authentication) {
@@ -317,21 +487,4 @@ public class ProjectServiceImpl implements ProjectService {
                         () -> new NotFoundException("User with id "+userId+" does not exists")
                 );
     }
-
-    private void checkRightToAccessToProject(User user, Project project) {
-        boolean isAuthorized = user.getRole().equals("PROJECT_MANAGER");
-        if(!isAuthorized) {
-            project.getUsers()
-                    .stream()
-                    .filter(
-                            actualUser -> actualUser
-                                    .getId()
-                                    .equals(
-                                            user.getId()
-                                    )
-                    ).findFirst()
-                    .orElseThrow(() -> new UnauthorizedException("You can't access to this resource"));
-        }
-
-    }
 }
@@ -1,5 +1,6 @@
 package com.tasky.api.services.run;
 
+import com.tasky.api.dao.ResourceVersion;
 import com.tasky.api.dto.run.CreateRunRequest;
 import com.tasky.api.dto.run.RunDto;
 import com.tasky.api.dto.run.SearchRunResponse;
@@ -30,6 +31,15 @@ public interface RunService {
      */
     RunDto findById(Authentication authentication, Long runId);
 
+    /**
+     * Retrieves the validators of a run by its unique identifier, without reading the run, to answer conditional requests.
+     *
+     * @param authentication The authentication object representing the current user.
+     * @param runId           The unique identifier of the run.
+     * @return The validators of the run.
+     */
+    ResourceVersion findVersionById(Authentication authentication, Long runId);
+
     /**
      * Searches for runs within a project based on name pattern and pagination.
      *
@@ -37,9 +47,23 @@ public interface RunService {
      * @param projectId      The unique identifier of the project associated with the runs.
      * @param name           The pattern to search for in run names.
      * @param page           The optional page number for pagination.
+     * @param after          The cursor of the page to fetch, empty for the first page. When present, the page is fetched by keyset
+     *                       and the response carries the cursor of the next page instead of the pagination totals.
+     * @param slice          True to fetch the page without count query, the pagination details then only tell whether a next page exists.
+     * @param total          The number of matching runs, already counted by their validators, or null to count them with the page.
      * @return A SearchRunResponse object containing matching run details and pagination information.
      */
-    SearchRunResponse findRunByProjectIdAndByNameContaining(Authentication authentication, Long projectId, String name, Integer page);
+    SearchRunResponse findRunByProjectIdAndByNameContaining(Authentication authentication, Long projectId, String name, Integer page, String after, Boolean slice, Long total);
+
+    /**
+     * Retrieves the validators of the runs of a project matching a name pattern, without reading the runs, to answer conditional requests.
+     *
+     * @param authentication The authentication object representing the current user.
+     * @param projectId      The unique identifier of the project associated with the runs.
+     * @param name           The pattern to search for in run names.
+     * @return The validators of the runs, shared by every page of the list.
+     */
+    ResourceVersion findVersionByProjectIdAndByNameContaining(Authentication authentication, Long projectId, String name);
 
     /**
      * Updates an existing run by its unique identifier.
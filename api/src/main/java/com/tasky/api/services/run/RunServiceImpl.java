@@ -2,7 +2,9 @@ package com.tasky.api.services.run;
 
 import com.tasky.api.configurations.errors.BadRequestException;
 import com.tasky.api.configurations.errors.NotFoundException;
-import com.tasky.api.configurations.errors.UnauthorizedException;
+import com.tasky.api.dao.Cursor;
+import com.tasky.api.dao.CursorPage;
+import com.tasky.api.dao.ResourceVersion;
 import com.tasky.api.dao.project.ProjectDao;
 import com.tasky.api.dao.run.RunDao;
 import com.tasky.api.dto.PageableDto;
@@ -10,17 +12,22 @@ import com.tasky.api.dto.run.CreateRunRequest;
 import com.tasky.api.dto.run.RunDto;
 import com.tasky.api.dto.run.SearchRunResponse;
 import com.tasky.api.dto.run.UpdateRunRequest;
-import com.tasky.api.mappers.RunDtoMapper;
 import com.tasky.api.models.Project;
 import com.tasky.api.models.Run;
 import com.tasky.api.models.User;
+import com.tasky.api.services.invalidation.Invalidation;
+import com.tasky.api.services.invalidation.InvalidationBus;
+import com.tasky.api.services.membership.MembershipService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -35,12 +42,14 @@ import java.util.List;
 public class RunServiceImpl implements RunService {
     private final RunDao runDao;
     private final ProjectDao projectDao;
-    private final RunDtoMapper runDtoMapper;
+    private final MembershipService membershipService;
+    private final InvalidationBus invalidationBus;
 
-    public RunServiceImpl(RunDao runDao, ProjectDao projectDao, RunDtoMapper runDtoMapper) {
+    public RunServiceImpl(RunDao runDao, ProjectDao projectDao, MembershipService membershipService, InvalidationBus invalidationBus) {
         this.runDao = runDao;
         this.projectDao = projectDao;
-        this.runDtoMapper = runDtoMapper;
+        this.membershipService = membershipService;
+        this.invalidationBus = invalidationBus;
     }
 
     /**
@@ -105,21 +114,47 @@ public class RunServiceImpl implements RunService {
      * {@inheritDoc}
      */
     @Override
+    @Transactional(readOnly = true)
     public RunDto findById(Authentication authentication, Long runId) {
-        Run run = retrieveRun(runId);
         User userAuthenticated = retrieveUserAuthenticated(authentication);
-        checkAccessToRun(userAuthenticated,run);
-        return runDtoMapper.apply(run);
+        return membershipService.checkAccess(
+                userAuthenticated,
+                runDao.findRunDtoByIdForMember(runId, userAuthenticated.getId())
+                        .orElseThrow(
+                                () -> new NotFoundException(
+                                        "Run with id %s does not exists".formatted(runId)
+                                )
+                        )
+        );
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public SearchRunResponse findRunByProjectIdAndByNameContaining(Authentication authentication, Long projectId, String name, Integer page) {
-        Project project = retrieveProject(projectId);
+    @Transactional(readOnly = true)
+    public ResourceVersion findVersionById(Authentication authentication, Long runId) {
         User userAuthenticated = retrieveUserAuthenticated(authentication);
-        checkAccessToProject(userAuthenticated,project);
+        return membershipService.checkAccess(
+                userAuthenticated,
+                runDao.findRunVersionByIdForMember(runId, userAuthenticated.getId())
+                        .orElseThrow(
+                                () -> new NotFoundException(
+                                        "Run with id %s does not exists".formatted(runId)
+                                )
+                        )
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public SearchRunResponse findRunByProjectIdAndByNameContaining(Authentication authentication, Long projectId, String name, Integer page, String after, Boolean slice, Long total) {
+        User userAuthenticated = retrieveUserAuthenticated(authentication);
+        checkProjectExists(projectId);
+        membershipService.checkAccessToProject(userAuthenticated, projectId);
         int currentPage = 0;
         String pattern = "";
 
@@ -131,8 +166,30 @@ public class RunServiceImpl implements RunService {
             pattern = name;
         }
 
+        if(after != null) {
+            CursorPage<RunDto> runs = runDao.findAllRunWhereProjectIsAndNameContaining(projectId,pattern,Cursor.decode(after),6);
+            return new SearchRunResponse(
+                    runs.content(),
+                    null,
+                    runs.nextCursor()
+            );
+        }
+
         Pageable pageable = PageRequest.of(currentPage,6);
-        Page<Run> runPage = runDao.findAllRunWhereProjectIsAndNameContaining(project,pattern,pageable);
+
+        if(Boolean.TRUE.equals(slice)) {
+            Slice<RunDto> runSlice = runDao.findAllRunWhereProjectIsAndNameContainingAsSlice(projectId,pattern,pageable);
+
+            if(currentPage != 0 && !runSlice.hasContent()) {
+                throw new BadRequestException("Page requested does not exists");
+            }
+
+            return new SearchRunResponse(runSlice.getContent(),PageableDto.of(runSlice),null);
+        }
+
+        Page<RunDto> runPage = total == null
+                ? runDao.findAllRunWhereProjectIsAndNameContaining(projectId,pattern,pageable)
+                : new PageImpl<>(runDao.findAllRunWhereProjectIsAndNameContainingAsSlice(projectId,pattern,pageable).getContent(),pageable,total);
 
         if(currentPage != 0 && (runPage.getTotalPages()-1) < page) {
             throw new BadRequestException("Page requested does not exists");
@@ -145,14 +202,10 @@ public class RunServiceImpl implements RunService {
                 runPage.getNumberOfElements()
         );
 
-        List<RunDto> runDtos = runPage
-                .getContent()
-                .stream()
-                .map(runDtoMapper)
-                .toList();
+        List<RunDto> runDtos = runPage.getContent();
 
         return new SearchRunResponse(
-            runDtos,pageableDto
+            runDtos,pageableDto,null
         );
     }
 
@@ -160,10 +213,22 @@ public class RunServiceImpl implements RunService {
      * {@inheritDoc}
      */
     @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion findVersionByProjectIdAndByNameContaining(Authentication authentication, Long projectId, String name) {
+        User userAuthenticated = retrieveUserAuthenticated(authentication);
+        checkProjectExists(projectId);
+        membershipService.checkAccessToProject(userAuthenticated, projectId);
+        return runDao.findAllRunVersionWhereProjectIsAndNameContaining(projectId, name == null ? "" : name);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
     public void updateRunById(Authentication authentication, UpdateRunRequest request, Long runId) {
-        Run run = retrieveRun(runId);
         User authenticatedUser = retrieveUserAuthenticated(authentication);
-        checkAccessToRun(authenticatedUser,run);
+        Run run = retrieveAuthorizedRun(authenticatedUser, runId);
         boolean changes = false;
 
         if( request.name() != null && !request.name().equals(run.getName())) {
@@ -214,6 +279,7 @@ public class RunServiceImpl implements RunService {
         run.setUpdatedAt(Timestamp.from(Instant.now()));
 
         runDao.updateRun(run);
+        invalidationBus.publish(Invalidation.of(Invalidation.Type.RUN, run.getId()));
 
     }
 
@@ -222,10 +288,10 @@ public class RunServiceImpl implements RunService {
      */
     @Override
     public void deleteRunById(Authentication authentication, Long runId) {
-        Run run = retrieveRun(runId);
         User userAuthenticated = retrieveUserAuthenticated(authentication);
-        checkAccessToRun(userAuthenticated,run);
+        Run run = retrieveAuthorizedRun(userAuthenticated, runId);
         runDao.deleteRunById(runId);
+        invalidationBus.publish(Invalidation.of(Invalidation.Type.RUN_DELETED, runId));
     }
 
     private Project retrieveProject(Long projectId) {
@@ -235,56 +301,29 @@ public class RunServiceImpl implements RunService {
                 );
     }
 
+    private void checkProjectExists(Long projectId) {
+        if(!projectDao.isProjectExistsWithId(projectId)) {
+            throw new NotFoundException("Project with id %s does not exists".formatted(projectId));
+        }
+    }
+
     private User retrieveUserAuthenticated(Authentication authentication) {
         return (User) authentication.getPrincipal();
     }
 
     private void checkAccessToProject(User user, Project project) {
-        boolean fullAccess = user.getRole().equals("PROJECT_MANAGER");
-
-        if(!fullAccess) {
-            project.getUsers()
-                    .stream()
-                    .filter(
-                            user1 -> user1
-                                    .getEmail()
-                                    .equals(
-                                            user.getEmail()
-                                    )
-                    )
-                    .findFirst()
-                    .orElseThrow(() -> new UnauthorizedException("You can't access to this resource"));
-        }
+        membershipService.checkAccessToProject(user, project.getId());
     }
 
-    private Run retrieveRun(Long runId) {
-        return runDao.findRunById(runId)
-                .orElseThrow(
-                        () -> new NotFoundException(
-                                "Run with id %s does not exists".formatted(runId)
+    private Run retrieveAuthorizedRun(User user, Long runId) {
+        return membershipService.checkAccess(
+                user,
+                runDao.findRunByIdForMember(runId, user.getId())
+                        .orElseThrow(
+                                () -> new NotFoundException(
+                                        "Run with id %s does not exists".formatted(runId)
+                                )
                         )
-                );
-    }
-
-    private void checkAccessToRun(User user, Run run) {
-        boolean fullAccess = user.getRole().equals("PROJECT_MANAGER");
-
-        if(!fullAccess) {
-            run.getProject()
-                    .getUsers()
-                    .stream()
-                    .filter(
-                            user1 -> user1
-                                    .getEmail()
-                                    .equals(
-                                            user.getEmail()
-                                    )
-                    )
-                    .findFirst()
-                    .orElseThrow(
-                            () -> new UnauthorizedException("You can't access to this resource")
-                    );
-        }
-
+        );
     }
 }
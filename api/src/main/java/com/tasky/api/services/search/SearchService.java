@@ -0,0 +1,21 @@
+package com.tasky.api.services.search;
+
+import com.tasky.api.dto.search.SearchResponse;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Service interface for full-text searches across projects, runs, features, to-dos and comments.
+ */
+public interface SearchService {
+
+    /**
+     * Searches the names, descriptions and comment contents matching a query, among the projects the user can access.
+     *
+     * @param authentication The authentication object representing the current authenticated user.
+     * @param query          The query, in the web search syntax: words, "quoted phrases", or and -excluded words.
+     * @param type           The type of hits to search, project, run, feature, toDo or comment, null to search every type.
+     * @return The most relevant hits, most relevant first, and whether some matches were not ranked.
+     * @throws com.tasky.api.configurations.errors.BadRequestException If the query is missing or too long, or the type is unknown.
+     */
+    SearchResponse search(Authentication authentication, String query, String type);
+}
@@ -0,0 +1,62 @@
+package com.tasky.api.services.search;
+
+import com.tasky.api.configurations.errors.BadRequestException;
+import com.tasky.api.dao.search.SearchDao;
+import com.tasky.api.dto.search.SearchResponse;
+import com.tasky.api.models.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Service implementation for full-text searches across projects, runs, features, to-dos and comments.
+ */
+@Service
+public class SearchServiceImpl implements SearchService {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int MAX_QUERY_LENGTH = 200;
+    private static final List<String> TYPES = List.of("project", "run", "feature", "toDo", "comment");
+
+    private final Logger logger = LoggerFactory.getLogger(SearchService.class);
+    private final SearchDao searchDao;
+
+    public SearchServiceImpl(@Qualifier("SEARCH_FTS") SearchDao searchDao) {
+        this.searchDao = searchDao;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public SearchResponse search(Authentication authentication, String query, String type) {
+        User user = (User) authentication.getPrincipal();
+
+        if(query == null || query.isBlank()) {
+            logger.error("query is required");
+            throw new BadRequestException("query is required");
+        }
+
+        if(query.length() > MAX_QUERY_LENGTH) {
+            String message = "query cannot be longer than %s characters".formatted(MAX_QUERY_LENGTH);
+            logger.error(message);
+            throw new BadRequestException(message);
+        }
+
+        if(type != null && !TYPES.contains(type)) {
+            String message = "type must be one of %s".formatted(TYPES);
+            logger.error(message);
+            throw new BadRequestException(message);
+        }
+
+        // Project managers can access every project, other users only search the projects they are members of.
+        Long memberId = user.getRole().equals("PROJECT_MANAGER") ? null : user.getId();
+        return searchDao.search(query, type == null ? TYPES : List.of(type), memberId, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,53 @@
+package com.tasky.api.services.statistics;
+
+import com.tasky.api.dto.statistics.ProjectStatisticsDto;
+import com.tasky.api.dto.statistics.RunBurndownDto;
+import com.tasky.api.dto.statistics.RunStatisticsDto;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Service interface for reading the progress of projects and runs.
+ */
+public interface StatisticsService {
+
+    /**
+     * Retrieves the progress of a project, of each of its runs and of each of its features.
+     *
+     * @param authentication The authentication object representing the current user.
+     * @param projectId      The unique identifier (ID) of the project.
+     * @return A ProjectStatisticsDto object containing the number of to-dos by status and type.
+     */
+    ProjectStatisticsDto getProjectStatistics(Authentication authentication, Long projectId);
+
+    /**
+     * Retrieves the progress of a run and of each of its features.
+     *
+     * @param authentication The authentication object representing the current user.
+     * @param runId          The unique identifier (ID) of the run.
+     * @return A RunStatisticsDto object containing the number of to-dos by status and type.
+     */
+    RunStatisticsDto getRunStatistics(Authentication authentication, Long runId);
+
+    /**
+     * Retrieves the burndown of a run, from its start until today.
+     *
+     * @param authentication The authentication object representing the current user.
+     * @param runId          The unique identifier (ID) of the run.
+     * @return A RunBurndownDto object containing the number of to-dos of the run at the end of each day.
+     */
+    RunBurndownDto getRunBurndown(Authentication authentication, Long runId);
+
+    /**
+     * Rolls the log of the changes of status up into the daily snapshots of the runs, for every day over.
+     *
+     * @return The number of days rolled up.
+     */
+    int rollUpBurndown();
+
+    /**
+     * Rebuilds the number of to-dos of every feature from their to-dos, correcting the counts that drifted.
+     *
+     * @return The number of counts that were wrong.
+     */
+    int reconcile();
+}
@@ -0,0 +1,316 @@
+package com.tasky.api.services.statistics;
+
+import com.tasky.api.configurations.errors.NotFoundException;
+import com.tasky.api.dao.project.ProjectDao;
+import com.tasky.api.dao.run.RunDao;
+import com.tasky.api.dao.statistics.BurndownCount;
+import com.tasky.api.dao.statistics.BurndownDao;
+import com.tasky.api.dao.statistics.StatisticsDao;
+import com.tasky.api.dto.run.RunDto;
+import com.tasky.api.dto.statistics.BurndownDayDto;
+import com.tasky.api.dto.statistics.FeatureStatisticsDto;
+import com.tasky.api.dto.statistics.ProjectStatisticsDto;
+import com.tasky.api.dto.statistics.RunBurndownDto;
+import com.tasky.api.dto.statistics.RunStatisticsDto;
+import com.tasky.api.dto.statistics.ToDoStatisticsDto;
+import com.tasky.api.models.User;
+import com.tasky.api.services.membership.MembershipService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service implementation for the progress of projects and runs, read from the number of to-dos of each feature by
+ * status and type instead of counting the to-dos. The writers of to-dos keep these counts in their transaction.
+ * A reconciliation job of every instance rebuilds them periodically, one range of features per repeatable read
+ * transaction, correcting the drift left by the to-dos deleted along with other rows.
+ * The burndown of a run is read from daily snapshots, which the same instances roll up from the log of the changes of
+ * status once a day is over, and from the log of the days not rolled up yet.
+ */
+@Service
+public class StatisticsServiceImpl implements StatisticsService, SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsService.class);
+
+    private final StatisticsDao statisticsDao;
+    private final BurndownDao burndownDao;
+    private final ProjectDao projectDao;
+    private final RunDao runDao;
+    private final MembershipService membershipService;
+    private final TransactionTemplate reconciliation;
+    private final TransactionTemplate rollup;
+    private final long reconcileSeconds;
+    private final int chunkSize;
+    private final long rollupSeconds;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Constructs a StatisticsServiceImpl.
+     *
+     * @param statisticsDao The StatisticsDao implementation used to read and reconcile the number of to-dos.
+     * @param burndownDao The BurndownDao implementation used to roll up and read the burndown of runs.
+     * @param projectDao The ProjectDao implementation used to check that a project exists.
+     * @param runDao The RunDao implementation used to read a run along with the membership of the user.
+     * @param membershipService The MembershipService checking the access to projects and runs.
+     * @param transactionManager The transaction manager running the reconciliation of each range of features.
+     * @param reconcileSeconds The number of seconds between two reconciliations, 0 to only reconcile on demand.
+     * @param chunkSize The number of feature identifiers reconciled by a transaction.
+     * @param rollupSeconds The number of seconds between two looks for days to roll up, 0 to only roll up on demand.
+     */
+    public StatisticsServiceImpl(
+            @Qualifier("STATISTICS_COUNTERS") StatisticsDao statisticsDao,
+            @Qualifier("BURNDOWN_SNAPSHOTS") BurndownDao burndownDao,
+            @Qualifier("PROJECT_JPA") ProjectDao projectDao,
+            RunDao runDao,
+            MembershipService membershipService,
+            PlatformTransactionManager transactionManager,
+            @Value("${server.statistics.reconcile-seconds:3600}") long reconcileSeconds,
+            @Value("${server.statistics.reconcile-chunk-size:1000}") int chunkSize,
+            @Value("${server.statistics.burndown-rollup-seconds:3600}") long rollupSeconds
+    ) {
+        this.statisticsDao = statisticsDao;
+        this.burndownDao = burndownDao;
+        this.projectDao = projectDao;
+        this.runDao = runDao;
+        this.membershipService = membershipService;
+        this.reconciliation = new TransactionTemplate(transactionManager);
+        this.reconciliation.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.rollup = new TransactionTemplate(transactionManager);
+        this.reconcileSeconds = reconcileSeconds;
+        this.chunkSize = chunkSize;
+        this.rollupSeconds = rollupSeconds;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ProjectStatisticsDto getProjectStatistics(Authentication authentication, Long projectId) {
+        if(!projectDao.isProjectExistsWithId(projectId)) {
+            throw new NotFoundException("Project with id %s does not exists".formatted(projectId));
+        }
+        membershipService.checkAccessToProject(retrieveUserAuthenticated(authentication), projectId);
+
+        Map<Long, List<FeatureStatisticsDto>> featuresByRun = new HashMap<>();
+        List<FeatureStatisticsDto> featuresWithoutRun = new ArrayList<>();
+        for(FeatureStatisticsDto feature : statisticsDao.selectFeaturesOfProject(projectId)) {
+            if(feature.runId() == null) {
+                featuresWithoutRun.add(feature);
+            } else {
+                featuresByRun.computeIfAbsent(feature.runId(), runId -> new ArrayList<>()).add(feature);
+            }
+        }
+
+        List<RunStatisticsDto> runs = statisticsDao.selectRunsOfProject(projectId).stream()
+                .map(run -> runStatistics(run.runId(), run.name(), featuresByRun.getOrDefault(run.runId(), List.of())))
+                .toList();
+
+        ToDoStatisticsDto toDos = sum(featuresWithoutRun);
+        for(RunStatisticsDto run : runs) {
+            toDos = toDos.plus(run.toDos());
+        }
+
+        return new ProjectStatisticsDto(projectId, toDos, runs, featuresWithoutRun);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public RunStatisticsDto getRunStatistics(Authentication authentication, Long runId) {
+        RunDto run = retrieveAuthorizedRun(retrieveUserAuthenticated(authentication), runId);
+        return runStatistics(run.runId(), run.name(), statisticsDao.selectFeaturesOfRun(runId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public RunBurndownDto getRunBurndown(Authentication authentication, Long runId) {
+        RunDto run = retrieveAuthorizedRun(retrieveUserAuthenticated(authentication), runId);
+        LocalDate today = burndownDao.selectToday();
+        LocalDate start = run.startDate().toLocalDateTime().toLocalDate();
+        if(start.isAfter(today)) {
+            start = today;
+        }
+
+        // The counts only change on the days listed, the days in between carry the counts of the previous one.
+        Iterator<BurndownCount> counts = burndownDao.selectBurndownOfRun(runId).iterator();
+        BurndownCount next = counts.hasNext() ? counts.next() : null;
+        Map<String, Long> statuses = new LinkedHashMap<>();
+        ToDoStatisticsDto.STATUSES.forEach(status -> statuses.put(status, 0L));
+        List<BurndownDayDto> days = new ArrayList<>();
+
+        for(LocalDate day = start; !day.isAfter(today); day = day.plusDays(1)) {
+            while(next != null && !next.day().isAfter(day)) {
+                statuses.put(next.status(), next.toDos());
+                next = counts.hasNext() ? counts.next() : null;
+            }
+            long total = statuses.values().stream().mapToLong(Long::longValue).sum();
+            days.add(new BurndownDayDto(day, total, total - statuses.get("Completed"), Collections.unmodifiableMap(new LinkedHashMap<>(statuses))));
+        }
+
+        return new RunBurndownDto(run.runId(), run.name(), days);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int rollUpBurndown() {
+        int days = 0;
+        while(Boolean.TRUE.equals(rollup.execute(status -> rollUpNextDay()))) {
+            days++;
+        }
+        return days;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int reconcile() {
+        long start = System.nanoTime();
+        long maxFeatureId = statisticsDao.selectMaxFeatureId();
+        int corrected = 0;
+        int failed = 0;
+
+        for(long from = 1; from <= maxFeatureId; from += chunkSize) {
+            long to = from + chunkSize;
+            long rangeStart = from;
+            try {
+                Integer rangeCorrected = reconciliation.execute(status -> statisticsDao.reconcileToDoCounts(rangeStart, to));
+                corrected += rangeCorrected == null ? 0 : rangeCorrected;
+            } catch (ConcurrencyFailureException e) {
+                // The to-dos of the range changed while they were counted, the next reconciliation counts them again.
+                failed++;
+            }
+        }
+
+        if(corrected > 0 || failed > 0) {
+            logger.warn(
+                    "Reconciliation of the to-do counts corrected {} counts, {} ranges of features left for the next one, in {} ms",
+                    corrected, failed, (System.nanoTime() - start) / 1_000_000
+            );
+        }
+        return corrected;
+    }
+
+    /**
+     * Starts reconciling the to-do counts and rolling up the burndown periodically on a daemon thread.
+     */
+    @Override
+    public synchronized void start() {
+        if(scheduler != null) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "statistics-jobs");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if(reconcileSeconds > 0) {
+            scheduler.scheduleWithFixedDelay(this::reconcileQuietly, reconcileSeconds, reconcileSeconds, TimeUnit.SECONDS);
+        }
+        if(rollupSeconds > 0) {
+            scheduler.scheduleWithFixedDelay(this::rollUpBurndownQuietly, 0, rollupSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Stops the periodic jobs, a range being reconciled or a day being rolled up is rolled back.
+     */
+    @Override
+    public synchronized void stop() {
+        if(scheduler == null) {
+            return;
+        }
+
+        scheduler.shutdownNow();
+        scheduler = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (DataAccessException e) {
+            logger.warn("Could not reconcile the to-do counts", e);
+        }
+    }
+
+    private boolean rollUpNextDay() {
+        Optional<LocalDate> day = burndownDao.claimNextDay();
+        if(day.isEmpty()) {
+            return false;
+        }
+
+        int rows = burndownDao.rollUpDay(day.get());
+        logger.info("Rolled up the burndown of {} into {} snapshot rows", day.get(), rows);
+        return true;
+    }
+
+    private void rollUpBurndownQuietly() {
+        try {
+            rollUpBurndown();
+        } catch (DataAccessException e) {
+            logger.warn("Could not roll up the burndown", e);
+        }
+    }
+
+    private RunDto retrieveAuthorizedRun(User user, Long runId) {
+        return membershipService.checkAccess(
+                user,
+                runDao.findRunDtoByIdForMember(runId, user.getId())
+                        .orElseThrow(
+                                () -> new NotFoundException(
+                                        "Run with id %s does not exists".formatted(runId)
+                                )
+                        )
+        );
+    }
+
+    private static RunStatisticsDto runStatistics(Long runId, String name, List<FeatureStatisticsDto> features) {
+        return new RunStatisticsDto(runId, name, sum(features), features);
+    }
+
+    private static ToDoStatisticsDto sum(List<FeatureStatisticsDto> features) {
+        ToDoStatisticsDto toDos = ToDoStatisticsDto.empty();
+        for(FeatureStatisticsDto feature : features) {
+            toDos = toDos.plus(feature.toDos());
+        }
+        return toDos;
+    }
+
+    private User retrieveUserAuthenticated(Authentication authentication) {
+        return (User) authentication.getPrincipal();
+    }
+}
@@ -1,5 +1,6 @@
 package com.tasky.api.services.toDo;
 
+import com.tasky.api.dao.ResourceVersion;
 import com.tasky.api.dto.toDo.CreateToDoRequest;
 import com.tasky.api.dto.toDo.SearchToDoResponse;
 import com.tasky.api.dto.toDo.TodoDto;
@@ -9,6 +10,8 @@ import com.tasky.api.models.ToDo;
 import org.springframework.data.domain.Page;
 import org.springframework.security.core.Authentication;
 
+import java.util.List;
+
 /**
  * The TodoService interface defines methods for managing ToDo tasks.
  */
@@ -22,6 +25,16 @@ public interface TodoService {
      */
     void createTodo(Authentication authentication, Long featureId, CreateToDoRequest request);
 
+    /**
+     * Create several ToDo tasks associated with a feature.
+     * Access to the feature is checked once, and every request is validated before any ToDo task is inserted.
+     *
+     * @param authentication The authentication object for the user creating the ToDo tasks.
+     * @param featureId      The unique identifier (ID) of the feature associated with the ToDo tasks.
+     * @param requests       The request objects containing the details of each ToDo task.
+     */
+    void createTodos(Authentication authentication, Long featureId, List<CreateToDoRequest> requests);
+
     /**
      * Find a ToDo task by its unique identifier (ID).
      *
@@ -31,6 +44,15 @@ public interface TodoService {
      */
     TodoDto findToDoById(Authentication authentication, Long toDoId);
 
+    /**
+     * Retrieves the validators of a ToDo task by its unique identifier, without reading the ToDo task, to answer conditional requests.
+     *
+     * @param authentication The authentication object representing the current user.
+     * @param toDoId          The unique identifier of the ToDo task.
+     * @return The validators of the ToDo task.
+     */
+    ResourceVersion findToDoVersionById(Authentication authentication, Long toDoId);
+
     /**
      * Find ToDo tasks associated with a feature and matching a name pattern.
      *
@@ -38,9 +60,23 @@ public interface TodoService {
      * @param featureId      The unique identifier (ID) of the feature associated with the ToDo tasks.
      * @param name           The pattern to search for in ToDo task names.
      * @param page           The page number for pagination.
+     * @param after          The cursor of the page to fetch, empty for the first page. When present, the page is fetched by keyset
+     *                       and the response carries the cursor of the next page instead of the pagination totals.
+     * @param slice          True to fetch the page without count query, the pagination details then only tell whether a next page exists.
+     * @param total          The number of matching ToDo tasks, already counted by their validators, or null to count them with the page.
      * @return A SearchToDoResponse containing a list of matching ToDo tasks and pagination details.
      */
-    SearchToDoResponse findTodosWhereFeatureIsAndNameContains(Authentication authentication, Long featureId, String name, Integer page);
+    SearchToDoResponse findTodosWhereFeatureIsAndNameContains(Authentication authentication, Long featureId, String name, Integer page, String after, Boolean slice, Long total);
+
+    /**
+     * Retrieves the validators of the ToDo tasks of a feature matching a name pattern, without reading the tasks, to answer conditional requests.
+     *
+     * @param authentication The authentication object for the user making the request.
+     * @param featureId      The unique identifier (ID) of the feature associated with the ToDo tasks.
+     * @param name           The name pattern to search for in ToDo task names.
+     * @return The validators of the ToDo tasks, shared by every page of the list.
+     */
+    ResourceVersion findTodosVersionWhereFeatureIsAndNameContains(Authentication authentication, Long featureId, String name);
 
     /**
      * Find ToDo tasks associated with a user and matching a name pattern.
@@ -48,9 +84,23 @@ public interface TodoService {
      * @param authentication The authentication object for the user making the request.
      * @param name           The pattern to search for in ToDo task names.
      * @param page           The page number for pagination.
+     * @param after          The cursor of the page to fetch, empty for the first page. When present, the page is fetched by keyset
+     *                       and the response carries the cursor of the next page instead of the pagination totals.
+     * @param slice          True to fetch the page without count query, the pagination details then only tell whether a next page exists.
+     * @param total          The number of matching ToDo tasks, already counted by their validators, or null to count them with the page.
      * @return A SearchToDoResponse containing a list of matching ToDo tasks and pagination details.
      */
-    SearchToDoResponse findTodosWhereUserIsAnNameContains(Authentication authentication, String name, Integer page);
+    SearchToDoResponse findTodosWhereUserIsAnNameContains(Authentication authentication, String name, Integer page, String after, Boolean slice, Long total);
+
+    /**
+     * Retrieves the validators of the ToDo tasks assigned to the authenticated user matching a name pattern, without reading the tasks,
+     * to answer conditional requests.
+     *
+     * @param authentication The authentication object for the user making the request.
+     * @param name           The name pattern to search for in ToDo task names.
+     * @return The validators of the ToDo tasks, shared by every page of the list.
+     */
+    ResourceVersion findTodosVersionWhereUserIsAnNameContains(Authentication authentication, String name);
 
     /**
      * Update an existing ToDo task.
@@ -2,8 +2,14 @@ package com.tasky.api.services.toDo;
 
 import com.tasky.api.configurations.errors.BadRequestException;
 import com.tasky.api.configurations.errors.NotFoundException;
-import com.tasky.api.configurations.errors.UnauthorizedException;
+import com.tasky.api.dao.Cursor;
+import com.tasky.api.dao.CursorPage;
+import com.tasky.api.dao.ResourceVersion;
 import com.tasky.api.dao.feature.FeatureDao;
+import com.tasky.api.dao.statistics.BurndownDao;
+import com.tasky.api.dao.statistics.StatisticsDao;
+import com.tasky.api.dao.statistics.StatusTransition;
+import com.tasky.api.dao.statistics.ToDoCount;
 import com.tasky.api.dao.toDo.ToDoDao;
 import com.tasky.api.dao.user.UserDao;
 import com.tasky.api.dto.PageableDto;
@@ -11,119 +17,173 @@ import com.tasky.api.dto.toDo.CreateToDoRequest;
 import com.tasky.api.dto.toDo.SearchToDoResponse;
 import com.tasky.api.dto.toDo.TodoDto;
 import com.tasky.api.dto.toDo.UpdateTodoRequest;
-import com.tasky.api.mappers.ToDoDtoMapper;
 import com.tasky.api.models.Feature;
 import com.tasky.api.models.ToDo;
 import com.tasky.api.models.User;
+import com.tasky.api.services.membership.MembershipService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Service
 public class TodoServiceImpl implements TodoService {
+    private static final int MAX_BATCH_SIZE = 1000;
     private final Logger logger = LoggerFactory.getLogger(TodoService.class);
     private final FeatureDao featureDao;
     private final ToDoDao toDoDao;
     private final UserDao userDao;
-    private final ToDoDtoMapper toDoDtoMapper;
+    private final MembershipService membershipService;
+    private final StatisticsDao statisticsDao;
+    private final BurndownDao burndownDao;
 
 
-    public TodoServiceImpl(@Qualifier("FEATURE_JPA") FeatureDao featureDao, @Qualifier("TO_DO_JPA") ToDoDao toDoDao, ToDoDtoMapper toDoDtoMapper, @Qualifier("JPA") UserDao userDao) {
+    public TodoServiceImpl(@Qualifier("FEATURE_JPA") FeatureDao featureDao, @Qualifier("TO_DO_JPA") ToDoDao toDoDao, @Qualifier("JPA") UserDao userDao, MembershipService membershipService, @Qualifier("STATISTICS_COUNTERS") StatisticsDao statisticsDao, @Qualifier("BURNDOWN_SNAPSHOTS") BurndownDao burndownDao) {
         this.featureDao = featureDao;
         this.toDoDao = toDoDao;
-        this.toDoDtoMapper = toDoDtoMapper;
         this.userDao = userDao;
+        this.membershipService = membershipService;
+        this.statisticsDao = statisticsDao;
+        this.burndownDao = burndownDao;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Transactional
     public void createTodo(Authentication authentication, Long featureId, CreateToDoRequest request) {
-        Feature feature = retrieveFeatureById(featureId);
         User user = retrieveUserAuthenticated(authentication);
-        checkAccessToFeature(feature,user);
+        Feature feature = retrieveAuthorizedFeature(user, featureId);
 
-        List<String> stackTrace = new ArrayList<>();
-        boolean isBadRequest = false;
+        List<String> stackTrace = validateCreateRequest(request);
 
-        String description = "";
-        String name = "";
-        String type = "";
+        if(!stackTrace.isEmpty()) {
+            throw new BadRequestException(stackTrace.toString());
+        }
 
-        if(request.description() == null) {
-            String message = "Description is required";
-            stackTrace.add(message);
-            logger.error(message);
-            isBadRequest = true;
-        } else {
-            description = request.description();
+        ToDo toDo = new ToDo(request.name(),request.type(),request.description(),feature,user);
+
+        toDoDao.createTodo(toDo);
+        statisticsDao.addToDoCounts(List.of(new ToDoCount(featureId, toDo.getStatus(), toDo.getType(), 1)));
+        burndownDao.addTransitions(List.of(new StatusTransition(toDo.getId(), featureId, null, toDo.getStatus())));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public void createTodos(Authentication authentication, Long featureId, List<CreateToDoRequest> requests) {
+        User user = retrieveUserAuthenticated(authentication);
+        Feature feature = retrieveAuthorizedFeature(user, featureId);
+
+        if(requests == null || requests.isEmpty()) {
+            throw new BadRequestException("At least one ToDo is required");
         }
 
-        if(request.name() == null) {
-            String message = "name is required";
-            stackTrace.add(message);
-            logger.error(message);
-            isBadRequest = true;
-        } else {
-            name = request.name();
+        if(requests.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("A batch cannot contain more than %s ToDos".formatted(MAX_BATCH_SIZE));
         }
 
-        if(request.type() == null) {
-            String message = "type is required";
-            stackTrace.add(message);
-            logger.error(message);
-            isBadRequest = true;
-        } else  {
-            switch (request.type()) {
-                case "task", "bug" -> type = request.type();
-                default -> {
-                    isBadRequest = true;
-                    String message = "Invalid type";
-                    stackTrace.add(message);
-                    logger.error(message);
+        List<String> stackTrace = new ArrayList<>();
+        List<ToDo> toDos = new ArrayList<>(requests.size());
+
+        for(int index = 0; index < requests.size(); index++) {
+            CreateToDoRequest request = requests.get(index);
+
+            if(request == null) {
+                stackTrace.add("Item %s: body is required".formatted(index));
+                continue;
+            }
+
+            List<String> errors = validateCreateRequest(request);
+
+            if(errors.isEmpty()) {
+                toDos.add(new ToDo(request.name(),request.type(),request.description(),feature,user));
+            } else {
+                for(String error : errors) {
+                    stackTrace.add("Item %s: %s".formatted(index, error));
                 }
             }
         }
 
-        if(isBadRequest) {
+        if(!stackTrace.isEmpty()) {
             throw new BadRequestException(stackTrace.toString());
         }
 
-        ToDo toDo = new ToDo(name,type,description,feature,user);
-
-        toDoDao.createTodo(toDo);
-
+        toDoDao.createTodos(toDos);
+        statisticsDao.addToDoCounts(
+                toDos.stream()
+                        .map(toDo -> new ToDoCount(featureId, toDo.getStatus(), toDo.getType(), 1))
+                        .collect(Collectors.toList())
+        );
+        burndownDao.addTransitions(
+                toDos.stream()
+                        .map(toDo -> new StatusTransition(toDo.getId(), featureId, null, toDo.getStatus()))
+                        .collect(Collectors.toList())
+        );
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Transactional(readOnly = true)
     public TodoDto findToDoById(Authentication authentication, Long toDoId) {
-        ToDo toDo = retriveTodo(toDoId);
         User user = retrieveUserAuthenticated(authentication);
-        checkAccessToToDo(user,toDo);
-        return toDoDtoMapper.apply(toDo);
+        return membershipService.checkAccess(
+                user,
+                toDoDao
+                        .selectToDoDtoByIdForMember(toDoId, user.getId())
+                        .orElseThrow(
+                                () -> new NotFoundException("Todo with id %s does not exists".formatted(toDoId)
+                                )
+                        )
+        );
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public SearchToDoResponse findTodosWhereFeatureIsAndNameContains(Authentication authentication, Long featureId, String name, Integer page) {
-        Feature feature = retrieveFeatureById(featureId);
+    @Transactional(readOnly = true)
+    public ResourceVersion findToDoVersionById(Authentication authentication, Long toDoId) {
         User user = retrieveUserAuthenticated(authentication);
-        checkAccessToFeature(feature,user);
+        return membershipService.checkAccess(
+                user,
+                toDoDao
+                        .selectToDoVersionByIdForMember(toDoId, user.getId())
+                        .orElseThrow(
+                                () -> new NotFoundException("Todo with id %s does not exists".formatted(toDoId)
+                                )
+                        )
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public SearchToDoResponse findTodosWhereFeatureIsAndNameContains(Authentication authentication, Long featureId, String name, Integer page, String after, Boolean slice, Long total) {
+        User user = retrieveUserAuthenticated(authentication);
+        checkAccessToFeature(user, featureId);
 
         String pattern = "";
         int currentPage = 0;
@@ -136,9 +196,26 @@ public class TodoServiceImpl implements TodoService {
             pattern = name;
         }
 
+        if(after != null) {
+            CursorPage<TodoDto> toDos = toDoDao.selectAllToDoWhereFeatureIdIsAndNameContaining(featureId,pattern,Cursor.decode(after),6);
+            return new SearchToDoResponse(toDos.content(),null,toDos.nextCursor());
+        }
+
         Pageable pageable = PageRequest.of(currentPage,6);
 
-        Page<ToDo> resultPage = toDoDao.selectAllToDoWhereFeatureIdIsAndNameContaining(feature,pattern,pageable);
+        if(Boolean.TRUE.equals(slice)) {
+            Slice<TodoDto> resultSlice = toDoDao.selectAllToDoWhereFeatureIdIsAndNameContainingAsSlice(featureId,pattern,pageable);
+
+            if(currentPage != 0 && !resultSlice.hasContent()) {
+                throw new BadRequestException("Page requested does not exists");
+            }
+
+            return new SearchToDoResponse(resultSlice.getContent(),PageableDto.of(resultSlice),null);
+        }
+
+        Page<TodoDto> resultPage = total == null
+                ? toDoDao.selectAllToDoWhereFeatureIdIsAndNameContaining(featureId,pattern,pageable)
+                : new PageImpl<>(toDoDao.selectAllToDoWhereFeatureIdIsAndNameContainingAsSlice(featureId,pattern,pageable).getContent(),pageable,total);
 
         if(currentPage != 0 && (resultPage.getTotalPages()-1) < page) {
             throw new BadRequestException("Page requested does not exists");
@@ -151,16 +228,28 @@ public class TodoServiceImpl implements TodoService {
                 resultPage.getNumberOfElements()
         );
 
-        List<TodoDto> toDos = resultPage.getContent().stream().map(toDoDtoMapper).toList();
+        List<TodoDto> toDos = resultPage.getContent();
+
+        return new SearchToDoResponse(toDos,pageableDto,null);
+    }
 
-        return new SearchToDoResponse(toDos,pageableDto);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion findTodosVersionWhereFeatureIsAndNameContains(Authentication authentication, Long featureId, String name) {
+        User user = retrieveUserAuthenticated(authentication);
+        checkAccessToFeature(user, featureId);
+        return toDoDao.selectAllToDoVersionWhereFeatureIdIsAndNameContaining(featureId, name == null ? "" : name);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public SearchToDoResponse findTodosWhereUserIsAnNameContains(Authentication authentication, String name, Integer page) {
+    @Transactional(readOnly = true)
+    public SearchToDoResponse findTodosWhereUserIsAnNameContains(Authentication authentication, String name, Integer page, String after, Boolean slice, Long total) {
         User user = retrieveUserAuthenticated(authentication);
         String pattern = "";
         int currentPage = 0;
@@ -173,8 +262,26 @@ public class TodoServiceImpl implements TodoService {
             pattern = name;
         }
 
+        if(after != null) {
+            CursorPage<TodoDto> toDos = toDoDao.selectToDosWhereUserIsAndNameContaining(user.getId(),pattern,Cursor.decode(after),6);
+            return new SearchToDoResponse(toDos.content(),null,toDos.nextCursor());
+        }
+
         Pageable pageable = PageRequest.of(currentPage,6);
-        Page<ToDo> resultPage = toDoDao.selectToDosWhereUserIsAndNameContaining(user,pattern,pageable);
+
+        if(Boolean.TRUE.equals(slice)) {
+            Slice<TodoDto> resultSlice = toDoDao.selectToDosWhereUserIsAndNameContainingAsSlice(user.getId(),pattern,pageable);
+
+            if(currentPage != 0 && !resultSlice.hasContent()) {
+                throw new BadRequestException("Page requested does not exists");
+            }
+
+            return new SearchToDoResponse(resultSlice.getContent(),PageableDto.of(resultSlice),null);
+        }
+
+        Page<TodoDto> resultPage = total == null
+                ? toDoDao.selectToDosWhereUserIsAndNameContaining(user.getId(),pattern,pageable)
+                : new PageImpl<>(toDoDao.selectToDosWhereUserIsAndNameContainingAsSlice(user.getId(),pattern,pageable).getContent(),pageable,total);
 
         if(currentPage != 0 && (resultPage.getTotalPages()-1) < page) {
             throw new BadRequestException("Page requested does not exists");
@@ -187,19 +294,31 @@ public class TodoServiceImpl implements TodoService {
                 resultPage.getNumberOfElements()
         );
 
-        List<TodoDto> toDos = resultPage.getContent().stream().map(toDoDtoMapper).toList();
+        List<TodoDto> toDos = resultPage.getContent();
+
+        return new SearchToDoResponse(toDos,pageableDto,null);
+    }
 
-        return new SearchToDoResponse(toDos,pageableDto);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion findTodosVersionWhereUserIsAnNameContains(Authentication authentication, String name) {
+        User user = retrieveUserAuthenticated(authentication);
+        return toDoDao.selectToDosVersionWhereUserIsAndNameContaining(user.getId(), name == null ? "" : name);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Transactional
     public void updateTodo(Authentication authentication, Long toDoId, UpdateTodoRequest request) {
-        ToDo toDo = retriveTodo(toDoId);
         User user = retrieveUserAuthenticated(authentication);
-        checkAccessToToDo(user,toDo);
+        ToDo toDo = retrieveAuthorizedToDo(user, toDoId);
+        String previousStatus = toDo.getStatus();
+        String previousType = toDo.getType();
         boolean changes = false;
 
         if(request.description() != null && !Objects.equals(toDo.getDescription(), request.description())) {
@@ -207,12 +326,10 @@ public class TodoServiceImpl implements TodoService {
             changes = true;
         }
 
-        if(request.userId() != null) {
-            User assignedUser = userDao.selectUserById(request.userId()).orElseThrow(() -> new NotFoundException("User with id %s does not exists".formatted(request.userId())));
-            if(toDo.getUser() != assignedUser) {
-                toDo.setUser(assignedUser);
-                changes = true;
-            }
+        if(request.userId() != null && (toDo.getUser() == null || !request.userId().equals(toDo.getUser().getId()))) {
+            // The foreign key checks that the user exists, the UPDATE fails otherwise.
+            toDo.setUser(userDao.getUserReferenceById(request.userId()));
+            changes = true;
         }
 
         if(request.name() != null && !request.name().equals(toDo.getName())) {
@@ -252,81 +369,105 @@ public class TodoServiceImpl implements TodoService {
             throw new BadRequestException("No changes found");
         }
 
-        toDoDao.updateTodo(toDo);
+        toDo.setUpdatedAt(Timestamp.from(Instant.now()));
+
+        try {
+            toDoDao.updateTodo(toDo);
+        } catch (DataIntegrityViolationException e) {
+            throw new NotFoundException("User with id %s does not exists".formatted(request.userId()));
+        }
+
+        if(!previousStatus.equals(toDo.getStatus()) || !previousType.equals(toDo.getType())) {
+            Long featureId = toDo.getFeature().getId();
+            statisticsDao.addToDoCounts(List.of(
+                    new ToDoCount(featureId, previousStatus, previousType, -1),
+                    new ToDoCount(featureId, toDo.getStatus(), toDo.getType(), 1)
+            ));
+        }
+
+        if(!previousStatus.equals(toDo.getStatus())) {
+            burndownDao.addTransitions(List.of(new StatusTransition(toDoId, toDo.getFeature().getId(), previousStatus, toDo.getStatus())));
+        }
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Transactional
     public void deleteToDoById(Authentication authentication, Long toDoId) {
-        ToDo toDo = retriveTodo(toDoId);
         User user = retrieveUserAuthenticated(authentication);
-        checkAccessToToDo(user,toDo);
+        ToDo toDo = retrieveAuthorizedToDo(user, toDoId);
         toDoDao.deleteTodoById(toDoId);
+        statisticsDao.addToDoCounts(List.of(new ToDoCount(toDo.getFeature().getId(), toDo.getStatus(), toDo.getType(), -1)));
+        burndownDao.addTransitions(List.of(new StatusTransition(toDoId, toDo.getFeature().getId(), toDo.getStatus(), null)));
     }
 
-    private Feature retrieveFeatureById(Long featureId) {
-        return featureDao
-                .findFeatureById(featureId)
-                .orElseThrow(
-                        ()-> new NotFoundException("Feature id %s does not exists".formatted(featureId)
-                        )
-                );
+    private List<String> validateCreateRequest(CreateToDoRequest request) {
+        List<String> stackTrace = new ArrayList<>();
+
+        if(request.description() == null) {
+            String message = "Description is required";
+            stackTrace.add(message);
+            logger.error(message);
+        }
+
+        if(request.name() == null) {
+            String message = "name is required";
+            stackTrace.add(message);
+            logger.error(message);
+        }
+
+        if(request.type() == null) {
+            String message = "type is required";
+            stackTrace.add(message);
+            logger.error(message);
+        } else if(!request.type().equals("task") && !request.type().equals("bug")) {
+            String message = "Invalid type";
+            stackTrace.add(message);
+            logger.error(message);
+        }
+
+        return stackTrace;
     }
 
     private User retrieveUserAuthenticated(Authentication authentication) {
         return (User) authentication.getPrincipal();
     }
 
-    private void checkAccessToFeature(Feature feature, User user) {
-        boolean fullAccess = user.getRole().equals("PROJECT_MANAGER");
-
-        if(!fullAccess) {
-            feature.getProject()
-                    .getUsers()
-                    .stream()
-                    .filter(
-                            user1 -> user1
-                                    .getEmail()
-                                    .equals(
-                                            user.getEmail()
-                                    )
-                    )
-                    .findFirst()
-                    .orElseThrow(
-                            () -> new UnauthorizedException("You can't access to this resource.")
-                    );
-        }
+    private Feature retrieveAuthorizedFeature(User user, Long featureId) {
+        return membershipService.checkAccess(
+                user,
+                featureDao
+                        .findFeatureByIdForMember(featureId, user.getId())
+                        .orElseThrow(
+                                ()-> new NotFoundException("Feature id %s does not exists".formatted(featureId)
+                                )
+                        )
+        );
     }
 
-    private void checkAccessToToDo(User user, ToDo toDo) {
-        boolean fullAccess = user.getRole().equals("PROJECT_MANAGER");
-
-        if(!fullAccess) {
-            toDo.getFeature()
-                    .getProject()
-                    .getUsers()
-                    .stream()
-                    .filter(
-                            user1 -> user1
-                                    .getEmail()
-                                    .equals(
-                                            user.getEmail()
-                                    )
-                    )
-                    .findFirst()
-                    .orElseThrow(
-                            () -> new UnauthorizedException("You can't access to this resource")
-                    );
-        }
+    private void checkAccessToFeature(User user, Long featureId) {
+        membershipService.checkAccess(
+                user,
+                featureDao
+                        .findFeatureDtoByIdForMember(featureId, user.getId())
+                        .orElseThrow(
+                                ()-> new NotFoundException("Feature id %s does not exists".formatted(featureId)
+                                )
+                        )
+        );
     }
 
-    private ToDo retriveTodo(Long toDoId) {
-        return toDoDao.selectToDoById(toDoId)
-                .orElseThrow(
-                        () -> new NotFoundException("Todo with id %s does not exists".formatted(toDoId)
+    private ToDo retrieveAuthorizedToDo(User user, Long toDoId) {
+        return membershipService.checkAccess(
+                user,
+                toDoDao
+                        .selectToDoByIdForMember(toDoId, user.getId())
+                        .orElseThrow(
+                                () -> new NotFoundException("Todo with id %s does not exists".formatted(toDoId)
+                                )
                         )
-                );
+        );
     }
 }
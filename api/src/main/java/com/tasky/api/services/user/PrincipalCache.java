@@ -0,0 +1,219 @@
+package com.tasky.api.services.user;
+
+import com.tasky.api.models.User;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded in-process cache of authenticated principals, keyed by email.
+ * Entries are immutable snapshots of the user's columns, never the managed {@link User} entity,
+ * so no persistence context or lazy collection is shared between requests.
+ * Entries expire after a TTL and must be invalidated whenever a user's role, password or account changes.
+ * Hit, miss and eviction counters are published to the actuator metrics endpoint.
+ */
+@Component
+public class PrincipalCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "principal";
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Constructs a PrincipalCache.
+     *
+     * @param maxSize The maximum number of principals to keep, zero or less disables the cache.
+     * @param ttlSeconds The number of seconds a principal stays cached.
+     */
+    public PrincipalCache(
+            @Value("${server.principal-cache-size:10000}") int maxSize,
+            @Value("${server.principal-cache-ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                boolean evict = size() > PrincipalCache.this.maxSize;
+                if(evict) {
+                    evictions.incrementAndGet();
+                }
+                return evict;
+            }
+        });
+    }
+
+    /**
+     * Retrieves a fresh detached copy of a cached principal.
+     *
+     * @param email The email of the user.
+     * @return An Optional containing a detached {@link User}, or empty if absent or expired.
+     */
+    public Optional<User> get(String email) {
+        if(maxSize <= 0) {
+            return Optional.empty();
+        }
+
+        Entry entry = entries.get(email);
+
+        if(entry == null) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+
+        if(entry.expiresAt() < System.currentTimeMillis()) {
+            entries.remove(email);
+            evictions.incrementAndGet();
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+
+        hits.incrementAndGet();
+        return Optional.of(entry.snapshot().toUser());
+    }
+
+    /**
+     * Stores a snapshot of a user's columns.
+     *
+     * @param user The user loaded from the database.
+     */
+    public void put(User user) {
+        if(maxSize <= 0) {
+            return;
+        }
+
+        entries.put(
+                user.getEmail(),
+                new Entry(Snapshot.of(user), System.currentTimeMillis() + ttlMillis)
+        );
+    }
+
+    /**
+     * Removes a principal from the cache.
+     *
+     * @param email The email of the user whose principal changed.
+     */
+    public void invalidate(String email) {
+        if(email != null && entries.remove(email) != null) {
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Removes every principal from the cache.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Registers the hit, miss, eviction and size meters of the cache.
+     *
+     * @param registry The meter registry of the application.
+     */
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", hits, AtomicLong::get)
+                .tags("cache", CACHE_NAME, "result", "hit")
+                .description("The number of times a principal was served from the cache")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, AtomicLong::get)
+                .tags("cache", CACHE_NAME, "result", "miss")
+                .description("The number of times a principal had to be loaded from the database")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, AtomicLong::get)
+                .tags("cache", CACHE_NAME)
+                .description("The number of principals evicted, expired or invalidated")
+                .register(registry);
+        Gauge.builder("cache.size", entries, Map::size)
+                .tags("cache", CACHE_NAME)
+                .description("The number of principals currently cached")
+                .register(registry);
+    }
+
+    /**
+     * @return The number of principals served from the cache.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return The number of principals that had to be loaded from the database.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return The number of principals evicted, expired or invalidated.
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    private record Entry(Snapshot snapshot, long expiresAt) {}
+
+    /**
+     * Immutable copy of the columns of a user needed to authenticate and authorize requests.
+     */
+    private record Snapshot(
+            Long id,
+            String firstName,
+            String lastName,
+            String email,
+            String password,
+            Boolean neverConnected,
+            String role,
+            Integer tokenVersion,
+            Timestamp createdAt,
+            Timestamp updatedAt
+    ) {
+        static Snapshot of(User user) {
+            return new Snapshot(
+                    user.getId(),
+                    user.getFirstName(),
+                    user.getLastName(),
+                    user.getEmail(),
+                    user.getPassword(),
+                    user.getNeverConnected(),
+                    user.getRole(),
+                    user.getTokenVersion(),
+                    copy(user.getCreatedAt()),
+                    copy(user.getUpdatedAt())
+            );
+        }
+
+        User toUser() {
+            User user = new User(firstName, lastName, email, password);
+            user.setId(id);
+            user.setNeverConnected(neverConnected);
+            user.setRole(role);
+            user.setTokenVersion(tokenVersion);
+            user.setCreatedAt(copy(createdAt));
+            user.setUpdatedAt(copy(updatedAt));
+            return user;
+        }
+
+        private static Timestamp copy(Timestamp timestamp) {
+            return timestamp == null ? null : (Timestamp) timestamp.clone();
+        }
+    }
+}
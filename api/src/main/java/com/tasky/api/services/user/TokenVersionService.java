@@ -0,0 +1,85 @@
+package com.tasky.api.services.user;
+
+import com.tasky.api.configurations.datasource.ReadRouting;
+import com.tasky.api.dao.user.UserDao;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service keeping track of the current token version of every user.
+ * A token is only accepted when the version it carries matches the version known for its user,
+ * so bumping the version revokes every token issued before a role, password or account change.
+ */
+@Service
+public class TokenVersionService {
+
+    private static final Integer REVOKED = -1;
+
+    private final UserDao userDao;
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a TokenVersionService with the specified UserDao.
+     *
+     * @param userDao The UserDao implementation used to load token versions on first use.
+     */
+    public TokenVersionService(@Qualifier("JPA") UserDao userDao) {
+        this.userDao = userDao;
+    }
+
+    /**
+     * Checks whether a token version is the current one for a user.
+     * The version is read from the database only the first time a user is seen.
+     *
+     * @param userId The unique identifier (ID) of the user.
+     * @param tokenVersion The version carried by the token.
+     * @return True if the token version is current, false if the token has been revoked.
+     */
+    public boolean isCurrent(Long userId, Integer tokenVersion) {
+        Integer current = versions.computeIfAbsent(
+                userId,
+                id -> ReadRouting.onPrimary(() -> userDao.selectTokenVersionById(id)).orElse(REVOKED)
+        );
+        return !REVOKED.equals(current) && Objects.equals(current, tokenVersion);
+    }
+
+    /**
+     * Records the new token version of a user, revoking tokens carrying an older version.
+     *
+     * @param userId The unique identifier (ID) of the user.
+     * @param tokenVersion The new token version.
+     */
+    public void update(Long userId, Integer tokenVersion) {
+        versions.put(userId, tokenVersion);
+    }
+
+    /**
+     * Revokes every token of a user, typically when the user is deleted.
+     *
+     * @param userId The unique identifier (ID) of the user.
+     */
+    public void revoke(Long userId) {
+        versions.put(userId, REVOKED);
+    }
+
+    /**
+     * Forgets the known token version of a user, so it is read again from the database on next use.
+     * Used when the user changed on another instance.
+     *
+     * @param userId The unique identifier (ID) of the user.
+     */
+    public void forget(Long userId) {
+        versions.remove(userId);
+    }
+
+    /**
+     * Forgets every known token version.
+     */
+    public void forgetAll() {
+        versions.clear();
+    }
+}
@@ -1,6 +1,8 @@
 package com.tasky.api.services.user;
 
+import com.tasky.api.configurations.datasource.ReadRouting;
 import com.tasky.api.dao.user.UserDao;
+import com.tasky.api.models.User;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -8,32 +10,40 @@ import org.springframework.stereotype.Service;
 
 /**
  * Custom UserDetailsService implementation for loading user details from the database.
+ * Loaded principals are kept in the {@link PrincipalCache} so repeated requests skip the database lookup.
  */
 @Service
 public class UserDetailsService implements org.springframework.security.core.userdetails.UserDetailsService {
 
     private final UserDao userDao;
+    private final PrincipalCache principalCache;
 
     /**
-     * Constructs a UserDetailsService with the specified UserDao.
+     * Constructs a UserDetailsService with the specified UserDao and PrincipalCache.
      *
      * @param userDao The UserDao implementation to use for retrieving user data.
+     * @param principalCache The PrincipalCache holding already loaded principals.
      */
-    public UserDetailsService(@Qualifier("JPA") UserDao userDao) {
+    public UserDetailsService(@Qualifier("JPA") UserDao userDao, PrincipalCache principalCache) {
         this.userDao = userDao;
+        this.principalCache = principalCache;
     }
 
     /**
      * Load user details by the given username (email).
      *
      * @param username The email address of the user to retrieve details for.
-     * @return UserDetails object containing the user's details.
+     * @return UserDetails object containing the user's details, detached from any persistence context.
      * @throws UsernameNotFoundException if the user with the given email is not found.
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userDao.selectUserByEmail(username).orElseThrow(
-                () -> new UsernameNotFoundException("User with email " + username + " not found")
-        );
+        return principalCache.get(username).orElseGet(() -> {
+            User user = ReadRouting.onPrimary(() -> userDao.selectUserByEmail(username)).orElseThrow(
+                    () -> new UsernameNotFoundException("User with email " + username + " not found")
+            );
+            principalCache.put(user);
+            return user;
+        });
     }
 }
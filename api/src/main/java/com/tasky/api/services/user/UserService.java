@@ -1,9 +1,12 @@
 package com.tasky.api.services.user;
 
+import com.tasky.api.dto.deletion.DeletionJobDto;
 import com.tasky.api.dto.user.*;
 import org.springframework.lang.Nullable;
 import org.springframework.security.core.Authentication;
 
+import java.util.Optional;
+
 /**
  * Service interface for managing user-related operations.
  */
@@ -33,11 +36,31 @@ public interface UserService {
     SearchUsersResponse searchUsers(@Nullable SearchUsersRequest request);
 
     /**
-     * Deletes a user from the system based on the unique identifier provided.
+     * Suggests the users whose email, first name or last name start with a text, from an in-memory index.
+     *
+     * @param query The typed text, compared ignoring case and accents.
+     * @param limit The maximum number of users to suggest, 10 if null.
+     * @return A {@link SuggestUsersResponse} containing the suggested users.
+     * @throws com.tasky.api.configurations.errors.BadRequestException If the query is missing or the limit is out of range.
+     */
+    SuggestUsersResponse suggestUsers(String query, @Nullable Integer limit);
+
+    /**
+     * Deletes a user from the system based on the unique identifier provided,
+     * along with the projects it created and the to-dos assigned to it. A large user is deleted in the background.
      *
      * @param id The unique identifier (ID) of the user to be deleted.
+     * @return An Optional containing the job deleting the user in the background, or empty if it is already deleted.
+     */
+    Optional<DeletionJobDto> deleteUserById(Long id);
+
+    /**
+     * Retrieves the status of a job deleting a user in the background.
+     *
+     * @param jobId The unique identifier (ID) of the deletion job.
+     * @return The DeletionJobDto of the job.
      */
-    void deleteUserById(Long id);
+    DeletionJobDto getDeletionJob(Long jobId);
 
     /**
      * Updates a user's information based on the provided {@link UpdateUserRequest}.
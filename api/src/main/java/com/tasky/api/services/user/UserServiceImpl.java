@@ -4,21 +4,31 @@ import com.github.javafaker.Faker;
 import com.tasky.api.configurations.errors.BadRequestException;
 import com.tasky.api.configurations.errors.DuplicationException;
 import com.tasky.api.configurations.errors.NotFoundException;
+import com.tasky.api.dao.Cursor;
+import com.tasky.api.dao.CursorPage;
+import com.tasky.api.dao.deletion.DeletionDao;
 import com.tasky.api.dao.user.UserDao;
 import com.tasky.api.dto.PageableDto;
+import com.tasky.api.dto.deletion.DeletionJobDto;
 import com.tasky.api.dto.user.*;
 import com.tasky.api.mappers.UserDtoMapper;
 import com.tasky.api.models.User;
+import com.tasky.api.services.deletion.DeletionService;
+import com.tasky.api.services.invalidation.Invalidation;
+import com.tasky.api.services.invalidation.InvalidationBus;
+import com.tasky.api.services.membership.MembershipService;
 import com.tasky.api.utilities.JwtUtility;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.lang.Nullable;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -33,12 +43,21 @@ import java.util.Optional;
 @Service
 public class UserServiceImpl implements UserService {
 
+    private static final int DEFAULT_SUGGESTIONS = 10;
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final AuthenticationManager authenticationManager;
     private final JwtUtility jwtUtility;
     private final UserDtoMapper userDtoMapper;
     private final UserDao userDao;
 
     private final PasswordEncoder passwordEncoder;
+    private final TokenVersionService tokenVersionService;
+    private final PrincipalCache principalCache;
+    private final MembershipService membershipService;
+    private final UserSuggestionIndex userSuggestionIndex;
+    private final InvalidationBus invalidationBus;
+    private final DeletionService deletionService;
 
     /**
      * Constructs a UserServiceImpl with the necessary dependencies.
@@ -48,13 +67,24 @@ public class UserServiceImpl implements UserService {
      * @param userDtoMapper The UserDtoMapper for mapping User entities to DTOs.
      * @param userDao The UserDao implementation to use for manipulating user data.
      * @param passwordEncoder The passwordEncoder for perform password encoding.
+     * @param tokenVersionService The TokenVersionService used to revoke tokens on account changes.
+     * @param principalCache The PrincipalCache to invalidate on account changes.
+     * @param userSuggestionIndex The UserSuggestionIndex to keep current on account changes.
+     * @param invalidationBus The InvalidationBus telling the other instances about account changes.
+     * @param deletionService The DeletionService deleting users along with everything they own.
      */
-    public UserServiceImpl(AuthenticationManager authenticationManager, JwtUtility jwtUtility, UserDtoMapper userDtoMapper, UserDao userDao, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(AuthenticationManager authenticationManager, JwtUtility jwtUtility, UserDtoMapper userDtoMapper, UserDao userDao, PasswordEncoder passwordEncoder, TokenVersionService tokenVersionService, PrincipalCache principalCache, MembershipService membershipService, UserSuggestionIndex userSuggestionIndex, InvalidationBus invalidationBus, DeletionService deletionService) {
         this.authenticationManager = authenticationManager;
         this.jwtUtility = jwtUtility;
         this.userDtoMapper = userDtoMapper;
         this.userDao = userDao;
         this.passwordEncoder = passwordEncoder;
+        this.tokenVersionService = tokenVersionService;
+        this.principalCache = principalCache;
+        this.membershipService = membershipService;
+        this.userSuggestionIndex = userSuggestionIndex;
+        this.invalidationBus = invalidationBus;
+        this.deletionService = deletionService;
     }
 
     /**
@@ -76,7 +106,12 @@ public class UserServiceImpl implements UserService {
         User principal = (User) authentication.getPrincipal();
 
         UserDto user = userDtoMapper.apply(principal);
-        String token = jwtUtility.issueToken(user.email(),user.role());
+        String token = jwtUtility.issueToken(
+                user.email(),
+                user.id(),
+                user.role(),
+                principal.getTokenVersion()
+        );
 
         return new UserAuthenticationResponse(token,user);
     }
@@ -134,6 +169,8 @@ public class UserServiceImpl implements UserService {
         );
 
         User createdUser = userDao.insertUser(user);
+        userSuggestionIndex.put(createdUser);
+        invalidationBus.publish(Invalidation.user(createdUser.getId(), createdUser.getEmail()));
 
         UserDto userDto = userDtoMapper.apply(createdUser);
 
@@ -148,6 +185,7 @@ public class UserServiceImpl implements UserService {
      * @throws BadRequestException If the request is invalid or contains incorrect parameters.
      */
     @Override
+    @Transactional(readOnly = true)
     public SearchUsersResponse searchUsers(SearchUsersRequest request) {
         int page = 0;
         int perPage = 10;
@@ -182,8 +220,34 @@ public class UserServiceImpl implements UserService {
             pattern = request.pattern();
         }
 
+        if(request != null && request.after() != null) {
+            Cursor cursor = Cursor.decode(request.after());
+            CursorPage<User> users = switch (type) {
+                case "firstName" -> userDao.selectAllUsersByFirstName(pattern, cursor, perPage);
+                case "lastName" -> userDao.selectAllUsersByLastName(pattern, cursor, perPage);
+                default -> userDao.selectAllUsersByEmail(pattern, cursor, perPage);
+            };
+
+            return new SearchUsersResponse(users.content().stream().map(userDtoMapper).toList(), null, users.nextCursor());
+        }
 
         Pageable pageable = PageRequest.of(page,perPage);
+
+        if(request != null && Boolean.TRUE.equals(request.slice())) {
+            Slice<User> sliceResult = switch (type) {
+                case "firstName" -> userDao.selectAllUsersByFirstNameAsSlice(pattern, pageable);
+                case "lastName" -> userDao.selectAllUsersByLastNameAsSlice(pattern, pageable);
+                default -> userDao.selectAllUsersByEmailAsSlice(pattern, pageable);
+            };
+
+            if(page != 0 && !sliceResult.hasContent()) {
+                stackTrace.add("Page requested does not exists");
+                throw new BadRequestException(stackTrace.toString());
+            }
+
+            return new SearchUsersResponse(sliceResult.getContent().stream().map(userDtoMapper).toList(), PageableDto.of(sliceResult), null);
+        }
+
         Page<User> pageResult = null;
         switch (type) {
             case "email" -> pageResult = userDao.selectAllUsersByEmail(pattern, pageable);
@@ -209,22 +273,73 @@ public class UserServiceImpl implements UserService {
                 .map(userDtoMapper)
                 .toList();
 
-        return new SearchUsersResponse(users,pageableDto);
+        return new SearchUsersResponse(users,pageableDto,null);
     }
 
     /**
+     * Suggests the users whose email, first name or last name start with a text, from an in-memory index.
+     *
+     * @param query The typed text, compared ignoring case and accents.
+     * @param limit The maximum number of users to suggest, 10 if null.
+     * @return A SuggestUsersResponse containing the suggested users.
+     * @throws BadRequestException If the query is missing or the limit is out of range.
+     */
+    @Override
+    public SuggestUsersResponse suggestUsers(String query, @Nullable Integer limit) {
+        List<String> stackTrace = new ArrayList<>();
+
+        if(query == null || query.isBlank()) {
+            stackTrace.add("Missing query");
+        }
+
+        if(limit != null && (limit < 1 || limit > MAX_SUGGESTIONS)) {
+            stackTrace.add("limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+
+        if(!stackTrace.isEmpty()) {
+            throw new BadRequestException(stackTrace.toString());
+        }
+
+        return new SuggestUsersResponse(
+                userSuggestionIndex.suggest(query, limit == null ? DEFAULT_SUGGESTIONS : limit)
+        );
+    }
+
+    /**
+     * Deletes a user, the projects it created and the to-dos assigned to it.
+     * The tokens of the user are revoked at once, even when a large user is deleted in the background.
+     *
      * @param id The unique identifier (ID) of the user to be deleted.
+     * @return An Optional containing the job deleting the user, or empty if the user is already deleted.
+     * @throws NotFoundException If the user with the given ID is not found.
      */
     @Override
-    public void deleteUserById(Long id) {
+    public Optional<DeletionJobDto> deleteUserById(Long id) {
 
-        userDao
+        User user = userDao
                 .selectUserById(id)
                 .orElseThrow(
                         () -> new NotFoundException("User with id "+id+" Not Found")
                 );
 
-        userDao.deleteUserById(id);
+        Optional<DeletionJobDto> job = deletionService.deleteUser(id, user.getEmail());
+        tokenVersionService.revoke(id);
+        principalCache.invalidate(user.getEmail());
+        membershipService.removeUser(id);
+        userSuggestionIndex.remove(id);
+        return job;
+    }
+
+    /**
+     * Retrieves the status of a job deleting a user in the background.
+     *
+     * @param jobId The unique identifier (ID) of the deletion job.
+     * @return The DeletionJobDto of the job.
+     * @throws NotFoundException If no job deleting a user has the given ID.
+     */
+    @Override
+    public DeletionJobDto getDeletionJob(Long jobId) {
+        return deletionService.getJob(jobId, DeletionDao.USER);
     }
 
     /**
@@ -284,8 +399,13 @@ public class UserServiceImpl implements UserService {
         }
 
         user.setUpdatedAt(Timestamp.from(Instant.now()));
+        user.setTokenVersion(user.getTokenVersion() + 1);
 
         User updatedUser = userDao.updateUser(user);
+        tokenVersionService.update(user.getId(), user.getTokenVersion());
+        principalCache.invalidate(user.getEmail());
+        userSuggestionIndex.put(updatedUser);
+        invalidationBus.publish(Invalidation.user(user.getId(), user.getEmail()));
 
         if(passwdChanges) {
             return new UpdateUserResponse(
@@ -317,14 +437,13 @@ public class UserServiceImpl implements UserService {
             throw new BadRequestException(stackTrace.toString());
         }
 
-        User user = (User) authentication.getPrincipal();
-
-
         if(request.oldPassword() == null) {
             stackTrace.add("Missing oldPassword");
             throw new BadRequestException(stackTrace.toString());
         }
 
+        User user = retrieveAuthenticatedUser(authentication);
+
         if(!passwordEncoder.matches(request.oldPassword(), user.getPassword())) {
             stackTrace.add("Wrong oldPassword");
             throw new BadRequestException(stackTrace.toString());
@@ -341,8 +460,12 @@ public class UserServiceImpl implements UserService {
         }
 
         user.setPassword(passwordEncoder.encode(request.newPassword()));
+        user.setTokenVersion(user.getTokenVersion() + 1);
 
         userDao.updateUser(user);
+        tokenVersionService.update(user.getId(), user.getTokenVersion());
+        principalCache.invalidate(user.getEmail());
+        invalidationBus.publish(Invalidation.user(user.getId(), user.getEmail()));
     }
 
     /**
@@ -352,8 +475,9 @@ public class UserServiceImpl implements UserService {
      * @return A {@link UserDto} containing the profile information of the authenticated user.
      */
     @Override
+    @Transactional(readOnly = true)
     public UserDto getProfile(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
+        User user = retrieveAuthenticatedUser(authentication);
         return userDtoMapper.apply(user);
     }
 
@@ -365,6 +489,7 @@ public class UserServiceImpl implements UserService {
      * @throws NotFoundException If the user with the given ID is not found.
      */
     @Override
+    @Transactional(readOnly = true)
     public UserDto getUserById(Long id) {
         User user = userDao
                 .selectUserById(id)
@@ -377,5 +502,23 @@ public class UserServiceImpl implements UserService {
         return userDtoMapper.apply(user);
     }
 
-
+    /**
+     * Loads the authenticated user from the database.
+     * The principal may be a lightweight user built from the token claims,
+     * so the full user is loaded whenever its password or profile is needed.
+     *
+     * @param authentication The authentication object representing the currently authenticated user.
+     * @return The authenticated {@link User}.
+     * @throws NotFoundException If the authenticated user no longer exists.
+     */
+    private User retrieveAuthenticatedUser(Authentication authentication) {
+        User principal = (User) authentication.getPrincipal();
+        return userDao
+                .selectUserById(principal.getId())
+                .orElseThrow(() ->
+                        new NotFoundException(
+                                "User with id %s Not Found".formatted(principal.getId())
+                        )
+                );
+    }
 }
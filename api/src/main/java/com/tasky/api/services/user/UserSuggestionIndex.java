@@ -0,0 +1,368 @@
+package com.tasky.api.services.user;
+
+import com.tasky.api.configurations.datasource.ReadRouting;
+import com.tasky.api.dao.user.UserDao;
+import com.tasky.api.dto.user.UserSuggestionDto;
+import com.tasky.api.models.User;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * In-process typeahead index of the users, answering "whose email or name starts with this text" without querying the database.
+ * Every user contributes its email, its full name and each word of its first name, last name and email local part,
+ * lower-cased and without accents. The words of all users are kept sorted in a single byte array, so a suggestion is a
+ * binary search followed by a scan of the matching words, stopped as soon as enough distinct users are found.
+ * The index is loaded from the database on first use, then kept current by the user service.
+ * Snapshots are never mutated once published, every change replaces them with an updated copy.
+ */
+@Component
+public class UserSuggestionIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final UserDao userDao;
+    private volatile Snapshot snapshot;
+
+    /**
+     * Constructs a UserSuggestionIndex with the specified UserDao.
+     *
+     * @param userDao The UserDao implementation used to load the users on first use.
+     */
+    public UserSuggestionIndex(@Qualifier("JPA") UserDao userDao) {
+        this.userDao = userDao;
+    }
+
+    /**
+     * Suggests the users having a word starting with a text.
+     * Matches are ordered by word, so a user whose word equals the text comes before the continuations of that word.
+     *
+     * @param text The typed text, compared ignoring case and accents.
+     * @param limit The maximum number of users to suggest.
+     * @return The suggested users, without duplicates.
+     */
+    public List<UserSuggestionDto> suggest(String text, int limit) {
+        String prefix = normalize(text);
+        if(prefix.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        return loadedSnapshot().suggest(prefix.getBytes(StandardCharsets.UTF_8), limit);
+    }
+
+    /**
+     * Adds a registered user to the index, or replaces a user whose fields changed.
+     *
+     * @param user The registered or updated user.
+     */
+    public synchronized void put(User user) {
+        if(snapshot != null) {
+            snapshot = snapshot.with(new UserSuggestionDto(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(), user.getRole()));
+        }
+    }
+
+    /**
+     * Removes a deleted user from the index.
+     *
+     * @param userId The unique identifier (ID) of the deleted user.
+     */
+    public synchronized void remove(Long userId) {
+        if(snapshot != null) {
+            snapshot = snapshot.without(userId);
+        }
+    }
+
+    /**
+     * Drops the index, so the users are loaded again on next use.
+     */
+    public synchronized void clear() {
+        snapshot = null;
+    }
+
+    private Snapshot loadedSnapshot() {
+        Snapshot loaded = snapshot;
+        if(loaded == null) {
+            synchronized (this) {
+                if(snapshot == null) {
+                    snapshot = Snapshot.of(ReadRouting.onPrimary(userDao::selectAllUserSuggestions));
+                }
+                loaded = snapshot;
+            }
+        }
+        return loaded;
+    }
+
+    private static String normalize(String text) {
+        if(text == null) {
+            return "";
+        }
+
+        String withoutMarks = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(withoutMarks.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    /**
+     * @return The distinct words of a user, UTF-8 encoded and sorted.
+     */
+    private static byte[][] wordsOf(UserSuggestionDto user) {
+        String email = normalize(user.email());
+        String firstName = normalize(user.firstName());
+        String lastName = normalize(user.lastName());
+
+        Set<String> words = new TreeSet<>();
+        words.add(email);
+        words.add((firstName + " " + lastName).trim());
+        int at = email.indexOf('@');
+        for(String part : List.of(at < 0 ? email : email.substring(0, at), firstName, lastName)) {
+            words.addAll(Arrays.asList(SEPARATORS.split(part)));
+        }
+        words.remove("");
+
+        return words
+                .stream()
+                .map(word -> word.getBytes(StandardCharsets.UTF_8))
+                .sorted(Arrays::compareUnsigned)
+                .toArray(byte[][]::new);
+    }
+
+    /**
+     * An immutable state of the index.
+     * Users are sorted by ID. Word i spans bytes[offsets[i], offsets[i + 1]) and belongs to users[owners[i]].
+     */
+    private static final class Snapshot {
+        private final long[] ids;
+        private final UserSuggestionDto[] users;
+        private final byte[] bytes;
+        private final int[] offsets;
+        private final int[] owners;
+
+        private Snapshot(long[] ids, UserSuggestionDto[] users, byte[] bytes, int[] offsets, int[] owners) {
+            this.ids = ids;
+            this.users = users;
+            this.bytes = bytes;
+            this.offsets = offsets;
+            this.owners = owners;
+        }
+
+        private static Snapshot of(List<UserSuggestionDto> suggestions) {
+            UserSuggestionDto[] users = suggestions
+                    .stream()
+                    .sorted(Comparator.comparing(UserSuggestionDto::id))
+                    .toArray(UserSuggestionDto[]::new);
+            long[] ids = Arrays.stream(users).mapToLong(UserSuggestionDto::id).toArray();
+
+            WordsBuilder unsorted = new WordsBuilder(users.length * 4, users.length * 32);
+            for(int user = 0; user < users.length; user++) {
+                for(byte[] word : wordsOf(users[user])) {
+                    unsorted.add(word, 0, word.length, user);
+                }
+            }
+            Snapshot raw = unsorted.build(ids, users);
+
+            WordsBuilder builder = new WordsBuilder(raw.count(), raw.bytes.length);
+            for(int word : raw.sortedWords()) {
+                builder.add(raw.bytes, raw.offsets[word], raw.offsets[word + 1], raw.owners[word]);
+            }
+            return builder.build(ids, users);
+        }
+
+        private int count() {
+            return owners.length;
+        }
+
+        private List<UserSuggestionDto> suggest(byte[] prefix, int limit) {
+            List<UserSuggestionDto> found = new ArrayList<>(limit);
+            Set<Integer> seen = new HashSet<>();
+
+            for(int word = lowerBound(prefix); word < count() && found.size() < limit && startsWith(word, prefix); word++) {
+                if(seen.add(owners[word])) {
+                    found.add(users[owners[word]]);
+                }
+            }
+            return found;
+        }
+
+        private Snapshot with(UserSuggestionDto user) {
+            return replace(user.id(), user);
+        }
+
+        private Snapshot without(Long userId) {
+            if(Arrays.binarySearch(ids, userId) < 0) {
+                return this;
+            }
+            return replace(userId, null);
+        }
+
+        /**
+         * Copies the snapshot in a single pass, without the words of the user if it is indexed,
+         * and with the words of its replacement if any. Both word lists are sorted, so merging them keeps the result sorted.
+         */
+        private Snapshot replace(long userId, UserSuggestionDto replacement) {
+            int removed = Arrays.binarySearch(ids, userId);
+            byte[][] removedWords = removed < 0 ? new byte[0][] : wordsOf(users[removed]);
+            byte[][] added = replacement == null ? new byte[0][] : wordsOf(replacement);
+
+            long[] remainingIds = ids;
+            UserSuggestionDto[] remainingUsers = users;
+            if(removed >= 0) {
+                remainingIds = new long[ids.length - 1];
+                remainingUsers = new UserSuggestionDto[users.length - 1];
+                System.arraycopy(ids, 0, remainingIds, 0, removed);
+                System.arraycopy(ids, removed + 1, remainingIds, removed, ids.length - removed - 1);
+                System.arraycopy(users, 0, remainingUsers, 0, removed);
+                System.arraycopy(users, removed + 1, remainingUsers, removed, users.length - removed - 1);
+            }
+
+            long[] newIds = remainingIds;
+            UserSuggestionDto[] newUsers = remainingUsers;
+            int position = -(Arrays.binarySearch(remainingIds, userId) + 1);
+            if(replacement != null) {
+                newIds = new long[remainingIds.length + 1];
+                newUsers = new UserSuggestionDto[remainingUsers.length + 1];
+                System.arraycopy(remainingIds, 0, newIds, 0, position);
+                System.arraycopy(remainingIds, position, newIds, position + 1, remainingIds.length - position);
+                System.arraycopy(remainingUsers, 0, newUsers, 0, position);
+                System.arraycopy(remainingUsers, position, newUsers, position + 1, remainingUsers.length - position);
+                newIds[position] = userId;
+                newUsers[position] = replacement;
+            }
+
+            WordsBuilder builder = new WordsBuilder(
+                    count() - removedWords.length + added.length,
+                    bytes.length - length(removedWords) + length(added)
+            );
+            int word = 0;
+            int addedWord = 0;
+            while(word < count() || addedWord < added.length) {
+                if(word < count() && owners[word] == removed) {
+                    word++;
+                    continue;
+                }
+
+                boolean takeExisting = addedWord == added.length || (word < count() && Arrays.compareUnsigned(
+                        bytes, offsets[word], offsets[word + 1],
+                        added[addedWord], 0, added[addedWord].length
+                ) <= 0);
+
+                if(takeExisting) {
+                    int owner = removed >= 0 && owners[word] > removed ? owners[word] - 1 : owners[word];
+                    builder.add(bytes, offsets[word], offsets[word + 1], replacement != null && owner >= position ? owner + 1 : owner);
+                    word++;
+                } else {
+                    builder.add(added[addedWord], 0, added[addedWord].length, position);
+                    addedWord++;
+                }
+            }
+            return builder.build(newIds, newUsers);
+        }
+
+        private static int length(byte[][] words) {
+            return Arrays.stream(words).mapToInt(word -> word.length).sum();
+        }
+
+        /**
+         * @return The indexes of the words in sorted order, computed by a bottom-up merge sort over primitive indexes.
+         */
+        private int[] sortedWords() {
+            int[] order = new int[count()];
+            Arrays.setAll(order, i -> i);
+            int[] merged = new int[order.length];
+
+            for(int width = 1; width < order.length; width *= 2) {
+                for(int low = 0; low < order.length; low += 2 * width) {
+                    int middle = Math.min(low + width, order.length);
+                    int high = Math.min(low + 2 * width, order.length);
+                    int left = low;
+                    int right = middle;
+                    for(int at = low; at < high; at++) {
+                        if(left < middle && (right == high || compareWords(order[left], order[right]) <= 0)) {
+                            merged[at] = order[left++];
+                        } else {
+                            merged[at] = order[right++];
+                        }
+                    }
+                }
+                int[] swap = order;
+                order = merged;
+                merged = swap;
+            }
+            return order;
+        }
+
+        private int compareWords(int a, int b) {
+            return Arrays.compareUnsigned(bytes, offsets[a], offsets[a + 1], bytes, offsets[b], offsets[b + 1]);
+        }
+
+        /**
+         * @return The index of the first word greater than or equal to the prefix.
+         */
+        private int lowerBound(byte[] prefix) {
+            int low = 0;
+            int high = count();
+            while(low < high) {
+                int middle = (low + high) >>> 1;
+                if(Arrays.compareUnsigned(bytes, offsets[middle], offsets[middle + 1], prefix, 0, prefix.length) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private boolean startsWith(int word, byte[] prefix) {
+            int start = offsets[word];
+            return offsets[word + 1] - start >= prefix.length
+                    && Arrays.equals(bytes, start, start + prefix.length, prefix, 0, prefix.length);
+        }
+    }
+
+    /**
+     * Appends words into the arrays of a new snapshot, growing them when the expected sizes are exceeded.
+     */
+    private static final class WordsBuilder {
+        private byte[] bytes;
+        private int[] offsets;
+        private int[] owners;
+        private int count;
+        private int length;
+
+        private WordsBuilder(int maxWords, int maxBytes) {
+            bytes = new byte[maxBytes];
+            offsets = new int[maxWords + 1];
+            owners = new int[maxWords];
+        }
+
+        private void add(byte[] source, int from, int to, int owner) {
+            if(length + to - from > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + to - from));
+            }
+            if(count + 1 >= offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2 + 1);
+                owners = Arrays.copyOf(owners, owners.length * 2 + 1);
+            }
+            System.arraycopy(source, from, bytes, length, to - from);
+            offsets[count] = length;
+            owners[count] = owner;
+            length += to - from;
+            count++;
+        }
+
+        private Snapshot build(long[] ids, UserSuggestionDto[] users) {
+            offsets[count] = length;
+            return new Snapshot(
+                    ids,
+                    users,
+                    length == bytes.length ? bytes : Arrays.copyOf(bytes, length),
+                    count + 1 == offsets.length ? offsets : Arrays.copyOf(offsets, count + 1),
+                    count == owners.length ? owners : Arrays.copyOf(owners, count)
+            );
+        }
+    }
+}
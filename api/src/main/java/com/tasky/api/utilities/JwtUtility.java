@@ -1,6 +1,7 @@
 package com.tasky.api.utilities;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -11,6 +12,7 @@ import java.security.Key;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -19,12 +21,23 @@ import java.util.Map;
 @Service
 public class JwtUtility {
 
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
     @Value("#{'${server.secret_key}'}")
     private String SECRET_KEY;
 
     @Value("#{'${server.issuer}'}")
     private String ISSUER;
 
+    @Value("${server.jwt-cache-size:10000}")
+    private int jwtCacheSize = 10000;
+
+    private volatile Key signInKey;
+    private volatile JwtParser parser;
+    private volatile VerifiedTokenCache verifiedTokenCache;
+
     /**
      * Issues a JWT token with the provided subject and default claims.
      *
@@ -46,6 +59,25 @@ public class JwtUtility {
         return issueToken(subject,Map.of("scopes",scopes));
     }
 
+    /**
+     * Issues a JWT token carrying a compact principal: user id, role and token version.
+     * The role is also kept in the scopes claim for clients reading it.
+     *
+     * @param subject The subject of the token, the user's email.
+     * @param userId The unique identifier (ID) of the user.
+     * @param role The role of the user.
+     * @param tokenVersion The current token version of the user.
+     * @return The issued JWT token.
+     */
+    public String issueToken(String subject, Long userId, String role, Integer tokenVersion) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("scopes", new String[]{role});
+        claims.put(USER_ID_CLAIM, userId);
+        claims.put(ROLE_CLAIM, role);
+        claims.put(TOKEN_VERSION_CLAIM, tokenVersion);
+        return issueToken(subject, claims);
+    }
+
     /**
      * Issues a JWT token with the provided subject and custom claims.
      *
@@ -89,6 +121,38 @@ public class JwtUtility {
         return claims.getExpiration();
     }
 
+    /**
+     * Retrieves the user id carried by verified claims.
+     *
+     * @param claims The verified claims of the token.
+     * @return The user id, or null if the token does not carry one.
+     */
+    public Long getUserId(Claims claims) {
+        return claims.get(USER_ID_CLAIM, Long.class);
+    }
+
+    /**
+     * Retrieves the role carried by verified claims.
+     *
+     * @param claims The verified claims of the token.
+     * @return The role, or null if the token does not carry one.
+     */
+    public String getRole(Claims claims) {
+        return claims.get(ROLE_CLAIM, String.class);
+    }
+
+    /**
+     * Retrieves the token version carried by verified claims.
+     * Tokens issued before versioning are considered to carry the initial version.
+     *
+     * @param claims The verified claims of the token.
+     * @return The token version.
+     */
+    public Integer getTokenVersion(Claims claims) {
+        Integer tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+        return tokenVersion == null ? 0 : tokenVersion;
+    }
+
     /**
      * Retrieves the claims from a JWT token.
      *
@@ -96,21 +160,66 @@ public class JwtUtility {
      * @return The claims of the token.
      */
     public Claims getClaims (String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return getParser()
                 .parseClaimsJws(token)
                 .getBody();
     }
 
+    /**
+     * Verifies a JWT token once and returns its claims.
+     * Tokens already verified and not yet expired are served from the verified-token cache,
+     * so repeated requests with the same token skip parsing and signature work.
+     *
+     * @param token The JWT token.
+     * @return The verified claims of the token.
+     * @throws io.jsonwebtoken.JwtException If the token is malformed, expired or wrongly signed.
+     */
+    public Claims verifyToken(String token) {
+        VerifiedTokenCache cache = getVerifiedTokenCache();
+        return cache.get(token).orElseGet(() -> {
+            Claims claims = getClaims(token);
+            cache.put(token, claims);
+            return claims;
+        });
+    }
+
     /**
      * Retrieves the signing key for JWT token generation.
      *
      * @return The signing key used for creating JWT tokens.
      */
     private Key getSignInKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+        if(signInKey == null) {
+            signInKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+        }
+        return signInKey;
+    }
+
+    /**
+     * Retrieves the parser used to verify JWT tokens, built once from the signing key.
+     *
+     * @return The JwtParser bound to the signing key.
+     */
+    private JwtParser getParser() {
+        if(parser == null) {
+            parser = Jwts
+                    .parserBuilder()
+                    .setSigningKey(getSignInKey())
+                    .build();
+        }
+        return parser;
+    }
+
+    /**
+     * Retrieves the cache of already verified tokens.
+     *
+     * @return The VerifiedTokenCache instance.
+     */
+    private VerifiedTokenCache getVerifiedTokenCache() {
+        if(verifiedTokenCache == null) {
+            verifiedTokenCache = new VerifiedTokenCache(jwtCacheSize);
+        }
+        return verifiedTokenCache;
     }
 
     /**
@@ -121,18 +230,27 @@ public class JwtUtility {
      * @return True if the token is valid for the user, false otherwise.
      */
     public Boolean isTokenValid(String jwt, String username) {
-        String subject = getSubject(jwt);
+        return isTokenValid(verifyToken(jwt), username);
+    }
 
-        return subject.equals(username) && !isTokenExpired(jwt);
+    /**
+     * Checks if already verified claims are valid for a specific user.
+     *
+     * @param claims The verified claims of the token.
+     * @param username The username to be checked against the token's subject.
+     * @return True if the claims are valid for the user, false otherwise.
+     */
+    public Boolean isTokenValid(Claims claims, String username) {
+        return claims.getSubject().equals(username) && !isTokenExpired(claims);
     }
 
     /**
-     * Checks if a JWT token has expired.
+     * Checks if verified claims have expired.
      *
-     * @param jwt The JWT token to be checked.
+     * @param claims The claims to be checked.
      * @return True if the token has expired, false if it is still valid.
      */
-    private Boolean isTokenExpired(String jwt) {
-        return getClaims(jwt).getExpiration().before(Date.from(Instant.now()));
+    private Boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(Date.from(Instant.now()));
     }
 }
@@ -0,0 +1,110 @@
+package com.tasky.api.utilities;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded, expiry-aware cache of JWT claims that already passed signature verification.
+ * Entries are keyed by a SHA-256 digest of the token so raw bearer tokens are never retained in memory.
+ */
+public class VerifiedTokenCache {
+
+    private final int maxSize;
+    private final Map<String, Claims> entries;
+
+    /**
+     * Constructs a VerifiedTokenCache holding at most {@code maxSize} tokens.
+     * A size of zero or less disables caching.
+     *
+     * @param maxSize The maximum number of verified tokens to keep.
+     */
+    public VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+                return size() > VerifiedTokenCache.this.maxSize;
+            }
+        });
+    }
+
+    /**
+     * Retrieves the verified claims of a token if it is cached and not yet expired.
+     *
+     * @param token The JWT token.
+     * @return An Optional containing the cached claims, or empty if absent or expired.
+     */
+    public Optional<Claims> get(String token) {
+        if(maxSize <= 0) {
+            return Optional.empty();
+        }
+
+        String key = digest(token);
+        Claims claims = entries.get(key);
+
+        if(claims == null) {
+            return Optional.empty();
+        }
+
+        if(isExpired(claims)) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+
+        return Optional.of(claims);
+    }
+
+    /**
+     * Stores the claims of a token whose signature has been verified.
+     *
+     * @param token The JWT token.
+     * @param claims The verified claims of the token.
+     */
+    public void put(String token, Claims claims) {
+        if(maxSize <= 0 || isExpired(claims)) {
+            return;
+        }
+
+        entries.put(digest(token), claims);
+    }
+
+    /**
+     * Removes every cached token.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Retrieves the number of tokens currently cached.
+     *
+     * @return The number of cached tokens.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
+    }
+
+    private String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+-- The number of to-dos of each feature by status and type, so that the progress of a run or a project is read
+-- from a few rows per feature instead of counting its to-dos.
+-- The writers of to-dos add their changes to these counts in their own transaction, and a reconciliation job
+-- rebuilds them from the to-dos, correcting the drift left by the deletions cascaded from other tables.
+create table if not exists feature_to_do_count (
+    feature_id bigint references feature(id) on delete cascade not null,
+    status text not null,
+    type text not null,
+    to_dos bigint not null default 0,
+    primary key (feature_id, status, type)
+);
+
+insert into feature_to_do_count (feature_id, status, type, to_dos)
+select feature_id, status, type, count(*)
+from to_do
+group by feature_id, status, type
+on conflict (feature_id, status, type) do update set to_dos = excluded.to_dos;
@@ -0,0 +1,47 @@
+-- Every change of status of the to-dos of a run, appended in the transaction of the change: a creation has no
+-- previous status and a deletion no next one. The log is not tied to the to-dos by a foreign key, so it outlives them.
+create table if not exists to_do_transition (
+    id bigserial primary key,
+    to_do_id bigint not null,
+    run_id bigint references run(id) on delete cascade not null,
+    from_status text CHECK ( from_status in ('New', 'In progress', 'Completed') ),
+    to_status text CHECK ( to_status in ('New', 'In progress', 'Completed') ),
+    created_at timestamp default CURRENT_TIMESTAMP not null
+);
+
+create index if not exists to_do_transition_run_id_created_at_idx on to_do_transition (run_id, created_at);
+create index if not exists to_do_transition_created_at_idx on to_do_transition (created_at);
+
+-- The number of to-dos of each status of a run at the end of a day, rolled up from the log of the day and the
+-- previous snapshot of the run. A run only gets a snapshot on the days its to-dos changed.
+create table if not exists run_burndown (
+    run_id bigint references run(id) on delete cascade not null,
+    day date not null,
+    status text not null,
+    to_dos bigint not null,
+    primary key (run_id, day, status)
+);
+
+-- The last day rolled up into the snapshots, the log of the following days being read as is.
+create table if not exists run_burndown_rollup (
+    id bool primary key default true CHECK ( id ),
+    rolled_up_to date not null
+);
+
+-- The to-dos existing before the log are logged as created with their to-do, then moved to their current status
+-- on their last update, their intermediate changes being unknown.
+insert into to_do_transition (to_do_id, run_id, from_status, to_status, created_at)
+select t.id, f.run_id, null, 'New', t.created_at
+from to_do t
+join feature f on f.id = t.feature_id
+where f.run_id is not null
+union all
+select t.id, f.run_id, 'New', t.status, t.updated_at
+from to_do t
+join feature f on f.id = t.feature_id
+where f.run_id is not null and t.status <> 'New';
+
+insert into run_burndown_rollup (rolled_up_to)
+select coalesce(min(created_at)::date, CURRENT_DATE) - 1
+from to_do_transition
+on conflict do nothing;
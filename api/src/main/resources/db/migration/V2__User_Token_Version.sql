@@ -0,0 +1 @@
+alter table user_account add column if not exists token_version integer default 0 not null;
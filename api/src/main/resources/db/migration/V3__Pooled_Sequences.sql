@@ -0,0 +1,6 @@
+alter sequence user_account_id_seq increment by 50;
+alter sequence project_id_seq increment by 50;
+alter sequence run_id_seq increment by 50;
+alter sequence feature_id_seq increment by 50;
+alter sequence to_do_id_seq increment by 50;
+alter sequence comment_id_seq increment by 50;
@@ -0,0 +1,11 @@
+-- Keyset searches order their rows by (sort key, id) inside the parent they are scoped to.
+-- These indexes follow that order, so a page is read by a range scan starting at the cursor.
+create index if not exists project_name_id_idx on project (name, id);
+create index if not exists run_project_id_name_id_idx on run (project_id, name, id);
+create index if not exists feature_run_id_name_id_idx on feature (run_id, name, id);
+create index if not exists to_do_feature_id_name_id_idx on to_do (feature_id, name, id);
+create index if not exists to_do_user_id_name_id_idx on to_do (user_id, name, id);
+create index if not exists comment_to_do_id_name_id_idx on comment (to_do_id, name, id);
+create index if not exists user_account_email_id_idx on user_account (email, id);
+create index if not exists user_account_first_name_id_idx on user_account (first_name, id);
+create index if not exists user_account_last_name_id_idx on user_account (last_name, id);
@@ -0,0 +1,59 @@
+-- Full-text search: a weighted tsvector per searchable row, names weighted above descriptions and contents.
+-- The vectors are kept current by triggers, so that every writer (JPA, bulk import) maintains them.
+
+create or replace function search_vector_of_description() returns trigger as $$
+begin
+    new.search_vector :=
+        setweight(to_tsvector('english', coalesce(new.name, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(new.description, '')), 'B');
+    return new;
+end
+$$ language plpgsql;
+
+create or replace function search_vector_of_content() returns trigger as $$
+begin
+    new.search_vector :=
+        setweight(to_tsvector('english', coalesce(new.name, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(new.content, '')), 'B');
+    return new;
+end
+$$ language plpgsql;
+
+alter table project add column search_vector tsvector;
+alter table run add column search_vector tsvector;
+alter table feature add column search_vector tsvector;
+alter table to_do add column search_vector tsvector;
+alter table comment add column search_vector tsvector;
+
+update project set search_vector =
+    setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'B');
+update run set search_vector =
+    setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'B');
+update feature set search_vector =
+    setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'B');
+update to_do set search_vector =
+    setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'B');
+update comment set search_vector =
+    setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(content, '')), 'B');
+
+create trigger project_search_vector before insert or update of name, description on project
+    for each row execute function search_vector_of_description();
+create trigger run_search_vector before insert or update of name, description on run
+    for each row execute function search_vector_of_description();
+create trigger feature_search_vector before insert or update of name, description on feature
+    for each row execute function search_vector_of_description();
+create trigger to_do_search_vector before insert or update of name, description on to_do
+    for each row execute function search_vector_of_description();
+create trigger comment_search_vector before insert or update of name, content on comment
+    for each row execute function search_vector_of_content();
+
+create index project_search_vector_idx on project using gin (search_vector);
+create index run_search_vector_idx on run using gin (search_vector);
+create index feature_search_vector_idx on feature using gin (search_vector);
+create index to_do_search_vector_idx on to_do using gin (search_vector);
+create index comment_search_vector_idx on comment using gin (search_vector);
@@ -0,0 +1,12 @@
+-- Substring searches match upper(column) like upper('%pattern%'), which no B-tree index can serve.
+-- These trigram indexes on the same expressions turn them into bitmap index scans, whatever the position of the pattern.
+create extension if not exists pg_trgm;
+
+create index if not exists project_name_trgm_idx on project using gin (upper(name) gin_trgm_ops);
+create index if not exists run_name_trgm_idx on run using gin (upper(name) gin_trgm_ops);
+create index if not exists feature_name_trgm_idx on feature using gin (upper(name) gin_trgm_ops);
+create index if not exists to_do_name_trgm_idx on to_do using gin (upper(name) gin_trgm_ops);
+create index if not exists comment_name_trgm_idx on comment using gin (upper(name) gin_trgm_ops);
+create index if not exists user_account_email_trgm_idx on user_account using gin (upper(email) gin_trgm_ops);
+create index if not exists user_account_first_name_trgm_idx on user_account using gin (upper(first_name) gin_trgm_ops);
+create index if not exists user_account_last_name_trgm_idx on user_account using gin (upper(last_name) gin_trgm_ops);
@@ -0,0 +1,6 @@
+-- Every foreign key needs an index starting with its column, to serve the lists of the children of a row,
+-- the collections Hibernate loads before removing an entity, and the ON DELETE CASCADE of the parent.
+-- run.project_id, feature.run_id, to_do.feature_id, to_do.user_id and comment.to_do_id already lead the keyset indexes of V4.
+create index if not exists feature_project_id_name_id_idx on feature (project_id, name, id);
+create index if not exists project_created_by_idx on project (created_by);
+create index if not exists user_account_project_project_id_user_account_id_idx on user_account_project (project_id, user_account_id);
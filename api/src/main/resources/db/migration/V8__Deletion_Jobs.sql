@@ -0,0 +1,17 @@
+-- Deletions of large project and user trees run in the background, in bounded chunks.
+-- A job is not tied to the deleted row by a foreign key, so it outlives it and any instance can report its status.
+create table if not exists deletion_job (
+    id bigserial primary key,
+    resource text not null CHECK ( resource in ('project', 'user') ),
+    resource_id bigint not null,
+    status text not null default 'Pending' CHECK ( status in ('Pending', 'Running', 'Completed', 'Failed') ),
+    total_rows bigint not null default 0,
+    deleted_rows bigint not null default 0,
+    error text,
+    created_at timestamp default CURRENT_TIMESTAMP not null,
+    updated_at timestamp default CURRENT_TIMESTAMP not null
+);
+
+-- At most one unfinished job per deleted row.
+create unique index if not exists deletion_job_active_resource_idx on deletion_job (resource, resource_id)
+    where status in ('Pending', 'Running');
@@ -0,0 +1,7 @@
+-- The rows updated by PATCH carry a version, incremented by every update and checked by its where clause,
+-- so that of two concurrent updates of a row the second one fails instead of silently overwriting the first.
+alter table project add column if not exists version integer default 0 not null;
+alter table run add column if not exists version integer default 0 not null;
+alter table feature add column if not exists version integer default 0 not null;
+alter table to_do add column if not exists version integer default 0 not null;
+alter table comment add column if not exists version integer default 0 not null;
@@ -0,0 +1,232 @@
+package com.tasky.api.configurations.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests of the read replica routing, against a primary and a streaming replica.
+ * Every read reports whether it was served by the replica, which is the only server in recovery.
+ */
+@Testcontainers
+class ReadReplicaRoutingTest {
+
+    private static final String IN_RECOVERY = "select pg_is_in_recovery()";
+    private static final String APPLICATION_NAME = "select current_setting('application_name')";
+    private static final Network NETWORK = Network.newNetwork();
+
+    @Container
+    private static final GenericContainer<?> primary = new GenericContainer<>("bitnami/postgresql:15")
+            .withNetwork(NETWORK)
+            .withNetworkAliases("primary")
+            .withEnv("POSTGRESQL_REPLICATION_MODE", "master")
+            .withEnv("POSTGRESQL_REPLICATION_USER", "replicator")
+            .withEnv("POSTGRESQL_REPLICATION_PASSWORD", "password")
+            .withEnv("POSTGRESQL_USERNAME", "postgres")
+            .withEnv("POSTGRESQL_PASSWORD", "password")
+            .withEnv("POSTGRESQL_DATABASE", "tasky")
+            .withExposedPorts(5432)
+            .waitingFor(Wait.forLogMessage(".*ready to accept connections.*", 1));
+
+    @Container
+    private static final GenericContainer<?> replica = new GenericContainer<>("bitnami/postgresql:15")
+            .withNetwork(NETWORK)
+            .dependsOn(primary)
+            .withEnv("POSTGRESQL_REPLICATION_MODE", "slave")
+            .withEnv("POSTGRESQL_REPLICATION_USER", "replicator")
+            .withEnv("POSTGRESQL_REPLICATION_PASSWORD", "password")
+            .withEnv("POSTGRESQL_MASTER_HOST", "primary")
+            .withEnv("POSTGRESQL_MASTER_PORT_NUMBER", "5432")
+            .withEnv("POSTGRESQL_PASSWORD", "password")
+            .withExposedPorts(5432)
+            .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1));
+
+    private HikariDataSource primaryDataSource;
+    private ReplicaHealthMonitor replicaHealthMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private JdbcTemplate replicaJdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate writeTransaction;
+
+    @BeforeEach
+    void setUp() {
+        primaryDataSource = pool(primary, "primary");
+        HikariDataSource replicaDataSource = pool(replica, "replica-0");
+        HikariDataSource unreachableDataSource = pool(replica, "replica-1");
+        unreachableDataSource.setJdbcUrl("jdbc:postgresql://localhost:1/tasky");
+        unreachableDataSource.setConnectionTimeout(250);
+        HikariDataSource secondReplicaDataSource = pool(replica, "replica-2");
+
+        replicaHealthMonitor = new ReplicaHealthMonitor(
+                List.of(replicaDataSource, unreachableDataSource, secondReplicaDataSource), 1, 100
+        );
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(primaryDataSource, replicaHealthMonitor)
+        );
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+
+        new JdbcTemplate(primaryDataSource).execute("create table if not exists probe (id bigserial primary key)");
+        awaitUntil(() -> !replicaIsLagging());
+        awaitUntil(() -> replicaHealthMonitor.pick().isPresent());
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        replicaJdbcTemplate.queryForList("select pg_wal_replay_resume()");
+        replicaHealthMonitor.close();
+        primaryDataSource.close();
+    }
+
+    @Test
+    void readOnlyTransactionsOfGetRequestsShouldBeServedByTheReplica() {
+        startRequest("GET");
+
+        for(int i = 0; i < 4; i++) {
+            assertTrue(servedByReplica(readOnlyTransaction));
+        }
+    }
+
+    /**
+     * Tests that the read-only transactions of a request are served by the replica picked on the first one,
+     * while the next request picks the next healthy replica.
+     */
+    @Test
+    void readOnlyTransactionsOfARequestShouldBeServedByTheSameReplica() {
+        // GIVEN
+        replicaHealthMonitor.checkAll();
+        startRequest("GET");
+
+        // WHEN
+        String first = servingPool(readOnlyTransaction);
+        String second = servingPool(readOnlyTransaction);
+        startRequest("GET");
+        String next = servingPool(readOnlyTransaction);
+
+        // THEN
+        assertTrue(first.startsWith("replica-"));
+        assertEquals(first, second);
+        assertTrue(next.startsWith("replica-"));
+        assertNotEquals(first, next);
+    }
+
+    @Test
+    void writesAndReadsOutsideGetRequestsShouldBeServedByThePrimary() {
+        assertFalse(servedByReplica(readOnlyTransaction));
+
+        startRequest("PATCH");
+        assertFalse(servedByReplica(readOnlyTransaction));
+
+        startRequest("GET");
+        assertFalse(servedByReplica(writeTransaction));
+        assertFalse(inRecovery());
+    }
+
+    @Test
+    void readsFollowingAWriteInTheSameRequestShouldBeServedByThePrimary() {
+        startRequest("GET");
+        Long id = writeTransaction.execute(status -> jdbcTemplate.queryForObject("insert into probe default values returning id", Long.class));
+
+        assertFalse(servedByReplica(readOnlyTransaction));
+        Integer count = readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject("select count(*) from probe where id = ?", Integer.class, id));
+        assertEquals(1, count);
+
+        startRequest("GET");
+        assertTrue(servedByReplica(readOnlyTransaction));
+    }
+
+    @Test
+    void readsForcedOnThePrimaryShouldBeServedByThePrimary() {
+        startRequest("GET");
+
+        assertFalse(ReadRouting.onPrimary(() -> servedByReplica(readOnlyTransaction)));
+    }
+
+    @Test
+    void laggingReplicaShouldStopServingReadsUntilItCatchesUp() {
+        startRequest("GET");
+        replicaJdbcTemplate.queryForList("select pg_wal_replay_pause()");
+        new JdbcTemplate(primaryDataSource).update("insert into probe default values");
+
+        awaitUntil(() -> replicaHealthMonitor.pick().isEmpty());
+        assertFalse(servedByReplica(readOnlyTransaction));
+
+        replicaJdbcTemplate.queryForList("select pg_wal_replay_resume()");
+
+        awaitUntil(() -> replicaHealthMonitor.pick().isPresent());
+        assertFalse(servedByReplica(readOnlyTransaction));
+
+        startRequest("GET");
+        assertTrue(servedByReplica(readOnlyTransaction));
+    }
+
+    private boolean servedByReplica(TransactionTemplate transaction) {
+        return Boolean.TRUE.equals(transaction.execute(status -> inRecovery()));
+    }
+
+    private String servingPool(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbcTemplate.queryForObject(APPLICATION_NAME, String.class));
+    }
+
+    private boolean inRecovery() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IN_RECOVERY, Boolean.class));
+    }
+
+    private boolean replicaIsLagging() {
+        return Boolean.TRUE.equals(replicaJdbcTemplate.queryForObject(
+                "select pg_last_wal_receive_lsn() is distinct from pg_last_wal_replay_lsn()",
+                Boolean.class
+        ));
+    }
+
+    private static void startRequest(String method) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(method, "/")));
+    }
+
+    private static HikariDataSource pool(GenericContainer<?> container, String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl("jdbc:postgresql://%s:%d/tasky".formatted(container.getHost(), container.getMappedPort(5432)));
+        dataSource.setUsername("postgres");
+        dataSource.setPassword("password");
+        dataSource.addDataSourceProperty("ApplicationName", name);
+        return dataSource;
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 30000;
+        while(!condition.getAsBoolean()) {
+            if(System.currentTimeMillis() > deadline) {
+                fail("Condition not met in time");
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+}
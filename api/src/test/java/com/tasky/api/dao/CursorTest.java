@@ -0,0 +1,64 @@
+package com.tasky.api.dao;
+
+import com.tasky.api.configurations.errors.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link Cursor} and {@link CursorPage} records.
+ */
+class CursorTest {
+
+    /**
+     * Tests that a decoded token gives back the encoded cursor, even when the key contains the separator.
+     */
+    @Test
+    void decodeShouldReturnEncodedCursor() {
+        // GIVEN
+        Cursor cursor = new Cursor("release: 1.0 / été", 150L);
+
+        // WHEN
+        Cursor decoded = Cursor.decode(cursor.encode());
+
+        // THEN
+        assertEquals(cursor, decoded);
+    }
+
+    /**
+     * Tests that an empty token is the position before the first row.
+     */
+    @Test
+    void decodeShouldReturnFirstCursorForEmptyToken() {
+        assertEquals(Cursor.FIRST, Cursor.decode(""));
+        assertEquals(Cursor.FIRST, Cursor.decode(null));
+    }
+
+    /**
+     * Tests that a token that was not built by the API is rejected.
+     */
+    @Test
+    void decodeShouldThrowBadRequestForInvalidToken() {
+        assertThrows(BadRequestException.class, () -> Cursor.decode("not a cursor"));
+        assertThrows(BadRequestException.class, () -> Cursor.decode("bm8tc2VwYXJhdG9y"));
+    }
+
+    /**
+     * Tests that the extra row fetched is dropped and gives the cursor of the next page.
+     */
+    @Test
+    void pageShouldDropExtraRowAndPointAfterLastRow() {
+        // WHEN
+        CursorPage<String> page = CursorPage.of(List.of("a", "b", "c"), 2, row -> new Cursor(row, 1L));
+        CursorPage<String> lastPage = CursorPage.of(List.of("a", "b"), 2, row -> new Cursor(row, 1L));
+
+        // THEN
+        assertEquals(List.of("a", "b"), page.content());
+        assertEquals(new Cursor("b", 1L), page.next());
+        assertEquals(new Cursor("b", 1L), Cursor.decode(page.nextCursor()));
+        assertEquals(List.of("a", "b"), lastPage.content());
+        assertNull(lastPage.nextCursor());
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.data.domain.Pageable;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 import static org.mockito.Mockito.verify;
 
@@ -50,6 +51,36 @@ class CommentDaoImplTest {
         verify(commentRepository).save(comment);
     }
 
+    @Test
+    void createComments() {
+        User user = new User("firstname","lastname","email","password");
+        user.setId(1L);
+
+        Project project = new Project(
+                "name",
+                Timestamp.from(Instant.now().plus(30, ChronoUnit.DAYS)),
+                user
+        );
+
+        project.setId(1L);
+
+        Feature feature = new Feature("feature","desc",project);
+
+        feature.setId(1L);
+
+        ToDo toDo = new ToDo("name","BUG","description",feature,user);
+        toDo.setId(1L);
+
+        List<Comment> comments = List.of(
+                new Comment("first","content",toDo),
+                new Comment("second","content",toDo)
+        );
+
+        underTest.createComments(comments);
+
+        verify(commentRepository).saveAll(comments);
+    }
+
     @Test
     void selectCommentById() {
         Long commentId = 1L;
@@ -114,9 +145,9 @@ class CommentDaoImplTest {
         String pattern = "tzateztzt";
         Pageable pageable = PageRequest.of(1,2);
 
-        underTest.selectAllCommentForTodoWhereNameContains(toDo,pattern,pageable);
+        underTest.selectAllCommentForTodoWhereNameContains(toDo.getId(),pattern,pageable);
 
-        verify(commentRepository).getAllByToDoIsAndNameContaining(toDo,pattern,pageable);
+        verify(commentRepository).getAllByToDoIsAndNameContainingIgnoreCase(toDo.getId(),pattern,pageable);
     }
 
     @Test
@@ -142,9 +173,29 @@ class CommentDaoImplTest {
         String pattern = "tzateztzt";
         Pageable pageable = PageRequest.of(1,2);
 
-        underTest.selectAllCommentForTodoWhereContentContains(toDo,pattern,pageable);
+        underTest.selectAllCommentForTodoWhereContentContains(toDo.getId(),pattern,pageable);
+
+        verify(commentRepository).getAllByToDoIsAndContentContainingIgnoreCase(toDo.getId(),pattern,pageable);
+
+    }
+
+    @Test
+    void selectCommentByIdForMember() {
+        Long commentId = 1L;
+        Long userId = 2L;
+
+        underTest.selectCommentByIdForMember(commentId, userId);
+
+        verify(commentRepository).findByIdForMember(commentId, userId);
+    }
+
+    @Test
+    void selectCommentDtoByIdForMember() {
+        Long commentId = 1L;
+        Long userId = 2L;
 
-        verify(commentRepository).getAllByToDoIsAndContentContaining(toDo,pattern,pageable);
+        underTest.selectCommentDtoByIdForMember(commentId, userId);
 
+        verify(commentRepository).findDtoByIdForMember(commentId, userId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,224 @@
+package com.tasky.api.dao.deletion;
+
+import com.tasky.api.AbstractTestContainer;
+import com.tasky.api.dao.importer.ImportDaoImpl;
+import com.tasky.api.dto.deletion.DeletionJobDto;
+import com.tasky.api.dto.importer.ImportRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests of the chunked {@link DeletionDaoImpl}.
+ * Every test imports a project of 2 runs, 2 features, 3 to-dos and 2 comments, one of its to-dos being assigned to a member
+ * who also created a project of its own.
+ */
+@DataJpaTest
+@Import({DeletionDaoImpl.class, ImportDaoImpl.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DeletionDaoImplTest extends AbstractTestContainer {
+
+    private static final String COUNT_PROJECT_ROWS = """
+            select (select count(*) from run where project_id = ?)
+                + (select count(*) from feature where project_id = ?)
+                + (select count(*) from to_do t join feature f on f.id = t.feature_id where f.project_id = ?)
+                + (select count(*) from comment c join to_do t on t.id = c.to_do_id join feature f on f.id = t.feature_id where f.project_id = ?)
+            """;
+
+    private static final String COUNT_LOGGED_DELETIONS = """
+            select count(*) from to_do_transition tt
+            join run r on r.id = tt.run_id
+            where r.project_id = ? and tt.to_status is null
+            """;
+
+    @Autowired private DeletionDaoImpl underTest;
+    @Autowired private ImportDaoImpl importDao;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Long projectId;
+    private Long memberProjectId;
+    private Long ownerId;
+    private Long memberId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from deletion_job");
+        String owner = FAKER.internet().emailAddress();
+        String member = FAKER.internet().emailAddress();
+        String name = UUID.randomUUID().toString();
+        ownerId = insertUser(owner);
+        memberId = insertUser(member);
+
+        importDao.importRecords(List.of(
+                new ImportRecord("project", "p", null, name, null, null, null, null, owner, 1700000000L, null, null),
+                new ImportRecord("run", "r1", "p", "run", null, null, null, null, null, null, 1700000000L, 1700100000L),
+                new ImportRecord("run", "r2", "p", "run", null, null, null, null, null, null, 1700000000L, 1700100000L),
+                new ImportRecord("feature", "f1", "r1", "feature", null, null, null, null, null, null, null, null),
+                new ImportRecord("feature", "f2", "r2", "feature", null, null, null, null, null, null, null, null),
+                new ImportRecord("toDo", "t1", "f1", "first", null, "bug", null, null, owner, null, null, null),
+                new ImportRecord("toDo", "t2", "f1", "second", null, "task", null, null, member, null, null, null),
+                new ImportRecord("toDo", "t3", "f2", "third", null, "task", null, null, null, null, null, null),
+                new ImportRecord("comment", "c1", "t1", "comment", null, null, null, "first", null, null, null, null),
+                new ImportRecord("comment", "c2", "t2", "comment", null, null, null, "second", null, null, null, null),
+                new ImportRecord("project", "m", null, name + "-member", null, null, null, null, member, 1700000000L, null, null),
+                new ImportRecord("run", "mr", "m", "run", null, null, null, null, null, null, 1700000000L, 1700100000L)
+        ).iterator());
+
+        projectId = jdbcTemplate.queryForObject("select id from project where name = ?", Long.class, name);
+        memberProjectId = jdbcTemplate.queryForObject("select id from project where name = ?", Long.class, name + "-member");
+    }
+
+    /**
+     * Tests that the rows of a project are counted, and that counting stops at the limit.
+     */
+    @Test
+    void shouldCountTheRowsOfAProjectUpToTheLimit() {
+        assertEquals(9, underTest.countProjectRows(projectId, 100));
+        assertEquals(4, underTest.countProjectRows(projectId, 4));
+    }
+
+    /**
+     * Tests that the rows of a user are counted: its project and run, the to-do assigned to it and its comment.
+     */
+    @Test
+    void shouldCountTheRowsOfAUser() {
+        assertEquals(4, underTest.countUserRows(memberId, 100));
+    }
+
+    /**
+     * Tests that a project is deleted in bounded chunks, leaves first, until only the project row is left.
+     */
+    @Test
+    void shouldDeleteAProjectInChunksLeavesFirst() {
+        // WHEN
+        int first = underTest.deleteProjectChunk(projectId, 2);
+        Long comments = jdbcTemplate.queryForObject(
+                "select count(*) from comment c join to_do t on t.id = c.to_do_id join feature f on f.id = t.feature_id where f.project_id = ?",
+                Long.class,
+                projectId
+        );
+        int total = first;
+        int deleted;
+        while((deleted = underTest.deleteProjectChunk(projectId, 2)) > 0) {
+            assertTrue(deleted <= 2);
+            total += deleted;
+        }
+
+        // THEN
+        assertEquals(2, first);
+        assertEquals(0, comments);
+        assertEquals(9, total);
+        assertEquals(0, jdbcTemplate.queryForObject(COUNT_PROJECT_ROWS, Long.class, projectId, projectId, projectId, projectId));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from project where id = ?", Long.class, projectId));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from run where project_id = ?", Long.class, memberProjectId));
+    }
+
+    /**
+     * Tests that a user is deleted in chunks: its projects, the to-dos assigned to it and their comments,
+     * leaving the projects of other users and the user row itself, the deleted to-dos leaving the counts and the burndowns.
+     */
+    @Test
+    void shouldDeleteAUserInChunks() {
+        // WHEN
+        int total = 0;
+        int deleted;
+        while((deleted = underTest.deleteUserChunk(memberId, 1)) > 0) {
+            total += deleted;
+        }
+
+        // THEN
+        assertEquals(4, total);
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from project where created_by = ?", Long.class, memberId));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from to_do where user_id = ?", Long.class, memberId));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from user_account where id = ?", Long.class, memberId));
+        assertEquals(7, jdbcTemplate.queryForObject(COUNT_PROJECT_ROWS, Long.class, projectId, projectId, projectId, projectId));
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "select sum(c.to_dos) from feature_to_do_count c join feature f on f.id = c.feature_id where f.project_id = ?",
+                Long.class,
+                projectId
+        ));
+        assertEquals(1, jdbcTemplate.queryForObject(COUNT_LOGGED_DELETIONS, Long.class, projectId));
+    }
+
+    /**
+     * Tests that the to-dos assigned to a user are deleted along with their comments, leaving the counts of their features
+     * and the burndowns of their runs.
+     */
+    @Test
+    void shouldDeleteTheToDosOfAUser() {
+        // WHEN
+        int deleted = underTest.deleteToDosOfUser(memberId);
+
+        // THEN
+        assertEquals(1, deleted);
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from to_do where user_id = ?", Long.class, memberId));
+        assertEquals(7, jdbcTemplate.queryForObject(COUNT_PROJECT_ROWS, Long.class, projectId, projectId, projectId, projectId));
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "select sum(c.to_dos) from feature_to_do_count c join feature f on f.id = c.feature_id where f.project_id = ?",
+                Long.class,
+                projectId
+        ));
+        assertEquals(1, jdbcTemplate.queryForObject(COUNT_LOGGED_DELETIONS, Long.class, projectId));
+    }
+
+    /**
+     * Tests that a disabled user has a new token version and no password.
+     */
+    @Test
+    void shouldDisableAUser() {
+        // WHEN
+        underTest.disableUser(ownerId);
+
+        // THEN
+        assertEquals(1, jdbcTemplate.queryForObject("select token_version from user_account where id = ?", Integer.class, ownerId));
+        assertEquals("", jdbcTemplate.queryForObject("select password from user_account where id = ?", String.class, ownerId));
+    }
+
+    /**
+     * Tests that a row has at most one unfinished job, and that a job is claimed by a single worker until it is stale.
+     */
+    @Test
+    void shouldClaimEveryJobOnce() {
+        // GIVEN
+        DeletionJobDto job = underTest.insertJob(DeletionDao.PROJECT, projectId, 9);
+        assertEquals(DeletionDao.PENDING, job.status());
+        assertEquals(job, underTest.insertJob(DeletionDao.PROJECT, projectId, 9));
+
+        // WHEN
+        Optional<DeletionJobDto> claimed = underTest.claimNextJob(60);
+
+        // THEN
+        assertEquals(job.jobId(), claimed.map(DeletionJobDto::jobId).orElseThrow());
+        assertEquals(DeletionDao.RUNNING, claimed.get().status());
+        assertTrue(underTest.claimNextJob(60).isEmpty());
+        assertEquals(job.jobId(), underTest.claimNextJob(0).map(DeletionJobDto::jobId).orElseThrow());
+
+        underTest.updateJob(job.jobId(), DeletionDao.COMPLETED, 10, 10, null);
+        assertTrue(underTest.claimNextJob(0).isEmpty());
+        assertTrue(underTest.selectActiveJob(DeletionDao.PROJECT, projectId).isEmpty());
+        assertEquals(10, underTest.selectJobById(job.jobId(), DeletionDao.PROJECT).orElseThrow().deletedRows());
+        assertTrue(underTest.selectJobById(job.jobId(), DeletionDao.USER).isEmpty());
+        assertNotEquals(job.jobId(), underTest.insertJob(DeletionDao.PROJECT, projectId, 9).jobId());
+    }
+
+    private Long insertUser(String email) {
+        return jdbcTemplate.queryForObject(
+                "insert into user_account (first_name, last_name, email, password, role) values ('delete', 'delete', ?, 'password', 'PROJECT_MANAGER') returning id",
+                Long.class,
+                email
+        );
+    }
+}
@@ -0,0 +1,142 @@
+package com.tasky.api.dao.exporter;
+
+import com.tasky.api.AbstractTestContainer;
+import com.tasky.api.dao.importer.ImportDaoImpl;
+import com.tasky.api.dto.importer.ImportRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests of the cursor based {@link ExportDaoImpl}.
+ * The exported project is loaded through the {@link ImportDaoImpl}, so the tests also check that an export can be imported back.
+ */
+@DataJpaTest
+@Import({ExportDaoImpl.class, ImportDaoImpl.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ExportDaoImplTest extends AbstractTestContainer {
+
+    @Autowired private ExportDaoImpl underTest;
+    @Autowired private ImportDaoImpl importDao;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private String owner;
+    private String name;
+
+    @BeforeEach
+    void setUp() {
+        owner = FAKER.internet().emailAddress();
+        name = UUID.randomUUID().toString();
+        jdbcTemplate.update(
+                "insert into user_account (first_name, last_name, email, password, role) values ('export', 'export', ?, 'password', 'PROJECT_MANAGER')",
+                owner
+        );
+        importDao.importRecords(List.of(
+                new ImportRecord("project", "p", null, name, "description", null, "In progress", null, owner, 1700000000L, null, null),
+                new ImportRecord("run", "r", "p", "run", null, null, null, null, null, null, 1700000000L, 1700100000L),
+                new ImportRecord("feature", "f", "r", "feature", "description", null, null, null, null, null, null, null),
+                new ImportRecord("toDo", "t1", "f", "first", "description", "bug", null, null, owner, null, null, null),
+                new ImportRecord("toDo", "t2", "f", "second", null, "task", "Completed", null, null, null, null, null),
+                new ImportRecord("comment", "c", "t1", "comment", null, null, null, "tab\tand\nnew line", null, null, null, null),
+                new ImportRecord("feature", "b", "p", "backlog", null, null, null, null, null, null, null, null),
+                new ImportRecord("toDo", "t3", "b", "third", null, "task", null, null, null, null, null, null)
+        ).iterator());
+    }
+
+    /**
+     * Tests that the whole tree is exported, parents before children, with the values that were imported.
+     */
+    @Test
+    void shouldExportTheWholeTreeParentsFirst() {
+        // GIVEN
+        Long projectId = jdbcTemplate.queryForObject("select id from project where name = ?", Long.class, name);
+        List<ImportRecord> records = new ArrayList<>();
+
+        // WHEN
+        boolean found = underTest.exportProject(projectId, records::add);
+
+        // THEN
+        assertTrue(found);
+        assertEquals(
+                List.of("project", "run", "feature", "feature", "toDo", "toDo", "toDo", "comment"),
+                records.stream().map(ImportRecord::entity).toList()
+        );
+
+        ImportRecord project = records.get(0);
+        assertEquals("project-" + projectId, project.ref());
+        assertEquals(owner, project.owner());
+        assertEquals("In progress", project.status());
+        assertEquals(1700000000L, project.dueDate());
+
+        ImportRecord run = records.get(1);
+        assertEquals(project.ref(), run.parent());
+        assertEquals(1700100000L, run.endDate());
+
+        assertEquals(run.ref(), named(records, "feature").parent());
+        assertEquals(project.ref(), named(records, "backlog").parent());
+
+        ImportRecord comment = records.get(7);
+        ImportRecord commented = named(records, "first");
+        assertEquals(commented.ref(), comment.parent());
+        assertEquals(owner, commented.owner());
+        assertEquals("tab\tand\nnew line", comment.content());
+    }
+
+    /**
+     * Tests that an export can be imported back as a copy of the project, features outside of a run included.
+     */
+    @Test
+    void shouldImportAnExportBack() {
+        // GIVEN
+        Long projectId = jdbcTemplate.queryForObject("select id from project where name = ?", Long.class, name);
+        List<ImportRecord> records = new ArrayList<>();
+        underTest.exportProject(projectId, records::add);
+
+        // WHEN
+        importDao.importRecords(records.iterator());
+
+        // THEN
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from project where name = ?", Long.class, name));
+        assertEquals(
+                6,
+                jdbcTemplate.queryForObject("select count(*) from to_do t join feature f on f.id = t.feature_id join project p on p.id = f.project_id where p.name = ?", Long.class, name)
+        );
+        assertEquals(
+                2,
+                jdbcTemplate.queryForObject("select count(*) from feature f join project p on p.id = f.project_id where p.name = ? and f.run_id is null", Long.class, name)
+        );
+    }
+
+    /**
+     * Tests that a missing project is reported without calling the consumer.
+     */
+    @Test
+    void shouldReturnFalseIfProjectDoesNotExist() {
+        // GIVEN
+        List<ImportRecord> records = new ArrayList<>();
+
+        // WHEN
+        boolean found = underTest.exportProject(-1L, records::add);
+
+        // THEN
+        assertFalse(found);
+        assertTrue(records.isEmpty());
+    }
+
+    private static ImportRecord named(List<ImportRecord> records, String name) {
+        return records.stream().filter(record -> name.equals(record.name())).findFirst().orElseThrow();
+    }
+}
@@ -16,6 +16,7 @@ import org.springframework.data.domain.Pageable;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.verify;
@@ -47,6 +48,30 @@ class FeatureDaoImplTest {
 
     }
 
+    @Test
+    void createFeatures() {
+        User user = new User("firstname","lastname","email","password");
+        user.setId(1L);
+
+        Project project = new Project(
+                "name",
+                Timestamp.from(Instant.now().plus(30, ChronoUnit.DAYS)),
+                user
+        );
+
+        project.setId(1L);
+
+        List<Feature> features = List.of(
+                new Feature("first","desc",project),
+                new Feature("second","desc",project)
+        );
+
+        underTest.createFeatures(features);
+
+        verify(featureRepository).saveAll(features);
+
+    }
+
     @Test
     void findFeatureById() {
         Long featureId = 1L;
@@ -72,9 +97,9 @@ class FeatureDaoImplTest {
         Pageable pageable = PageRequest.of(0,10);
         String name = "test";
 
-        underTest.findAllFeatureWhereProjectIsAndNameContaining(project,name,pageable);
+        underTest.findAllFeatureWhereProjectIsAndNameContaining(project.getId(),name,pageable);
 
-        verify(featureRepository).findAllByProjectIsAndNameContaining(project,name,pageable);
+        verify(featureRepository).findAllByProjectIsAndNameContainingIgnoreCase(project.getId(),name,pageable);
     }
 
     @Test
@@ -102,9 +127,9 @@ class FeatureDaoImplTest {
         Pageable pageable = PageRequest.of(0,10);
         String name = "test";
 
-        underTest.findAllFeatureWhereRunIsAndNameContaining(run,name,pageable);
+        underTest.findAllFeatureWhereRunIsAndNameContaining(run.getId(),name,pageable);
 
-        verify(featureRepository).findAllByRunIsAndNameContaining(run,name,pageable);
+        verify(featureRepository).findAllByRunIsAndNameContainingIgnoreCase(run.getId(),name,pageable);
     }
 
     @Test
@@ -135,4 +160,44 @@ class FeatureDaoImplTest {
 
         verify(featureRepository).deleteById(featureId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void findFeatureByIdForMember() {
+        Long featureId = 1L;
+        Long userId = 2L;
+
+        underTest.findFeatureByIdForMember(featureId, userId);
+
+        verify(featureRepository).findByIdForMember(featureId, userId);
+    }
+
+    @Test
+    void findFeatureDtoByIdForMember() {
+        Long featureId = 1L;
+        Long userId = 2L;
+
+        underTest.findFeatureDtoByIdForMember(featureId, userId);
+
+        verify(featureRepository).findDtoByIdForMember(featureId, userId);
+    }
+
+    @Test
+    void findFeatureVersionByIdForMember() {
+        Long featureId = 1L;
+        Long userId = 2L;
+
+        underTest.findFeatureVersionByIdForMember(featureId, userId);
+
+        verify(featureRepository).findVersionByIdForMember(featureId, userId);
+    }
+
+    @Test
+    void findAllFeatureVersionWhereRunIsAndNameContaining() {
+        Long runId = 1L;
+        String name = "name";
+
+        underTest.findAllFeatureVersionWhereRunIsAndNameContaining(runId, name);
+
+        verify(featureRepository).findVersionByRunIsAndNameContainingIgnoreCase(runId, name);
+    }
+}
@@ -0,0 +1,244 @@
+package com.tasky.api.dao.importer;
+
+import com.tasky.api.AbstractTestContainer;
+import com.tasky.api.configurations.errors.BadRequestException;
+import com.tasky.api.dto.importer.ImportRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests of the COPY based {@link ImportDaoImpl}.
+ * The DAO commits its own transaction, so the tests run outside of the test managed transaction.
+ */
+@DataJpaTest
+@Import(ImportDaoImpl.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ImportDaoImplTest extends AbstractTestContainer {
+
+    @Autowired private ImportDaoImpl underTest;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private String owner;
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        owner = FAKER.internet().emailAddress();
+        prefix = UUID.randomUUID().toString();
+        jdbcTemplate.update(
+                "insert into user_account (first_name, last_name, email, password, role) values ('import', 'import', ?, 'password', 'PROJECT_MANAGER')",
+                owner
+        );
+    }
+
+    /**
+     * Tests that a whole tree is imported, whatever the order of the records, with its references resolved and its to-dos counted and logged.
+     */
+    @Test
+    void shouldImportAProjectTree() {
+        // GIVEN
+        List<ImportRecord> records = List.of(
+                comment("c1", "t1", "tab\there, new line\nhere and a backslash \\"),
+                toDo("t1", "f1", owner),
+                toDo("t2", "f1", null),
+                feature("f1", "r1"),
+                run("r1", "p1"),
+                project("p1")
+        );
+
+        // WHEN
+        ImportedRows importedRows = underTest.importRecords(records.iterator());
+
+        // THEN
+        assertEquals(new ImportedRows(1, 1, 1, 2, 1), importedRows);
+
+        Long projectId = jdbcTemplate.queryForObject("select id from project where name = ?", Long.class, prefix + "p1");
+        Long ownerId = jdbcTemplate.queryForObject("select id from user_account where email = ?", Long.class, owner);
+        assertEquals(ownerId, jdbcTemplate.queryForObject("select created_by from project where id = ?", Long.class, projectId));
+        assertEquals(projectId, jdbcTemplate.queryForObject("select project_id from feature where name = ?", Long.class, prefix + "f1"));
+        assertEquals(
+                prefix + "f1",
+                jdbcTemplate.queryForObject("select f.name from to_do t join feature f on f.id = t.feature_id where t.name = ?", String.class, prefix + "t2")
+        );
+        assertEquals(ownerId, jdbcTemplate.queryForObject("select user_id from to_do where name = ?", Long.class, prefix + "t1"));
+        assertEquals(
+                "tab\there, new line\nhere and a backslash \\",
+                jdbcTemplate.queryForObject("select c.content from comment c join to_do t on t.id = c.to_do_id where t.name = ?", String.class, prefix + "t1")
+        );
+        assertEquals(
+                2,
+                jdbcTemplate.queryForObject(
+                        "select c.to_dos from feature_to_do_count c join feature f on f.id = c.feature_id where f.project_id = ? and c.status = 'New'",
+                        Long.class,
+                        projectId
+                )
+        );
+        assertEquals(
+                2,
+                jdbcTemplate.queryForObject(
+                        "select count(*) from to_do_transition t join run r on r.id = t.run_id where r.project_id = ? and t.from_status is null and t.to_status = 'New'",
+                        Long.class,
+                        projectId
+                )
+        );
+    }
+
+    /**
+     * Tests that nothing is written when a parent cannot be resolved.
+     */
+    @Test
+    void shouldRollbackWhenAParentIsUnknown() {
+        // GIVEN
+        List<ImportRecord> records = List.of(
+                project("p1"),
+                run("r1", "missing")
+        );
+
+        // WHEN
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> underTest.importRecords(records.iterator()));
+
+        // THEN
+        assertTrue(exception.getMessage().contains("Record 2: unknown parent missing"));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from project where name = ?", Long.class, prefix + "p1"));
+    }
+
+    /**
+     * Tests that a ref used twice for the same entity is rejected.
+     */
+    @Test
+    void shouldRejectDuplicatedRefs() {
+        // GIVEN
+        List<ImportRecord> records = List.of(
+                project("p1"),
+                project("p1")
+        );
+
+        // WHEN THEN
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> underTest.importRecords(records.iterator()));
+        assertTrue(exception.getMessage().contains("Duplicated ref p1 for project"));
+    }
+
+    /**
+     * Tests that a feature whose parent is a project is imported outside of any run, its to-dos counted but not logged.
+     */
+    @Test
+    void shouldImportAFeatureOutsideOfARun() {
+        // GIVEN
+        List<ImportRecord> records = List.of(
+                project("p1"),
+                feature("f1", "p1"),
+                toDo("t1", "f1", null)
+        );
+
+        // WHEN
+        ImportedRows importedRows = underTest.importRecords(records.iterator());
+
+        // THEN
+        assertEquals(new ImportedRows(1, 0, 1, 1, 0), importedRows);
+
+        Long projectId = jdbcTemplate.queryForObject("select id from project where name = ?", Long.class, prefix + "p1");
+        Map<String, Object> feature = jdbcTemplate.queryForMap("select project_id, run_id from feature where name = ?", prefix + "f1");
+        assertEquals(projectId, feature.get("project_id"));
+        assertNull(feature.get("run_id"));
+        assertEquals(
+                1,
+                jdbcTemplate.queryForObject(
+                        "select c.to_dos from feature_to_do_count c join feature f on f.id = c.feature_id where f.project_id = ?",
+                        Long.class,
+                        projectId
+                )
+        );
+        assertEquals(
+                0,
+                jdbcTemplate.queryForObject(
+                        "select count(*) from to_do_transition t join to_do d on d.id = t.to_do_id where d.name = ?",
+                        Long.class,
+                        prefix + "t1"
+                )
+        );
+    }
+
+    /**
+     * Tests that a feature whose parent is the ref of both a run and a project is rejected.
+     */
+    @Test
+    void shouldRejectAnAmbiguousParent() {
+        // GIVEN
+        List<ImportRecord> records = List.of(
+                project("x"),
+                run("x", "x"),
+                feature("f1", "x")
+        );
+
+        // WHEN
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> underTest.importRecords(records.iterator()));
+
+        // THEN
+        assertTrue(exception.getMessage().contains("Record 3: ambiguous parent x"));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from project where name = ?", Long.class, prefix + "x"));
+    }
+
+    /**
+     * Tests that a failure while streaming aborts the COPY and rolls the import back.
+     */
+    @Test
+    void shouldRollbackWhenTheStreamFails() {
+        // GIVEN
+        List<ImportRecord> records = List.of(project("p1"));
+        var iterator = records.iterator();
+        var failing = new java.util.Iterator<ImportRecord>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public ImportRecord next() {
+                if(iterator.hasNext()) {
+                    return iterator.next();
+                }
+                throw new BadRequestException("Record 2: broken");
+            }
+        };
+
+        // WHEN
+        assertThrows(BadRequestException.class, () -> underTest.importRecords(failing));
+
+        // THEN
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from project where name = ?", Long.class, prefix + "p1"));
+    }
+
+    private ImportRecord project(String ref) {
+        return new ImportRecord("project", ref, null, prefix + ref, "description", null, null, null, owner, 1700000000L, null, null);
+    }
+
+    private ImportRecord run(String ref, String parent) {
+        return new ImportRecord("run", ref, parent, prefix + ref, null, null, "In progress", null, null, null, 1700000000L, 1700100000L);
+    }
+
+    private ImportRecord feature(String ref, String parent) {
+        return new ImportRecord("feature", ref, parent, prefix + ref, "description", null, null, null, null, null, null, null);
+    }
+
+    private ImportRecord toDo(String ref, String parent, String assignee) {
+        return new ImportRecord("toDo", ref, parent, prefix + ref, "description", "task", null, null, assignee, null, null, null);
+    }
+
+    private ImportRecord comment(String ref, String parent, String content) {
+        return new ImportRecord("comment", ref, parent, prefix + ref, null, null, null, content, null, null, null, null);
+    }
+}
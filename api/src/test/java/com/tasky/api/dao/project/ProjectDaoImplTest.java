@@ -1,5 +1,8 @@
 package com.tasky.api.dao.project;
 
+import com.tasky.api.dto.project.ProjectDto;
+import com.tasky.api.dto.project.ProjectMemberDto;
+import com.tasky.api.dto.user.UserDto;
 import com.tasky.api.models.Project;
 import com.tasky.api.models.User;
 import com.tasky.api.repositories.ProjectRepository;
@@ -8,12 +11,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 
 @ExtendWith(MockitoExtension.class)
@@ -58,14 +68,35 @@ class ProjectDaoImplTest {
         verify(projectRepository).findById(id);
     }
 
+    @Test
+    void selectProjectDtoById() {
+        Long id = 1L;
+        ProjectDto project = new ProjectDto(id, "test", null, "description", "creator@test.com");
+        UserDto member = new UserDto(2L, "firstname", "lastname", "email", "USER", true);
+
+        when(projectRepository.findDtoById(id)).thenReturn(Optional.of(project));
+        when(projectRepository.findMembersByProjectIdIn(List.of(id))).thenReturn(List.of(new ProjectMemberDto(id, member)));
+
+        Optional<ProjectDto> result = underTest.selectProjectDtoById(id);
+
+        assertEquals(Optional.of(project.withUsers(List.of(member))), result);
+    }
+
     @Test
     void selectAllProject() {
         String name="test";
         Pageable pageable = PageRequest.of(0,10);
+        ProjectDto first = new ProjectDto(1L, "first", null, "description", "creator@test.com");
+        ProjectDto second = new ProjectDto(2L, "second", null, "description", "creator@test.com");
+        UserDto member = new UserDto(3L, "firstname", "lastname", "email", "USER", true);
+
+        when(projectRepository.findProjectByNameContainingIgnoreCase(name,pageable)).thenReturn(new PageImpl<>(List.of(first, second), pageable, 2));
+        when(projectRepository.findMembersByProjectIdIn(List.of(1L, 2L))).thenReturn(List.of(new ProjectMemberDto(2L, member)));
 
-        underTest.selectAllProject(name,pageable);
+        Page<ProjectDto> result = underTest.selectAllProject(name,pageable);
 
-        verify(projectRepository).findProjectByNameContaining(name,pageable);
+        assertEquals(List.of(first, second.withUsers(List.of(member))), result.getContent());
+        assertEquals(2, result.getTotalElements());
     }
 
     @Test
@@ -75,9 +106,11 @@ class ProjectDaoImplTest {
         String name = "name";
 
         Pageable pageable = PageRequest.of(0,10);
-        underTest.selectAllProjectForUser(name,user,pageable);
+        when(projectRepository.findProjectByNameContainingIgnoreCaseAndUsersContains(name,user.getId(),pageable)).thenReturn(Page.empty(pageable));
 
-        verify(projectRepository).findProjectByNameContainingAndUsersContains(name,user,pageable);
+        underTest.selectAllProjectForUser(name,user.getId(),pageable);
+
+        verify(projectRepository).findProjectByNameContainingIgnoreCaseAndUsersContains(name,user.getId(),pageable);
     }
 
     @Test
@@ -91,7 +124,7 @@ class ProjectDaoImplTest {
     void deleteProjectById() {
         Long projectId = 1L;
         underTest.deleteProjectById(projectId);
-        verify(projectRepository).deleteById(projectId);
+        verify(projectRepository).deleteProjectById(projectId);
     }
 
     @Test
@@ -117,4 +150,41 @@ class ProjectDaoImplTest {
         //THEN
         verify(projectRepository).save(project);
     }
-}
\ No newline at end of file
+
+    @Test
+    void selectProjectIdsForMember() {
+        Long userId = 1L;
+
+        underTest.selectProjectIdsForMember(userId);
+
+        verify(projectRepository).findProjectIdsByMemberId(userId);
+    }
+
+    @Test
+    void selectProjectVersionById() {
+        Long projectId = 1L;
+
+        underTest.selectProjectVersionById(projectId);
+
+        verify(projectRepository).findVersionById(projectId);
+    }
+
+    @Test
+    void selectAllProjectVersion() {
+        String name = "name";
+
+        underTest.selectAllProjectVersion(name);
+
+        verify(projectRepository).findVersionByNameContainingIgnoreCase(name);
+    }
+
+    @Test
+    void selectAllProjectForUserVersion() {
+        String name = "name";
+        Long userId = 1L;
+
+        underTest.selectAllProjectForUserVersion(name, userId);
+
+        verify(projectRepository).findVersionByNameContainingIgnoreCaseAndUsersContains(name, userId);
+    }
+}
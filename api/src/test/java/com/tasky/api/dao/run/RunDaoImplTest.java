@@ -72,9 +72,9 @@ class RunDaoImplTest {
         String name = "name";
         Pageable pageable = PageRequest.of(1,10);
 
-        underTest.findAllRunWhereProjectIsAndNameContaining(project,name,pageable);
+        underTest.findAllRunWhereProjectIsAndNameContaining(project.getId(),name,pageable);
 
-        verify(runRepository).findAllByProjectIsAndNameContaining(project,name,pageable);
+        verify(runRepository).findAllByProjectIsAndNameContainingIgnoreCase(project.getId(),name,pageable);
     }
 
     @Test
@@ -109,4 +109,44 @@ class RunDaoImplTest {
         underTest.deleteRunById(runId);
         verify(runRepository).deleteById(runId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void findRunByIdForMember() {
+        Long runId = 1L;
+        Long userId = 2L;
+
+        underTest.findRunByIdForMember(runId, userId);
+
+        verify(runRepository).findByIdForMember(runId, userId);
+    }
+
+    @Test
+    void findRunDtoByIdForMember() {
+        Long runId = 1L;
+        Long userId = 2L;
+
+        underTest.findRunDtoByIdForMember(runId, userId);
+
+        verify(runRepository).findDtoByIdForMember(runId, userId);
+    }
+
+    @Test
+    void findRunVersionByIdForMember() {
+        Long runId = 1L;
+        Long userId = 2L;
+
+        underTest.findRunVersionByIdForMember(runId, userId);
+
+        verify(runRepository).findVersionByIdForMember(runId, userId);
+    }
+
+    @Test
+    void findAllRunVersionWhereProjectIsAndNameContaining() {
+        Long projectId = 1L;
+        String name = "name";
+
+        underTest.findAllRunVersionWhereProjectIsAndNameContaining(projectId, name);
+
+        verify(runRepository).findVersionByProjectIsAndNameContainingIgnoreCase(projectId, name);
+    }
+}
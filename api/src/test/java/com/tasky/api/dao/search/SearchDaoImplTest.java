@@ -0,0 +1,151 @@
+package com.tasky.api.dao.search;
+
+import com.tasky.api.AbstractTestContainer;
+import com.tasky.api.dao.importer.ImportDaoImpl;
+import com.tasky.api.dto.importer.ImportRecord;
+import com.tasky.api.dto.search.SearchHitDto;
+import com.tasky.api.dto.search.SearchResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests of the full-text {@link SearchDaoImpl}.
+ * The searched tree is loaded through the {@link ImportDaoImpl}, so the tests also check that the triggers index bulk inserts.
+ */
+@DataJpaTest
+@Import({SearchDaoImpl.class, ImportDaoImpl.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SearchDaoImplTest extends AbstractTestContainer {
+
+    private static final List<String> TYPES = List.of("project", "run", "feature", "toDo", "comment");
+
+    @Autowired private SearchDaoImpl underTest;
+    @Autowired private ImportDaoImpl importDao;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private String word;
+    private Long projectId;
+
+    /**
+     * Imports a project whose to-dos and comment contain a word unique to the test.
+     */
+    @BeforeEach
+    void setUp() {
+        String owner = FAKER.internet().emailAddress();
+        String name = UUID.randomUUID().toString();
+        word = "w" + UUID.randomUUID().toString().replace("-", "");
+        jdbcTemplate.update(
+                "insert into user_account (first_name, last_name, email, password, role) values ('search', 'search', ?, 'password', 'PROJECT_MANAGER')",
+                owner
+        );
+        importDao.importRecords(List.of(
+                new ImportRecord("project", "p", null, name, "description", null, null, null, owner, 1700000000L, null, null),
+                new ImportRecord("run", "r", "p", "run", null, null, null, null, null, null, 1700000000L, 1700100000L),
+                new ImportRecord("feature", "f", "r", "feature", null, null, null, null, null, null, null, null),
+                new ImportRecord("toDo", "t1", "f", "fix " + word, "the name matches", "bug", null, null, null, null, null, null),
+                new ImportRecord("toDo", "t2", "f", "other", "the description mentions " + word, "task", null, null, null, null, null, null),
+                new ImportRecord("comment", "c", "t2", "comment", "seen " + word + " again", null, null, "unused", null, null, null, null)
+        ).iterator());
+        projectId = jdbcTemplate.queryForObject("select id from project where name = ?", Long.class, name);
+    }
+
+    /**
+     * Tests that names rank above descriptions and that headlines highlight the matched word.
+     */
+    @Test
+    void shouldRankNamesAboveDescriptions() {
+        // WHEN
+        List<SearchHitDto> hits = underTest.search(word, TYPES, null, 20).hits();
+
+        // THEN
+        assertEquals(2, hits.size());
+        assertEquals("fix " + word, hits.get(0).name());
+        assertEquals("other", hits.get(1).name());
+        assertTrue(hits.get(0).rank() > hits.get(1).rank());
+        assertTrue(hits.get(1).headline().contains("<b>" + word + "</b>"));
+        assertTrue(hits.stream().allMatch(hit -> hit.type().equals("toDo") && hit.projectId().equals(projectId)));
+    }
+
+    /**
+     * Tests that comment contents are searched and that the triggers reindex updated rows.
+     */
+    @Test
+    void shouldSearchUpdatedCommentContent() {
+        // GIVEN
+        jdbcTemplate.update("update comment set content = ? where to_do_id in (select id from to_do where name = 'other' and feature_id in (select id from feature where project_id = ?))", word, projectId);
+
+        // WHEN
+        List<SearchHitDto> hits = underTest.search(word, List.of("comment"), null, 20).hits();
+
+        // THEN
+        assertEquals(1, hits.size());
+        assertEquals("comment", hits.get(0).type());
+        assertEquals(projectId, hits.get(0).projectId());
+    }
+
+    /**
+     * Tests that users only find the hits of the projects they are members of.
+     */
+    @Test
+    void shouldOnlyReturnHitsOfMemberProjects() {
+        // GIVEN
+        Long memberId = createUser();
+        Long strangerId = createUser();
+        jdbcTemplate.update("insert into user_account_project (user_account_id, project_id) values (?, ?)", memberId, projectId);
+
+        // WHEN
+        List<SearchHitDto> memberHits = underTest.search(word, TYPES, memberId, 20).hits();
+        List<SearchHitDto> strangerHits = underTest.search(word, TYPES, strangerId, 20).hits();
+
+        // THEN
+        assertEquals(2, memberHits.size());
+        assertTrue(strangerHits.isEmpty());
+    }
+
+    /**
+     * Tests that a type with more matches than the candidates ranked is reported as truncated, the most relevant hit
+     * possibly lying beyond the candidates, and that raising the number of candidates ranks every match.
+     */
+    @Test
+    void shouldReportTruncatedSearchesBeyondTheCandidates() {
+        // GIVEN
+        Long featureId = jdbcTemplate.queryForObject("select id from feature where project_id = ?", Long.class, projectId);
+        for(int i = 0; i < 2; i++) {
+            jdbcTemplate.update("insert into to_do (name, type, description, feature_id) values ('more', 'task', ?, ?)", "also " + word, featureId);
+        }
+        SearchDaoImpl capped = new SearchDaoImpl(jdbcTemplate, 3);
+        SearchDaoImpl uncapped = new SearchDaoImpl(jdbcTemplate, 4);
+
+        // WHEN
+        SearchResponse cappedResponse = capped.search(word, List.of("toDo"), null, 20);
+        SearchResponse uncappedResponse = uncapped.search(word, List.of("toDo"), null, 20);
+
+        // THEN
+        assertTrue(cappedResponse.truncated());
+        assertEquals(3, cappedResponse.hits().size());
+        assertFalse(uncappedResponse.truncated());
+        assertEquals(4, uncappedResponse.hits().size());
+        assertEquals("fix " + word, uncappedResponse.hits().get(0).name());
+    }
+
+    private Long createUser() {
+        return jdbcTemplate.queryForObject(
+                "insert into user_account (first_name, last_name, email, password) values ('search', 'search', ?, 'password') returning id",
+                Long.class,
+                FAKER.internet().emailAddress()
+        );
+    }
+}
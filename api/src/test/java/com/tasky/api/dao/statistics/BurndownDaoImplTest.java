@@ -0,0 +1,163 @@
+package com.tasky.api.dao.statistics;
+
+import com.tasky.api.AbstractTestContainer;
+import com.tasky.api.dao.importer.ImportDaoImpl;
+import com.tasky.api.dto.importer.ImportRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests of the {@link BurndownDaoImpl} logging the changes of status of the to-dos of runs.
+ * Every test imports a project with a run of one feature without to-dos, and adds a feature outside of the run.
+ */
+@DataJpaTest
+@Import({BurndownDaoImpl.class, ImportDaoImpl.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BurndownDaoImplTest extends AbstractTestContainer {
+
+    @Autowired private BurndownDaoImpl underTest;
+    @Autowired private ImportDaoImpl importDao;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Long runId;
+    private Long featureId;
+    private Long featureWithoutRunId;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        String owner = FAKER.internet().emailAddress();
+        String name = UUID.randomUUID().toString();
+        jdbcTemplate.update(
+                "insert into user_account (first_name, last_name, email, password, role) values ('burndown', 'burndown', ?, 'password', 'PROJECT_MANAGER')",
+                owner
+        );
+
+        importDao.importRecords(List.of(
+                new ImportRecord("project", "p", null, name, null, null, null, null, owner, 1700000000L, null, null),
+                new ImportRecord("run", "r", "p", "run", null, null, null, null, null, null, 1700000000L, 1700100000L),
+                new ImportRecord("feature", "f", "r", "feature", null, null, null, null, null, null, null, null)
+        ).iterator());
+
+        Long projectId = jdbcTemplate.queryForObject("select id from project where name = ?", Long.class, name);
+        runId = jdbcTemplate.queryForObject("select id from run where project_id = ?", Long.class, projectId);
+        featureId = jdbcTemplate.queryForObject("select id from feature where run_id = ?", Long.class, runId);
+        featureWithoutRunId = jdbcTemplate.queryForObject(
+                "insert into feature (name, description, project_id) values ('without run', 'description', ?) returning id",
+                Long.class,
+                projectId
+        );
+        today = underTest.selectToday();
+    }
+
+    /**
+     * Tests that the changes of the to-dos of a run are logged with their run, and the ones outside of a run ignored.
+     */
+    @Test
+    void shouldLogTheTransitionsOfTheToDosOfARun() {
+        // WHEN
+        underTest.addTransitions(List.of(
+                new StatusTransition(1L, featureId, null, "New"),
+                new StatusTransition(1L, featureId, "New", "Completed"),
+                new StatusTransition(2L, featureWithoutRunId, null, "New")
+        ));
+
+        // THEN
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from to_do_transition where run_id = ?", Long.class, runId));
+        assertEquals(
+                "Completed",
+                jdbcTemplate.queryForObject("select to_status from to_do_transition where run_id = ? and from_status = 'New'", String.class, runId)
+        );
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from to_do_transition where to_do_id = 2", Long.class));
+    }
+
+    /**
+     * Tests that the deletion of the to-dos of a feature is logged.
+     */
+    @Test
+    void shouldLogTheDeletionsOfTheToDosOfAFeature() {
+        // GIVEN
+        jdbcTemplate.update("insert into to_do (name, type, status, feature_id) values ('first', 'task', 'In progress', ?)", featureId);
+
+        // WHEN
+        underTest.addDeletionsOfFeature(featureId);
+
+        // THEN
+        assertEquals(
+                "In progress",
+                jdbcTemplate.queryForObject("select from_status from to_do_transition where run_id = ? and to_status is null", String.class, runId)
+        );
+    }
+
+    /**
+     * Tests that a day is claimed once it is over, and that the claimed day is the one after the last rolled up.
+     */
+    @Test
+    void shouldClaimTheDaysOver() {
+        // GIVEN
+        jdbcTemplate.update("update run_burndown_rollup set rolled_up_to = ?", today.minusDays(3));
+
+        // WHEN
+        Optional<LocalDate> claimed = underTest.claimNextDay();
+
+        // THEN
+        assertEquals(Optional.of(today.minusDays(2)), claimed);
+        jdbcTemplate.update("update run_burndown_rollup set rolled_up_to = ?", today.minusDays(1));
+        assertTrue(underTest.claimNextDay().isEmpty());
+    }
+
+    /**
+     * Tests that the days are rolled up from the previous snapshot and the log of the day, and that the burndown adds
+     * the log of the days not rolled up yet to the snapshots.
+     */
+    @Test
+    void shouldRollUpTheLogIntoSnapshots() {
+        // GIVEN
+        LocalDate first = today.minusDays(3);
+        LocalDate second = today.minusDays(2);
+        addTransition(1L, null, "New", first);
+        addTransition(2L, null, "New", first);
+        addTransition(1L, "New", "Completed", second);
+        addTransition(3L, null, "New", today);
+
+        // WHEN
+        underTest.rollUpDay(first);
+        underTest.rollUpDay(second);
+        jdbcTemplate.update("update run_burndown_rollup set rolled_up_to = ?", second);
+
+        // THEN
+        assertEquals(
+                List.of(
+                        new BurndownCount(first, "New", 2),
+                        new BurndownCount(second, "Completed", 1),
+                        new BurndownCount(second, "New", 1),
+                        new BurndownCount(today, "Completed", 1),
+                        new BurndownCount(today, "New", 2)
+                ),
+                underTest.selectBurndownOfRun(runId)
+        );
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from run_burndown where run_id = ? and day = ?", Long.class, runId, today.minusDays(1)));
+    }
+
+    private void addTransition(Long toDoId, String fromStatus, String toStatus, LocalDate day) {
+        jdbcTemplate.update(
+                "insert into to_do_transition (to_do_id, run_id, from_status, to_status, created_at) values (?, ?, ?, ?, ?::date + interval '12 hours')",
+                toDoId, runId, fromStatus, toStatus, day
+        );
+    }
+}
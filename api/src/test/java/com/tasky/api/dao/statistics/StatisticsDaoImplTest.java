@@ -0,0 +1,154 @@
+package com.tasky.api.dao.statistics;
+
+import com.tasky.api.AbstractTestContainer;
+import com.tasky.api.dao.importer.ImportDaoImpl;
+import com.tasky.api.dto.importer.ImportRecord;
+import com.tasky.api.dto.statistics.FeatureStatisticsDto;
+import com.tasky.api.dto.statistics.RunStatisticsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests of the {@link StatisticsDaoImpl} counting the to-dos of every feature.
+ * Every test imports a project of 1 run, with a feature of 2 tasks and a bug and an empty feature, and adds a feature
+ * outside of the run.
+ */
+@DataJpaTest
+@Import({StatisticsDaoImpl.class, ImportDaoImpl.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StatisticsDaoImplTest extends AbstractTestContainer {
+
+    @Autowired private StatisticsDaoImpl underTest;
+    @Autowired private ImportDaoImpl importDao;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Long projectId;
+    private Long runId;
+    private Long featureId;
+    private Long emptyFeatureId;
+    private Long featureWithoutRunId;
+
+    @BeforeEach
+    void setUp() {
+        String owner = FAKER.internet().emailAddress();
+        String name = UUID.randomUUID().toString();
+        jdbcTemplate.update(
+                "insert into user_account (first_name, last_name, email, password, role) values ('statistics', 'statistics', ?, 'password', 'PROJECT_MANAGER')",
+                owner
+        );
+
+        importDao.importRecords(List.of(
+                new ImportRecord("project", "p", null, name, null, null, null, null, owner, 1700000000L, null, null),
+                new ImportRecord("run", "r", "p", "run", null, null, null, null, null, null, 1700000000L, 1700100000L),
+                new ImportRecord("feature", "f1", "r", "feature", null, null, null, null, null, null, null, null),
+                new ImportRecord("feature", "f2", "r", "empty", null, null, null, null, null, null, null, null),
+                new ImportRecord("toDo", "t1", "f1", "first", null, "task", null, null, null, null, null, null),
+                new ImportRecord("toDo", "t2", "f1", "second", null, "task", "Completed", null, null, null, null, null),
+                new ImportRecord("toDo", "t3", "f1", "third", null, "bug", null, null, null, null, null, null)
+        ).iterator());
+
+        projectId = jdbcTemplate.queryForObject("select id from project where name = ?", Long.class, name);
+        runId = jdbcTemplate.queryForObject("select id from run where project_id = ?", Long.class, projectId);
+        featureId = jdbcTemplate.queryForObject("select id from feature where project_id = ? and name = 'feature'", Long.class, projectId);
+        emptyFeatureId = jdbcTemplate.queryForObject("select id from feature where project_id = ? and name = 'empty'", Long.class, projectId);
+        featureWithoutRunId = jdbcTemplate.queryForObject(
+                "insert into feature (name, description, project_id) values ('without run', 'description', ?) returning id",
+                Long.class,
+                projectId
+        );
+    }
+
+    /**
+     * Tests that the features of a run are read with their counts, features without to-dos included.
+     */
+    @Test
+    void shouldSelectTheCountsOfTheFeaturesOfARun() {
+        // WHEN
+        List<FeatureStatisticsDto> features = underTest.selectFeaturesOfRun(runId);
+
+        // THEN
+        assertEquals(List.of(featureId, emptyFeatureId), features.stream().map(FeatureStatisticsDto::featureId).toList());
+        FeatureStatisticsDto feature = features.get(0);
+        assertEquals(runId, feature.runId());
+        assertEquals(3, feature.toDos().total());
+        assertEquals(1, feature.toDos().completed());
+        assertEquals(Map.of("New", 2L, "In progress", 0L, "Completed", 1L), feature.toDos().statuses());
+        assertEquals(Map.of("task", 2L, "bug", 1L), feature.toDos().types());
+        assertEquals(0, features.get(1).toDos().total());
+    }
+
+    /**
+     * Tests that the features of a project include the ones outside of a run, and that its runs are listed.
+     */
+    @Test
+    void shouldSelectTheFeaturesAndRunsOfAProject() {
+        // WHEN
+        List<FeatureStatisticsDto> features = underTest.selectFeaturesOfProject(projectId);
+        List<RunStatisticsDto> runs = underTest.selectRunsOfProject(projectId);
+
+        // THEN
+        assertEquals(List.of(featureId, emptyFeatureId, featureWithoutRunId), features.stream().map(FeatureStatisticsDto::featureId).toList());
+        assertNull(features.get(2).runId());
+        assertEquals(List.of(runId), runs.stream().map(RunStatisticsDto::runId).toList());
+        assertEquals("run", runs.get(0).name());
+    }
+
+    /**
+     * Tests that changes are summed by count before being added, and that counts are created on their first to-do.
+     */
+    @Test
+    void shouldAddChangesToTheCounts() {
+        // WHEN
+        underTest.addToDoCounts(List.of(
+                new ToDoCount(featureId, "New", "task", -1),
+                new ToDoCount(featureId, "In progress", "task", 1),
+                new ToDoCount(emptyFeatureId, "New", "bug", 1),
+                new ToDoCount(emptyFeatureId, "New", "bug", 1),
+                new ToDoCount(featureId, "New", "bug", 1),
+                new ToDoCount(featureId, "New", "bug", -1)
+        ));
+
+        // THEN
+        List<FeatureStatisticsDto> features = underTest.selectFeaturesOfRun(runId);
+        assertEquals(Map.of("New", 1L, "In progress", 1L, "Completed", 1L), features.get(0).toDos().statuses());
+        assertEquals(Map.of("New", 2L, "In progress", 0L, "Completed", 0L), features.get(1).toDos().statuses());
+        assertEquals(Map.of("task", 0L, "bug", 2L), features.get(1).toDos().types());
+    }
+
+    /**
+     * Tests that the reconciliation corrects the counts that drifted from the to-dos and removes the counts without to-dos.
+     */
+    @Test
+    void shouldReconcileTheCountsWithTheToDos() {
+        // GIVEN
+        underTest.addToDoCounts(List.of(
+                new ToDoCount(featureId, "New", "task", 5),
+                new ToDoCount(emptyFeatureId, "In progress", "bug", 1)
+        ));
+
+        // WHEN
+        int corrected = underTest.reconcileToDoCounts(featureId, underTest.selectMaxFeatureId() + 1);
+
+        // THEN
+        assertEquals(2, corrected);
+        assertEquals(0, underTest.reconcileToDoCounts(featureId, underTest.selectMaxFeatureId() + 1));
+        List<FeatureStatisticsDto> features = underTest.selectFeaturesOfRun(runId);
+        assertEquals(Map.of("New", 2L, "In progress", 0L, "Completed", 1L), features.get(0).toDos().statuses());
+        assertEquals(0, features.get(1).toDos().total());
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from feature_to_do_count where feature_id = ?", Long.class, emptyFeatureId));
+    }
+}
@@ -1,5 +1,8 @@
 package com.tasky.api.dao.toDo;
 
+import com.tasky.api.dao.Cursor;
+import com.tasky.api.dao.CursorPage;
+import com.tasky.api.dto.toDo.TodoDto;
 import com.tasky.api.models.Feature;
 import com.tasky.api.models.Project;
 import com.tasky.api.models.ToDo;
@@ -17,9 +20,11 @@ import org.springframework.data.domain.Pageable;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class ToDoDaoImplTest {
@@ -52,6 +57,33 @@ class ToDoDaoImplTest {
         verify(toDoRepository).save(toDo);
     }
 
+    @Test
+    void createTodos() {
+        User user = new User("firstname","lastname","email","password");
+        user.setId(1L);
+
+        Project project = new Project(
+                "name",
+                Timestamp.from(Instant.now().plus(30, ChronoUnit.DAYS)),
+                user
+        );
+
+        project.setId(1L);
+
+        Feature feature = new Feature("feature","desc",project);
+
+        feature.setId(1L);
+
+        List<ToDo> toDos = List.of(
+                new ToDo("first","task","description",feature,user),
+                new ToDo("second","bug","description",feature,user)
+        );
+
+        underTest.createTodos(toDos);
+
+        verify(toDoRepository).saveAll(toDos);
+    }
+
     @Test
     void selectToDoById() {
         Long toDoId = 1L;
@@ -68,9 +100,28 @@ class ToDoDaoImplTest {
         String name = "test";
         Pageable pageable = PageRequest.of(0,1);
 
-        underTest.selectToDosWhereUserIsAndNameContaining(user,name,pageable);
+        underTest.selectToDosWhereUserIsAndNameContaining(user.getId(),name,pageable);
 
-        verify(toDoRepository).findAllByUserAndAndNameContaining(user,name,pageable);
+        verify(toDoRepository).findAllByUserAndAndNameContainingIgnoreCase(user.getId(),name,pageable);
+    }
+
+    @Test
+    void selectToDosWhereUserIsAndNameContainingAfterCursor() {
+        User user = new User("firstname","lastname","email","password");
+        user.setId(1L);
+
+        TodoDto first = new TodoDto(7L,"a","task","desc","New",null,null);
+        TodoDto second = new TodoDto(3L,"b","task","desc","New",null,null);
+        TodoDto third = new TodoDto(9L,"b","task","desc","New",null,null);
+        Cursor after = new Cursor("a", 2L);
+
+        when(toDoRepository.findAllByUserAndNameContainingAfter(user.getId(),"test","a",2L,Pageable.ofSize(3)))
+                .thenReturn(List.of(first,second,third));
+
+        CursorPage<TodoDto> page = underTest.selectToDosWhereUserIsAndNameContaining(user.getId(),"test",after,2);
+
+        assertEquals(List.of(first,second), page.content());
+        assertEquals(new Cursor("b", 3L), page.next());
     }
     @Test
     void selectAllToDoWhereFeatureIdIsAndNameContaining() {
@@ -92,9 +143,22 @@ class ToDoDaoImplTest {
         String name = "test";
         Pageable pageable = PageRequest.of(0,1);
 
-        underTest.selectAllToDoWhereFeatureIdIsAndNameContaining(feature,name,pageable);
+        underTest.selectAllToDoWhereFeatureIdIsAndNameContaining(feature.getId(),name,pageable);
 
-        verify(toDoRepository).findAllByFeatureIsAndNameContaining(feature,name,pageable);
+        verify(toDoRepository).findAllByFeatureIsAndNameContainingIgnoreCase(feature.getId(),name,pageable);
+    }
+
+    @Test
+    void selectToDosWhereUserIsAndNameContainingAsSlice() {
+        User user = new User("firstname","lastname","email","password");
+        user.setId(1L);
+
+        String name = "test";
+        Pageable pageable = PageRequest.of(0,1);
+
+        underTest.selectToDosWhereUserIsAndNameContainingAsSlice(user.getId(),name,pageable);
+
+        verify(toDoRepository).findSliceByUserAndNameContainingIgnoreCase(user.getId(),name,pageable);
     }
 
     @Test
@@ -119,7 +183,7 @@ class ToDoDaoImplTest {
 
         underTest.updateTodo(toDo);
 
-        verify(toDoRepository).save(toDo);
+        verify(toDoRepository).saveAndFlush(toDo);
     }
 
     @Test
@@ -129,7 +193,56 @@ class ToDoDaoImplTest {
         underTest.deleteTodoById(toDoId);
 
         verify(toDoRepository).deleteById(toDoId);
+        verify(toDoRepository).flush();
     }
 
+    @Test
+    void selectToDoByIdForMember() {
+        Long toDoId = 1L;
+        Long userId = 2L;
 
-}
\ No newline at end of file
+        underTest.selectToDoByIdForMember(toDoId, userId);
+
+        verify(toDoRepository).findByIdForMember(toDoId, userId);
+    }
+
+    @Test
+    void selectToDoDtoByIdForMember() {
+        Long toDoId = 1L;
+        Long userId = 2L;
+
+        underTest.selectToDoDtoByIdForMember(toDoId, userId);
+
+        verify(toDoRepository).findDtoByIdForMember(toDoId, userId);
+    }
+
+    @Test
+    void selectToDoVersionByIdForMember() {
+        Long toDoId = 1L;
+        Long userId = 2L;
+
+        underTest.selectToDoVersionByIdForMember(toDoId, userId);
+
+        verify(toDoRepository).findVersionByIdForMember(toDoId, userId);
+    }
+
+    @Test
+    void selectAllToDoVersionWhereFeatureIdIsAndNameContaining() {
+        Long featureId = 1L;
+        String name = "name";
+
+        underTest.selectAllToDoVersionWhereFeatureIdIsAndNameContaining(featureId, name);
+
+        verify(toDoRepository).findVersionByFeatureIsAndNameContainingIgnoreCase(featureId, name);
+    }
+
+    @Test
+    void selectToDosVersionWhereUserIsAndNameContaining() {
+        Long userId = 1L;
+        String name = "name";
+
+        underTest.selectToDosVersionWhereUserIsAndNameContaining(userId, name);
+
+        verify(toDoRepository).findVersionByUserAndNameContainingIgnoreCase(userId, name);
+    }
+}
@@ -94,7 +94,7 @@ class UserDaoImplTest {
         underTest.selectAllUsersByEmail(pattern,pageable);
 
         //THEN
-        Mockito.verify(userRepository).findAllByEmailContains(pattern,pageable);
+        Mockito.verify(userRepository).findAllByEmailContainsIgnoreCase(pattern,pageable);
     }
 
     /**
@@ -111,7 +111,7 @@ class UserDaoImplTest {
         underTest.selectAllUsersByLastName(pattern,pageable);
 
         //THEN
-        Mockito.verify(userRepository).findUsersByLastNameContaining(pattern,pageable);
+        Mockito.verify(userRepository).findUsersByLastNameContainingIgnoreCase(pattern,pageable);
     }
     /**
      * Test case to verify that {@link UserDao#selectAllUsersByFirstName(String, Pageable)} retrieves users whose first names match the provided search pattern.
@@ -127,7 +127,7 @@ class UserDaoImplTest {
         underTest.selectAllUsersByFirstName(pattern,pageable);
 
         //THEN
-        Mockito.verify(userRepository).findUsersByFirstNameContaining(pattern,pageable);
+        Mockito.verify(userRepository).findUsersByFirstNameContainingIgnoreCase(pattern,pageable);
     }
 
     /**
@@ -140,7 +140,7 @@ class UserDaoImplTest {
         //WHEN
         underTest.deleteUserById(id);
         //THEN
-        Mockito.verify(userRepository).deleteById(id);
+        Mockito.verify(userRepository).deleteUserById(id);
     }
     /**
      * Test case to verify that {@link UserDao#updateUser(User)} updates user information and saves it in the repository.
@@ -176,4 +176,35 @@ class UserDaoImplTest {
 
         Mockito.verify(userRepository).findById(userId);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test case to verify that a reference to a user is retrieved without loading it using {@link UserDao#getUserReferenceById(Long)}.
+     */
+    @Test
+    void getUserReferenceById() {
+        // GIVEN
+        Long userId = 1L;
+
+        //WHEN
+        underTest.getUserReferenceById(userId);
+
+        //THEN
+
+        Mockito.verify(userRepository).getReferenceById(userId);
+    }
+
+    /**
+     * Tests the behavior of selecting the token version of a user.
+     */
+    @Test
+    void selectTokenVersionById() {
+        //GIVEN
+        Long id = 1L;
+
+        //WHEN
+        underTest.selectTokenVersionById(id);
+
+        //THEN
+        Mockito.verify(userRepository).findTokenVersionById(id);
+    }
+}
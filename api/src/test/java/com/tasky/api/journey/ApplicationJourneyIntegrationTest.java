@@ -179,6 +179,23 @@ public class ApplicationJourneyIntegrationTest extends AbstractTestContainer {
                 .expectBody()
                 .returnResult()
         ;
+
+        // Changing the password revokes the previous token.
+        UserAuthenticationRequest newPasswordRequest = new UserAuthenticationRequest(adminAccount,updatePasswordRequest.newPassword());
+
+        token = Objects.requireNonNull(webTestClient.post()
+                        .uri(LOGIN_URI)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .body(Mono.just(newPasswordRequest), UserAuthenticationRequest.class)
+                        .exchange()
+                        .expectStatus()
+                        .isOk()
+                        .returnResult(Void.class)
+                        .getResponseHeaders()
+                        .get(HttpHeaders.AUTHORIZATION))
+                .get(0);
+        assertFalse(token.isEmpty());
     }
 
 
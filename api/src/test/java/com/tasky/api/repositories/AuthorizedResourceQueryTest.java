@@ -0,0 +1,183 @@
+package com.tasky.api.repositories;
+
+import com.tasky.api.AbstractTestContainer;
+import com.tasky.api.dao.AuthorizedResource;
+import com.tasky.api.models.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests of the fetch-and-authorize queries of the {@link ToDoRepository}, {@link CommentRepository},
+ * {@link FeatureRepository} and {@link RunRepository}.
+ * Each check must resolve the resource, its eager associations and the membership of the caller in one statement.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AuthorizedResourceQueryTest extends AbstractTestContainer {
+
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private ToDoRepository toDoRepository;
+    @Autowired private CommentRepository commentRepository;
+    @Autowired private FeatureRepository featureRepository;
+    @Autowired private RunRepository runRepository;
+
+    private User member;
+    private User stranger;
+    private Run run;
+    private Feature feature;
+    private ToDo toDo;
+    private Comment comment;
+
+    /**
+     * Persists a project owned by a project manager with a member, a run, a feature, a to-do and a comment.
+     */
+    @BeforeEach
+    void setUp() {
+        Timestamp now = Timestamp.from(Instant.now());
+
+        User projectManager = createUser("PROJECT_MANAGER");
+        member = createUser("USER");
+        stranger = createUser("USER");
+
+        Project project = entityManager.persist(new Project("project", now, projectManager));
+        member.setProjects(new ArrayList<>(List.of(project)));
+
+        run = new Run();
+        run.setName("run");
+        run.setStartDate(now);
+        run.setEndDate(now);
+        run.setStatus("New");
+        run.setProject(project);
+        run.setCreatedAt(now);
+        run.setUpdatedAt(now);
+        entityManager.persist(run);
+
+        feature = new Feature();
+        feature.setName("feature");
+        feature.setDescription("description");
+        feature.setStatus("New");
+        feature.setProject(project);
+        feature.setRun(run);
+        feature.setCreatedAt(now);
+        feature.setUpdatedAt(now);
+        entityManager.persist(feature);
+
+        toDo = entityManager.persist(new ToDo("toDo", "task", "description", feature, stranger));
+
+        comment = new Comment();
+        comment.setName("comment");
+        comment.setContent("content");
+        comment.setToDo(toDo);
+        comment.setCreatedAt(now);
+        comment.setUpdatedAt(now);
+        entityManager.persist(comment);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Tests that a to-do and the membership of the caller are resolved by a single statement.
+     */
+    @Test
+    void findToDoByIdForMemberShouldUseOneStatement() {
+        assertAuthorizedInOneStatement(
+                () -> toDoRepository.findByIdForMember(toDo.getId(), member.getId()),
+                () -> toDoRepository.findByIdForMember(toDo.getId(), stranger.getId()),
+                () -> toDoRepository.findByIdForMember(-1L, member.getId())
+        );
+    }
+
+    /**
+     * Tests that a comment and the membership of the caller are resolved by a single statement.
+     */
+    @Test
+    void findCommentByIdForMemberShouldUseOneStatement() {
+        assertAuthorizedInOneStatement(
+                () -> commentRepository.findByIdForMember(comment.getId(), member.getId()),
+                () -> commentRepository.findByIdForMember(comment.getId(), stranger.getId()),
+                () -> commentRepository.findByIdForMember(-1L, member.getId())
+        );
+    }
+
+    /**
+     * Tests that a feature and the membership of the caller are resolved by a single statement.
+     */
+    @Test
+    void findFeatureByIdForMemberShouldUseOneStatement() {
+        assertAuthorizedInOneStatement(
+                () -> featureRepository.findByIdForMember(feature.getId(), member.getId()),
+                () -> featureRepository.findByIdForMember(feature.getId(), stranger.getId()),
+                () -> featureRepository.findByIdForMember(-1L, member.getId())
+        );
+    }
+
+    /**
+     * Tests that a run and the membership of the caller are resolved by a single statement.
+     */
+    @Test
+    void findRunByIdForMemberShouldUseOneStatement() {
+        assertAuthorizedInOneStatement(
+                () -> runRepository.findByIdForMember(run.getId(), member.getId()),
+                () -> runRepository.findByIdForMember(run.getId(), stranger.getId()),
+                () -> runRepository.findByIdForMember(-1L, member.getId())
+        );
+    }
+
+    private <T> void assertAuthorizedInOneStatement(
+            Supplier<Optional<AuthorizedResource<T>>> asMember,
+            Supplier<Optional<AuthorizedResource<T>>> asStranger,
+            Supplier<Optional<AuthorizedResource<T>>> missing
+    ) {
+        Optional<AuthorizedResource<T>> memberResult = countStatements(asMember);
+        Optional<AuthorizedResource<T>> strangerResult = countStatements(asStranger);
+        Optional<AuthorizedResource<T>> missingResult = countStatements(missing);
+
+        assertAll("Fetch and authorize",
+                () -> assertTrue(memberResult.isPresent()),
+                () -> assertTrue(memberResult.get().member()),
+                () -> assertTrue(strangerResult.isPresent()),
+                () -> assertFalse(strangerResult.get().member()),
+                () -> assertTrue(missingResult.isEmpty())
+        );
+    }
+
+    private <R> R countStatements(Supplier<R> query) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        R result = query.get();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        entityManager.clear();
+        return result;
+    }
+
+    private User createUser(String role) {
+        User user = new User(
+                FAKER.name().firstName(),
+                FAKER.name().lastName(),
+                FAKER.internet().emailAddress(),
+                "password123452435134513"
+        );
+        user.setRole(role);
+        return entityManager.persist(user);
+    }
+}
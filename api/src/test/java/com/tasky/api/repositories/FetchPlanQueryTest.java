@@ -0,0 +1,230 @@
+package com.tasky.api.repositories;
+
+import com.tasky.api.AbstractTestContainer;
+import com.tasky.api.dto.project.ProjectDto;
+import com.tasky.api.dto.project.ProjectMemberDto;
+import com.tasky.api.models.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests of the statements run by the lists of the API, which read their rows as DTOs.
+ * Every row of a page has its own parents, creator and members, so that a load per row would show up in the count.
+ * A page costs its select, its count query when it is full, and one query for the members of the projects.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class FetchPlanQueryTest extends AbstractTestContainer {
+
+    private static final int PAGE_SIZE = 5;
+    private static final int ROWS = PAGE_SIZE + 1;
+
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private ProjectRepository projectRepository;
+    @Autowired private RunRepository runRepository;
+    @Autowired private FeatureRepository featureRepository;
+    @Autowired private ToDoRepository toDoRepository;
+    @Autowired private CommentRepository commentRepository;
+
+    private User member;
+    private Project project;
+    private Run run;
+    private Feature feature;
+    private ToDo toDo;
+
+    /**
+     * Persists projects having each their creator, two members, a run, a feature and a to-do assigned to the same member.
+     * The first project also holds a full page of runs, features, to-dos and comments.
+     */
+    @BeforeEach
+    void setUp() {
+        member = createUser("USER");
+        User otherMember = createUser("USER");
+
+        for(int i = 0; i < ROWS; i++) {
+            Project created = entityManager.persist(new Project("project " + i, now(), createUser("PROJECT_MANAGER")));
+            member.getProjects().add(created);
+            otherMember.getProjects().add(created);
+
+            Run createdRun = createRun(created);
+            Feature createdFeature = createFeature(created, createdRun);
+            ToDo createdToDo = entityManager.persist(new ToDo("toDo " + i, "task", "description", createdFeature, member));
+
+            if(i == 0) {
+                project = created;
+                run = createdRun;
+                feature = createdFeature;
+                toDo = createdToDo;
+            }
+        }
+
+        for(int i = 1; i < ROWS; i++) {
+            createRun(project);
+            createFeature(project, run);
+            entityManager.persist(new ToDo("toDo", "task", "description", feature, null));
+        }
+        for(int i = 0; i < ROWS; i++) {
+            Comment comment = new Comment();
+            comment.setName("comment " + i);
+            comment.setContent("content");
+            comment.setToDo(toDo);
+            comment.setCreatedAt(now());
+            comment.setUpdatedAt(now());
+            entityManager.persist(comment);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Tests that a page of projects, for project managers and for members, costs its select, its count and one batch of members.
+     */
+    @Test
+    void projectListsShouldUseConstantStatements() {
+        assertStatements(3, () -> withMembers(projectRepository.findProjectByNameContainingIgnoreCase("", page()).getContent()));
+        assertStatements(2, () -> withMembers(content(projectRepository.findProjectSliceByNameContainingIgnoreCase("", page()))));
+        assertStatements(2, () -> withMembers(projectRepository.findProjectByNameContainingAfter("", "", 0L, keysetPage())));
+        assertStatements(3, () -> withMembers(projectRepository.findProjectByNameContainingIgnoreCaseAndUsersContains("", member.getId(), page()).getContent()));
+        assertStatements(2, () -> withMembers(content(projectRepository.findProjectSliceByNameContainingIgnoreCaseAndUsersContains("", member.getId(), page()))));
+        assertStatements(2, () -> withMembers(projectRepository.findProjectByNameContainingAndUsersContainsAfter("", member.getId(), "", 0L, keysetPage())));
+    }
+
+    /**
+     * Tests that a page of runs costs its select and its count.
+     */
+    @Test
+    void runListsShouldUseConstantStatements() {
+        assertStatements(2, () -> runRepository.findAllByProjectIsAndNameContainingIgnoreCase(project.getId(), "", page()).getContent());
+        assertStatements(1, () -> content(runRepository.findSliceByProjectIsAndNameContainingIgnoreCase(project.getId(), "", page())));
+        assertStatements(1, () -> runRepository.findAllByProjectIsAndNameContainingAfter(project.getId(), "", "", 0L, keysetPage()));
+    }
+
+    /**
+     * Tests that a page of features, in a project or in a run, costs its select and its count.
+     */
+    @Test
+    void featureListsShouldUseConstantStatements() {
+        assertStatements(2, () -> featureRepository.findAllByProjectIsAndNameContainingIgnoreCase(project.getId(), "", page()).getContent());
+        assertStatements(2, () -> featureRepository.findAllByRunIsAndNameContainingIgnoreCase(run.getId(), "", page()).getContent());
+        assertStatements(1, () -> content(featureRepository.findSliceByRunIsAndNameContainingIgnoreCase(run.getId(), "", page())));
+        assertStatements(1, () -> featureRepository.findAllByRunIsAndNameContainingAfter(run.getId(), "", "", 0L, keysetPage()));
+    }
+
+    /**
+     * Tests that a page of to-dos, in a feature or assigned to a user across projects, costs its select and its count.
+     */
+    @Test
+    void toDoListsShouldUseConstantStatements() {
+        assertStatements(2, () -> toDoRepository.findAllByFeatureIsAndNameContainingIgnoreCase(feature.getId(), "", page()).getContent());
+        assertStatements(1, () -> content(toDoRepository.findSliceByFeatureIsAndNameContainingIgnoreCase(feature.getId(), "", page())));
+        assertStatements(1, () -> toDoRepository.findAllByFeatureIsAndNameContainingAfter(feature.getId(), "", "", 0L, keysetPage()));
+        assertStatements(2, () -> toDoRepository.findAllByUserAndAndNameContainingIgnoreCase(member.getId(), "", page()).getContent());
+        assertStatements(1, () -> content(toDoRepository.findSliceByUserAndNameContainingIgnoreCase(member.getId(), "", page())));
+        assertStatements(1, () -> toDoRepository.findAllByUserAndNameContainingAfter(member.getId(), "", "", 0L, keysetPage()));
+    }
+
+    /**
+     * Tests that a page of comments costs its select and its count.
+     */
+    @Test
+    void commentListsShouldUseConstantStatements() {
+        assertStatements(2, () -> commentRepository.getAllByToDoIs(toDo.getId(), page()).getContent());
+        assertStatements(2, () -> commentRepository.getAllByToDoIsAndNameContainingIgnoreCase(toDo.getId(), "", page()).getContent());
+        assertStatements(2, () -> commentRepository.getAllByToDoIsAndContentContainingIgnoreCase(toDo.getId(), "content", page()).getContent());
+        assertStatements(1, () -> content(commentRepository.getSliceByToDoIsAndNameContainingIgnoreCase(toDo.getId(), "", page())));
+        assertStatements(1, () -> commentRepository.getAllByToDoIsAndNameContainingAfter(toDo.getId(), "", "", 0L, keysetPage()));
+    }
+
+    /**
+     * Counts the statements of a list. The parents are passed by ID, so they are not loaded.
+     */
+    private <T> void assertStatements(int expected, Supplier<List<T>> list) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        List<T> rows = list.get();
+
+        assertFalse(rows.isEmpty());
+        assertEquals(expected, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Reads the members of a page of projects in one query, as the DAO does, and checks that every project got its two members.
+     */
+    private List<ProjectDto> withMembers(List<ProjectDto> projects) {
+        List<ProjectMemberDto> members = projectRepository.findMembersByProjectIdIn(projects.stream().map(ProjectDto::projectID).toList());
+        assertEquals(projects.size() * 2, members.size());
+        return projects;
+    }
+
+    private static <T> List<T> content(Slice<T> slice) {
+        return slice.getContent();
+    }
+
+    private static Pageable page() {
+        return PageRequest.of(0, PAGE_SIZE);
+    }
+
+    private static Pageable keysetPage() {
+        return Pageable.ofSize(PAGE_SIZE + 1);
+    }
+
+    private Run createRun(Project parent) {
+        Run created = new Run();
+        created.setName("run");
+        created.setStartDate(now());
+        created.setEndDate(now());
+        created.setStatus("New");
+        created.setProject(parent);
+        created.setCreatedAt(now());
+        created.setUpdatedAt(now());
+        return entityManager.persist(created);
+    }
+
+    private Feature createFeature(Project parent, Run parentRun) {
+        Feature created = new Feature();
+        created.setName("feature");
+        created.setDescription("description");
+        created.setStatus("New");
+        created.setProject(parent);
+        created.setRun(parentRun);
+        created.setCreatedAt(now());
+        created.setUpdatedAt(now());
+        return entityManager.persist(created);
+    }
+
+    private User createUser(String role) {
+        User user = new User(
+                FAKER.name().firstName(),
+                FAKER.name().lastName(),
+                FAKER.internet().emailAddress(),
+                "password123452435134513"
+        );
+        user.setRole(role);
+        return entityManager.persist(user);
+    }
+
+    private static Timestamp now() {
+        return Timestamp.from(Instant.now());
+    }
+}
@@ -0,0 +1,156 @@
+package com.tasky.api.repositories;
+
+import com.tasky.api.AbstractTestContainer;
+import com.tasky.api.dao.Cursor;
+import com.tasky.api.dao.CursorPage;
+import com.tasky.api.dao.toDo.ToDoDaoImpl;
+import com.tasky.api.dao.user.UserDaoImpl;
+import com.tasky.api.dto.toDo.TodoDto;
+import com.tasky.api.models.Feature;
+import com.tasky.api.models.Project;
+import com.tasky.api.models.ToDo;
+import com.tasky.api.models.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests of the keyset searches of the {@link ToDoRepository} and {@link UserRepository}.
+ * Walking the cursors must return every matching row once, in (sort key, ID) order, with one query per page.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ToDoDaoImpl.class, UserDaoImpl.class})
+class KeysetPaginationQueryTest extends AbstractTestContainer {
+
+    private static final int PAGE_SIZE = 4;
+
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private ToDoDaoImpl toDoDao;
+    @Autowired private UserDaoImpl userDao;
+
+    private User user;
+    private Feature feature;
+    private String lastName;
+
+    /**
+     * Persists a feature with to-dos sharing a few names, so that pages break in the middle of equal keys.
+     */
+    @BeforeEach
+    void setUp() {
+        Timestamp now = Timestamp.from(Instant.now());
+        lastName = UUID.randomUUID().toString();
+
+        user = createUser(lastName);
+        for(int i = 0; i < 5; i++) {
+            createUser(lastName);
+        }
+
+        Project project = entityManager.persist(new Project("keyset", now, user));
+
+        feature = new Feature();
+        feature.setName("keyset");
+        feature.setDescription("keyset");
+        feature.setStatus("New");
+        feature.setProject(project);
+        feature.setCreatedAt(now);
+        feature.setUpdatedAt(now);
+        entityManager.persist(feature);
+
+        String[] names = {"write tests", "deploy", "write docs", "deploy", "review", "write tests", "deploy", "review", "fix bug", "write tests", "deploy"};
+        for(String name : names) {
+            entityManager.persist(new ToDo(name, "task", "description", feature, user));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Tests that walking the cursors of the to-dos of a feature returns every matching row once and in order.
+     */
+    @Test
+    void shouldWalkToDosOfFeature() {
+        List<TodoDto> toDos = walk(after -> toDoDao.selectAllToDoWhereFeatureIdIsAndNameContaining(feature.getId(), "e", after, PAGE_SIZE));
+
+        assertOrderedByKeyAndId(toDos, TodoDto::title, TodoDto::toDoId);
+        assertEquals(10, toDos.size());
+    }
+
+    /**
+     * Tests that the name pattern is applied on every page.
+     */
+    @Test
+    void shouldWalkToDosOfUserMatchingPattern() {
+        List<TodoDto> toDos = walk(after -> toDoDao.selectToDosWhereUserIsAndNameContaining(user.getId(), "write", after, PAGE_SIZE));
+
+        assertOrderedByKeyAndId(toDos, TodoDto::title, TodoDto::toDoId);
+        assertEquals(4, toDos.size());
+        assertTrue(toDos.stream().allMatch(toDo -> toDo.title().contains("write")));
+    }
+
+    /**
+     * Tests that users sharing the same last name are split by their ID.
+     */
+    @Test
+    void shouldWalkUsersWithEqualKeys() {
+        List<User> users = walk(after -> userDao.selectAllUsersByLastName(lastName, after, PAGE_SIZE));
+
+        assertOrderedByKeyAndId(users, User::getLastName, User::getId);
+        assertEquals(6, users.size());
+    }
+
+    private <T> List<T> walk(Function<Cursor, CursorPage<T>> search) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<T> rows = new ArrayList<>();
+        Cursor after = Cursor.FIRST;
+
+        do {
+            statistics.clear();
+            CursorPage<T> page = search.apply(Cursor.decode(after.encode()));
+            assertTrue(page.content().size() <= PAGE_SIZE);
+            assertEquals(1, statistics.getQueryExecutionCount(), "A page must be fetched without count query");
+            rows.addAll(page.content());
+            after = page.next();
+            entityManager.clear();
+        } while(after != null);
+
+        return rows;
+    }
+
+    private <T> void assertOrderedByKeyAndId(List<T> rows, Function<T, String> key, Function<T, Long> id) {
+        List<T> expected = new ArrayList<>(rows);
+        expected.sort(Comparator.comparing(key).thenComparing(id));
+        assertEquals(expected.stream().map(id).toList(), rows.stream().map(id).toList());
+        assertEquals(rows.size(), rows.stream().map(id).distinct().count());
+    }
+
+    private User createUser(String lastName) {
+        User user = new User(
+                FAKER.name().firstName(),
+                lastName,
+                FAKER.internet().emailAddress(),
+                "password123452435134513"
+        );
+        user.setRole("USER");
+        return entityManager.persist(user);
+    }
+}
@@ -0,0 +1,135 @@
+package com.tasky.api.repositories;
+
+import com.tasky.api.AbstractTestContainer;
+import com.tasky.api.models.*;
+import com.tasky.api.repositories.StatementRecorder.RecordedStatement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests of the statements run by the PATCH of a row loaded in the transaction of the request:
+ * a single UPDATE of the changed columns, checking and incrementing the version of the row.
+ */
+@DataJpaTest
+@Import(StatementRecorder.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PartialUpdateQueryTest extends AbstractTestContainer {
+
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ProjectRepository projectRepository;
+    @Autowired private ToDoRepository toDoRepository;
+
+    private User member;
+    private Project project;
+    private ToDo toDo;
+
+    /**
+     * Persists a project with a feature and a to-do assigned to its creator, and a member to assign the to-do to.
+     */
+    @BeforeEach
+    void setUp() {
+        User projectManager = createUser("PROJECT_MANAGER");
+        member = createUser("USER");
+        project = entityManager.persist(new Project("project", now(), projectManager));
+        member.getProjects().add(project);
+
+        Feature feature = new Feature("feature", "description", project);
+        entityManager.persist(feature);
+        toDo = entityManager.persist(new ToDo("toDo", "task", "description", feature, projectManager));
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Tests that assigning a to-do through a reference writes the changed columns only, without loading the assignee.
+     */
+    @Test
+    void toDoShouldBeUpdatedByASingleUpdateOfItsChangedColumns() {
+        // GIVEN
+        ToDo loaded = toDoRepository.findById(toDo.getId()).orElseThrow();
+
+        // WHEN
+        List<RecordedStatement> statements = StatementRecorder.record(() -> {
+            loaded.setName("renamed");
+            loaded.setUser(userRepository.getReferenceById(member.getId()));
+            toDoRepository.saveAndFlush(loaded);
+        });
+
+        // THEN
+        assertEquals(1, statements.size(), statements::toString);
+        String update = statements.get(0).sql();
+        assertTrue(update.startsWith("update to_do set name=?,user_id=?,version=?"), update);
+        assertTrue(update.endsWith("where id=? and version=?"), update);
+        assertEquals(1, jdbcTemplate.queryForObject("select version from to_do where id = ?", Integer.class, toDo.getId()));
+        assertEquals(member.getId(), jdbcTemplate.queryForObject("select user_id from to_do where id = ?", Long.class, toDo.getId()));
+    }
+
+    /**
+     * Tests that a cached project is updated by a single UPDATE of its changed columns.
+     */
+    @Test
+    void projectShouldBeUpdatedByASingleUpdateOfItsChangedColumns() {
+        // GIVEN
+        Project loaded = projectRepository.findById(project.getId()).orElseThrow();
+
+        // WHEN
+        List<RecordedStatement> statements = StatementRecorder.record(() -> {
+            loaded.setStatus("Completed");
+            loaded.setUpdatedAt(now());
+            projectRepository.saveAndFlush(loaded);
+        });
+
+        // THEN
+        assertEquals(1, statements.size(), statements::toString);
+        String update = statements.get(0).sql();
+        assertTrue(update.startsWith("update project set status=?,updated_at=?,version=?"), update);
+        assertTrue(update.endsWith("where id=? and version=?"), update);
+    }
+
+    /**
+     * Tests that a to-do updated by another transaction since it was read is not overwritten.
+     */
+    @Test
+    void staleToDoShouldNotBeUpdated() {
+        // GIVEN
+        ToDo loaded = toDoRepository.findById(toDo.getId()).orElseThrow();
+        jdbcTemplate.update("update to_do set description = 'concurrent', version = version + 1 where id = ?", toDo.getId());
+
+        // WHEN
+        loaded.setName("renamed");
+
+        // THEN
+        assertThrows(OptimisticLockingFailureException.class, () -> toDoRepository.saveAndFlush(loaded));
+    }
+
+    private User createUser(String role) {
+        User user = new User(
+                FAKER.name().firstName(),
+                FAKER.name().lastName(),
+                FAKER.internet().emailAddress(),
+                "password123452435134513"
+        );
+        user.setRole(role);
+        return entityManager.persist(user);
+    }
+
+    private static Timestamp now() {
+        return Timestamp.from(Instant.now());
+    }
+}
@@ -0,0 +1,319 @@
+package com.tasky.api.repositories;
+
+import com.tasky.api.AbstractTestContainer;
+import com.tasky.api.models.*;
+import com.tasky.api.repositories.StatementRecorder.RecordedStatement;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.reflect.Method;
+import java.sql.Statement;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query plan regression harness: every method of every repository, every collection of the entities and every cascaded
+ * delete is explained on a dataset of a few million rows, and fails when its plan scans a table sequentially.
+ * A repository method without a case here fails the build as well, so new queries get their plan checked.
+ * The dataset is committed once for the class, in the container of the class.
+ */
+@DataJpaTest
+@Import(StatementRecorder.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class QueryPlanRegressionTest extends AbstractTestContainer {
+
+    private static final int USERS = 100_000;
+    private static final int PROJECTS = 1_000_000;
+    private static final int RUNS = 200_000;
+    private static final int FEATURES = 500_000;
+    private static final int TO_DOS = 1_000_000;
+    private static final int COMMENTS = 1_000_000;
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            UserRepository.class,
+            ProjectRepository.class,
+            RunRepository.class,
+            FeatureRepository.class,
+            ToDoRepository.class,
+            CommentRepository.class
+    );
+
+    /**
+     * Methods reading a whole table by design.
+     */
+    private static final Set<String> FULL_SCANS = Set.of("UserRepository.findAllSuggestions");
+
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ProjectRepository projectRepository;
+    @Autowired private RunRepository runRepository;
+    @Autowired private FeatureRepository featureRepository;
+    @Autowired private ToDoRepository toDoRepository;
+    @Autowired private CommentRepository commentRepository;
+
+    /**
+     * Inserts the rows with explicit IDs, without firing the triggers, then refreshes the statistics.
+     * Row i of a table belongs to the parent of ID 1 + i % (number of parents), so that every parent has children.
+     */
+    @BeforeAll
+    static void seed() {
+        getJDBCtemplate().execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("set session_replication_role = replica");
+                statement.execute("""
+                        insert into user_account (id, first_name, last_name, email, password, role)
+                        select i, 'first' || i, 'last' || i, 'user' || i || '@tasky.com', 'password', case when i %% 10 = 0 then 'PROJECT_MANAGER' else 'USER' end
+                        from generate_series(1, %d) i
+                        """.formatted(USERS));
+                statement.execute("""
+                        insert into project (id, name, due_date, created_by)
+                        select i, 'Project ' || i, now(), 1 + i %% %d
+                        from generate_series(1, %d) i
+                        """.formatted(USERS, PROJECTS));
+                statement.execute("""
+                        insert into user_account_project (user_account_id, project_id)
+                        select distinct i, 1 + (i * multiplier) %% %d
+                        from generate_series(1, %d) i, (values (1), (7)) multipliers(multiplier)
+                        """.formatted(PROJECTS, USERS));
+                statement.execute("""
+                        insert into run (id, name, start_date, end_date, project_id)
+                        select i, 'Run ' || i, now(), now(), 1 + i %% %d
+                        from generate_series(1, %d) i
+                        """.formatted(PROJECTS, RUNS));
+                statement.execute("""
+                        insert into feature (id, name, run_id, project_id)
+                        select i, 'Feature ' || i, 1 + i %% %d, 1 + (1 + i %% %d) %% %d
+                        from generate_series(1, %d) i
+                        """.formatted(RUNS, RUNS, PROJECTS, FEATURES));
+                statement.execute("""
+                        insert into to_do (id, name, type, feature_id, user_id)
+                        select i, 'ToDo ' || i, 'task', 1 + i %% %d, 1 + i %% %d
+                        from generate_series(1, %d) i
+                        """.formatted(FEATURES, USERS, TO_DOS));
+                statement.execute("""
+                        insert into comment (id, name, content, to_do_id)
+                        select i, 'Comment ' || i, 'content ' || i, 1 + i %% %d
+                        from generate_series(1, %d) i
+                        """.formatted(TO_DOS, COMMENTS));
+                statement.execute("""
+                        insert into feature_to_do_count (feature_id, status, type, to_dos)
+                        select feature_id, status, type, count(*)
+                        from to_do
+                        group by feature_id, status, type
+                        """);
+                statement.execute("""
+                        insert into to_do_transition (id, to_do_id, run_id, to_status)
+                        select t.id, t.id, f.run_id, t.status
+                        from to_do t
+                        join feature f on f.id = t.feature_id
+                        """);
+                statement.execute("""
+                        insert into run_burndown (run_id, day, status, to_dos)
+                        select run_id, current_date - 1, to_status, count(*)
+                        from to_do_transition
+                        group by run_id, to_status
+                        """);
+                statement.execute("set session_replication_role = origin");
+                for(String table : List.of("user_account", "project", "run", "feature", "to_do", "comment", "to_do_transition")) {
+                    statement.execute("select setval('%1$s_id_seq', (select max(id) from %1$s) + 1000)".formatted(table));
+                }
+                statement.execute("analyze");
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Tests that every method declared by a repository has a plan case.
+     */
+    @Test
+    void everyRepositoryMethodShouldHaveAPlanCase() {
+        Set<String> declared = REPOSITORIES
+                .stream()
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods()).map(method -> name(repository, method)))
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        assertEquals(declared, new TreeSet<>(repositoryCases().keySet()));
+    }
+
+    /**
+     * Tests that no repository method scans a table sequentially, except those reading a whole table by design.
+     */
+    @Test
+    void repositoryMethodsShouldNotScanTablesSequentially() {
+        List<String> regressions = new ArrayList<>();
+        repositoryCases().forEach((name, call) -> {
+            if(!FULL_SCANS.contains(name)) {
+                regressions.addAll(sequentialScans(name, call));
+            }
+        });
+
+        assertTrue(regressions.isEmpty(), () -> String.join("\n", regressions));
+    }
+
+    /**
+     * Tests that every collection mapped by an entity, which Hibernate loads before removing the entity, is read through an index.
+     * Each collection is joined through its mapping and counted, so that the rows are not hydrated.
+     */
+    @Test
+    void associationsShouldNotScanTablesSequentially() {
+        List<String> regressions = new ArrayList<>();
+        for(EntityType<?> entity : entityManager.getEntityManager().getMetamodel().getEntities()) {
+            for(PluralAttribute<?, ?, ?> collection : entity.getPluralAttributes()) {
+                String jpql = "select count(c) from %s o join o.%s c where o.id = 42".formatted(entity.getName(), collection.getName());
+                regressions.addAll(sequentialScans(
+                        entity.getName() + "." + collection.getName(),
+                        () -> entityManager.getEntityManager().createQuery(jpql).getSingleResult()
+                ));
+            }
+        }
+
+        assertTrue(regressions.isEmpty(), () -> String.join("\n", regressions));
+    }
+
+    /**
+     * Tests that the delete cascaded along every foreign key of the schema finds the children through an index.
+     */
+    @Test
+    void cascadedDeletesShouldNotScanTablesSequentially() {
+        List<Map<String, Object>> foreignKeys = jdbcTemplate.queryForList("""
+                select c.conrelid::regclass::text as child, a.attname as column_name
+                from pg_constraint c
+                join pg_attribute a on a.attrelid = c.conrelid and a.attnum = c.conkey[1]
+                where c.contype = 'f'
+                """);
+        assertFalse(foreignKeys.isEmpty());
+
+        List<String> regressions = new ArrayList<>();
+        for(Map<String, Object> foreignKey : foreignKeys) {
+            String sql = "delete from %s where %s = 1".formatted(foreignKey.get("child"), foreignKey.get("column_name"));
+            String plan = String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class));
+            if(plan.contains("Seq Scan")) {
+                regressions.add("%s:%n%s%n%s".formatted(foreignKey.get("child") + "." + foreignKey.get("column_name"), sql, plan));
+            }
+        }
+
+        assertTrue(regressions.isEmpty(), () -> String.join("\n", regressions));
+    }
+
+    /**
+     * @return A call of each repository method, by repository and method name.
+     * Lists scoped to a parent use an empty name, so that they are served by the foreign key, as the unfiltered lists of the API.
+     */
+    private Map<String, Runnable> repositoryCases() {
+        Map<String, Runnable> cases = new LinkedHashMap<>();
+        Function<String, String> user = method -> "UserRepository." + method;
+        cases.put(user.apply("findUserByEmail"), () -> userRepository.findUserByEmail("user12345@tasky.com"));
+        cases.put(user.apply("existsUserByEmail"), () -> userRepository.existsUserByEmail("user12345@tasky.com"));
+        cases.put(user.apply("findAllByEmailContainsIgnoreCase"), () -> userRepository.findAllByEmailContainsIgnoreCase("R12345@", PageRequest.of(0, 10)));
+        cases.put(user.apply("findSliceByEmailContainsIgnoreCase"), () -> userRepository.findSliceByEmailContainsIgnoreCase("r12345@", PageRequest.of(0, 10)));
+        cases.put(user.apply("findAllByEmailContainsAfter"), () -> userRepository.findAllByEmailContainsAfter("r12345@", "", 0L, Pageable.ofSize(11)));
+        cases.put(user.apply("findUsersByFirstNameContainingIgnoreCase"), () -> userRepository.findUsersByFirstNameContainingIgnoreCase("ST12345", PageRequest.of(0, 10)));
+        cases.put(user.apply("findUsersSliceByFirstNameContainingIgnoreCase"), () -> userRepository.findUsersSliceByFirstNameContainingIgnoreCase("st12345", PageRequest.of(0, 10)));
+        cases.put(user.apply("findUsersByFirstNameContainingAfter"), () -> userRepository.findUsersByFirstNameContainingAfter("st12345", "", 0L, Pageable.ofSize(11)));
+        cases.put(user.apply("findUsersByLastNameContainingIgnoreCase"), () -> userRepository.findUsersByLastNameContainingIgnoreCase("ST12345", PageRequest.of(0, 10)));
+        cases.put(user.apply("findUsersSliceByLastNameContainingIgnoreCase"), () -> userRepository.findUsersSliceByLastNameContainingIgnoreCase("st12345", PageRequest.of(0, 10)));
+        cases.put(user.apply("findUsersByLastNameContainingAfter"), () -> userRepository.findUsersByLastNameContainingAfter("st12345", "", 0L, Pageable.ofSize(11)));
+        cases.put(user.apply("findTokenVersionById"), () -> userRepository.findTokenVersionById(42L));
+        cases.put(user.apply("findAllSuggestions"), () -> userRepository.findAllSuggestions());
+        cases.put(user.apply("deleteUserById"), () -> userRepository.deleteUserById(42L));
+
+        Function<String, String> project = method -> "ProjectRepository." + method;
+        cases.put(project.apply("findProjectByNameContainingIgnoreCase"), () -> projectRepository.findProjectByNameContainingIgnoreCase("ect 12345", PageRequest.of(0, 5)));
+        cases.put(project.apply("findProjectSliceByNameContainingIgnoreCase"), () -> projectRepository.findProjectSliceByNameContainingIgnoreCase("ECT 12345", PageRequest.of(0, 5)));
+        cases.put(project.apply("findProjectByNameContainingAfter"), () -> projectRepository.findProjectByNameContainingAfter("ect 12345", "", 0L, Pageable.ofSize(6)));
+        cases.put(project.apply("findProjectByNameContainingIgnoreCaseAndUsersContains"), () -> projectRepository.findProjectByNameContainingIgnoreCaseAndUsersContains("", 42L, PageRequest.of(0, 5)));
+        cases.put(project.apply("findProjectSliceByNameContainingIgnoreCaseAndUsersContains"), () -> projectRepository.findProjectSliceByNameContainingIgnoreCaseAndUsersContains("", 42L, PageRequest.of(0, 5)));
+        cases.put(project.apply("findProjectByNameContainingAndUsersContainsAfter"), () -> projectRepository.findProjectByNameContainingAndUsersContainsAfter("", 42L, "", 0L, Pageable.ofSize(6)));
+        cases.put(project.apply("findDtoById"), () -> projectRepository.findDtoById(42L));
+        cases.put(project.apply("findMembersByProjectIdIn"), () -> projectRepository.findMembersByProjectIdIn(List.of(42L, 43L, 44L, 45L, 46L)));
+        cases.put(project.apply("existsProjectById"), () -> projectRepository.existsProjectById(42L));
+        cases.put(project.apply("findProjectIdsByMemberId"), () -> projectRepository.findProjectIdsByMemberId(42L));
+        cases.put(project.apply("deleteProjectById"), () -> projectRepository.deleteProjectById(42L));
+        cases.put(project.apply("findVersionById"), () -> projectRepository.findVersionById(42L));
+        cases.put(project.apply("findVersionByNameContainingIgnoreCase"), () -> projectRepository.findVersionByNameContainingIgnoreCase("ect 12345"));
+        cases.put(project.apply("findVersionByNameContainingIgnoreCaseAndUsersContains"), () -> projectRepository.findVersionByNameContainingIgnoreCaseAndUsersContains("", 42L));
+
+        Function<String, String> run = method -> "RunRepository." + method;
+        cases.put(run.apply("findAllByProjectIsAndNameContainingIgnoreCase"), () -> runRepository.findAllByProjectIsAndNameContainingIgnoreCase(42L, "", PageRequest.of(0, 6)));
+        cases.put(run.apply("findSliceByProjectIsAndNameContainingIgnoreCase"), () -> runRepository.findSliceByProjectIsAndNameContainingIgnoreCase(42L, "", PageRequest.of(0, 6)));
+        cases.put(run.apply("findAllByProjectIsAndNameContainingAfter"), () -> runRepository.findAllByProjectIsAndNameContainingAfter(42L, "", "", 0L, Pageable.ofSize(7)));
+        cases.put(run.apply("findByIdForMember"), () -> runRepository.findByIdForMember(42L, 42L));
+        cases.put(run.apply("findDtoByIdForMember"), () -> runRepository.findDtoByIdForMember(42L, 42L));
+        cases.put(run.apply("findVersionByIdForMember"), () -> runRepository.findVersionByIdForMember(42L, 42L));
+        cases.put(run.apply("findVersionByProjectIsAndNameContainingIgnoreCase"), () -> runRepository.findVersionByProjectIsAndNameContainingIgnoreCase(42L, ""));
+
+        Function<String, String> feature = method -> "FeatureRepository." + method;
+        cases.put(feature.apply("findAllByProjectIsAndNameContainingIgnoreCase"), () -> featureRepository.findAllByProjectIsAndNameContainingIgnoreCase(42L, "", PageRequest.of(0, 6)));
+        cases.put(feature.apply("findAllByRunIsAndNameContainingIgnoreCase"), () -> featureRepository.findAllByRunIsAndNameContainingIgnoreCase(42L, "", PageRequest.of(0, 6)));
+        cases.put(feature.apply("findSliceByRunIsAndNameContainingIgnoreCase"), () -> featureRepository.findSliceByRunIsAndNameContainingIgnoreCase(42L, "", PageRequest.of(0, 6)));
+        cases.put(feature.apply("findAllByRunIsAndNameContainingAfter"), () -> featureRepository.findAllByRunIsAndNameContainingAfter(42L, "", "", 0L, Pageable.ofSize(7)));
+        cases.put(feature.apply("findByIdForMember"), () -> featureRepository.findByIdForMember(42L, 42L));
+        cases.put(feature.apply("findDtoByIdForMember"), () -> featureRepository.findDtoByIdForMember(42L, 42L));
+        cases.put(feature.apply("findVersionByIdForMember"), () -> featureRepository.findVersionByIdForMember(42L, 42L));
+        cases.put(feature.apply("findVersionByRunIsAndNameContainingIgnoreCase"), () -> featureRepository.findVersionByRunIsAndNameContainingIgnoreCase(42L, ""));
+
+        Function<String, String> toDo = method -> "ToDoRepository." + method;
+        cases.put(toDo.apply("findAllByFeatureIsAndNameContainingIgnoreCase"), () -> toDoRepository.findAllByFeatureIsAndNameContainingIgnoreCase(42L, "", PageRequest.of(0, 6)));
+        cases.put(toDo.apply("findSliceByFeatureIsAndNameContainingIgnoreCase"), () -> toDoRepository.findSliceByFeatureIsAndNameContainingIgnoreCase(42L, "", PageRequest.of(0, 6)));
+        cases.put(toDo.apply("findAllByFeatureIsAndNameContainingAfter"), () -> toDoRepository.findAllByFeatureIsAndNameContainingAfter(42L, "", "", 0L, Pageable.ofSize(7)));
+        cases.put(toDo.apply("findAllByUserAndAndNameContainingIgnoreCase"), () -> toDoRepository.findAllByUserAndAndNameContainingIgnoreCase(42L, "", PageRequest.of(0, 6)));
+        cases.put(toDo.apply("findSliceByUserAndNameContainingIgnoreCase"), () -> toDoRepository.findSliceByUserAndNameContainingIgnoreCase(42L, "", PageRequest.of(0, 6)));
+        cases.put(toDo.apply("findAllByUserAndNameContainingAfter"), () -> toDoRepository.findAllByUserAndNameContainingAfter(42L, "", "", 0L, Pageable.ofSize(7)));
+        cases.put(toDo.apply("findByIdForMember"), () -> toDoRepository.findByIdForMember(42L, 42L));
+        cases.put(toDo.apply("findDtoByIdForMember"), () -> toDoRepository.findDtoByIdForMember(42L, 42L));
+        cases.put(toDo.apply("findVersionByIdForMember"), () -> toDoRepository.findVersionByIdForMember(42L, 42L));
+        cases.put(toDo.apply("findVersionByFeatureIsAndNameContainingIgnoreCase"), () -> toDoRepository.findVersionByFeatureIsAndNameContainingIgnoreCase(42L, ""));
+        cases.put(toDo.apply("findVersionByUserAndNameContainingIgnoreCase"), () -> toDoRepository.findVersionByUserAndNameContainingIgnoreCase(42L, ""));
+
+        Function<String, String> comment = method -> "CommentRepository." + method;
+        cases.put(comment.apply("getAllByToDoIs"), () -> commentRepository.getAllByToDoIs(42L, PageRequest.of(0, 5)));
+        cases.put(comment.apply("getAllByToDoIsAndNameContainingIgnoreCase"), () -> commentRepository.getAllByToDoIsAndNameContainingIgnoreCase(42L, "", PageRequest.of(0, 5)));
+        cases.put(comment.apply("getSliceByToDoIsAndNameContainingIgnoreCase"), () -> commentRepository.getSliceByToDoIsAndNameContainingIgnoreCase(42L, "", PageRequest.of(0, 5)));
+        cases.put(comment.apply("getAllByToDoIsAndNameContainingAfter"), () -> commentRepository.getAllByToDoIsAndNameContainingAfter(42L, "", "", 0L, Pageable.ofSize(6)));
+        cases.put(comment.apply("getAllByToDoIsAndContentContainingIgnoreCase"), () -> commentRepository.getAllByToDoIsAndContentContainingIgnoreCase(42L, "content", PageRequest.of(0, 5)));
+        cases.put(comment.apply("findByIdForMember"), () -> commentRepository.findByIdForMember(42L, 42L));
+        cases.put(comment.apply("findDtoByIdForMember"), () -> commentRepository.findDtoByIdForMember(42L, 42L));
+        return cases;
+    }
+
+    /**
+     * Runs a call, then explains every statement it ran with the same parameters.
+     *
+     * @return A description of each statement whose plan scans a table sequentially.
+     */
+    private List<String> sequentialScans(String name, Runnable call) {
+        entityManager.clear();
+        List<RecordedStatement> statements = StatementRecorder.record(call);
+        assertFalse(statements.isEmpty(), "No statement run by " + name);
+
+        return statements
+                .stream()
+                .flatMap(statement -> {
+                    String plan = StatementRecorder.explain(jdbcTemplate, statement);
+                    return plan.contains("Seq Scan")
+                            ? Stream.of("%s:%n%s%n%s".formatted(name, statement.sql(), plan))
+                            : Stream.empty();
+                })
+                .toList();
+    }
+
+    private static String name(Class<?> repository, Method method) {
+        return repository.getSimpleName() + "." + method.getName();
+    }
+}
@@ -0,0 +1,151 @@
+package com.tasky.api.repositories;
+
+import com.tasky.api.AbstractTestContainer;
+import com.tasky.api.dao.AuthorizedResource;
+import com.tasky.api.dao.ResourceVersion;
+import com.tasky.api.models.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests of the queries reading the validators of the conditional GET requests:
+ * the entity tag of a row changes with its version, and the one of a list with its rows.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ResourceVersionQueryTest extends AbstractTestContainer {
+
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ProjectRepository projectRepository;
+    @Autowired private ToDoRepository toDoRepository;
+
+    private User projectManager;
+    private User member;
+    private Project project;
+    private Feature feature;
+    private ToDo toDo;
+
+    /**
+     * Persists a project with a feature and a to-do, and a user who is not a member of the project yet.
+     */
+    @BeforeEach
+    void setUp() {
+        projectManager = createUser("PROJECT_MANAGER");
+        member = createUser("USER");
+        project = entityManager.persist(new Project("project", now(), projectManager));
+        projectManager.getProjects().add(project);
+
+        feature = new Feature("feature", "description", project);
+        entityManager.persist(feature);
+        toDo = entityManager.persist(new ToDo("toDo", "task", "description", feature, projectManager));
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Tests that the entity tag of a to-do is derived from its version, and that its membership is checked along.
+     */
+    @Test
+    void toDoVersionShouldChangeWithItsVersion() {
+        // GIVEN
+        AuthorizedResource<ResourceVersion> before = toDoRepository.findVersionByIdForMember(toDo.getId(), projectManager.getId()).orElseThrow();
+
+        // WHEN
+        jdbcTemplate.update("update to_do set name = 'renamed', version = version + 1 where id = ?", toDo.getId());
+
+        // THEN
+        ResourceVersion after = toDoRepository.findVersionByIdForMember(toDo.getId(), projectManager.getId()).orElseThrow().resource();
+        assertTrue(before.member());
+        assertEquals("\"%s-0\"".formatted(toDo.getId()), before.resource().eTag());
+        assertEquals("\"%s-1\"".formatted(toDo.getId()), after.eTag());
+        assertTrue(after.lastModified() > 0);
+        assertFalse(toDoRepository.findVersionByIdForMember(toDo.getId(), member.getId()).orElseThrow().member());
+    }
+
+    /**
+     * Tests that the weak entity tag of the to-dos of a feature changes when a to-do is added, and that a name filter applies.
+     */
+    @Test
+    void toDoListVersionShouldChangeWithItsRows() {
+        // GIVEN
+        ResourceVersion before = toDoRepository.findVersionByFeatureIsAndNameContainingIgnoreCase(feature.getId(), "");
+
+        // WHEN
+        entityManager.persist(new ToDo("other", "bug", "description", entityManager.find(Feature.class, feature.getId()), null));
+        entityManager.flush();
+
+        // THEN
+        ResourceVersion after = toDoRepository.findVersionByFeatureIsAndNameContainingIgnoreCase(feature.getId(), "");
+        assertTrue(before.eTag().startsWith("W/\"1-"), before.eTag());
+        assertTrue(after.eTag().startsWith("W/\"2-"), after.eTag());
+        assertEquals(2, after.rows());
+        assertTrue(toDoRepository.findVersionByFeatureIsAndNameContainingIgnoreCase(feature.getId(), "OTH").eTag().startsWith("W/\"1-"));
+    }
+
+    /**
+     * Tests that adding a member changes the entity tags of the project and of the lists of projects, though no project row changes.
+     */
+    @Test
+    void projectVersionShouldChangeWithItsMembers() {
+        // GIVEN
+        ResourceVersion before = projectRepository.findVersionById(project.getId()).orElseThrow();
+        ResourceVersion listBefore = projectRepository.findVersionByNameContainingIgnoreCaseAndUsersContains("", projectManager.getId());
+
+        // WHEN
+        jdbcTemplate.update("insert into user_account_project (user_account_id, project_id) values (?, ?)", member.getId(), project.getId());
+
+        // THEN
+        ResourceVersion after = projectRepository.findVersionById(project.getId()).orElseThrow();
+        assertNotEquals(before.eTag(), after.eTag());
+        assertEquals(-1, after.lastModified());
+        assertNotEquals(listBefore, projectRepository.findVersionByNameContainingIgnoreCaseAndUsersContains("", projectManager.getId()));
+        assertTrue(projectRepository.findVersionByNameContainingIgnoreCaseAndUsersContains("", member.getId()).eTag().startsWith("W/\"1-"));
+        assertTrue(projectRepository.findVersionById(-1L).isEmpty());
+    }
+
+    /**
+     * Tests that an update of the creator, whose email is part of the reads of a project, changes the entity tags of the project
+     * and of the lists of projects.
+     */
+    @Test
+    void projectVersionShouldChangeWithItsCreator() {
+        // GIVEN
+        ResourceVersion before = projectRepository.findVersionById(project.getId()).orElseThrow();
+        ResourceVersion listBefore = projectRepository.findVersionByNameContainingIgnoreCase("");
+
+        // WHEN
+        jdbcTemplate.update("update user_account set email = 'renamed@tasky.com', updated_at = now() + interval '1 minute' where id = ?", projectManager.getId());
+
+        // THEN
+        assertNotEquals(before.eTag(), projectRepository.findVersionById(project.getId()).orElseThrow().eTag());
+        assertNotEquals(listBefore.eTag(), projectRepository.findVersionByNameContainingIgnoreCase("").eTag());
+        assertEquals(listBefore.rows(), projectRepository.findVersionByNameContainingIgnoreCase("").rows());
+    }
+
+    private User createUser(String role) {
+        User user = new User(
+                FAKER.name().firstName(),
+                FAKER.name().lastName(),
+                FAKER.internet().emailAddress(),
+                "password123452435134513"
+        );
+        user.setRole(role);
+        return entityManager.persist(user);
+    }
+
+    private static Timestamp now() {
+        return Timestamp.from(Instant.now());
+    }
+}
@@ -0,0 +1,161 @@
+package com.tasky.api.repositories;
+
+import com.tasky.api.AbstractTestContainer;
+import com.tasky.api.configurations.cache.CacheRegion;
+import com.tasky.api.configurations.cache.SecondLevelCacheConfiguration;
+import com.tasky.api.configurations.cache.SecondLevelCacheMetrics;
+import com.tasky.api.models.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests of the second-level cache, with the run region turned off.
+ * Every step runs in its own committed transaction, since the cache is only updated once a transaction is over.
+ */
+@DataJpaTest(properties = "server.second-level-cache.regions.run.enabled=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SecondLevelCacheConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest extends AbstractTestContainer {
+
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private SecondLevelCacheMetrics secondLevelCacheMetrics;
+    @Autowired private ProjectRepository projectRepository;
+    @Autowired private FeatureRepository featureRepository;
+    @PersistenceContext private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Long projectId;
+    private Long runId;
+    private Long featureId;
+
+    /**
+     * Commits a project with a member, a run and a feature, and empties the cache.
+     */
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        inTransaction(() -> {
+            Timestamp now = Timestamp.from(Instant.now());
+            Project project = new Project("project", now, createUser("PROJECT_MANAGER"));
+            entityManager.persist(project);
+            createUser("USER").getProjects().add(project);
+
+            Run run = new Run();
+            run.setName("run");
+            run.setStartDate(now);
+            run.setEndDate(now);
+            run.setStatus("New");
+            run.setProject(project);
+            run.setCreatedAt(now);
+            run.setUpdatedAt(now);
+            entityManager.persist(run);
+
+            Feature feature = new Feature();
+            feature.setName("feature");
+            feature.setDescription("description");
+            feature.setStatus("New");
+            feature.setProject(project);
+            feature.setRun(run);
+            feature.setCreatedAt(now);
+            feature.setUpdatedAt(now);
+            entityManager.persist(feature);
+
+            projectId = project.getId();
+            runId = run.getId();
+            featureId = feature.getId();
+            return null;
+        });
+
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    /**
+     * Tests that a feature and its project are served from the cache once read, and that its run, whose region is off, is not cached.
+     */
+    @Test
+    void featureAndProjectShouldBeServedFromTheCache() {
+        inTransaction(() -> featureRepository.findById(featureId).orElseThrow());
+        inTransaction(() -> featureRepository.findById(featureId).orElseThrow());
+        inTransaction(() -> projectRepository.findById(projectId).orElseThrow());
+
+        assertTrue(entityManagerFactory.getCache().contains(Feature.class, featureId));
+        assertTrue(entityManagerFactory.getCache().contains(Project.class, projectId));
+        assertFalse(entityManagerFactory.getCache().contains(Run.class, runId));
+        assertEquals(1, statistics.getDomainDataRegionStatistics(CacheRegion.FEATURE.getRegionName()).getHitCount());
+        assertEquals(2, statistics.getDomainDataRegionStatistics(CacheRegion.PROJECT.getRegionName()).getHitCount());
+    }
+
+    /**
+     * Tests that the cached members of a project are evicted when a user joins it through the owning side of the association.
+     */
+    @Test
+    void membersShouldBeEvictedWhenAUserJoinsTheProject() {
+        assertEquals(1, inTransaction(this::countMembers));
+        assertEquals(1, inTransaction(this::countMembers));
+        assertEquals(1, statistics.getDomainDataRegionStatistics(CacheRegion.PROJECT_USERS.getRegionName()).getHitCount());
+
+        inTransaction(() -> createUser("USER").getProjects().add(entityManager.find(Project.class, projectId)));
+
+        assertEquals(2, inTransaction(this::countMembers));
+    }
+
+    /**
+     * Tests that the hit ratio of the enabled regions is published, and that no meter is published for the run region.
+     */
+    @Test
+    void hitRatioShouldBePublishedForEnabledRegions() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        secondLevelCacheMetrics.bindTo(registry);
+
+        inTransaction(() -> projectRepository.findById(projectId).orElseThrow());
+        inTransaction(() -> projectRepository.findById(projectId).orElseThrow());
+
+        assertEquals(0.5, registry.get("cache.hit.ratio").tag("cache", CacheRegion.PROJECT.getRegionName()).gauge().value());
+        assertEquals(1, registry.get("cache.gets").tags("cache", CacheRegion.PROJECT.getRegionName(), "result", "hit").functionCounter().count());
+        assertNull(registry.find("cache.gets").tag("cache", CacheRegion.RUN.getRegionName()).meter());
+    }
+
+    private int countMembers() {
+        return entityManager.find(Project.class, projectId).getUsers().size();
+    }
+
+    private <T> T inTransaction(Supplier<T> code) {
+        return new TransactionTemplate(transactionManager).execute(status -> code.get());
+    }
+
+    private User createUser(String role) {
+        User user = new User(
+                FAKER.name().firstName(),
+                FAKER.name().lastName(),
+                FAKER.internet().emailAddress(),
+                "password123452435134513"
+        );
+        user.setRole(role);
+        entityManager.persist(user);
+        return user;
+    }
+}
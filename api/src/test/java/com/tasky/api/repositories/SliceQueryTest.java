@@ -0,0 +1,121 @@
+package com.tasky.api.repositories;
+
+import com.tasky.api.AbstractTestContainer;
+import com.tasky.api.dto.comment.CommentDto;
+import com.tasky.api.dto.toDo.TodoDto;
+import com.tasky.api.models.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests of the slice searches of the {@link CommentRepository} and {@link ToDoRepository}.
+ * A slice must be read by a single query, where a page also runs a count query.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SliceQueryTest extends AbstractTestContainer {
+
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private CommentRepository commentRepository;
+    @Autowired private ToDoRepository toDoRepository;
+
+    private Statistics statistics;
+    private User user;
+    private Feature feature;
+    private ToDo toDo;
+
+    /**
+     * Persists a to-do with seven comments.
+     */
+    @BeforeEach
+    void setUp() {
+        Timestamp now = Timestamp.from(Instant.now());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        user = new User("slice", "slice", FAKER.internet().emailAddress(), "password123452435134513");
+        user.setRole("USER");
+        entityManager.persist(user);
+
+        Project project = entityManager.persist(new Project("slice", now, user));
+
+        feature = new Feature();
+        feature.setName("slice");
+        feature.setDescription("slice");
+        feature.setStatus("New");
+        feature.setProject(project);
+        feature.setCreatedAt(now);
+        feature.setUpdatedAt(now);
+        entityManager.persist(feature);
+
+        toDo = entityManager.persist(new ToDo("slice", "task", "description", feature, user));
+
+        for(int i = 0; i < 7; i++) {
+            Comment comment = new Comment();
+            comment.setName("comment " + i);
+            comment.setContent("content");
+            comment.setToDo(toDo);
+            comment.setCreatedAt(now);
+            comment.setUpdatedAt(now);
+            entityManager.persist(comment);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Tests that slices of comments tell whether a next page exists without count query.
+     */
+    @Test
+    void commentSliceShouldNotCount() {
+        statistics.clear();
+        Slice<CommentDto> first = commentRepository.getSliceByToDoIsAndNameContainingIgnoreCase(toDo.getId(), "comment", PageRequest.of(0, 5));
+        assertEquals(1, statistics.getQueryExecutionCount());
+
+        statistics.clear();
+        Slice<CommentDto> last = commentRepository.getSliceByToDoIsAndNameContainingIgnoreCase(toDo.getId(), "comment", PageRequest.of(1, 5));
+        assertEquals(1, statistics.getQueryExecutionCount());
+
+        assertAll("Slices",
+                () -> assertEquals(5, first.getNumberOfElements()),
+                () -> assertTrue(first.hasNext()),
+                () -> assertEquals(2, last.getNumberOfElements()),
+                () -> assertFalse(last.hasNext())
+        );
+    }
+
+    /**
+     * Tests that a slice of to-dos runs one query less than the page of the same search.
+     */
+    @Test
+    void toDoSliceShouldRunOneQueryLessThanPage() {
+        statistics.clear();
+        Page<TodoDto> page = toDoRepository.findAllByFeatureIsAndNameContainingIgnoreCase(feature.getId(), "", PageRequest.of(0, 1));
+        long pageQueries = statistics.getQueryExecutionCount();
+
+        statistics.clear();
+        Slice<TodoDto> slice = toDoRepository.findSliceByFeatureIsAndNameContainingIgnoreCase(feature.getId(), "", PageRequest.of(0, 1));
+        long sliceQueries = statistics.getQueryExecutionCount();
+
+        assertEquals(page.getContent(), slice.getContent());
+        assertFalse(slice.hasNext());
+        assertEquals(2, pageQueries);
+        assertEquals(1, sliceQueries);
+    }
+}
@@ -0,0 +1,127 @@
+package com.tasky.api.repositories;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Test configuration wrapping the data source, so that the statements prepared while recording are kept with the values bound to them.
+ * A recorded statement can then be explained with the same values, to check the plan the database picks for it.
+ */
+@TestConfiguration
+class StatementRecorder {
+
+    private static final List<RecordedStatement> RECORDED = new CopyOnWriteArrayList<>();
+    private static volatile boolean recording;
+
+    /**
+     * Runs some code and returns the statements it prepared.
+     *
+     * @param code The code to record, usually a repository call.
+     * @return The prepared statements, in order, with the values bound to them.
+     */
+    static List<RecordedStatement> record(Runnable code) {
+        RECORDED.clear();
+        recording = true;
+        try {
+            code.run();
+        } finally {
+            recording = false;
+        }
+        return List.copyOf(RECORDED);
+    }
+
+    /**
+     * Explains a recorded statement with the values bound to it.
+     *
+     * @param jdbcTemplate The JdbcTemplate of the test, so that the statement sees the rows of its transaction.
+     * @param statement The recorded statement.
+     * @return The plan of the statement, one node per line.
+     */
+    static String explain(JdbcTemplate jdbcTemplate, RecordedStatement statement) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            StringBuilder plan = new StringBuilder();
+            try (PreparedStatement explain = connection.prepareStatement("explain " + statement.sql())) {
+                for(ParameterBinding binding : statement.bindings()) {
+                    binding.method().invoke(explain, binding.arguments());
+                }
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    while(resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException(e);
+            }
+            return plan.toString();
+        });
+    }
+
+    @Bean
+    static BeanPostProcessor statementRecorder() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if(!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return proxy(DataSource.class, dataSource, (method, result, args) -> {
+                    if(result instanceof Connection connection) {
+                        return proxy(Connection.class, connection, StatementRecorder::recordPreparedStatement);
+                    }
+                    return result;
+                });
+            }
+        };
+    }
+
+    private static Object recordPreparedStatement(Method method, Object result, Object[] args) {
+        if(!recording || !(result instanceof PreparedStatement preparedStatement) || !method.getName().equals("prepareStatement")) {
+            return result;
+        }
+
+        RecordedStatement statement = new RecordedStatement((String) args[0], new ArrayList<>());
+        RECORDED.add(statement);
+        return proxy(PreparedStatement.class, preparedStatement, (setter, value, setterArgs) -> {
+            if(setter.getName().startsWith("set") && setterArgs != null && setterArgs.length >= 2 && setterArgs[0] instanceof Integer) {
+                statement.bindings().add(new ParameterBinding(setter, setterArgs));
+            }
+            return value;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, ResultWrapper wrapper) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            try {
+                return wrapper.wrap(method, method.invoke(target, args), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    record ParameterBinding(Method method, Object[] arguments) {
+    }
+
+    record RecordedStatement(String sql, List<ParameterBinding> bindings) {
+    }
+
+    @FunctionalInterface
+    private interface ResultWrapper {
+        Object wrap(Method method, Object result, Object[] args);
+    }
+}
@@ -0,0 +1,127 @@
+package com.tasky.api.repositories;
+
+import com.tasky.api.AbstractTestContainer;
+import com.tasky.api.models.Feature;
+import com.tasky.api.models.Project;
+import com.tasky.api.models.ToDo;
+import com.tasky.api.models.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration benchmark of the insert throughput of 10k to-dos, before and after pooled ID generation and JDBC batching.
+ * The previous behaviour, a nextval round-trip and an unbatched insert per row, is replayed through JDBC.
+ * It is not part of the default test run, run it with {@code mvn test -Dtest=ToDoInsertBenchmark}.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ToDoInsertBenchmark extends AbstractTestContainer {
+
+    private static final int TO_DO_COUNT = 10_000;
+    private final Logger logger = LoggerFactory.getLogger(ToDoInsertBenchmark.class);
+
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ToDoRepository toDoRepository;
+
+    private User user;
+    private Feature feature;
+
+    @BeforeEach
+    void setUp() {
+        Timestamp now = Timestamp.from(Instant.now());
+
+        user = new User("benchmark", "benchmark", FAKER.internet().emailAddress(), "password123452435134513");
+        user.setRole("USER");
+        entityManager.persist(user);
+
+        Project project = entityManager.persist(new Project("benchmark", now, user));
+
+        feature = new Feature();
+        feature.setName("benchmark");
+        feature.setDescription("benchmark");
+        feature.setStatus("New");
+        feature.setProject(project);
+        feature.setCreatedAt(now);
+        feature.setUpdatedAt(now);
+        entityManager.persist(feature);
+        entityManager.flush();
+    }
+
+    /**
+     * Replays the previous behaviour: one nextval round-trip and one unbatched insert per to-do.
+     */
+    @Test
+    void insertToDosOneByOne() {
+        Timestamp now = Timestamp.from(Instant.now());
+        long start = System.nanoTime();
+
+        for(int i = 0; i < TO_DO_COUNT; i++) {
+            Long id = jdbcTemplate.queryForObject("select nextval('to_do_id_seq')", Long.class);
+            jdbcTemplate.update(
+                    "insert into to_do (id, name, type, description, status, feature_id, user_id, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    id, "toDo " + i, "task", "description", "New", feature.getId(), user.getId(), now, now
+            );
+        }
+
+        report("one by one", System.nanoTime() - start);
+        assertEquals(TO_DO_COUNT, countToDos());
+    }
+
+    /**
+     * Inserts the to-dos through the repository with pooled ID generation and JDBC batching.
+     */
+    @Test
+    void insertToDosInBatches() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<ToDo> toDos = new ArrayList<>(TO_DO_COUNT);
+        for(int i = 0; i < TO_DO_COUNT; i++) {
+            toDos.add(new ToDo("toDo " + i, "task", "description", feature, user));
+        }
+        statistics.clear();
+        long start = System.nanoTime();
+
+        toDoRepository.saveAll(toDos);
+        entityManager.flush();
+
+        report("batched", System.nanoTime() - start);
+        assertEquals(TO_DO_COUNT, countToDos());
+        assertTrue(
+                statistics.getPrepareStatementCount() < TO_DO_COUNT / 10,
+                "Expected batched inserts but %s statements were prepared".formatted(statistics.getPrepareStatementCount())
+        );
+    }
+
+    private long countToDos() {
+        return jdbcTemplate.queryForObject("select count(*) from to_do where feature_id = ?", Long.class, feature.getId());
+    }
+
+    private void report(String mode, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        logger.info(
+                "Inserted {} to-dos {} in {} ms ({} rows/s)",
+                TO_DO_COUNT,
+                mode,
+                Math.round(seconds * 1000),
+                Math.round(TO_DO_COUNT / seconds)
+        );
+    }
+}
@@ -0,0 +1,202 @@
+package com.tasky.api.repositories;
+
+import com.tasky.api.AbstractTestContainer;
+import com.tasky.api.models.*;
+import com.tasky.api.repositories.StatementRecorder.RecordedStatement;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests of the plans of the substring searches of the repositories, on tables of one million rows.
+ * Every statement run by a search is recorded with its parameters, then explained, and must not scan its table sequentially.
+ * The rows are inserted in the transaction of each test, and rolled back with it.
+ */
+@DataJpaTest
+@Import(StatementRecorder.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TrigramIndexQueryTest extends AbstractTestContainer {
+
+    private static final int ROWS = 1_000_000;
+    private static final int PARENTS = 1000;
+
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ProjectRepository projectRepository;
+    @Autowired private RunRepository runRepository;
+    @Autowired private FeatureRepository featureRepository;
+    @Autowired private ToDoRepository toDoRepository;
+    @Autowired private CommentRepository commentRepository;
+
+    /**
+     * Tests that the admin searches of users by email, first name and last name use an index.
+     */
+    @Test
+    void userSearchesShouldUseIndexes() {
+        // GIVEN
+        seed("user_account", """
+                insert into user_account (first_name, last_name, email, password)
+                select 'first' || i, 'last' || i, 'user' || i || '@tasky.com', 'password'
+                from generate_series(1, %d) i
+                """.formatted(ROWS));
+
+        // WHEN THEN
+        assertIndexed("user_account", () -> userRepository.findAllByEmailContainsIgnoreCase("R12345@", PageRequest.of(0, 10)));
+        assertIndexed("user_account", () -> userRepository.findSliceByEmailContainsIgnoreCase("r12345@", PageRequest.of(0, 10)));
+        assertIndexed("user_account", () -> userRepository.findAllByEmailContainsAfter("r12345@", "", 0L, Pageable.ofSize(11)));
+        assertIndexed("user_account", () -> userRepository.findUsersByFirstNameContainingIgnoreCase("ST12345", PageRequest.of(0, 10)));
+        assertIndexed("user_account", () -> userRepository.findUsersSliceByFirstNameContainingIgnoreCase("st12345", PageRequest.of(0, 10)));
+        assertIndexed("user_account", () -> userRepository.findUsersByFirstNameContainingAfter("st12345", "", 0L, Pageable.ofSize(11)));
+        assertIndexed("user_account", () -> userRepository.findUsersByLastNameContainingIgnoreCase("ST12345", PageRequest.of(0, 10)));
+        assertIndexed("user_account", () -> userRepository.findUsersSliceByLastNameContainingIgnoreCase("st12345", PageRequest.of(0, 10)));
+        assertIndexed("user_account", () -> userRepository.findUsersByLastNameContainingAfter("st12345", "", 0L, Pageable.ofSize(11)));
+    }
+
+    /**
+     * Tests that the searches of projects, for project managers and for members, use an index.
+     */
+    @Test
+    void projectSearchesShouldUseIndexes() {
+        // GIVEN
+        User owner = createUser();
+        seed("project", """
+                insert into project (name, due_date, created_by)
+                select 'Project ' || i, now(), %d
+                from generate_series(1, %d) i
+                """.formatted(owner.getId(), ROWS));
+        seed("user_account_project", """
+                insert into user_account_project (user_account_id, project_id)
+                select %d, id from project where created_by = %d and id %% 100 = 0
+                """.formatted(owner.getId(), owner.getId()));
+
+        // WHEN THEN
+        assertIndexed("project", () -> projectRepository.findProjectByNameContainingIgnoreCase("ect 12345", PageRequest.of(0, 5)));
+        assertIndexed("project", () -> projectRepository.findProjectSliceByNameContainingIgnoreCase("ECT 12345", PageRequest.of(0, 5)));
+        assertIndexed("project", () -> projectRepository.findProjectByNameContainingAfter("ect 12345", "", 0L, Pageable.ofSize(6)));
+        assertIndexed("project", () -> projectRepository.findProjectByNameContainingIgnoreCaseAndUsersContains("ect 12345", owner.getId(), PageRequest.of(0, 5)));
+        assertIndexed("project", () -> projectRepository.findProjectSliceByNameContainingIgnoreCaseAndUsersContains("ect 12345", owner.getId(), PageRequest.of(0, 5)));
+        assertIndexed("project", () -> projectRepository.findProjectByNameContainingAndUsersContainsAfter("ect 12345", owner.getId(), "", 0L, Pageable.ofSize(6)));
+    }
+
+    /**
+     * Tests that the searches of runs in a project and of features in a project or a run use an index.
+     */
+    @Test
+    void runAndFeatureSearchesShouldUseIndexes() {
+        // GIVEN
+        Project project = createProject(createUser());
+        seed("run", """
+                insert into run (name, start_date, end_date, project_id)
+                select 'Run ' || i, now(), now(), %d
+                from generate_series(1, %d) i
+                """.formatted(project.getId(), ROWS));
+        seed("feature", """
+                insert into feature (name, run_id, project_id)
+                select 'Feature ' || i, run.id, %d
+                from generate_series(1, %d) i
+                join (select id, row_number() over (order by id) - 1 as position from run where project_id = %d limit %d) run
+                on run.position = i %% %d
+                """.formatted(project.getId(), ROWS, project.getId(), PARENTS, PARENTS));
+        Run run = runRepository.findAll(PageRequest.of(0, 1)).getContent().get(0);
+
+        // WHEN THEN
+        assertIndexed("run", () -> runRepository.findAllByProjectIsAndNameContainingIgnoreCase(project.getId(), "UN 12345", PageRequest.of(0, 6)));
+        assertIndexed("run", () -> runRepository.findSliceByProjectIsAndNameContainingIgnoreCase(project.getId(), "un 12345", PageRequest.of(0, 6)));
+        assertIndexed("run", () -> runRepository.findAllByProjectIsAndNameContainingAfter(project.getId(), "un 12345", "", 0L, Pageable.ofSize(7)));
+        assertIndexed("feature", () -> featureRepository.findAllByProjectIsAndNameContainingIgnoreCase(project.getId(), "URE 12345", PageRequest.of(0, 6)));
+        assertIndexed("feature", () -> featureRepository.findAllByRunIsAndNameContainingIgnoreCase(run.getId(), "ure 12345", PageRequest.of(0, 6)));
+        assertIndexed("feature", () -> featureRepository.findSliceByRunIsAndNameContainingIgnoreCase(run.getId(), "ure 12345", PageRequest.of(0, 6)));
+        assertIndexed("feature", () -> featureRepository.findAllByRunIsAndNameContainingAfter(run.getId(), "ure 12345", "", 0L, Pageable.ofSize(7)));
+    }
+
+    /**
+     * Tests that the searches of to-dos in a feature or assigned to a user, and of comments in a to-do, use an index.
+     */
+    @Test
+    void toDoAndCommentSearchesShouldUseIndexes() {
+        // GIVEN
+        User user = createUser();
+        Project project = createProject(user);
+        seed("feature", """
+                insert into feature (name, project_id)
+                select 'Feature ' || i, %d
+                from generate_series(1, %d) i
+                """.formatted(project.getId(), PARENTS));
+        seed("to_do", """
+                insert into to_do (name, type, feature_id, user_id)
+                select 'ToDo ' || i, 'task', feature.id, case when i %% %d = 0 then %d end
+                from generate_series(1, %d) i
+                join (select id, row_number() over (order by id) - 1 as position from feature where project_id = %d) feature
+                on feature.position = i %% %d
+                """.formatted(PARENTS, user.getId(), ROWS, project.getId(), PARENTS));
+        seed("comment", """
+                insert into comment (name, content, to_do_id)
+                select 'Comment ' || i, 'content', to_do.id
+                from generate_series(1, %d) i
+                join (select id, row_number() over (order by id) - 1 as position from to_do where user_id = %d) to_do
+                on to_do.position = i %% %d
+                """.formatted(ROWS, user.getId(), PARENTS));
+        Long featureId = featureRepository.findAllByProjectIsAndNameContainingIgnoreCase(project.getId(), "", PageRequest.of(0, 1)).getContent().get(0).id();
+        Long toDoId = toDoRepository.findAllByUserAndAndNameContainingIgnoreCase(user.getId(), "", PageRequest.of(0, 1)).getContent().get(0).toDoId();
+
+        // WHEN THEN
+        assertIndexed("to_do", () -> toDoRepository.findAllByFeatureIsAndNameContainingIgnoreCase(featureId, "DO 12345", PageRequest.of(0, 6)));
+        assertIndexed("to_do", () -> toDoRepository.findSliceByFeatureIsAndNameContainingIgnoreCase(featureId, "do 12345", PageRequest.of(0, 6)));
+        assertIndexed("to_do", () -> toDoRepository.findAllByFeatureIsAndNameContainingAfter(featureId, "do 12345", "", 0L, Pageable.ofSize(7)));
+        assertIndexed("to_do", () -> toDoRepository.findAllByUserAndAndNameContainingIgnoreCase(user.getId(), "DO 12345", PageRequest.of(0, 6)));
+        assertIndexed("to_do", () -> toDoRepository.findSliceByUserAndNameContainingIgnoreCase(user.getId(), "do 12345", PageRequest.of(0, 6)));
+        assertIndexed("to_do", () -> toDoRepository.findAllByUserAndNameContainingAfter(user.getId(), "do 12345", "", 0L, Pageable.ofSize(7)));
+        assertIndexed("comment", () -> commentRepository.getAllByToDoIsAndNameContainingIgnoreCase(toDoId, "ENT 12345", PageRequest.of(0, 5)));
+        assertIndexed("comment", () -> commentRepository.getSliceByToDoIsAndNameContainingIgnoreCase(toDoId, "ent 12345", PageRequest.of(0, 5)));
+        assertIndexed("comment", () -> commentRepository.getAllByToDoIsAndNameContainingAfter(toDoId, "ent 12345", "", 0L, Pageable.ofSize(6)));
+    }
+
+    /**
+     * Inserts rows without firing the triggers, then refreshes the statistics of the table.
+     */
+    private void seed(String table, String sql) {
+        jdbcTemplate.execute("set local session_replication_role = replica");
+        jdbcTemplate.execute(sql);
+        jdbcTemplate.execute("set local session_replication_role = origin");
+        jdbcTemplate.execute("analyze " + table);
+    }
+
+    /**
+     * Runs a search, then explains every statement it ran with the same parameters.
+     */
+    private void assertIndexed(String table, Runnable search) {
+        entityManager.clear();
+        List<RecordedStatement> statements = StatementRecorder.record(search)
+                .stream()
+                .filter(statement -> statement.sql().contains(" " + table + " "))
+                .toList();
+        assertFalse(statements.isEmpty(), "No statement read " + table);
+
+        for(RecordedStatement statement : statements) {
+            String plan = StatementRecorder.explain(jdbcTemplate, statement);
+            assertFalse(plan.contains("Seq Scan on " + table + " "), () -> "Sequential scan of %s:%n%s%n%s".formatted(table, statement.sql(), plan));
+            assertTrue(plan.contains("Index"), () -> "No index used:%n%s%n%s".formatted(statement.sql(), plan));
+        }
+    }
+
+    private User createUser() {
+        User user = new User("trigram", "trigram", FAKER.internet().emailAddress(), "password123452435134513");
+        user.setRole("PROJECT_MANAGER");
+        return entityManager.persistAndFlush(user);
+    }
+
+    private Project createProject(User owner) {
+        return entityManager.persistAndFlush(new Project("trigram", new java.sql.Timestamp(System.currentTimeMillis()), owner));
+    }
+}
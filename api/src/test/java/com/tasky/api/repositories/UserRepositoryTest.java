@@ -142,7 +142,7 @@ class UserRepositoryTest extends AbstractTestContainer {
         Pageable pageable = PageRequest.of(0, 10);
 
         // WHEN
-        Page<User> resultPage = underTest.findAllByEmailContains(searchPattern, pageable);
+        Page<User> resultPage = underTest.findAllByEmailContainsIgnoreCase(searchPattern, pageable);
 
         // THEN
         assertEquals(3, resultPage.getTotalElements());
@@ -169,7 +169,7 @@ class UserRepositoryTest extends AbstractTestContainer {
         Pageable pageable = PageRequest.of(0, 10);
 
         // WHEN
-        Page<User> resultPage = underTest.findUsersByFirstNameContaining(searchPattern, pageable);
+        Page<User> resultPage = underTest.findUsersByFirstNameContainingIgnoreCase(searchPattern, pageable);
 
         // THEN
         assertEquals(1, resultPage.getTotalElements());
@@ -196,7 +196,7 @@ class UserRepositoryTest extends AbstractTestContainer {
         Pageable pageable = PageRequest.of(0, 10);
 
         // WHEN
-        Page<User> resultPage = underTest.findUsersByLastNameContaining(searchPattern, pageable);
+        Page<User> resultPage = underTest.findUsersByLastNameContainingIgnoreCase(searchPattern, pageable);
 
         // THEN
         assertEquals(1, resultPage.getTotalElements());
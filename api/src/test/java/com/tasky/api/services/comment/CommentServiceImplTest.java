@@ -3,31 +3,43 @@ package com.tasky.api.services.comment;
 import com.tasky.api.configurations.errors.BadRequestException;
 import com.tasky.api.configurations.errors.NotFoundException;
 import com.tasky.api.configurations.errors.UnauthorizedException;
+import com.tasky.api.dao.AuthorizedResource;
 import com.tasky.api.dao.comment.CommentDao;
 import com.tasky.api.dao.toDo.ToDoDao;
+import com.tasky.api.dto.PageableDto;
 import com.tasky.api.dto.comment.*;
-import com.tasky.api.mappers.CommentDtoMapper;
+import com.tasky.api.dto.toDo.TodoDto;
 import com.tasky.api.models.*;
+import com.tasky.api.services.membership.MembershipService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.core.Authentication;
 
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -36,7 +48,7 @@ class CommentServiceImplTest {
 
     @Mock ToDoDao toDoDao;
     @Mock private CommentDao commentDao;
-    @Mock private CommentDtoMapper commentDtoMapper;
+    @Spy private MembershipService membershipService = new MembershipService(null);
     @InjectMocks private CommentServiceImpl underTest;
 
     private User createFakeProjectManager() {
@@ -151,7 +163,7 @@ class CommentServiceImplTest {
 
         CreateCommentRequest request = new CreateCommentRequest(commentName,commentContent);
 
-        Mockito.when(toDoDao.selectToDoById(any())).thenReturn(Optional.of(toDo));
+        Mockito.when(toDoDao.selectToDoByIdForMember(any(), any())).thenReturn(Optional.of(new AuthorizedResource<>(toDo, true)));
         when(authentication.getPrincipal()).thenReturn(projectManager);
         underTest.createComment(authentication,toDo.getId(),request);
 
@@ -177,7 +189,7 @@ class CommentServiceImplTest {
 
         CreateCommentRequest request = new CreateCommentRequest(null,commentContent);
 
-        Mockito.when(toDoDao.selectToDoById(any())).thenReturn(Optional.of(toDo));
+        Mockito.when(toDoDao.selectToDoByIdForMember(any(), any())).thenReturn(Optional.of(new AuthorizedResource<>(toDo, true)));
         when(authentication.getPrincipal()).thenReturn(projectManager);
         assertThrows(BadRequestException.class, () -> underTest.createComment(authentication,toDo.getId(),request));
     }
@@ -193,11 +205,62 @@ class CommentServiceImplTest {
         String commentName = "comment name";
         CreateCommentRequest request = new CreateCommentRequest(commentName,null);
 
-        Mockito.when(toDoDao.selectToDoById(any())).thenReturn(Optional.of(toDo));
+        Mockito.when(toDoDao.selectToDoByIdForMember(any(), any())).thenReturn(Optional.of(new AuthorizedResource<>(toDo, true)));
         when(authentication.getPrincipal()).thenReturn(projectManager);
         assertThrows(BadRequestException.class, () -> underTest.createComment(authentication,toDo.getId(),request));
     }
 
+    @Test
+    void createCommentsShouldInsertEveryComment() {
+        Authentication authentication = mock(Authentication.class);
+
+        User projectManager = createFakeProjectManager();
+        Project project = createFakeProject(projectManager);
+        Feature feature = createFakeFeature(project);
+        ToDo toDo = createFakeTodo(projectManager,feature);
+
+        List<CreateCommentRequest> requests = List.of(
+                new CreateCommentRequest("first","content"),
+                new CreateCommentRequest("second","content")
+        );
+
+        Mockito.when(toDoDao.selectToDoByIdForMember(any(), any())).thenReturn(Optional.of(new AuthorizedResource<>(toDo, true)));
+        when(authentication.getPrincipal()).thenReturn(projectManager);
+        underTest.createComments(authentication,toDo.getId(),requests);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Comment>> commentsArgumentCaptor = ArgumentCaptor.forClass(List.class);
+
+        Mockito.verify(toDoDao, Mockito.times(1)).selectToDoByIdForMember(any(), any());
+        Mockito.verify(commentDao).createComments(commentsArgumentCaptor.capture());
+        List<Comment> commentsCaptured = commentsArgumentCaptor.getValue();
+        assertEquals(2, commentsCaptured.size());
+        assertEquals("second", commentsCaptured.get(1).getName());
+        assertEquals(toDo, commentsCaptured.get(1).getToDo());
+    }
+
+    @Test
+    void createCommentsShouldAggregateErrorsAndInsertNothing() {
+        Authentication authentication = mock(Authentication.class);
+
+        User projectManager = createFakeProjectManager();
+        Project project = createFakeProject(projectManager);
+        Feature feature = createFakeFeature(project);
+        ToDo toDo = createFakeTodo(projectManager,feature);
+
+        List<CreateCommentRequest> requests = new ArrayList<>();
+        requests.add(new CreateCommentRequest("first",null));
+        requests.add(null);
+
+        Mockito.when(toDoDao.selectToDoByIdForMember(any(), any())).thenReturn(Optional.of(new AuthorizedResource<>(toDo, true)));
+        when(authentication.getPrincipal()).thenReturn(projectManager);
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> underTest.createComments(authentication,toDo.getId(),requests));
+
+        assertTrue(exception.getMessage().contains("Item 0: Missing field content"));
+        assertTrue(exception.getMessage().contains("Item 1: body is required"));
+        Mockito.verifyNoInteractions(commentDao);
+    }
+
     @Test
     void createCommentUserAllowed() {
         Authentication authentication = mock(Authentication.class);
@@ -215,7 +278,7 @@ class CommentServiceImplTest {
 
         CreateCommentRequest request = new CreateCommentRequest(commentName,commentContent);
 
-        Mockito.when(toDoDao.selectToDoById(any())).thenReturn(Optional.of(toDo));
+        Mockito.when(toDoDao.selectToDoByIdForMember(any(), any())).thenReturn(Optional.of(new AuthorizedResource<>(toDo, true)));
         when(authentication.getPrincipal()).thenReturn(user);
         underTest.createComment(authentication, toDo.getId(), request);
 
@@ -232,6 +295,7 @@ class CommentServiceImplTest {
     void createCommentShouldThrowNotFoundException() {
         Long toDoId = 1L;
         Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(createFakeUser());
 
         String commentName = "commentName";
         String commentContent = "comment content";
@@ -256,7 +320,7 @@ class CommentServiceImplTest {
 
         CreateCommentRequest request = new CreateCommentRequest(commentName,commentContent);
 
-        Mockito.when(toDoDao.selectToDoById(any())).thenReturn(Optional.of(toDo));
+        Mockito.when(toDoDao.selectToDoByIdForMember(any(), any())).thenReturn(Optional.of(new AuthorizedResource<>(toDo, false)));
         when(authentication.getPrincipal()).thenReturn(user);
 
         assertThrows(UnauthorizedException.class, () -> underTest.createComment(authentication,toDo.getId(),request));
@@ -267,6 +331,7 @@ class CommentServiceImplTest {
     void selectCommentByIdShouldThrowNotFoundExceptionWhenTodoIdDoesNotExists() {
         Long commentId = 1L;
         Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(createFakeUser());
 
         assertThrows(NotFoundException.class, ()-> underTest.selectCommentById(authentication,commentId));
     }
@@ -284,7 +349,7 @@ class CommentServiceImplTest {
         Comment comment = createFakeComment(toDo);
 
         when(authentication.getPrincipal()).thenReturn(user);
-        when(commentDao.selectCommentById(commentId)).thenReturn(Optional.of(comment));
+        when(commentDao.selectCommentDtoByIdForMember(commentId, user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(createFakeCommentDto(comment), false)));
 
         assertThrows(UnauthorizedException.class,() -> underTest.selectCommentById(authentication,commentId));
     }
@@ -302,8 +367,7 @@ class CommentServiceImplTest {
         Comment comment = createFakeComment(toDo);
 
         when(authentication.getPrincipal()).thenReturn(user);
-        when(commentDao.selectCommentById(commentId)).thenReturn(Optional.of(comment));
-        when(commentDtoMapper.apply(comment)).thenReturn(new CommentDto(comment.getId(),comment.getName(),comment.getContent(),comment.getCreatedAt()));
+        when(commentDao.selectCommentDtoByIdForMember(commentId, user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(createFakeCommentDto(comment), true)));
         CommentDto result = underTest.selectCommentById(authentication,commentId);
         assertEquals(result.name(),comment.getName());
         assertEquals(result.content(),comment.getContent());
@@ -315,6 +379,7 @@ class CommentServiceImplTest {
     void updateCommentShouldThrowNotFoundExceptionIfCommentDoesNotExists() {
         Long commentId = 1L;
         Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(createFakeUser());
         UpdateCommentRequest request = new UpdateCommentRequest("test","test");
 
         assertThrows(NotFoundException.class, ()-> underTest.updateComment(authentication,commentId,request));
@@ -332,7 +397,7 @@ class CommentServiceImplTest {
         Comment comment = createFakeComment(toDo);
         project.setUsers(List.of(projectManager,user));
 
-        when(commentDao.selectCommentById(commentId)).thenReturn(Optional.of(comment));
+        when(commentDao.selectCommentByIdForMember(commentId, user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(comment, true)));
         when(authentication.getPrincipal()).thenReturn(user);
 
         UpdateCommentRequest request = new UpdateCommentRequest(comment.getName(),comment.getContent());
@@ -351,7 +416,7 @@ class CommentServiceImplTest {
         Comment comment = createFakeComment(toDo);
         project.setUsers(List.of(projectManager,user));
 
-        when(commentDao.selectCommentById(commentId)).thenReturn(Optional.of(comment));
+        when(commentDao.selectCommentByIdForMember(commentId, user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(comment, true)));
         when(authentication.getPrincipal()).thenReturn(user);
         String newName = "comment.getName()";
         String newContent = "comment.getContent()";
@@ -380,7 +445,7 @@ class CommentServiceImplTest {
         Comment comment = createFakeComment(toDo);
         project.setUsers(List.of(projectManager));
 
-        when(commentDao.selectCommentById(commentId)).thenReturn(Optional.of(comment));
+        when(commentDao.selectCommentByIdForMember(commentId, user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(comment, false)));
         when(authentication.getPrincipal()).thenReturn(user);
         String newName = "comment.getName()";
         String newContent = "comment.getContent()";
@@ -401,7 +466,7 @@ class CommentServiceImplTest {
         Authentication authentication = mock(Authentication.class);
 
         when(authentication.getPrincipal()).thenReturn(user);
-        when(commentDao.selectCommentById(comment.getId())).thenReturn(Optional.of(comment));
+        when(commentDao.selectCommentByIdForMember(comment.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(comment, true)));
 
         underTest.deleteComment(authentication, comment.getId());
 
@@ -426,7 +491,7 @@ class CommentServiceImplTest {
         Authentication authentication = mock(Authentication.class);
 
         when(authentication.getPrincipal()).thenReturn(projectManager);
-        when(commentDao.selectCommentById(comment.getId())).thenReturn(Optional.of(comment));
+        when(commentDao.selectCommentByIdForMember(comment.getId(), projectManager.getId())).thenReturn(Optional.of(new AuthorizedResource<>(comment, true)));
 
         underTest.deleteComment(authentication, comment.getId());
 
@@ -443,6 +508,7 @@ class CommentServiceImplTest {
         User user = createFakeUser();
         Long commentId = 1L;
         Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(createFakeUser());
 
 
         assertThrows(NotFoundException.class,() -> underTest.deleteComment(authentication, commentId));
@@ -460,7 +526,7 @@ class CommentServiceImplTest {
         Authentication authentication = mock(Authentication.class);
 
         when(authentication.getPrincipal()).thenReturn(user);
-        when(commentDao.selectCommentById(comment.getId())).thenReturn(Optional.of(comment));
+        when(commentDao.selectCommentByIdForMember(comment.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(comment, false)));
 
         assertThrows(UnauthorizedException.class,() -> underTest.deleteComment(authentication, comment.getId()));
 
@@ -469,6 +535,7 @@ class CommentServiceImplTest {
     @Test
     void getAllCommentWhereNameContainsAndTodoIsShouldReturnNotFoundIfToDoDoesNotExist() {
         Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(createFakeUser());
         assertThrows(
                 NotFoundException.class,
                 () -> underTest
@@ -476,6 +543,8 @@ class CommentServiceImplTest {
                                 authentication,
                                 1L,
                                 "",
+                                null,
+                                null,
                                 null
                         )
         );
@@ -490,7 +559,7 @@ class CommentServiceImplTest {
         Feature feature = createFakeFeature(project);
         ToDo toDo = createFakeTodo(projectManager, feature);
         Authentication authentication = mock(Authentication.class);
-        when(toDoDao.selectToDoById(any())).thenReturn(Optional.of(toDo));
+        when(toDoDao.selectToDoDtoByIdForMember(any(), any())).thenReturn(Optional.of(new AuthorizedResource<>(createFakeTodoDto(toDo), false)));
         when(authentication.getPrincipal()).thenReturn(user);
         assertThrows(
                 UnauthorizedException.class,
@@ -499,6 +568,8 @@ class CommentServiceImplTest {
                                 authentication,
                                 toDo.getId(),
                                 "",
+                                null,
+                                null,
                                 null
                         )
         );
@@ -515,25 +586,22 @@ class CommentServiceImplTest {
         ToDo toDo = createFakeTodo(projectManager, feature);
         Comment comment = createFakeComment(toDo);
         Authentication authentication = mock(Authentication.class);
-        Page<Comment> commentPage = new PageImpl<>(List.of(comment));
         CommentDto commentDto = new CommentDto(comment.getId(),comment.getName(),comment.getContent(),comment.getCreatedAt());
+        Page<CommentDto> commentPage = new PageImpl<>(List.of(commentDto));
 
-        when(toDoDao.selectToDoById(toDo.getId())).thenReturn(Optional.of(toDo));
+        when(toDoDao.selectToDoDtoByIdForMember(toDo.getId(), projectManager.getId())).thenReturn(Optional.of(new AuthorizedResource<>(createFakeTodoDto(toDo), true)));
 
         when(authentication.getPrincipal()).thenReturn(projectManager);
 
         when(commentDao.selectAllCommentForTodoWhereNameContains(any(),any(),any())).thenReturn(commentPage);
 
-        when(commentDtoMapper.apply(any()))
-                .thenReturn(
-                        commentDto
-                );
-
         SearchCommentsResponse response = underTest
                 .getAllCommentWhereNameContainsAndToDoIs(
                         authentication,
                         toDo.getId(),
                         "",
+                        null,
+                        null,
                         null);
 
         assertNotNull(response);
@@ -549,25 +617,22 @@ class CommentServiceImplTest {
         ToDo toDo = createFakeTodo(projectManager, feature);
         Comment comment = createFakeComment(toDo);
         Authentication authentication = mock(Authentication.class);
-        Page<Comment> commentPage = new PageImpl<>(List.of(comment));
         CommentDto commentDto = new CommentDto(comment.getId(),comment.getName(),comment.getContent(),comment.getCreatedAt());
+        Page<CommentDto> commentPage = new PageImpl<>(List.of(commentDto));
 
-        when(toDoDao.selectToDoById(toDo.getId())).thenReturn(Optional.of(toDo));
+        when(toDoDao.selectToDoDtoByIdForMember(toDo.getId(), projectManager.getId())).thenReturn(Optional.of(new AuthorizedResource<>(createFakeTodoDto(toDo), true)));
 
         when(authentication.getPrincipal()).thenReturn(projectManager);
 
         when(commentDao.selectAllCommentForTodoWhereNameContains(any(),any(),any())).thenReturn(commentPage);
 
-        when(commentDtoMapper.apply(any()))
-                .thenReturn(
-                        commentDto
-                );
-
         SearchCommentsResponse response = underTest
                 .getAllCommentWhereNameContainsAndToDoIs(
                         authentication,
                         toDo.getId(),
                         "",
+                        null,
+                        null,
                         null);
 
         assertNotNull(response);
@@ -583,25 +648,22 @@ class CommentServiceImplTest {
         ToDo toDo = createFakeTodo(projectManager, feature);
         Comment comment = createFakeComment(toDo);
         Authentication authentication = mock(Authentication.class);
-        Page<Comment> commentPage = new PageImpl<>(List.of(comment));
         CommentDto commentDto = new CommentDto(comment.getId(),comment.getName(),comment.getContent(),comment.getCreatedAt());
+        Page<CommentDto> commentPage = new PageImpl<>(List.of(commentDto));
 
-        when(toDoDao.selectToDoById(toDo.getId())).thenReturn(Optional.of(toDo));
+        when(toDoDao.selectToDoDtoByIdForMember(toDo.getId(), projectManager.getId())).thenReturn(Optional.of(new AuthorizedResource<>(createFakeTodoDto(toDo), true)));
 
         when(authentication.getPrincipal()).thenReturn(projectManager);
 
         when(commentDao.selectAllCommentForTodoWhereNameContains(any(),any(),any())).thenReturn(commentPage);
 
-        when(commentDtoMapper.apply(any()))
-                .thenReturn(
-                        commentDto
-                );
-
         SearchCommentsResponse response = underTest
                 .getAllCommentWhereNameContainsAndToDoIs(
                         authentication,
                         toDo.getId(),
                         null,
+                        null,
+                        null,
                         null);
 
         assertNotNull(response);
@@ -617,9 +679,9 @@ class CommentServiceImplTest {
         ToDo toDo = createFakeTodo(projectManager, feature);
         Comment comment = createFakeComment(toDo);
         Authentication authentication = mock(Authentication.class);
-        Page<Comment> commentPage = new PageImpl<>(List.of(comment));
+        Page<CommentDto> commentPage = new PageImpl<>(List.of(new CommentDto(comment.getId(),comment.getName(),comment.getContent(),comment.getCreatedAt())));
 
-        when(toDoDao.selectToDoById(toDo.getId())).thenReturn(Optional.of(toDo));
+        when(toDoDao.selectToDoDtoByIdForMember(toDo.getId(), projectManager.getId())).thenReturn(Optional.of(new AuthorizedResource<>(createFakeTodoDto(toDo), true)));
         when(authentication.getPrincipal()).thenReturn(projectManager);
         when(commentDao.selectAllCommentForTodoWhereNameContains(any(),any(),any())).thenReturn(commentPage);
 
@@ -628,6 +690,67 @@ class CommentServiceImplTest {
                         authentication,
                         toDo.getId(),
                         null,
-                        8));
+                        8,
+                        null,
+                        null));
+    }
+
+    @Test
+    void getAllCommentWhereNameContainsAndToDoIsShouldReturnSliceWithoutCount() {
+        User projectManager = createFakeProjectManager();
+        Project project = createFakeProject(projectManager);
+        Feature feature = createFakeFeature(project);
+        ToDo toDo = createFakeTodo(projectManager, feature);
+        Comment comment = createFakeComment(toDo);
+        Authentication authentication = mock(Authentication.class);
+        CommentDto commentDto = new CommentDto(comment.getId(),comment.getName(),comment.getContent(),comment.getCreatedAt());
+        Slice<CommentDto> commentSlice = new SliceImpl<>(List.of(commentDto), PageRequest.of(1,5), true);
+
+        when(toDoDao.selectToDoDtoByIdForMember(toDo.getId(), projectManager.getId())).thenReturn(Optional.of(new AuthorizedResource<>(createFakeTodoDto(toDo), true)));
+        when(authentication.getPrincipal()).thenReturn(projectManager);
+        when(commentDao.selectAllCommentForTodoWhereNameContainsAsSlice(toDo.getId(),"",PageRequest.of(1,5))).thenReturn(commentSlice);
+
+        SearchCommentsResponse response = underTest
+                .getAllCommentWhereNameContainsAndToDoIs(
+                        authentication,
+                        toDo.getId(),
+                        null,
+                        1,
+                        null,
+                        true);
+
+        assertEquals(List.of(commentDto), response.comments());
+        assertEquals(new PageableDto(1, null, null, 1, true), response.pageable());
+        verify(commentDao, never()).selectAllCommentForTodoWhereNameContains(any(),any(),any());
+    }
+
+    @Test
+    void getAllCommentWhereNameContainsAndToDoIsShouldThrowBadRequestIfSliceIsEmpty() {
+        User projectManager = createFakeProjectManager();
+        Project project = createFakeProject(projectManager);
+        Feature feature = createFakeFeature(project);
+        ToDo toDo = createFakeTodo(projectManager, feature);
+        Authentication authentication = mock(Authentication.class);
+
+        when(toDoDao.selectToDoDtoByIdForMember(toDo.getId(), projectManager.getId())).thenReturn(Optional.of(new AuthorizedResource<>(createFakeTodoDto(toDo), true)));
+        when(authentication.getPrincipal()).thenReturn(projectManager);
+        when(commentDao.selectAllCommentForTodoWhereNameContainsAsSlice(any(),any(),any())).thenReturn(new SliceImpl<>(List.of()));
+
+        assertThrows(BadRequestException.class, () -> underTest
+                .getAllCommentWhereNameContainsAndToDoIs(
+                        authentication,
+                        toDo.getId(),
+                        null,
+                        8,
+                        null,
+                        true));
+    }
+
+    private TodoDto createFakeTodoDto(ToDo toDo) {
+        return new TodoDto(toDo.getId(),toDo.getName(),toDo.getType(),toDo.getDescription(),toDo.getStatus(),toDo.getCreatedAt(),toDo.getUpdatedAt());
+    }
+
+    private CommentDto createFakeCommentDto(Comment comment) {
+        return new CommentDto(comment.getId(),comment.getName(),comment.getContent(),comment.getCreatedAt());
     }
-}
\ No newline at end of file
+}
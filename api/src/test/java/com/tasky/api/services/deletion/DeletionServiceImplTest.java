@@ -0,0 +1,161 @@
+package com.tasky.api.services.deletion;
+
+import com.tasky.api.configurations.errors.NotFoundException;
+import com.tasky.api.dao.deletion.DeletionDao;
+import com.tasky.api.dao.project.ProjectDao;
+import com.tasky.api.dao.user.UserDao;
+import com.tasky.api.dto.deletion.DeletionJobDto;
+import com.tasky.api.services.invalidation.Invalidation;
+import com.tasky.api.services.invalidation.InvalidationBus;
+import com.tasky.api.services.invalidation.LocalCacheInvalidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeletionServiceImplTest {
+
+    private static final long THRESHOLD = 100;
+
+    @Mock private DeletionDao deletionDao;
+    @Mock private ProjectDao projectDao;
+    @Mock private UserDao userDao;
+    @Mock private LocalCacheInvalidator localCacheInvalidator;
+    @Mock private InvalidationBus invalidationBus;
+    @Mock private PlatformTransactionManager transactionManager;
+    private DeletionServiceImpl underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new DeletionServiceImpl(deletionDao, projectDao, userDao, localCacheInvalidator, invalidationBus, transactionManager, THRESHOLD, 10, 50, 60);
+    }
+
+    /**
+     * Tests that a small project is deleted at once by a single statement, and evicted from every cache.
+     */
+    @Test
+    void smallProjectShouldBeDeletedAtOnce() {
+        // GIVEN
+        Long projectId = 1L;
+        when(deletionDao.countProjectRows(projectId, THRESHOLD + 1)).thenReturn(THRESHOLD);
+
+        // WHEN
+        Optional<DeletionJobDto> job = underTest.deleteProject(projectId);
+
+        // THEN
+        assertTrue(job.isEmpty());
+        verify(projectDao).deleteProjectById(projectId);
+        verify(localCacheInvalidator).apply(Invalidation.of(Invalidation.Type.PROJECT_DELETED, projectId));
+        verify(invalidationBus).publish(Invalidation.of(Invalidation.Type.PROJECT_DELETED, projectId));
+        verify(deletionDao, never()).insertJob(any(), any(), anyLong());
+    }
+
+    /**
+     * Tests that a large project is queued as a deletion job and left to the worker.
+     */
+    @Test
+    void largeProjectShouldBeQueued() {
+        // GIVEN
+        Long projectId = 1L;
+        DeletionJobDto pending = job(DeletionDao.PROJECT, projectId);
+        when(deletionDao.countProjectRows(projectId, THRESHOLD + 1)).thenReturn(THRESHOLD + 1);
+        when(deletionDao.insertJob(DeletionDao.PROJECT, projectId, THRESHOLD + 1)).thenReturn(pending);
+
+        // WHEN
+        Optional<DeletionJobDto> job = underTest.deleteProject(projectId);
+
+        // THEN
+        assertEquals(Optional.of(pending), job);
+        verify(projectDao, never()).deleteProjectById(any());
+        verifyNoInteractions(localCacheInvalidator, invalidationBus);
+    }
+
+    /**
+     * Tests that deleting a project again while it is being deleted returns the running job.
+     */
+    @Test
+    void projectBeingDeletedShouldReturnItsJob() {
+        // GIVEN
+        Long projectId = 1L;
+        DeletionJobDto running = job(DeletionDao.PROJECT, projectId);
+        when(deletionDao.selectActiveJob(DeletionDao.PROJECT, projectId)).thenReturn(Optional.of(running));
+
+        // WHEN
+        Optional<DeletionJobDto> job = underTest.deleteProject(projectId);
+
+        // THEN
+        assertEquals(Optional.of(running), job);
+        verify(deletionDao, never()).countProjectRows(any(), anyLong());
+        verify(deletionDao, never()).insertJob(any(), any(), anyLong());
+    }
+
+    /**
+     * Tests that a small user is deleted at once, after the to-dos assigned to it left the counts of their features,
+     * and evicted from every cache.
+     */
+    @Test
+    void smallUserShouldBeDeletedAtOnce() {
+        // GIVEN
+        Long userId = 2L;
+        when(deletionDao.countUserRows(userId, THRESHOLD + 1)).thenReturn(0L);
+
+        // WHEN
+        Optional<DeletionJobDto> job = underTest.deleteUser(userId, "test@test.com");
+
+        // THEN
+        assertTrue(job.isEmpty());
+        InOrder inOrder = inOrder(deletionDao, userDao, transactionManager);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(deletionDao).deleteToDosOfUser(userId);
+        inOrder.verify(userDao).deleteUserById(userId);
+        inOrder.verify(transactionManager).commit(any());
+        verify(localCacheInvalidator).apply(Invalidation.userDeleted(userId, "test@test.com"));
+        verify(invalidationBus).publish(Invalidation.userDeleted(userId, "test@test.com"));
+    }
+
+    /**
+     * Tests that a large user is locked out at once, on every instance, before its deletion is queued.
+     */
+    @Test
+    void largeUserShouldBeDisabledThenQueued() {
+        // GIVEN
+        Long userId = 2L;
+        DeletionJobDto pending = job(DeletionDao.USER, userId);
+        when(deletionDao.countUserRows(userId, THRESHOLD + 1)).thenReturn(THRESHOLD + 1);
+        when(deletionDao.insertJob(DeletionDao.USER, userId, THRESHOLD + 1)).thenReturn(pending);
+
+        // WHEN
+        Optional<DeletionJobDto> job = underTest.deleteUser(userId, "test@test.com");
+
+        // THEN
+        assertEquals(Optional.of(pending), job);
+        verify(deletionDao).disableUser(userId);
+        verify(invalidationBus).publish(Invalidation.user(userId, "test@test.com"));
+        verify(userDao, never()).deleteUserById(any());
+        verify(deletionDao, never()).deleteToDosOfUser(any());
+    }
+
+    /**
+     * Tests that a missing job, or a job deleting another kind of row, is not found.
+     */
+    @Test
+    void missingJobShouldThrowNotFoundException() {
+        when(deletionDao.selectJobById(3L, DeletionDao.USER)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> underTest.getJob(3L, DeletionDao.USER));
+    }
+
+    private static DeletionJobDto job(String resource, Long resourceId) {
+        return new DeletionJobDto(3L, resource, resourceId, DeletionDao.PENDING, THRESHOLD + 1, 0, null, null, null);
+    }
+}
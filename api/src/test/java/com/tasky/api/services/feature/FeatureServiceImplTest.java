@@ -3,21 +3,29 @@ package com.tasky.api.services.feature;
 import com.tasky.api.configurations.errors.BadRequestException;
 import com.tasky.api.configurations.errors.NotFoundException;
 import com.tasky.api.configurations.errors.UnauthorizedException;
+import com.tasky.api.dao.AuthorizedResource;
+import com.tasky.api.dao.ResourceVersion;
 import com.tasky.api.dao.feature.FeatureDao;
 import com.tasky.api.dao.run.RunDao;
+import com.tasky.api.dao.statistics.BurndownDao;
 import com.tasky.api.dto.feature.CreateFeatureRequest;
+import com.tasky.api.dto.feature.FeatureDto;
 import com.tasky.api.dto.feature.SearchFeatureResponse;
 import com.tasky.api.dto.feature.UpdateFeatureRequest;
-import com.tasky.api.mappers.FeatureDtoMapper;
+import com.tasky.api.dto.run.RunDto;
 import com.tasky.api.models.Feature;
 import com.tasky.api.models.Project;
 import com.tasky.api.models.Run;
 import com.tasky.api.models.User;
+import com.tasky.api.services.invalidation.Invalidation;
+import com.tasky.api.services.invalidation.InvalidationBus;
+import com.tasky.api.services.membership.MembershipService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -35,12 +43,15 @@ import static org.mockito.Mockito.*;
 class FeatureServiceImplTest {
     @Mock private  RunDao runDao;
     @Mock private FeatureDao featureDao;
-    @Mock private FeatureDtoMapper featureDtoMapper;
+    @Spy private MembershipService membershipService = new MembershipService(null);
+    @Mock private InvalidationBus invalidationBus;
+    @Mock private BurndownDao burndownDao;
     @InjectMocks private FeatureServiceImpl underTest;
 
     @Test
     void createFeatureShouldTrowNotFoundException() {
         Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(createFakeUser());
         CreateFeatureRequest request = new CreateFeatureRequest("name","description");
         assertThrows(NotFoundException.class, () -> underTest.createFeature(authentication,1L,request));
     }
@@ -55,7 +66,7 @@ class FeatureServiceImplTest {
 
         CreateFeatureRequest request = new CreateFeatureRequest("name","description");
         when(authentication.getPrincipal()).thenReturn(user);
-        when(runDao.findRunById(run.getId())).thenReturn(Optional.of(run));
+        when(runDao.findRunByIdForMember(run.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(run, false)));
 
         assertThrows(UnauthorizedException.class,()->underTest.createFeature(authentication,run.getId(),request));
     }
@@ -71,7 +82,7 @@ class FeatureServiceImplTest {
 
         CreateFeatureRequest request = new CreateFeatureRequest(null,null);
         when(authentication.getPrincipal()).thenReturn(user);
-        when(runDao.findRunById(run.getId())).thenReturn(Optional.of(run));
+        when(runDao.findRunByIdForMember(run.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(run, true)));
 
         assertThrows(BadRequestException.class,()->underTest.createFeature(authentication,run.getId(),request));
     }
@@ -87,7 +98,7 @@ class FeatureServiceImplTest {
 
         CreateFeatureRequest request = new CreateFeatureRequest("null","null");
         when(authentication.getPrincipal()).thenReturn(user);
-        when(runDao.findRunById(run.getId())).thenReturn(Optional.of(run));
+        when(runDao.findRunByIdForMember(run.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(run, true)));
 
         ArgumentCaptor<Feature> featureArgumentCaptor = ArgumentCaptor.forClass(Feature.class);
         underTest.createFeature(authentication,run.getId(),request);
@@ -101,30 +112,79 @@ class FeatureServiceImplTest {
     }
 
     @Test
-    void findFeatureById() {
-        User projectManager = createFakeProjectManager();
+    void createFeaturesShouldInsertEveryFeature() {
+        Authentication authentication = mock(Authentication.class);
         User user = createFakeUser();
+        User projectManager = createFakeProjectManager();
         Project project = createFakeProject(projectManager);
         project.setUsers(List.of(user));
         Run run = createFakeRun(project);
-        Feature feature = createFakeFeature(run);
+
+        List<CreateFeatureRequest> requests = List.of(
+                new CreateFeatureRequest("first","description"),
+                new CreateFeatureRequest("second","description")
+        );
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(runDao.findRunByIdForMember(run.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(run, true)));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Feature>> featuresArgumentCaptor = ArgumentCaptor.forClass(List.class);
+        underTest.createFeatures(authentication,run.getId(),requests);
+
+        verify(runDao, times(1)).findRunByIdForMember(run.getId(), user.getId());
+        verify(featureDao).createFeatures(featuresArgumentCaptor.capture());
+        List<Feature> featuresCaptured = featuresArgumentCaptor.getValue();
+
+        assertEquals(2, featuresCaptured.size());
+        assertEquals("second", featuresCaptured.get(1).getName());
+        assertEquals(run, featuresCaptured.get(1).getRun());
+        assertEquals(project, featuresCaptured.get(1).getProject());
+    }
+
+    @Test
+    void createFeaturesShouldAggregateErrorsAndInsertNothing() {
         Authentication authentication = mock(Authentication.class);
+        User user = createFakeUser();
+        User projectManager = createFakeProjectManager();
+        Project project = createFakeProject(projectManager);
+        project.setUsers(List.of(user));
+        Run run = createFakeRun(project);
+
+        List<CreateFeatureRequest> requests = List.of(
+                new CreateFeatureRequest(null,"description"),
+                new CreateFeatureRequest("second",null)
+        );
         when(authentication.getPrincipal()).thenReturn(user);
-        when(featureDao.findFeatureById(feature.getId())).thenReturn(Optional.of(feature));
+        when(runDao.findRunByIdForMember(run.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(run, true)));
 
-        ArgumentCaptor<Feature> featureArgumentCaptor = ArgumentCaptor.forClass(Feature.class);
+        BadRequestException exception = assertThrows(BadRequestException.class,()->underTest.createFeatures(authentication,run.getId(),requests));
 
-        underTest.findFeatureById(authentication,feature.getId());
-        verify(featureDtoMapper).apply(featureArgumentCaptor.capture());
-        Feature featureCaptured = featureArgumentCaptor.getValue();
+        assertTrue(exception.getMessage().contains("Item 0: Field name is required"));
+        assertTrue(exception.getMessage().contains("Item 1: Field description is required"));
+        verifyNoInteractions(featureDao);
+    }
 
+    @Test
+    void findFeatureById() {
+        User projectManager = createFakeProjectManager();
+        User user = createFakeUser();
+        Project project = createFakeProject(projectManager);
+        project.setUsers(List.of(user));
+        Run run = createFakeRun(project);
+        FeatureDto feature = createFakeFeatureDto();
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(featureDao.findFeatureDtoByIdForMember(feature.id(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(feature, true)));
 
-        assertEquals(featureCaptured, feature);
+        FeatureDto result = underTest.findFeatureById(authentication,feature.id());
+
+        assertEquals(feature, result);
     }
 
     @Test
     void findFeatureByIdShouldThrowNotFoundIfFeatureDoesNotExists() {
        Authentication authentication = mock(Authentication.class);
+       when(authentication.getPrincipal()).thenReturn(createFakeUser());
        assertThrows(NotFoundException.class, () -> underTest.findFeatureById(authentication,1L));
     }
 
@@ -134,13 +194,42 @@ class FeatureServiceImplTest {
         User user = createFakeUser();
         Project project = createFakeProject(projectManager);
 
-        Run run = createFakeRun(project);
-        Feature feature = createFakeFeature(run);
+        FeatureDto feature = createFakeFeatureDto();
         Authentication authentication = mock(Authentication.class);
         when(authentication.getPrincipal()).thenReturn(user);
-        when(featureDao.findFeatureById(feature.getId())).thenReturn(Optional.of(feature));
+        when(featureDao.findFeatureDtoByIdForMember(feature.id(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(feature, false)));
 
-        assertThrows(UnauthorizedException.class, () -> underTest.findFeatureById(authentication,feature.getId()));
+        assertThrows(UnauthorizedException.class, () -> underTest.findFeatureById(authentication,feature.id()));
+    }
+
+    @Test
+    void findFeatureVersionById() {
+        User user = createFakeUser();
+        ResourceVersion version = new ResourceVersion(1L, 0, Timestamp.from(Instant.now()));
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(featureDao.findFeatureVersionByIdForMember(1L, user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(version, true)));
+
+        ResourceVersion result = underTest.findFeatureVersionById(authentication,1L);
+
+        assertEquals(version, result);
+    }
+
+    @Test
+    void findFeatureVersionByIdShouldThrowNotFoundIfFeatureDoesNotExists() {
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(createFakeUser());
+        assertThrows(NotFoundException.class, () -> underTest.findFeatureVersionById(authentication,1L));
+    }
+
+    @Test
+    void findFeatureVersionByIdShouldThrowUnauthorizedException() {
+        User user = createFakeUser();
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(featureDao.findFeatureVersionByIdForMember(1L, user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(new ResourceVersion(1L, 0, null), false)));
+
+        assertThrows(UnauthorizedException.class, () -> underTest.findFeatureVersionById(authentication,1L));
     }
 
     @Test
@@ -150,13 +239,12 @@ class FeatureServiceImplTest {
         Project project = createFakeProject(projectManager);
         project.setUsers(List.of(user));
         Run run = createFakeRun(project);
-        Feature feature = createFakeFeature(run);
-        List<Feature> features = List.of(feature);
-        Page<Feature> featurePage = new PageImpl<>(features);
+        List<FeatureDto> features = List.of(createFakeFeatureDto());
+        Page<FeatureDto> featurePage = new PageImpl<>(features);
         Authentication authentication = mock(Authentication.class);
 
         when(authentication.getPrincipal()).thenReturn(user);
-        when(runDao.findRunById(run.getId())).thenReturn(Optional.of(run));
+        when(runDao.findRunDtoByIdForMember(run.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(new RunDto(run.getId(), run.getName(), run.getDescription(), run.getStatus(), run.getStartDate(), run.getEndDate()), true)));
         when(featureDao.findAllFeatureWhereRunIsAndNameContaining(any(),any(),any())).thenReturn(featurePage);
 
         SearchFeatureResponse result = underTest
@@ -164,12 +252,44 @@ class FeatureServiceImplTest {
                         authentication,
                         run.getId(),
                         "aer",
-                        0
+                        0,
+                        null,
+                        null,
+                        null
                 );
 
         assertNotNull(result);
     }
 
+    @Test
+    void findFeatureVersionWhereRunIsAndNameContaining() {
+        User user = createFakeUser();
+        Project project = createFakeProject(createFakeProjectManager());
+        Run run = createFakeRun(project);
+        ResourceVersion version = new ResourceVersion(0L, null);
+        Authentication authentication = mock(Authentication.class);
+
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(runDao.findRunDtoByIdForMember(run.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(new RunDto(run.getId(), run.getName(), run.getDescription(), run.getStatus(), run.getStartDate(), run.getEndDate()), true)));
+        when(featureDao.findAllFeatureVersionWhereRunIsAndNameContaining(run.getId(), "")).thenReturn(version);
+
+        ResourceVersion result = underTest.findFeatureVersionWhereRunIsAndNameContaining(authentication, run.getId(), null);
+
+        assertEquals("W/\"0-0\"", result.eTag());
+    }
+
+    @Test
+    void findFeatureVersionWhereRunIsAndNameContainingShouldThrowUnauthorizedException() {
+        User user = createFakeUser();
+        Authentication authentication = mock(Authentication.class);
+
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(runDao.findRunDtoByIdForMember(1L, user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(new RunDto(1L, "name", "description", "New", null, null), false)));
+
+        assertThrows(UnauthorizedException.class, () -> underTest.findFeatureVersionWhereRunIsAndNameContaining(authentication, 1L, "name"));
+        verifyNoMoreInteractions(featureDao);
+    }
+
     @Test
     void findFeatureWhereRunIsAndNameContainingShouldThrowBadRequest() {
         User user = createFakeUser();
@@ -177,13 +297,12 @@ class FeatureServiceImplTest {
         Project project = createFakeProject(projectManager);
         project.setUsers(List.of(user));
         Run run = createFakeRun(project);
-        Feature feature = createFakeFeature(run);
-        List<Feature> features = List.of(feature);
-        Page<Feature> featurePage = new PageImpl<>(features);
+        List<FeatureDto> features = List.of(createFakeFeatureDto());
+        Page<FeatureDto> featurePage = new PageImpl<>(features);
         Authentication authentication = mock(Authentication.class);
 
         when(authentication.getPrincipal()).thenReturn(user);
-        when(runDao.findRunById(run.getId())).thenReturn(Optional.of(run));
+        when(runDao.findRunDtoByIdForMember(run.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(new RunDto(run.getId(), run.getName(), run.getDescription(), run.getStatus(), run.getStartDate(), run.getEndDate()), true)));
         when(featureDao.findAllFeatureWhereRunIsAndNameContaining(any(),any(),any())).thenReturn(featurePage);
 
         assertThrows(
@@ -193,7 +312,10 @@ class FeatureServiceImplTest {
                                 authentication,
                                 run.getId(),
                                 run.getName(),
-                                23
+                                23,
+                                null,
+                                null,
+                                null
                         )
         );
 
@@ -209,7 +331,7 @@ class FeatureServiceImplTest {
         Feature feature = createFakeFeature(run);
         Authentication authentication = mock(Authentication.class);
         when(authentication.getPrincipal()).thenReturn(user);
-        when(featureDao.findFeatureById(feature.getId())).thenReturn(Optional.of(feature));
+        when(featureDao.findFeatureByIdForMember(feature.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(feature, true)));
 
         UpdateFeatureRequest request = new UpdateFeatureRequest("terest","tesearearz","tset");
 
@@ -226,7 +348,7 @@ class FeatureServiceImplTest {
         Feature feature = createFakeFeature(run);
         Authentication authentication = mock(Authentication.class);
         when(authentication.getPrincipal()).thenReturn(user);
-        when(featureDao.findFeatureById(feature.getId())).thenReturn(Optional.of(feature));
+        when(featureDao.findFeatureByIdForMember(feature.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(feature, true)));
 
         UpdateFeatureRequest request = new UpdateFeatureRequest("terest","tesearearz","Completed");
 
@@ -251,7 +373,7 @@ class FeatureServiceImplTest {
         Feature feature = createFakeFeature(run);
         Authentication authentication = mock(Authentication.class);
         when(authentication.getPrincipal()).thenReturn(user);
-        when(featureDao.findFeatureById(feature.getId())).thenReturn(Optional.of(feature));
+        when(featureDao.findFeatureByIdForMember(feature.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(feature, true)));
 
         UpdateFeatureRequest request = new UpdateFeatureRequest(null,null,null);
 
@@ -269,11 +391,13 @@ class FeatureServiceImplTest {
         Feature feature = createFakeFeature(run);
         Authentication authentication = mock(Authentication.class);
         when(authentication.getPrincipal()).thenReturn(user);
-        when(featureDao.findFeatureById(feature.getId())).thenReturn(Optional.of(feature));
+        when(featureDao.findFeatureByIdForMember(feature.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(feature, true)));
 
         underTest.deleteFeatureById(authentication,feature.getId());
 
+        verify(burndownDao).addDeletionsOfFeature(feature.getId());
         verify(featureDao).deleteFeatureById(feature.getId());
+        verify(invalidationBus).publish(Invalidation.of(Invalidation.Type.FEATURE, feature.getId()));
     }
 
     private User createFakeProjectManager() {
@@ -319,6 +443,10 @@ class FeatureServiceImplTest {
         return project;
     }
 
+    private FeatureDto createFakeFeatureDto() {
+        return new FeatureDto(1L, "name", "description", "New", null, null);
+    }
+
     private Feature createFakeFeature(Run run) {
         Feature feature = new Feature(
                 "name",
@@ -0,0 +1,143 @@
+package com.tasky.api.services.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tasky.api.configurations.errors.BadRequestException;
+import com.tasky.api.dao.importer.ImportDao;
+import com.tasky.api.dao.importer.ImportedRows;
+import com.tasky.api.dto.importer.ImportRecord;
+import com.tasky.api.dto.importer.ImportResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the {@link ImportServiceImpl} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class ImportServiceImplTest {
+
+    @Mock private ImportDao importDao;
+    private ImportServiceImpl underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new ImportServiceImpl(importDao, new ObjectMapper());
+    }
+
+    /**
+     * Tests that every record of the document is streamed to the DAO and that the response sums the imported rows.
+     */
+    @Test
+    void shouldStreamEveryRecordToTheDao() {
+        // GIVEN
+        InputStream document = toInputStream("""
+                {"entity":"project","ref":"p1","name":"project","dueDate":1700000000,"owner":"pm@tasky.com"}
+                {"entity":"run","ref":"r1","parent":"p1","name":"run","startDate":1700000000,"endDate":1700100000}
+                {"entity":"feature","ref":"f1","parent":"r1","name":"feature","status":"In progress"}
+                {"entity":"toDo","ref":"t1","parent":"f1","name":"toDo","type":"bug"}
+                {"entity":"comment","ref":"c1","parent":"t1","name":"comment","content":"content"}
+                """);
+        List<ImportRecord> streamed = new ArrayList<>();
+        when(importDao.importRecords(any())).thenAnswer(invocation -> {
+            Iterator<ImportRecord> records = invocation.getArgument(0);
+            records.forEachRemaining(streamed::add);
+            return new ImportedRows(1, 1, 1, 1, 1);
+        });
+
+        // WHEN
+        ImportResponse response = underTest.importProjects(document);
+
+        // THEN
+        assertEquals(5, streamed.size());
+        assertEquals("pm@tasky.com", streamed.get(0).owner());
+        assertEquals("bug", streamed.get(3).type());
+        assertEquals(5, response.rows());
+        assertEquals(1, response.comments());
+    }
+
+    /**
+     * Tests that an invalid record is rejected with its position in the document.
+     */
+    @Test
+    void shouldRejectAnInvalidRecordWithItsNumber() {
+        // GIVEN
+        InputStream document = toInputStream("""
+                {"entity":"project","ref":"p1","name":"project","dueDate":1700000000,"owner":"pm@tasky.com"}
+                {"entity":"toDo","ref":"t1","parent":"f1","name":"toDo","type":"epic","status":"Done"}
+                """);
+        when(importDao.importRecords(any())).thenAnswer(invocation -> {
+            Iterator<ImportRecord> records = invocation.getArgument(0);
+            records.forEachRemaining(record -> {});
+            return new ImportedRows(0, 0, 0, 0, 0);
+        });
+
+        // WHEN
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> underTest.importProjects(document));
+
+        // THEN
+        assertTrue(exception.getMessage().contains("Record 2: Invalid status"));
+        assertTrue(exception.getMessage().contains("Record 2: Invalid type"));
+    }
+
+    /**
+     * Tests that a record with an unknown entity is rejected.
+     */
+    @Test
+    void shouldRejectAnUnknownEntity() {
+        // GIVEN
+        InputStream document = toInputStream("""
+                {"entity":"epic","ref":"e1","name":"epic"}
+                """);
+        when(importDao.importRecords(any())).thenAnswer(invocation -> {
+            Iterator<ImportRecord> records = invocation.getArgument(0);
+            records.next();
+            return new ImportedRows(0, 0, 0, 0, 0);
+        });
+
+        // WHEN
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> underTest.importProjects(document));
+
+        // THEN
+        assertTrue(exception.getMessage().startsWith("[Record 1: entity must be one of"));
+    }
+
+    /**
+     * Tests that a malformed line is reported as a bad request.
+     */
+    @Test
+    void shouldRejectMalformedJson() {
+        // GIVEN
+        InputStream document = toInputStream("""
+                {"entity":"project","ref":"p1","name":"project","dueDate":1700000000,"owner":"pm@tasky.com"}
+                {"entity":"project",
+                """);
+        when(importDao.importRecords(any())).thenAnswer(invocation -> {
+            Iterator<ImportRecord> records = invocation.getArgument(0);
+            records.forEachRemaining(record -> {});
+            return new ImportedRows(0, 0, 0, 0, 0);
+        });
+
+        // WHEN
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> underTest.importProjects(document));
+
+        // THEN
+        assertTrue(exception.getMessage().startsWith("[Record 2: "));
+    }
+
+    private InputStream toInputStream(String document) {
+        return new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,125 @@
+package com.tasky.api.services.invalidation;
+
+import com.tasky.api.AbstractTestContainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration tests of the invalidation bus, with two instances listening on the same database.
+ */
+class InvalidationBusTest extends AbstractTestContainer {
+
+    private static final String CHANNEL = "cache_invalidation";
+
+    private final JdbcTemplate jdbcTemplate = getJDBCtemplate();
+    private final List<InvalidationBus> nodes = new ArrayList<>();
+
+    private LocalCacheInvalidator firstCaches;
+    private LocalCacheInvalidator secondCaches;
+    private InvalidationBus first;
+    private InvalidationBus second;
+
+    @BeforeEach
+    void setUp() {
+        firstCaches = mock(LocalCacheInvalidator.class);
+        secondCaches = mock(LocalCacheInvalidator.class);
+        first = startNode(firstCaches);
+        second = startNode(secondCaches);
+        awaitListeners(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(InvalidationBus::stop);
+    }
+
+    @Test
+    void invalidationsShouldOnlyBeAppliedByTheOtherNode() {
+        Invalidation user = Invalidation.user(1L, "user@tasky.com");
+        Invalidation member = Invalidation.member(1L, 2L);
+        Invalidation project = Invalidation.of(Invalidation.Type.PROJECT_DELETED, 2L);
+
+        first.publish(user);
+        first.publish(member);
+        second.publish(project);
+
+        verify(secondCaches, timeout(5000)).apply(user);
+        verify(secondCaches, timeout(5000)).apply(member);
+        verify(firstCaches, timeout(5000)).apply(project);
+        verify(firstCaches, after(500).times(1)).apply(any());
+        verify(secondCaches, times(2)).apply(any());
+    }
+
+    @Test
+    void malformedInvalidationsShouldBeIgnored() {
+        Invalidation run = Invalidation.of(Invalidation.Type.RUN, 3L);
+
+        jdbcTemplate.queryForList("select pg_notify(?, ?)", CHANNEL, "other-node|UNKNOWN|3|");
+        jdbcTemplate.queryForList("select pg_notify(?, ?)", CHANNEL, "garbage");
+        first.publish(run);
+
+        verify(secondCaches, timeout(5000)).apply(run);
+        verify(secondCaches, after(500).times(1)).apply(any());
+    }
+
+    @Test
+    void nodeShouldClearItsCachesAndListenAgainWhenTheListeningConnectionIsLost() {
+        Invalidation feature = Invalidation.of(Invalidation.Type.FEATURE, 4L);
+
+        jdbcTemplate.queryForList(
+                "select pg_terminate_backend(pid) from pg_stat_activity where query = ?",
+                "LISTEN " + CHANNEL
+        );
+
+        verify(firstCaches, timeout(10000)).invalidateAll();
+        verify(secondCaches, timeout(10000)).invalidateAll();
+        awaitListeners(2);
+
+        first.publish(feature);
+
+        verify(secondCaches, timeout(5000)).apply(feature);
+    }
+
+    private InvalidationBus startNode(LocalCacheInvalidator caches) {
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl(postgreSQLContainer.getJdbcUrl());
+        properties.setUsername(postgreSQLContainer.getUsername());
+        properties.setPassword(postgreSQLContainer.getPassword());
+
+        InvalidationBus node = new InvalidationBus(jdbcTemplate, properties, caches, true, CHANNEL, 100);
+        node.start();
+        nodes.add(node);
+        return node;
+    }
+
+    private void awaitListeners(int count) {
+        long deadline = System.currentTimeMillis() + 10000;
+        while(System.currentTimeMillis() < deadline) {
+            Integer listeners = jdbcTemplate.queryForObject(
+                    "select count(*) from pg_stat_activity where query = ?",
+                    Integer.class,
+                    "LISTEN " + CHANNEL
+            );
+            if(listeners != null && listeners == count) {
+                return;
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        fail("Expected " + count + " listening connections");
+    }
+}
@@ -0,0 +1,172 @@
+package com.tasky.api.services.membership;
+
+import com.tasky.api.configurations.errors.UnauthorizedException;
+import com.tasky.api.dao.AuthorizedResource;
+import com.tasky.api.dao.project.ProjectDao;
+import com.tasky.api.models.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link MembershipService} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class MembershipServiceTest {
+
+    @Mock private ProjectDao projectDao;
+    private MembershipService underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new MembershipService(projectDao);
+    }
+
+    /**
+     * Tests that the projects of a user are loaded once and then served from the index.
+     */
+    @Test
+    void shouldLoadMembershipsOnlyOnce() {
+        // GIVEN
+        when(projectDao.selectProjectIdsForMember(1L)).thenReturn(List.of(2L, 5L));
+
+        // WHEN
+        boolean memberOfTwo = underTest.isMember(1L, 2L);
+        boolean memberOfFive = underTest.isMember(1L, 5L);
+        boolean memberOfThree = underTest.isMember(1L, 3L);
+
+        // THEN
+        assertTrue(memberOfTwo);
+        assertTrue(memberOfFive);
+        assertFalse(memberOfThree);
+        verify(projectDao, times(1)).selectProjectIdsForMember(1L);
+    }
+
+    /**
+     * Tests that project managers can access every project without touching the index.
+     */
+    @Test
+    void projectManagerShouldAccessEveryProject() {
+        // GIVEN
+        User projectManager = createFakeUser(1L, "PROJECT_MANAGER");
+
+        // WHEN
+        underTest.checkAccessToProject(projectManager, 42L);
+
+        // THEN
+        verifyNoInteractions(projectDao);
+    }
+
+    /**
+     * Tests that a user outside of the project is rejected.
+     */
+    @Test
+    void shouldThrowUnauthorizedIfUserIsNotMember() {
+        // GIVEN
+        User user = createFakeUser(1L, "USER");
+        when(projectDao.selectProjectIdsForMember(1L)).thenReturn(List.of(2L));
+
+        // WHEN THEN
+        assertThrows(UnauthorizedException.class, () -> underTest.checkAccessToProject(user, 3L));
+    }
+
+    /**
+     * Tests that an added member is granted access without reloading the index.
+     */
+    @Test
+    void addMemberShouldGrantAccess() {
+        // GIVEN
+        when(projectDao.selectProjectIdsForMember(1L)).thenReturn(List.of());
+        assertFalse(underTest.isMember(1L, 3L));
+
+        // WHEN
+        underTest.addMember(1L, 3L);
+
+        // THEN
+        assertTrue(underTest.isMember(1L, 3L));
+        verify(projectDao, times(1)).selectProjectIdsForMember(1L);
+    }
+
+    /**
+     * Tests that a deleted project is removed from every indexed user.
+     */
+    @Test
+    void removeProjectShouldRevokeAccess() {
+        // GIVEN
+        when(projectDao.selectProjectIdsForMember(1L)).thenReturn(List.of(3L));
+        when(projectDao.selectProjectIdsForMember(2L)).thenReturn(List.of(3L, 4L));
+        assertTrue(underTest.isMember(1L, 3L));
+        assertTrue(underTest.isMember(2L, 3L));
+
+        // WHEN
+        underTest.removeProject(3L);
+
+        // THEN
+        assertFalse(underTest.isMember(1L, 3L));
+        assertFalse(underTest.isMember(2L, 3L));
+        assertTrue(underTest.isMember(2L, 4L));
+    }
+
+    /**
+     * Tests that a deleted user is reloaded from the database the next time it is checked.
+     */
+    @Test
+    void removeUserShouldDropIndexedMemberships() {
+        // GIVEN
+        when(projectDao.selectProjectIdsForMember(1L)).thenReturn(List.of(3L)).thenReturn(List.of());
+        assertTrue(underTest.isMember(1L, 3L));
+
+        // WHEN
+        underTest.removeUser(1L);
+
+        // THEN
+        assertFalse(underTest.isMember(1L, 3L));
+        verify(projectDao, times(2)).selectProjectIdsForMember(1L);
+    }
+
+    /**
+     * Tests that a resource resolved for a member is returned without touching the index.
+     */
+    @Test
+    void checkAccessShouldReturnResourceForMember() {
+        // GIVEN
+        User user = createFakeUser(1L, "USER");
+        AuthorizedResource<String> authorizedResource = new AuthorizedResource<>("resource", true);
+
+        // WHEN
+        String resource = underTest.checkAccess(user, authorizedResource);
+
+        // THEN
+        assertEquals("resource", resource);
+        verifyNoInteractions(projectDao);
+    }
+
+    /**
+     * Tests that a resource resolved for a non member is rejected unless the user is a project manager.
+     */
+    @Test
+    void checkAccessShouldThrowUnauthorizedIfUserIsNotMember() {
+        // GIVEN
+        User user = createFakeUser(1L, "USER");
+        User projectManager = createFakeUser(2L, "PROJECT_MANAGER");
+        AuthorizedResource<String> authorizedResource = new AuthorizedResource<>("resource", false);
+
+        // WHEN THEN
+        assertThrows(UnauthorizedException.class, () -> underTest.checkAccess(user, authorizedResource));
+        assertEquals("resource", underTest.checkAccess(projectManager, authorizedResource));
+    }
+
+    private User createFakeUser(Long id, String role) {
+        User user = new User("firstName", "lastName", "user@tasky.com", "password");
+        user.setId(id);
+        user.setRole(role);
+        return user;
+    }
+}
@@ -3,20 +3,29 @@ package com.tasky.api.services.project;
 import com.tasky.api.configurations.errors.BadRequestException;
 import com.tasky.api.configurations.errors.NotFoundException;
 import com.tasky.api.configurations.errors.UnauthorizedException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tasky.api.dao.ResourceVersion;
+import com.tasky.api.dao.exporter.ExportDao;
 import com.tasky.api.dao.project.ProjectDao;
 import com.tasky.api.dao.user.UserDao;
+import com.tasky.api.dto.importer.ImportRecord;
+import com.tasky.api.dto.deletion.DeletionJobDto;
 import com.tasky.api.dto.project.*;
 import com.tasky.api.dto.user.UserDto;
-import com.tasky.api.mappers.ProjectDtoMapper;
 import com.tasky.api.models.Comment;
 import com.tasky.api.models.Project;
 import com.tasky.api.models.User;
+import com.tasky.api.services.invalidation.Invalidation;
+import com.tasky.api.services.deletion.DeletionService;
+import com.tasky.api.services.invalidation.InvalidationBus;
+import com.tasky.api.services.membership.MembershipService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -24,11 +33,14 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -37,8 +49,12 @@ import static org.mockito.Mockito.*;
 class ProjectServiceImplTest {
     @Mock private ProjectDao projectDao;
     @Mock private UserDao userDao;
-    @Mock private ProjectDtoMapper projectDtoMapper;
+    @Mock private MembershipService membershipService;
+    @Mock private ExportDao exportDao;
+    @Spy private ObjectMapper objectMapper = new ObjectMapper();
 
+    @Mock private InvalidationBus invalidationBus;
+    @Mock private DeletionService deletionService;
     @InjectMocks private ProjectServiceImpl underTest;
 
     @Test
@@ -190,6 +206,8 @@ class ProjectServiceImplTest {
         User userCaptured = userArgumentCaptor.getValue();
 
         assertTrue(userCaptured.getProjects().contains(project));
+        verify(membershipService).addMember(user.getId(), project.getId());
+        verify(invalidationBus).publish(Invalidation.member(user.getId(), project.getId()));
     }
 
     @Test
@@ -222,15 +240,12 @@ class ProjectServiceImplTest {
 
         Authentication authentication = mock(Authentication.class);
         when(authentication.getPrincipal()).thenReturn(user);
-        when(projectDao.selectProjectById(any())).thenReturn(Optional.of(project));
+        ProjectDto projectDto = createFakeProjectDto(project);
+        when(projectDao.selectProjectDtoById(project.getId())).thenReturn(Optional.of(projectDto));
 
-        underTest.findProjectById(authentication,project.getId());
+        ProjectDto result = underTest.findProjectById(authentication,project.getId());
 
-        ArgumentCaptor<Project> projectArgumentCaptor = ArgumentCaptor.forClass(Project.class);
-        verify(projectDtoMapper).apply(projectArgumentCaptor.capture());
-        Project projectCaptured = projectArgumentCaptor.getValue();
-
-        assertEquals(projectCaptured,project);
+        assertEquals(projectDto,result);
 
 
     }
@@ -244,12 +259,62 @@ class ProjectServiceImplTest {
 
         Authentication authentication = mock(Authentication.class);
         when(authentication.getPrincipal()).thenReturn(user);
-        when(projectDao.selectProjectById(any())).thenReturn(Optional.of(project));
+        when(projectDao.selectProjectDtoById(any())).thenReturn(Optional.of(createFakeProjectDto(project)));
+
+        doThrow(new UnauthorizedException("You can't access to this resource"))
+                .when(membershipService).checkAccessToProject(eq(user), any());
 
         assertThrows(UnauthorizedException.class, () -> underTest.findProjectById(authentication,project.getId()));
 
     }
 
+    @Test
+    void findProjectVersionById() {
+        User user = createFakeUser();
+        ResourceVersion version = new ResourceVersion(1L, 0, 2L, Timestamp.from(Instant.ofEpochMilli(1700000000000L)));
+
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(projectDao.selectProjectVersionById(1L)).thenReturn(Optional.of(version));
+
+        ResourceVersion result = underTest.findProjectVersionById(authentication,1L);
+
+        assertEquals("\"1-0-2-1700000000000\"", result.eTag());
+        assertEquals(-1, result.lastModified());
+        verify(membershipService).checkAccessToProject(user, 1L);
+    }
+
+    @Test
+    void findProjectVersionByIdShouldThrowNotFoundException() {
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(createFakeUser());
+
+        assertThrows(NotFoundException.class, () -> underTest.findProjectVersionById(authentication,1L));
+    }
+
+    @Test
+    void findProjectVersion() {
+        User projectManager = createFakeProjectManager();
+        ResourceVersion version = new ResourceVersion(3L, Timestamp.from(Instant.now()), 0L, null);
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(projectManager);
+        when(projectDao.selectAllProjectVersion("")).thenReturn(version);
+
+        assertEquals(version, underTest.findProjectVersion(authentication, null));
+    }
+
+    @Test
+    void findProjectVersionWithUser() {
+        User user = createFakeUser();
+        ResourceVersion version = new ResourceVersion(1L, Timestamp.from(Instant.now()), 1L, Timestamp.from(Instant.now()));
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(projectDao.selectAllProjectForUserVersion("name", user.getId())).thenReturn(version);
+
+        assertEquals(version, underTest.findProjectVersion(authentication, "name"));
+        verify(projectDao, never()).selectAllProjectVersion(any());
+    }
+
 
 
     @Test
@@ -260,14 +325,13 @@ class ProjectServiceImplTest {
         project2.setId(2L);
         Project project3 = createFakeProject(projectManager);
         project3.setId(3L);
-        List<Project> projects = List.of(project1,project2,project3);
-        Page<Project> projectPage = new PageImpl<>(projects);
+        List<ProjectDto> projects = List.of(createFakeProjectDto(project1),createFakeProjectDto(project2),createFakeProjectDto(project3));
+        Page<ProjectDto> projectPage = new PageImpl<>(projects);
         Authentication authentication = mock(Authentication.class);
         when(authentication.getPrincipal()).thenReturn(projectManager);
         when(projectDao.selectAllProject(any(),any())).thenReturn(projectPage);
-        when(projectDtoMapper.apply(any())).thenReturn(new ProjectDto(project1.getId(), project1.getName(),project1.getDueDate(),project1.getDescription(),project1.getUser().getEmail(),null));
 
-       SearchProjectResponse response = underTest.findProject(authentication , "",0);
+       SearchProjectResponse response = underTest.findProject(authentication , "",0, null, null, null);
        assertNotNull(response);
     }
 
@@ -277,17 +341,16 @@ class ProjectServiceImplTest {
         User user = createFakeUser();
         Project project1 = createFakeProject(projectManager);
         project1.setUsers(List.of(user));
-        List<Project> projects = List.of(project1);
-        Page<Project> projectPage = new PageImpl<>(projects);
+        List<ProjectDto> projects = List.of(createFakeProjectDto(project1));
+        Page<ProjectDto> projectPage = new PageImpl<>(projects);
         String pattern = "";
         Authentication authentication = mock(Authentication.class);
         when(authentication.getPrincipal()).thenReturn(user);
         Pageable pageable = PageRequest.of(0,5);
 
-        when(projectDao.selectAllProjectForUser(pattern,user,pageable)).thenReturn(projectPage);
-        when(projectDtoMapper.apply(any())).thenReturn(new ProjectDto(project1.getId(), project1.getName(),project1.getDueDate(),project1.getDescription(),project1.getUser().getEmail(),List.of(new UserDto(user.getId(), user.getFirstName(),user.getLastName(),user.getEmail(),user.getRole(),user.getNeverConnected()))));
+        when(projectDao.selectAllProjectForUser(pattern,user.getId(),pageable)).thenReturn(projectPage);
 
-        SearchProjectResponse response = underTest.findProject(authentication , pattern,0);
+        SearchProjectResponse response = underTest.findProject(authentication , pattern,0, null, null, null);
         assertNotNull(response);
     }
 
@@ -297,17 +360,16 @@ class ProjectServiceImplTest {
         User user = createFakeUser();
         Project project1 = createFakeProject(projectManager);
         project1.setUsers(List.of(user));
-        List<Project> projects = List.of(project1);
-        Page<Project> projectPage = new PageImpl<>(projects);
+        List<ProjectDto> projects = List.of(createFakeProjectDto(project1));
+        Page<ProjectDto> projectPage = new PageImpl<>(projects);
         String pattern = "";
         Authentication authentication = mock(Authentication.class);
         when(authentication.getPrincipal()).thenReturn(user);
         Pageable pageable = PageRequest.of(8,5);
 
-        when(projectDao.selectAllProjectForUser(pattern,user,pageable)).thenReturn(projectPage);
-        when(projectDtoMapper.apply(any())).thenReturn(new ProjectDto(project1.getId(), project1.getName(),project1.getDueDate(),project1.getDescription(),project1.getUser().getEmail(),List.of(new UserDto(user.getId(), user.getFirstName(),user.getLastName(),user.getEmail(),user.getRole(),user.getNeverConnected()))));
+        when(projectDao.selectAllProjectForUser(pattern,user.getId(),pageable)).thenReturn(projectPage);
 
-       assertThrows(BadRequestException.class, () -> underTest.findProject(authentication , pattern,8));
+       assertThrows(BadRequestException.class, () -> underTest.findProject(authentication , pattern,8, null, null, null));
 
     }
 
@@ -319,13 +381,13 @@ class ProjectServiceImplTest {
         project2.setId(2L);
         Project project3 = createFakeProject(projectManager);
         project3.setId(3L);
-        List<Project> projects = List.of(project1,project2,project3);
-        Page<Project> projectPage = new PageImpl<>(projects);
+        List<ProjectDto> projects = List.of(createFakeProjectDto(project1),createFakeProjectDto(project2),createFakeProjectDto(project3));
+        Page<ProjectDto> projectPage = new PageImpl<>(projects);
         Authentication authentication = mock(Authentication.class);
         when(authentication.getPrincipal()).thenReturn(projectManager);
         when(projectDao.selectAllProject(any(),any())).thenReturn(projectPage);
 
-        assertThrows(BadRequestException.class, () ->  underTest.findProject(authentication , "",32));
+        assertThrows(BadRequestException.class, () ->  underTest.findProject(authentication , "",32, null, null, null));
 
     }
 
@@ -333,12 +395,20 @@ class ProjectServiceImplTest {
     void deleteProjectById() {
         Long projectId = 1L;
         when(projectDao.isProjectExistsWithId(projectId)).thenReturn(true);
-        ArgumentCaptor<Long> argumentCaptor = ArgumentCaptor.forClass(Long.class);
+        when(deletionService.deleteProject(projectId)).thenReturn(Optional.empty());
 
-        underTest.deleteProjectById(projectId);
-        verify(projectDao).deleteProjectById(argumentCaptor.capture());
-        Long idCaptured = argumentCaptor.getValue();
-        assertEquals(projectId,idCaptured);
+        assertTrue(underTest.deleteProjectById(projectId).isEmpty());
+        verify(deletionService).deleteProject(projectId);
+    }
+
+    @Test
+    void deleteLargeProjectByIdShouldReturnTheDeletionJob() {
+        Long projectId = 1L;
+        DeletionJobDto job = new DeletionJobDto(7L, "project", projectId, "Pending", 10001, 0, null, null, null);
+        when(projectDao.isProjectExistsWithId(projectId)).thenReturn(true);
+        when(deletionService.deleteProject(projectId)).thenReturn(Optional.of(job));
+
+        assertEquals(Optional.of(job), underTest.deleteProjectById(projectId));
     }
 
     @Test
@@ -346,6 +416,74 @@ class ProjectServiceImplTest {
         assertThrows(NotFoundException.class, () -> underTest.deleteProjectById(1L));
     }
 
+    @Test
+    void exportProjectShouldWriteOneLinePerRecord() {
+        // GIVEN
+        Authentication authentication = mock(Authentication.class);
+        User user = createFakeUser();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(projectDao.isProjectExistsWithId(1L)).thenReturn(true);
+        when(exportDao.exportProject(eq(1L), any())).thenAnswer(invocation -> {
+            Consumer<ImportRecord> consumer = invocation.getArgument(1);
+            consumer.accept(new ImportRecord("project", "1", null, "name", null, null, "New", null, "email@com.com", 1692881838L, null, null));
+            consumer.accept(new ImportRecord("comment", "3", "2", "name", null, null, null, "first line\nsecond line", null, null, null, null));
+            return true;
+        });
+
+        // WHEN
+        underTest.exportProject(authentication, 1L, outputStream);
+
+        // THEN
+        verify(membershipService).checkAccessToProject(user, 1L);
+        assertEquals(
+                """
+                {"entity":"project","ref":"1","name":"name","status":"New","owner":"email@com.com","dueDate":1692881838}
+                {"entity":"comment","ref":"3","parent":"2","name":"name","content":"first line\\nsecond line"}
+                """,
+                outputStream.toString(StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    void exportProjectShouldThrowNotFoundException() {
+        // GIVEN
+        Authentication authentication = mock(Authentication.class);
+        when(projectDao.isProjectExistsWithId(1L)).thenReturn(false);
+
+        // WHEN THEN
+        assertThrows(NotFoundException.class, () -> underTest.exportProject(authentication, 1L, new ByteArrayOutputStream()));
+        verifyNoInteractions(membershipService, exportDao);
+    }
+
+    @Test
+    void exportProjectShouldThrowNotFoundExceptionIfProjectIsDeletedMeanwhile() {
+        // GIVEN
+        Authentication authentication = mock(Authentication.class);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        when(authentication.getPrincipal()).thenReturn(createFakeProjectManager());
+        when(projectDao.isProjectExistsWithId(1L)).thenReturn(true);
+        when(exportDao.exportProject(eq(1L), any())).thenReturn(false);
+
+        // WHEN THEN
+        assertThrows(NotFoundException.class, () -> underTest.exportProject(authentication, 1L, outputStream));
+        assertEquals(0, outputStream.size());
+    }
+
+    @Test
+    void exportProjectShouldThrowUnauthorizedException() {
+        // GIVEN
+        Authentication authentication = mock(Authentication.class);
+        User user = createFakeUser();
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(projectDao.isProjectExistsWithId(1L)).thenReturn(true);
+        doThrow(UnauthorizedException.class).when(membershipService).checkAccessToProject(user, 1L);
+
+        // WHEN THEN
+        assertThrows(UnauthorizedException.class, () -> underTest.exportProject(authentication, 1L, new ByteArrayOutputStream()));
+        verifyNoInteractions(exportDao);
+    }
+
     private Project createFakeProject(User user) {
         var date = Instant.ofEpochSecond(1692881838L).atZone(ZoneId.systemDefault()).toLocalDateTime();
         Project project = new Project("name",Timestamp.valueOf(date),"description",user);
@@ -366,4 +504,7 @@ class ProjectServiceImplTest {
         return user;
     }
 
-}
\ No newline at end of file
+    private ProjectDto createFakeProjectDto(Project project) {
+        return new ProjectDto(project.getId(), project.getName(),project.getDueDate(),project.getDescription(),project.getUser().getEmail());
+    }
+}
@@ -3,15 +3,20 @@ package com.tasky.api.services.run;
 import com.tasky.api.configurations.errors.BadRequestException;
 import com.tasky.api.configurations.errors.NotFoundException;
 import com.tasky.api.configurations.errors.UnauthorizedException;
+import com.tasky.api.dao.AuthorizedResource;
+import com.tasky.api.dao.ResourceVersion;
 import com.tasky.api.dao.project.ProjectDao;
 import com.tasky.api.dao.run.RunDao;
 import com.tasky.api.dto.run.CreateRunRequest;
+import com.tasky.api.dto.run.RunDto;
 import com.tasky.api.dto.run.SearchRunResponse;
 import com.tasky.api.dto.run.UpdateRunRequest;
-import com.tasky.api.mappers.RunDtoMapper;
 import com.tasky.api.models.Project;
 import com.tasky.api.models.Run;
 import com.tasky.api.models.User;
+import com.tasky.api.services.invalidation.Invalidation;
+import com.tasky.api.services.invalidation.InvalidationBus;
+import com.tasky.api.services.membership.MembershipService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -38,7 +43,8 @@ class RunServiceImplTest {
 
     @Mock private ProjectDao projectDao;
     @Mock private RunDao runDao;
-    @Mock private RunDtoMapper runDtoMapper;
+    @Mock private MembershipService membershipService;
+    @Mock private InvalidationBus invalidationBus;
     @InjectMocks private RunServiceImpl underTest;
 
     @Test
@@ -99,6 +105,9 @@ class RunServiceImplTest {
         when(authentication.getPrincipal()).thenReturn(user);
         when(projectDao.selectProjectById(project.getId())).thenReturn(Optional.of(project));
 
+        doThrow(new UnauthorizedException("You can't access to this resource"))
+                .when(membershipService).checkAccessToProject(eq(user), any());
+
         assertThrows(UnauthorizedException.class,() -> underTest.createRun(authentication,project.getId(),request));
     }
 
@@ -127,6 +136,7 @@ class RunServiceImplTest {
     void findByIdShouldThrowNotFoundExceptionWhenRunDoesNotExist() {
         Long runId = 1L;
         Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(createFakeUser());
         assertThrows(NotFoundException.class,() -> underTest.findById(authentication,runId));
     }
 
@@ -135,36 +145,70 @@ class RunServiceImplTest {
         User user = createFakeUser();
         User projectManager = createFakeProjectManager();
         Project project = createFakeProject(projectManager);
-        Run run = createFakeRun(project);
+        RunDto run = createFakeRunDto();
 
         Authentication authentication = mock(Authentication.class);
         when(authentication.getPrincipal()).thenReturn(user);
-        when(runDao.findRunById(run.getId())).thenReturn(Optional.of(run));
+        AuthorizedResource<RunDto> authorizedRun = new AuthorizedResource<>(run, false);
+        when(runDao.findRunDtoByIdForMember(run.runId(), user.getId())).thenReturn(Optional.of(authorizedRun));
+
+        doThrow(new UnauthorizedException("You can't access to this resource"))
+                .when(membershipService).checkAccess(user, authorizedRun);
 
-        assertThrows(UnauthorizedException.class,() -> underTest.findById(authentication,run.getId()));
+        assertThrows(UnauthorizedException.class,() -> underTest.findById(authentication,run.runId()));
     }
 
     @Test
     void findByIdShouldWork() {
         User user = createFakeUser();
-        User projectManager = createFakeProjectManager();
-        Project project = createFakeProject(projectManager);
-        project.setUsers(List.of(user));
+        RunDto run = createFakeRunDto();
 
-        Run run = createFakeRun(project);
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(user);
+        AuthorizedResource<RunDto> authorizedRun = new AuthorizedResource<>(run, true);
+        when(runDao.findRunDtoByIdForMember(run.runId(), user.getId())).thenReturn(Optional.of(authorizedRun));
+        when(membershipService.checkAccess(user, authorizedRun)).thenReturn(run);
+
+        RunDto result = underTest.findById(authentication,run.runId());
+
+        assertEquals(run,result);
+    }
 
+    @Test
+    void findVersionByIdShouldThrowNotFoundExceptionWhenRunDoesNotExist() {
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(createFakeUser());
+        assertThrows(NotFoundException.class,() -> underTest.findVersionById(authentication,1L));
+    }
+
+    @Test
+    void findVersionByIdShouldThrowUnauthorizedWhenUserDoesNotHaveAccess() {
+        User user = createFakeUser();
         Authentication authentication = mock(Authentication.class);
         when(authentication.getPrincipal()).thenReturn(user);
-        when(runDao.findRunById(run.getId())).thenReturn(Optional.of(run));
+        AuthorizedResource<ResourceVersion> authorizedVersion = new AuthorizedResource<>(new ResourceVersion(1L, 0, null), false);
+        when(runDao.findRunVersionByIdForMember(1L, user.getId())).thenReturn(Optional.of(authorizedVersion));
 
-        ArgumentCaptor<Run> runArgumentCaptor = ArgumentCaptor.forClass(Run.class);
-        underTest.findById(authentication,run.getId());
-        verify(runDtoMapper).apply(runArgumentCaptor.capture());
+        doThrow(new UnauthorizedException("You can't access to this resource"))
+                .when(membershipService).checkAccess(user, authorizedVersion);
 
-        Run runCaptured = runArgumentCaptor.getValue();
+        assertThrows(UnauthorizedException.class,() -> underTest.findVersionById(authentication,1L));
+    }
+
+    @Test
+    void findVersionByIdShouldWork() {
+        User user = createFakeUser();
+        ResourceVersion version = new ResourceVersion(1L, 3, Timestamp.from(Instant.ofEpochMilli(1700000000000L)));
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(user);
+        AuthorizedResource<ResourceVersion> authorizedVersion = new AuthorizedResource<>(version, true);
+        when(runDao.findRunVersionByIdForMember(1L, user.getId())).thenReturn(Optional.of(authorizedVersion));
+        when(membershipService.checkAccess(user, authorizedVersion)).thenReturn(version);
 
-        assertEquals(runCaptured,run);
+        ResourceVersion result = underTest.findVersionById(authentication,1L);
 
+        assertEquals("\"1-3\"", result.eTag());
+        assertEquals(1700000000000L, result.lastModified());
     }
 
     private Project createFakeProject(User creator) {
@@ -198,6 +242,10 @@ class RunServiceImplTest {
         return user;
     }
 
+    private RunDto createFakeRunDto() {
+        return new RunDto(1L, "name", "description", "New", null, null);
+    }
+
     private Run createFakeRun(Project project) {
         Run run = new Run(
                 "name",
@@ -231,16 +279,15 @@ class RunServiceImplTest {
         User user = createFakeUser();
         Project project = createFakeProject(projectManager);
         project.setUsers(List.of(user));
-        Run run = createFakeRun(project);
-        List<Run> runs = List.of(run);
+        List<RunDto> runs = List.of(createFakeRunDto());
         String pattern = "";
-        Page<Run> runPage = new PageImpl<>(runs);
+        Page<RunDto> runPage = new PageImpl<>(runs);
         Authentication authentication = mock(Authentication.class);
         when(authentication.getPrincipal()).thenReturn(user);
-        when(projectDao.selectProjectById(project.getId())).thenReturn(Optional.of(project));
+        when(projectDao.isProjectExistsWithId(project.getId())).thenReturn(true);
         when(runDao.findAllRunWhereProjectIsAndNameContaining(any(),any(),any())).thenReturn(runPage);
 
-        assertThrows(BadRequestException.class,() -> underTest.findRunByProjectIdAndByNameContaining(authentication,project.getId(),pattern,32));
+        assertThrows(BadRequestException.class,() -> underTest.findRunByProjectIdAndByNameContaining(authentication,project.getId(),pattern,32,null,null,null));
 
     }
 
@@ -250,20 +297,42 @@ class RunServiceImplTest {
         User user = createFakeUser();
         Project project = createFakeProject(projectManager);
         project.setUsers(List.of(user));
-        Run run = createFakeRun(project);
-        List<Run> runs = List.of(run);
+        List<RunDto> runs = List.of(createFakeRunDto());
         String pattern = "";
-        Page<Run> runPage = new PageImpl<>(runs);
+        Page<RunDto> runPage = new PageImpl<>(runs);
         Authentication authentication = mock(Authentication.class);
         when(authentication.getPrincipal()).thenReturn(user);
-        when(projectDao.selectProjectById(project.getId())).thenReturn(Optional.of(project));
+        when(projectDao.isProjectExistsWithId(project.getId())).thenReturn(true);
         when(runDao.findAllRunWhereProjectIsAndNameContaining(any(),any(),any())).thenReturn(runPage);
 
-        SearchRunResponse response = underTest.findRunByProjectIdAndByNameContaining(authentication,project.getId(),pattern,null);
+        SearchRunResponse response = underTest.findRunByProjectIdAndByNameContaining(authentication,project.getId(),pattern,null,null,null,null);
 
         assertNotNull(response);
     }
 
+    @Test
+    void findVersionByProjectIdAndByNameContainingShouldSearchEveryNameWithoutPattern() {
+        User user = createFakeUser();
+        ResourceVersion version = new ResourceVersion(2L, Timestamp.from(Instant.ofEpochMilli(1700000000000L)));
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(projectDao.isProjectExistsWithId(1L)).thenReturn(true);
+        when(runDao.findAllRunVersionWhereProjectIsAndNameContaining(1L, "")).thenReturn(version);
+
+        ResourceVersion result = underTest.findVersionByProjectIdAndByNameContaining(authentication,1L,null);
+
+        assertEquals("W/\"2-1700000000000\"", result.eTag());
+        verify(membershipService).checkAccessToProject(user, 1L);
+    }
+
+    @Test
+    void findVersionByProjectIdAndByNameContainingShouldThrowNotFoundIfProjectDoesNotExists() {
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(createFakeUser());
+        assertThrows(NotFoundException.class,() -> underTest.findVersionByProjectIdAndByNameContaining(authentication,1L,"name"));
+        verifyNoInteractions(runDao);
+    }
+
     @Test
     void deleteRunById() {
         User user = createFakeUser();
@@ -274,7 +343,9 @@ class RunServiceImplTest {
 
         Authentication authentication = mock(Authentication.class);
         when(authentication.getPrincipal()).thenReturn(user);
-        when(runDao.findRunById(run.getId())).thenReturn(Optional.of(run));
+        AuthorizedResource<Run> authorizedRun = new AuthorizedResource<>(run, true);
+        when(runDao.findRunByIdForMember(run.getId(), user.getId())).thenReturn(Optional.of(authorizedRun));
+        when(membershipService.checkAccess(user, authorizedRun)).thenReturn(run);
         underTest.deleteRunById(authentication, run.getId());
         ArgumentCaptor<Long> idCaptor = ArgumentCaptor.forClass(Long.class);
         verify(runDao).deleteRunById(idCaptor.capture());
@@ -282,6 +353,7 @@ class RunServiceImplTest {
         Long idCaptured = idCaptor.getValue();
 
         assertEquals(run.getId(),idCaptured);
+        verify(invalidationBus).publish(Invalidation.of(Invalidation.Type.RUN_DELETED, run.getId()));
 
     }
 
@@ -295,7 +367,9 @@ class RunServiceImplTest {
         Authentication authentication = mock(Authentication.class);
 
         when(authentication.getPrincipal()).thenReturn(user);
-        when(runDao.findRunById(run.getId())).thenReturn(Optional.of(run));
+        AuthorizedResource<Run> authorizedRun = new AuthorizedResource<>(run, true);
+        when(runDao.findRunByIdForMember(run.getId(), user.getId())).thenReturn(Optional.of(authorizedRun));
+        when(membershipService.checkAccess(user, authorizedRun)).thenReturn(run);
 
         UpdateRunRequest request = new UpdateRunRequest(run.getName(),run.getDescription(),null,null,run.getStatus());
         assertThrows(BadRequestException.class, () -> underTest.updateRunById(authentication,request, run.getId()));
@@ -311,7 +385,9 @@ class RunServiceImplTest {
         Authentication authentication = mock(Authentication.class);
 
         when(authentication.getPrincipal()).thenReturn(user);
-        when(runDao.findRunById(run.getId())).thenReturn(Optional.of(run));
+        AuthorizedResource<Run> authorizedRun = new AuthorizedResource<>(run, true);
+        when(runDao.findRunByIdForMember(run.getId(), user.getId())).thenReturn(Optional.of(authorizedRun));
+        when(membershipService.checkAccess(user, authorizedRun)).thenReturn(run);
 
         UpdateRunRequest request = new UpdateRunRequest(run.getName(),run.getDescription(),null,null,"run.getStatus()");
         assertThrows(BadRequestException.class, () -> underTest.updateRunById(authentication,request, run.getId()));
@@ -327,7 +403,9 @@ class RunServiceImplTest {
         Authentication authentication = mock(Authentication.class);
 
         when(authentication.getPrincipal()).thenReturn(user);
-        when(runDao.findRunById(run.getId())).thenReturn(Optional.of(run));
+        AuthorizedResource<Run> authorizedRun = new AuthorizedResource<>(run, true);
+        when(runDao.findRunByIdForMember(run.getId(), user.getId())).thenReturn(Optional.of(authorizedRun));
+        when(membershipService.checkAccess(user, authorizedRun)).thenReturn(run);
 
         UpdateRunRequest request = new UpdateRunRequest("run.getName()","run.getDescription()",1692881839L,1692881839L,"In progress");
 
@@ -0,0 +1,93 @@
+package com.tasky.api.services.search;
+
+import com.tasky.api.configurations.errors.BadRequestException;
+import com.tasky.api.dao.search.SearchDao;
+import com.tasky.api.dto.search.SearchHitDto;
+import com.tasky.api.dto.search.SearchResponse;
+import com.tasky.api.models.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link SearchServiceImpl} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class SearchServiceImplTest {
+
+    @Mock private SearchDao searchDao;
+    private SearchServiceImpl underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new SearchServiceImpl(searchDao);
+    }
+
+    /**
+     * Tests that users only search the projects they are members of, among every type.
+     */
+    @Test
+    void userShouldSearchItsProjectsOnly() {
+        // GIVEN
+        Authentication authentication = mockAuthentication(1L, "USER");
+        SearchHitDto hit = new SearchHitDto("toDo", 3L, 2L, "fix login", "<b>login</b> fails", 0.6f);
+        when(searchDao.search("login", List.of("project", "run", "feature", "toDo", "comment"), 1L, 20)).thenReturn(new SearchResponse(List.of(hit), false));
+
+        // WHEN
+        SearchResponse response = underTest.search(authentication, "login", null);
+
+        // THEN
+        assertEquals(List.of(hit), response.hits());
+    }
+
+    /**
+     * Tests that project managers search every project, restricted to the requested type.
+     */
+    @Test
+    void projectManagerShouldSearchEveryProject() {
+        // GIVEN
+        Authentication authentication = mockAuthentication(1L, "PROJECT_MANAGER");
+        when(searchDao.search("login", List.of("comment"), null, 20)).thenReturn(new SearchResponse(List.of(), true));
+
+        // WHEN
+        SearchResponse response = underTest.search(authentication, "login", "comment");
+
+        // THEN
+        assertTrue(response.hits().isEmpty());
+        assertTrue(response.truncated());
+    }
+
+    /**
+     * Tests that a missing query, a too long query or an unknown type are rejected without searching.
+     */
+    @Test
+    void shouldThrowBadRequestIfRequestIsInvalid() {
+        // GIVEN
+        Authentication authentication = mockAuthentication(1L, "USER");
+
+        // WHEN THEN
+        assertThrows(BadRequestException.class, () -> underTest.search(authentication, null, null));
+        assertThrows(BadRequestException.class, () -> underTest.search(authentication, "  ", null));
+        assertThrows(BadRequestException.class, () -> underTest.search(authentication, "a".repeat(201), null));
+        assertThrows(BadRequestException.class, () -> underTest.search(authentication, "login", "user"));
+        verify(searchDao, never()).search(anyString(), anyList(), any(), anyInt());
+    }
+
+    private Authentication mockAuthentication(Long id, String role) {
+        User user = new User("firstName", "lastName", "user@tasky.com", "password");
+        user.setId(id);
+        user.setRole(role);
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(user);
+        return authentication;
+    }
+}
@@ -0,0 +1,259 @@
+package com.tasky.api.services.statistics;
+
+import com.tasky.api.configurations.errors.NotFoundException;
+import com.tasky.api.configurations.errors.UnauthorizedException;
+import com.tasky.api.dao.AuthorizedResource;
+import com.tasky.api.dao.project.ProjectDao;
+import com.tasky.api.dao.run.RunDao;
+import com.tasky.api.dao.statistics.BurndownCount;
+import com.tasky.api.dao.statistics.BurndownDao;
+import com.tasky.api.dao.statistics.StatisticsDao;
+import com.tasky.api.dto.run.RunDto;
+import com.tasky.api.dto.statistics.BurndownDayDto;
+import com.tasky.api.dto.statistics.FeatureStatisticsDto;
+import com.tasky.api.dto.statistics.ProjectStatisticsDto;
+import com.tasky.api.dto.statistics.RunBurndownDto;
+import com.tasky.api.dto.statistics.RunStatisticsDto;
+import com.tasky.api.dto.statistics.ToDoStatisticsDto;
+import com.tasky.api.models.User;
+import com.tasky.api.services.membership.MembershipService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.security.core.Authentication;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatisticsServiceImplTest {
+
+    @Mock private StatisticsDao statisticsDao;
+    @Mock private BurndownDao burndownDao;
+    @Mock private ProjectDao projectDao;
+    @Mock private RunDao runDao;
+    @Mock private MembershipService membershipService;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private Authentication authentication;
+    private StatisticsServiceImpl underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new StatisticsServiceImpl(statisticsDao, burndownDao, projectDao, runDao, membershipService, transactionManager, 0, 10, 0);
+    }
+
+    /**
+     * Tests that the statistics of a project add up the ones of its runs and of its features outside of a run.
+     */
+    @Test
+    void projectStatisticsShouldSumRunsAndFeatures() {
+        // GIVEN
+        User user = createFakeUser();
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(projectDao.isProjectExistsWithId(1L)).thenReturn(true);
+        when(statisticsDao.selectRunsOfProject(1L)).thenReturn(List.of(
+                new RunStatisticsDto(1L, "first", ToDoStatisticsDto.empty(), List.of()),
+                new RunStatisticsDto(2L, "second", ToDoStatisticsDto.empty(), List.of())
+        ));
+        when(statisticsDao.selectFeaturesOfProject(1L)).thenReturn(List.of(
+                feature(1L, 1L, ToDoStatisticsDto.empty().plus("New", "task", 2)),
+                feature(2L, 1L, ToDoStatisticsDto.empty().plus("Completed", "bug", 1)),
+                feature(3L, null, ToDoStatisticsDto.empty().plus("In progress", "task", 4))
+        ));
+
+        // WHEN
+        ProjectStatisticsDto statistics = underTest.getProjectStatistics(authentication, 1L);
+
+        // THEN
+        verify(membershipService).checkAccessToProject(user, 1L);
+        assertEquals(7, statistics.toDos().total());
+        assertEquals(1, statistics.toDos().completed());
+        assertEquals(Map.of("New", 2L, "In progress", 4L, "Completed", 1L), statistics.toDos().statuses());
+        assertEquals(Map.of("task", 6L, "bug", 1L), statistics.toDos().types());
+        assertEquals(3, statistics.runs().get(0).toDos().total());
+        assertEquals(2, statistics.runs().get(0).features().size());
+        assertEquals(0, statistics.runs().get(1).toDos().total());
+        assertEquals(List.of(3L), statistics.features().stream().map(FeatureStatisticsDto::featureId).toList());
+    }
+
+    /**
+     * Tests that the statistics of an unknown project are not found.
+     */
+    @Test
+    void projectStatisticsShouldThrowNotFoundExceptionIfProjectDoesNotExist() {
+        when(projectDao.isProjectExistsWithId(1L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> underTest.getProjectStatistics(authentication, 1L));
+        verifyNoInteractions(statisticsDao);
+    }
+
+    /**
+     * Tests that the statistics of a run are read once its membership is checked.
+     */
+    @Test
+    void runStatisticsShouldSumItsFeatures() {
+        // GIVEN
+        User user = createFakeUser();
+        RunDto run = new RunDto(1L, "name", "description", "New", null, null);
+        AuthorizedResource<RunDto> authorizedRun = new AuthorizedResource<>(run, true);
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(runDao.findRunDtoByIdForMember(1L, user.getId())).thenReturn(Optional.of(authorizedRun));
+        when(membershipService.checkAccess(user, authorizedRun)).thenReturn(run);
+        when(statisticsDao.selectFeaturesOfRun(1L)).thenReturn(List.of(
+                feature(1L, 1L, ToDoStatisticsDto.empty().plus("Completed", "task", 3)),
+                feature(2L, 1L, ToDoStatisticsDto.empty().plus("New", "bug", 1))
+        ));
+
+        // WHEN
+        RunStatisticsDto statistics = underTest.getRunStatistics(authentication, 1L);
+
+        // THEN
+        assertEquals("name", statistics.name());
+        assertEquals(4, statistics.toDos().total());
+        assertEquals(3, statistics.toDos().completed());
+        assertEquals(2, statistics.features().size());
+    }
+
+    /**
+     * Tests that the statistics of a run are not read by a user outside of its project.
+     */
+    @Test
+    void runStatisticsShouldThrowUnauthorizedExceptionIfUserIsNotAMember() {
+        User user = createFakeUser();
+        AuthorizedResource<RunDto> authorizedRun = new AuthorizedResource<>(new RunDto(1L, "name", "description", "New", null, null), false);
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(runDao.findRunDtoByIdForMember(1L, user.getId())).thenReturn(Optional.of(authorizedRun));
+        when(membershipService.checkAccess(user, authorizedRun)).thenThrow(new UnauthorizedException("You can't access to this resource"));
+
+        assertThrows(UnauthorizedException.class, () -> underTest.getRunStatistics(authentication, 1L));
+        verifyNoInteractions(statisticsDao);
+    }
+
+    /**
+     * Tests that the reconciliation runs a repeatable read transaction per range of features, and that a range failing
+     * on a concurrent change is left for the next reconciliation.
+     */
+    @Test
+    void reconcileShouldCorrectEveryRangeOfFeatures() {
+        // GIVEN
+        when(statisticsDao.selectMaxFeatureId()).thenReturn(25L);
+        when(statisticsDao.reconcileToDoCounts(1, 11)).thenReturn(2);
+        when(statisticsDao.reconcileToDoCounts(11, 21)).thenThrow(new CannotAcquireLockException("could not serialize access"));
+        when(statisticsDao.reconcileToDoCounts(21, 31)).thenReturn(1);
+
+        // WHEN
+        int corrected = underTest.reconcile();
+
+        // THEN
+        assertEquals(3, corrected);
+        verify(transactionManager, times(3)).getTransaction(argThat(
+                definition -> definition.getIsolationLevel() == TransactionDefinition.ISOLATION_REPEATABLE_READ
+        ));
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    /**
+     * Tests that the burndown has a point per day from the start of the run until today, the days without changes
+     * carrying the counts of the previous one.
+     */
+    @Test
+    void runBurndownShouldCarryTheCountsOfTheDaysWithoutChanges() {
+        // GIVEN
+        User user = createFakeUser();
+        LocalDate today = LocalDate.of(2024, 3, 5);
+        RunDto run = new RunDto(1L, "name", "description", "New", Timestamp.valueOf("2024-03-01 09:00:00"), Timestamp.valueOf("2024-03-10 18:00:00"));
+        AuthorizedResource<RunDto> authorizedRun = new AuthorizedResource<>(run, true);
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(runDao.findRunDtoByIdForMember(1L, user.getId())).thenReturn(Optional.of(authorizedRun));
+        when(membershipService.checkAccess(user, authorizedRun)).thenReturn(run);
+        when(burndownDao.selectToday()).thenReturn(today);
+        when(burndownDao.selectBurndownOfRun(1L)).thenReturn(List.of(
+                new BurndownCount(LocalDate.of(2024, 2, 28), "New", 4),
+                new BurndownCount(LocalDate.of(2024, 3, 2), "Completed", 1),
+                new BurndownCount(LocalDate.of(2024, 3, 2), "New", 3),
+                new BurndownCount(LocalDate.of(2024, 3, 5), "Completed", 3),
+                new BurndownCount(LocalDate.of(2024, 3, 5), "In progress", 1),
+                new BurndownCount(LocalDate.of(2024, 3, 5), "New", 1)
+        ));
+
+        // WHEN
+        RunBurndownDto burndown = underTest.getRunBurndown(authentication, 1L);
+
+        // THEN
+        assertEquals(
+                List.of(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 2), LocalDate.of(2024, 3, 3), LocalDate.of(2024, 3, 4), today),
+                burndown.days().stream().map(BurndownDayDto::day).toList()
+        );
+        assertEquals(List.of(4L, 3L, 3L, 3L, 2L), burndown.days().stream().map(BurndownDayDto::remaining).toList());
+        assertEquals(List.of(4L, 4L, 4L, 4L, 5L), burndown.days().stream().map(BurndownDayDto::total).toList());
+        assertEquals(Map.of("New", 1L, "In progress", 1L, "Completed", 3L), burndown.days().get(4).statuses());
+    }
+
+    /**
+     * Tests that the burndown of a run starting after today has a single point for today.
+     */
+    @Test
+    void runBurndownOfAFutureRunShouldOnlyHaveToday() {
+        // GIVEN
+        User user = createFakeUser();
+        LocalDate today = LocalDate.of(2024, 3, 5);
+        RunDto run = new RunDto(1L, "name", "description", "New", Timestamp.valueOf("2024-04-01 09:00:00"), Timestamp.valueOf("2024-04-10 18:00:00"));
+        AuthorizedResource<RunDto> authorizedRun = new AuthorizedResource<>(run, true);
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(runDao.findRunDtoByIdForMember(1L, user.getId())).thenReturn(Optional.of(authorizedRun));
+        when(membershipService.checkAccess(user, authorizedRun)).thenReturn(run);
+        when(burndownDao.selectToday()).thenReturn(today);
+        when(burndownDao.selectBurndownOfRun(1L)).thenReturn(List.of(new BurndownCount(today, "New", 2)));
+
+        // WHEN
+        RunBurndownDto burndown = underTest.getRunBurndown(authentication, 1L);
+
+        // THEN
+        assertEquals(1, burndown.days().size());
+        assertEquals(2, burndown.days().get(0).remaining());
+    }
+
+    /**
+     * Tests that every day claimed is rolled up, each in its own transaction, until no day is left.
+     */
+    @Test
+    void rollUpBurndownShouldRollUpEveryDayClaimed() {
+        // GIVEN
+        when(burndownDao.claimNextDay())
+                .thenReturn(Optional.of(LocalDate.of(2024, 3, 1)))
+                .thenReturn(Optional.of(LocalDate.of(2024, 3, 2)))
+                .thenReturn(Optional.empty());
+
+        // WHEN
+        int days = underTest.rollUpBurndown();
+
+        // THEN
+        assertEquals(2, days);
+        verify(burndownDao).rollUpDay(LocalDate.of(2024, 3, 1));
+        verify(burndownDao).rollUpDay(LocalDate.of(2024, 3, 2));
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    private static FeatureStatisticsDto feature(Long featureId, Long runId, ToDoStatisticsDto toDos) {
+        return new FeatureStatisticsDto(featureId, runId, "name", toDos);
+    }
+
+    private User createFakeUser() {
+        User user = new User("firstname","lastname","email@email.com","pass");
+        user.setId(1L);
+        return user;
+    }
+}
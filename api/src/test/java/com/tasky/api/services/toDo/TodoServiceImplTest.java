@@ -3,23 +3,37 @@ package com.tasky.api.services.toDo;
 import com.tasky.api.configurations.errors.BadRequestException;
 import com.tasky.api.configurations.errors.NotFoundException;
 import com.tasky.api.configurations.errors.UnauthorizedException;
+import com.tasky.api.dao.AuthorizedResource;
+import com.tasky.api.dao.ResourceVersion;
+import com.tasky.api.dao.Cursor;
+import com.tasky.api.dao.CursorPage;
 import com.tasky.api.dao.feature.FeatureDao;
+import com.tasky.api.dao.statistics.BurndownDao;
+import com.tasky.api.dao.statistics.StatisticsDao;
+import com.tasky.api.dao.statistics.StatusTransition;
+import com.tasky.api.dao.statistics.ToDoCount;
 import com.tasky.api.dao.toDo.ToDoDao;
 import com.tasky.api.dao.user.UserDao;
+import com.tasky.api.dto.feature.FeatureDto;
 import com.tasky.api.dto.toDo.CreateToDoRequest;
 import com.tasky.api.dto.toDo.SearchToDoResponse;
 import com.tasky.api.dto.toDo.TodoDto;
 import com.tasky.api.dto.toDo.UpdateTodoRequest;
-import com.tasky.api.mappers.ToDoDtoMapper;
 import com.tasky.api.models.*;
+import com.tasky.api.services.membership.MembershipService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.core.Authentication;
 
 import java.sql.Timestamp;
@@ -37,13 +51,16 @@ class TodoServiceImplTest {
 
     @Mock private ToDoDao toDoDao;
     @Mock private FeatureDao featureDao;
-    @Mock private ToDoDtoMapper toDoDtoMapper;
     @Mock private UserDao userDao;
+    @Mock private StatisticsDao statisticsDao;
+    @Mock private BurndownDao burndownDao;
+    @Spy private MembershipService membershipService = new MembershipService(null);
     @InjectMocks private TodoServiceImpl underTest;
 
     @Test
     void createTodoShouldThrowAnErrorIfFeatureIsNotFound() {
         Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(createFakeUser());
         CreateToDoRequest request = new CreateToDoRequest("name","task","description");
         Long featureId = 1L;
         assertThrows(NotFoundException.class, () -> underTest.createTodo(authentication,featureId,request));
@@ -59,7 +76,7 @@ class TodoServiceImplTest {
         Authentication authentication = mock(Authentication.class);
         CreateToDoRequest request = new CreateToDoRequest("name","task","description");
         when(authentication.getPrincipal()).thenReturn(user);
-        when(featureDao.findFeatureById(feature.getId())).thenReturn(Optional.of(feature));
+        when(featureDao.findFeatureByIdForMember(feature.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(feature, false)));
         assertThrows(UnauthorizedException.class,() -> underTest.createTodo(authentication,feature.getId(),request));
 
     }
@@ -76,7 +93,7 @@ class TodoServiceImplTest {
         CreateToDoRequest request = new CreateToDoRequest("name","task","description");
 
         when(authentication.getPrincipal()).thenReturn(user);
-        when(featureDao.findFeatureById(feature.getId())).thenReturn(Optional.of(feature));
+        when(featureDao.findFeatureByIdForMember(feature.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(feature, true)));
 
         ArgumentCaptor<ToDo> toDoArgumentCaptor = ArgumentCaptor.forClass(ToDo.class);
         underTest.createTodo(authentication,feature.getId(),request);
@@ -87,7 +104,8 @@ class TodoServiceImplTest {
         assertEquals(toDo.getDescription(),request.description());
         assertEquals(toDo.getName(),request.name());
         assertEquals(toDo.getType(),request.type());
-
+        verify(statisticsDao).addToDoCounts(List.of(new ToDoCount(feature.getId(), "New", "task", 1)));
+        verify(burndownDao).addTransitions(List.of(new StatusTransition(toDo.getId(), feature.getId(), null, "New")));
     }
 
     @Test
@@ -102,7 +120,7 @@ class TodoServiceImplTest {
         CreateToDoRequest request = new CreateToDoRequest("name","test","description");
 
         when(authentication.getPrincipal()).thenReturn(user);
-        when(featureDao.findFeatureById(feature.getId())).thenReturn(Optional.of(feature));
+        when(featureDao.findFeatureByIdForMember(feature.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(feature, true)));
 
         assertThrows(BadRequestException.class,() ->underTest.createTodo(authentication,feature.getId(),request));
     }
@@ -119,7 +137,7 @@ class TodoServiceImplTest {
         CreateToDoRequest request = new CreateToDoRequest(null,"task","description");
 
         when(authentication.getPrincipal()).thenReturn(user);
-        when(featureDao.findFeatureById(feature.getId())).thenReturn(Optional.of(feature));
+        when(featureDao.findFeatureByIdForMember(feature.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(feature, true)));
 
         assertThrows(BadRequestException.class,() ->underTest.createTodo(authentication,feature.getId(),request));
     }
@@ -136,7 +154,7 @@ class TodoServiceImplTest {
         CreateToDoRequest request = new CreateToDoRequest("name","task",null);
 
         when(authentication.getPrincipal()).thenReturn(user);
-        when(featureDao.findFeatureById(feature.getId())).thenReturn(Optional.of(feature));
+        when(featureDao.findFeatureByIdForMember(feature.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(feature, true)));
 
         assertThrows(BadRequestException.class,() ->underTest.createTodo(authentication,feature.getId(),request));
     }
@@ -153,14 +171,111 @@ class TodoServiceImplTest {
         CreateToDoRequest request = new CreateToDoRequest("name",null,"null");
 
         when(authentication.getPrincipal()).thenReturn(user);
-        when(featureDao.findFeatureById(feature.getId())).thenReturn(Optional.of(feature));
+        when(featureDao.findFeatureByIdForMember(feature.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(feature, true)));
 
         assertThrows(BadRequestException.class,() ->underTest.createTodo(authentication,feature.getId(),request));
     }
 
+    @Test
+    void createTodosShouldCheckAccessOnceAndInsertEveryToDo() {
+        User projectManager = createFakeProjectManager();
+        User user = createFakeUser();
+        Project project = createFakeProject(projectManager);
+        Run run = createFakeRun(project);
+        Feature feature = createFakeFeature(run,project);
+        Authentication authentication = mock(Authentication.class);
+        List<CreateToDoRequest> requests = List.of(
+                new CreateToDoRequest("first","task","description"),
+                new CreateToDoRequest("second","bug","description")
+        );
+
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(featureDao.findFeatureByIdForMember(feature.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(feature, true)));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ToDo>> toDosArgumentCaptor = ArgumentCaptor.forClass(List.class);
+        underTest.createTodos(authentication,feature.getId(),requests);
+
+        verify(featureDao, times(1)).findFeatureByIdForMember(feature.getId(), user.getId());
+        verify(toDoDao).createTodos(toDosArgumentCaptor.capture());
+        verify(toDoDao, never()).createTodo(any());
+        List<ToDo> toDos = toDosArgumentCaptor.getValue();
+
+        assertEquals(2, toDos.size());
+        assertEquals("first", toDos.get(0).getName());
+        assertEquals("bug", toDos.get(1).getType());
+        assertEquals(feature, toDos.get(1).getFeature());
+        verify(statisticsDao).addToDoCounts(List.of(
+                new ToDoCount(feature.getId(), "New", "task", 1),
+                new ToDoCount(feature.getId(), "New", "bug", 1)
+        ));
+        verify(burndownDao).addTransitions(List.of(
+                new StatusTransition(null, feature.getId(), null, "New"),
+                new StatusTransition(null, feature.getId(), null, "New")
+        ));
+    }
+
+    @Test
+    void createTodosShouldAggregateErrorsAndInsertNothing() {
+        User projectManager = createFakeProjectManager();
+        User user = createFakeUser();
+        Project project = createFakeProject(projectManager);
+        Run run = createFakeRun(project);
+        Feature feature = createFakeFeature(run,project);
+        Authentication authentication = mock(Authentication.class);
+        List<CreateToDoRequest> requests = List.of(
+                new CreateToDoRequest("first","task","description"),
+                new CreateToDoRequest(null,"task","description"),
+                new CreateToDoRequest("third","test","description")
+        );
+
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(featureDao.findFeatureByIdForMember(feature.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(feature, true)));
+
+        BadRequestException exception = assertThrows(BadRequestException.class,() -> underTest.createTodos(authentication,feature.getId(),requests));
+
+        assertTrue(exception.getMessage().contains("Item 1: name is required"));
+        assertTrue(exception.getMessage().contains("Item 2: Invalid type"));
+        verifyNoInteractions(toDoDao);
+    }
+
+    @Test
+    void createTodosShouldThrowBadRequestIfBatchIsEmpty() {
+        User projectManager = createFakeProjectManager();
+        User user = createFakeUser();
+        Project project = createFakeProject(projectManager);
+        Run run = createFakeRun(project);
+        Feature feature = createFakeFeature(run,project);
+        Authentication authentication = mock(Authentication.class);
+
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(featureDao.findFeatureByIdForMember(feature.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(feature, true)));
+
+        assertThrows(BadRequestException.class,() -> underTest.createTodos(authentication,feature.getId(),List.of()));
+        verifyNoInteractions(toDoDao);
+    }
+
+    @Test
+    void createTodosShouldThrowUnauthorizedExceptionIfUserIsNotInProject() {
+        User projectManager = createFakeProjectManager();
+        User user = createFakeUser();
+        Project project = createFakeProject(projectManager);
+        Run run = createFakeRun(project);
+        Feature feature = createFakeFeature(run,project);
+        Authentication authentication = mock(Authentication.class);
+        List<CreateToDoRequest> requests = List.of(new CreateToDoRequest("first","task","description"));
+
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(featureDao.findFeatureByIdForMember(feature.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(feature, false)));
+
+        assertThrows(UnauthorizedException.class,() -> underTest.createTodos(authentication,feature.getId(),requests));
+        verifyNoInteractions(toDoDao);
+    }
+
     @Test
     void findToDoByIdShouldThrowNotFoundExceptionWhenTodoDoesNotExists() {
         Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(createFakeUser());
         assertThrows(NotFoundException.class,() ->underTest.findToDoById(authentication,1L));
     }
 
@@ -173,39 +288,62 @@ class TodoServiceImplTest {
         project.setUsers(List.of(projectManager));
         Run run = createFakeRun(project);
         Feature feature = createFakeFeature(run,project);
-        ToDo toDo = createFakeTodo(feature,user);
+        TodoDto toDo = createFakeTodoDto();
         when(authentication.getPrincipal()).thenReturn(user);
-        when(toDoDao.selectToDoById(toDo.getId())).thenReturn(Optional.of(toDo));
-        assertThrows(UnauthorizedException.class,() -> underTest.findToDoById(authentication,toDo.getId()));
+        when(toDoDao.selectToDoDtoByIdForMember(toDo.toDoId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(toDo, false)));
+        assertThrows(UnauthorizedException.class,() -> underTest.findToDoById(authentication,toDo.toDoId()));
     }
 
     @Test
     void findToDoByIdShouldWork() {
         Authentication authentication = mock(Authentication.class);
         User user = createFakeUser();
-        User projectManager = createFakeProjectManager();
-        Project project = createFakeProject(projectManager);
-        project.setUsers(List.of(projectManager,user));
-        Run run = createFakeRun(project);
-        Feature feature = createFakeFeature(run,project);
-        ToDo toDo = createFakeTodo(feature,user);
+        TodoDto toDo = createFakeTodoDto();
+
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(toDoDao.selectToDoDtoByIdForMember(toDo.toDoId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(toDo, true)));
+
+        TodoDto result = underTest.findToDoById(authentication,toDo.toDoId());
+
+        assertEquals(toDo,result);
+    }
+
+    @Test
+    void findToDoVersionByIdShouldThrowNotFoundExceptionWhenTodoDoesNotExists() {
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(createFakeUser());
+        assertThrows(NotFoundException.class, () -> underTest.findToDoVersionById(authentication,1L));
+    }
+
+    @Test
+    void findToDoVersionByIdShouldThrowUnauthorizedExceptionIfUserHasNoRightOnResource() {
+        Authentication authentication = mock(Authentication.class);
+        User user = createFakeUser();
 
         when(authentication.getPrincipal()).thenReturn(user);
-        when(toDoDao.selectToDoById(toDo.getId())).thenReturn(Optional.of(toDo));
+        when(toDoDao.selectToDoVersionByIdForMember(1L, user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(new ResourceVersion(1L, 0, null), false)));
+
+        assertThrows(UnauthorizedException.class, () -> underTest.findToDoVersionById(authentication,1L));
+    }
 
-        ArgumentCaptor<ToDo> todoArgumentCaptor = ArgumentCaptor.forClass(ToDo.class);
-        underTest.findToDoById(authentication,toDo.getId());
+    @Test
+    void findToDoVersionByIdShouldWork() {
+        Authentication authentication = mock(Authentication.class);
+        User user = createFakeUser();
+        ResourceVersion version = new ResourceVersion(1L, 2, Timestamp.from(Instant.now()));
 
-        verify(toDoDtoMapper).apply(todoArgumentCaptor.capture());
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(toDoDao.selectToDoVersionByIdForMember(1L, user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(version, true)));
 
-        ToDo toDoCaptured = todoArgumentCaptor.getValue();
+        ResourceVersion result = underTest.findToDoVersionById(authentication,1L);
 
-        assertEquals(toDoCaptured,toDo);
+        assertEquals(version,result);
     }
 
     @Test
     void updateTodoShouldThrowNotExceptionIfToDoDoesNotExists() {
         Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(createFakeUser());
         Long toDoId = 1L;
         UpdateTodoRequest request = new UpdateTodoRequest("name","task","description", 1L, "New");
         assertThrows(NotFoundException.class, () -> underTest.updateTodo(authentication,toDoId,request));
@@ -223,7 +361,7 @@ class TodoServiceImplTest {
         ToDo toDo = createFakeTodo(feature,user);
 
         when(authentication.getPrincipal()).thenReturn(user);
-        when(toDoDao.selectToDoById(any())).thenReturn(Optional.of(toDo));
+        when(toDoDao.selectToDoByIdForMember(any(), any())).thenReturn(Optional.of(new AuthorizedResource<>(toDo, false)));
 
         UpdateTodoRequest request = new UpdateTodoRequest("name","task","description", 1L,"In Progress");
 
@@ -242,7 +380,7 @@ class TodoServiceImplTest {
         ToDo toDo = createFakeTodo(feature,user);
 
         when(authentication.getPrincipal()).thenReturn(user);
-        when(toDoDao.selectToDoById(any())).thenReturn(Optional.of(toDo));
+        when(toDoDao.selectToDoByIdForMember(any(), any())).thenReturn(Optional.of(new AuthorizedResource<>(toDo, true)));
 
         UpdateTodoRequest request = new UpdateTodoRequest(toDo.getName(),toDo.getType(),toDo.getDescription(), null, null);
 
@@ -262,7 +400,7 @@ class TodoServiceImplTest {
         ToDo toDo = createFakeTodo(feature,user);
 
         when(authentication.getPrincipal()).thenReturn(user);
-        when(toDoDao.selectToDoById(any())).thenReturn(Optional.of(toDo));
+        when(toDoDao.selectToDoByIdForMember(any(), any())).thenReturn(Optional.of(new AuthorizedResource<>(toDo, true)));
 
         UpdateTodoRequest request = new UpdateTodoRequest(toDo.getName(),"toDo.getType()",toDo.getDescription(), null, "In progress");
 
@@ -281,10 +419,10 @@ class TodoServiceImplTest {
         ToDo toDo = createFakeTodo(feature,projectManager);
 
         when(authentication.getPrincipal()).thenReturn(projectManager);
-        when(userDao.selectUserById(any())).thenReturn(Optional.of(user));
-        when(toDoDao.selectToDoById(any())).thenReturn(Optional.of(toDo));
+        when(userDao.getUserReferenceById(user.getId())).thenReturn(user);
+        when(toDoDao.selectToDoByIdForMember(any(), any())).thenReturn(Optional.of(new AuthorizedResource<>(toDo, true)));
 
-        UpdateTodoRequest request = new UpdateTodoRequest("new","bug","ezrazerazerze", 1L, "In progress");
+        UpdateTodoRequest request = new UpdateTodoRequest("new","bug","ezrazerazerze", user.getId(), "In progress");
 
         ArgumentCaptor<ToDo> toDoArgumentCaptor = ArgumentCaptor.forClass(ToDo.class);
 
@@ -297,6 +435,31 @@ class TodoServiceImplTest {
         assertEquals(request.type(), capturedTodo.getType());
         assertEquals(request.name(), capturedTodo.getName());
         assertEquals(user,capturedTodo.getUser());
+        verify(statisticsDao).addToDoCounts(List.of(
+                new ToDoCount(feature.getId(), "New", "task", -1),
+                new ToDoCount(feature.getId(), "In progress", "bug", 1)
+        ));
+        verify(burndownDao).addTransitions(List.of(new StatusTransition(toDo.getId(), feature.getId(), "New", "In progress")));
+    }
+
+    @Test
+    void updateTodoShouldNotChangeTheCountsNorTheBurndownIfStatusAndTypeDoNotChange() {
+        Authentication authentication = mock(Authentication.class);
+        User projectManager = createFakeProjectManager();
+        Project project = createFakeProject(projectManager);
+        Run run = createFakeRun(project);
+        Feature feature = createFakeFeature(run,project);
+        ToDo toDo = createFakeTodo(feature,projectManager);
+
+        when(authentication.getPrincipal()).thenReturn(projectManager);
+        when(toDoDao.selectToDoByIdForMember(any(), any())).thenReturn(Optional.of(new AuthorizedResource<>(toDo, true)));
+
+        UpdateTodoRequest request = new UpdateTodoRequest("new",toDo.getType(),null, null, toDo.getStatus());
+
+        underTest.updateTodo(authentication,toDo.getId(),request);
+
+        verify(toDoDao).updateTodo(toDo);
+        verifyNoInteractions(statisticsDao, burndownDao);
     }
 
     @Test
@@ -311,16 +474,60 @@ class TodoServiceImplTest {
         ToDo toDo = createFakeTodo(feature,projectManager);
 
         when(authentication.getPrincipal()).thenReturn(projectManager);
-        when(userDao.selectUserById(any())).thenReturn(Optional.of(user));
-        when(toDoDao.selectToDoById(any())).thenReturn(Optional.of(toDo));
+        when(toDoDao.selectToDoByIdForMember(any(), any())).thenReturn(Optional.of(new AuthorizedResource<>(toDo, true)));
 
         UpdateTodoRequest request = new UpdateTodoRequest("new","bug","ezrazerazerze", 1L, "azer");
         assertThrows(BadRequestException.class,() ->underTest.updateTodo(authentication,toDo.getId(),request));
     }
 
+    @Test
+    void updateTodoShouldNotLoadTheAssigneeIfItDoesNotChange() {
+        Authentication authentication = mock(Authentication.class);
+        User user = createFakeUser();
+        User projectManager = createFakeProjectManager();
+        Project project = createFakeProject(projectManager);
+        project.setUsers(List.of(projectManager,user));
+        Run run = createFakeRun(project);
+        Feature feature = createFakeFeature(run,project);
+        ToDo toDo = createFakeTodo(feature,user);
+
+        when(authentication.getPrincipal()).thenReturn(projectManager);
+        when(toDoDao.selectToDoByIdForMember(any(), any())).thenReturn(Optional.of(new AuthorizedResource<>(toDo, true)));
+
+        UpdateTodoRequest request = new UpdateTodoRequest(null,null,null, user.getId(), null);
+
+        assertThrows(BadRequestException.class, () -> underTest.updateTodo(authentication,toDo.getId(),request));
+        verifyNoInteractions(userDao);
+        verify(toDoDao, never()).updateTodo(any());
+    }
+
+    @Test
+    void updateTodoShouldThrowNotFoundIfTheAssigneeDoesNotExist() {
+        Authentication authentication = mock(Authentication.class);
+        User user = createFakeUser();
+        User projectManager = createFakeProjectManager();
+        Project project = createFakeProject(projectManager);
+        project.setUsers(List.of(projectManager,user));
+        Run run = createFakeRun(project);
+        Feature feature = createFakeFeature(run,project);
+        ToDo toDo = createFakeTodo(feature,user);
+        User missing = new User();
+        missing.setId(3L);
+
+        when(authentication.getPrincipal()).thenReturn(projectManager);
+        when(toDoDao.selectToDoByIdForMember(any(), any())).thenReturn(Optional.of(new AuthorizedResource<>(toDo, true)));
+        when(userDao.getUserReferenceById(missing.getId())).thenReturn(missing);
+        doThrow(new DataIntegrityViolationException("to_do_user_id_fkey")).when(toDoDao).updateTodo(toDo);
+
+        UpdateTodoRequest request = new UpdateTodoRequest(null,null,null, missing.getId(), null);
+
+        assertThrows(NotFoundException.class, () -> underTest.updateTodo(authentication,toDo.getId(),request));
+    }
+
     @Test
     void deleteToDoByIdShouldThrowNotFoundExceptionIfToDoIdDoesNotExists() {
         Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(createFakeUser());
         Long toDoId = 1L;
         assertThrows(NotFoundException.class, () -> underTest.deleteToDoById(authentication,toDoId));
     }
@@ -335,7 +542,7 @@ class TodoServiceImplTest {
         Run run = createFakeRun(project);
         Feature feature = createFakeFeature(run,project);
         ToDo toDo = createFakeTodo(feature,user);
-        when(toDoDao.selectToDoById(any())).thenReturn(Optional.of(toDo));
+        when(toDoDao.selectToDoByIdForMember(any(), any())).thenReturn(Optional.of(new AuthorizedResource<>(toDo, false)));
         when(authentication.getPrincipal()).thenReturn(user);
         assertThrows(UnauthorizedException.class, () -> underTest.deleteToDoById(authentication,toDo.getId()));
     }
@@ -350,7 +557,7 @@ class TodoServiceImplTest {
         Run run = createFakeRun(project);
         Feature feature = createFakeFeature(run,project);
         ToDo toDo = createFakeTodo(feature,user);
-        when(toDoDao.selectToDoById(any())).thenReturn(Optional.of(toDo));
+        when(toDoDao.selectToDoByIdForMember(any(), any())).thenReturn(Optional.of(new AuthorizedResource<>(toDo, true)));
         when(authentication.getPrincipal()).thenReturn(user);
 
         ArgumentCaptor<Long> toDoIdArgCaptor = ArgumentCaptor.forClass(Long.class);
@@ -359,6 +566,8 @@ class TodoServiceImplTest {
         Long toDoId = toDoIdArgCaptor.getValue();
 
         assertEquals(toDoId,toDo.getId());
+        verify(statisticsDao).addToDoCounts(List.of(new ToDoCount(feature.getId(), "New", "task", -1)));
+        verify(burndownDao).addTransitions(List.of(new StatusTransition(toDo.getId(), feature.getId(), "New", null)));
     }
 
     private User createFakeUser() {
@@ -434,15 +643,14 @@ class TodoServiceImplTest {
         project.setUsers(List.of(user));
         Run run = createFakeRun(project);
         Feature feature = createFakeFeature(run,project);
-        ToDo toDo = createFakeTodo(feature, user);
-        List<ToDo> toDos = List.of(toDo);
-        Page<ToDo> runPage = new PageImpl<>(toDos);
+        List<TodoDto> toDos = List.of(createFakeTodoDto());
+        Page<TodoDto> runPage = new PageImpl<>(toDos);
 
         Authentication authentication = mock(Authentication.class);
         when(authentication.getPrincipal()).thenReturn(user);
         when(toDoDao.selectAllToDoWhereFeatureIdIsAndNameContaining(any(),any(),any())).thenReturn(runPage);
-        when(featureDao.findFeatureById(feature.getId())).thenReturn(Optional.of(feature));
-        SearchToDoResponse response = underTest.findTodosWhereFeatureIsAndNameContains(authentication,feature.getId(),"aezra",0);
+        when(featureDao.findFeatureDtoByIdForMember(feature.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(createFakeFeatureDto(), true)));
+        SearchToDoResponse response = underTest.findTodosWhereFeatureIsAndNameContains(authentication,feature.getId(),"aezra",0,null,null,null);
         assertNotNull(response);
     }
 
@@ -454,15 +662,14 @@ class TodoServiceImplTest {
         project.setUsers(List.of(user));
         Run run = createFakeRun(project);
         Feature feature = createFakeFeature(run,project);
-        ToDo toDo = createFakeTodo(feature, user);
-        List<ToDo> toDos = List.of(toDo);
-        Page<ToDo> runPage = new PageImpl<>(toDos);
+        List<TodoDto> toDos = List.of(createFakeTodoDto());
+        Page<TodoDto> runPage = new PageImpl<>(toDos);
 
         Authentication authentication = mock(Authentication.class);
         when(authentication.getPrincipal()).thenReturn(user);
         when(toDoDao.selectAllToDoWhereFeatureIdIsAndNameContaining(any(),any(),any())).thenReturn(runPage);
-        when(featureDao.findFeatureById(feature.getId())).thenReturn(Optional.of(feature));
-        assertThrows(BadRequestException.class, () -> underTest.findTodosWhereFeatureIsAndNameContains(authentication,feature.getId(),"aezra",23));
+        when(featureDao.findFeatureDtoByIdForMember(feature.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(createFakeFeatureDto(), true)));
+        assertThrows(BadRequestException.class, () -> underTest.findTodosWhereFeatureIsAndNameContains(authentication,feature.getId(),"aezra",23,null,null,null));
 
     }
 
@@ -474,18 +681,43 @@ class TodoServiceImplTest {
         project.setUsers(List.of(user));
         Run run = createFakeRun(project);
         Feature feature = createFakeFeature(run,project);
-        ToDo toDo = createFakeTodo(feature, user);
-        List<ToDo> toDos = List.of(toDo);
-        Page<ToDo> runPage = new PageImpl<>(toDos);
+        List<TodoDto> toDos = List.of(createFakeTodoDto());
+        Page<TodoDto> runPage = new PageImpl<>(toDos);
 
         Authentication authentication = mock(Authentication.class);
         when(authentication.getPrincipal()).thenReturn(user);
         when(toDoDao.selectToDosWhereUserIsAndNameContaining(any(),any(),any())).thenReturn(runPage);
-        SearchToDoResponse response = underTest.findTodosWhereUserIsAnNameContains(authentication,"nameeazr",0);
+        SearchToDoResponse response = underTest.findTodosWhereUserIsAnNameContains(authentication,"nameeazr",0,null,null,null);
 
         assertNotNull(response);
     }
 
+    @Test
+    void findTodosVersionWhereUserIsAnNameContains() {
+        User user = createFakeUser();
+        ResourceVersion version = new ResourceVersion(1L, Timestamp.from(Instant.now()));
+
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(toDoDao.selectToDosVersionWhereUserIsAndNameContaining(user.getId(), "")).thenReturn(version);
+
+        ResourceVersion result = underTest.findTodosVersionWhereUserIsAnNameContains(authentication,null);
+
+        assertEquals(version, result);
+    }
+
+    @Test
+    void findTodosVersionWhereFeatureIsAndNameContainsShouldThrowUnauthorizedException() {
+        User user = createFakeUser();
+
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(featureDao.findFeatureDtoByIdForMember(1L, user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(createFakeFeatureDto(), false)));
+
+        assertThrows(UnauthorizedException.class, () -> underTest.findTodosVersionWhereFeatureIsAndNameContains(authentication,1L,"name"));
+        verifyNoInteractions(toDoDao);
+    }
+
     @Test
     void findTodosWhereUserIsAnNameContainsShouldThrowBadRequest() {
         User projectManager = createFakeProjectManager();
@@ -494,15 +726,106 @@ class TodoServiceImplTest {
         project.setUsers(List.of(user));
         Run run = createFakeRun(project);
         Feature feature = createFakeFeature(run,project);
-        ToDo toDo = createFakeTodo(feature, user);
-        List<ToDo> toDos = List.of(toDo);
-        Page<ToDo> runPage = new PageImpl<>(toDos);
+        List<TodoDto> toDos = List.of(createFakeTodoDto());
+        Page<TodoDto> runPage = new PageImpl<>(toDos);
 
         Authentication authentication = mock(Authentication.class);
         when(authentication.getPrincipal()).thenReturn(user);
         when(toDoDao.selectToDosWhereUserIsAndNameContaining(any(),any(),any())).thenReturn(runPage);
-        assertThrows(BadRequestException.class,() -> underTest.findTodosWhereUserIsAnNameContains(authentication,"nameeazr",23));
+        assertThrows(BadRequestException.class,() -> underTest.findTodosWhereUserIsAnNameContains(authentication,"nameeazr",23,null,null,null));
 
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void findTodosWhereUserIsAnNameContainsShouldPaginateByCursor() {
+        User projectManager = createFakeProjectManager();
+        User user = createFakeUser();
+        Project project = createFakeProject(projectManager);
+        Run run = createFakeRun(project);
+        Feature feature = createFakeFeature(run,project);
+        TodoDto toDo = createFakeTodoDto();
+        Cursor after = new Cursor("name", 1L);
+
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(toDoDao.selectToDosWhereUserIsAndNameContaining(user.getId(),"",after,6))
+                .thenReturn(new CursorPage<>(List.of(toDo), new Cursor("name", 8L)));
+
+        SearchToDoResponse response = underTest.findTodosWhereUserIsAnNameContains(authentication,null,null,after.encode(),null,null);
+
+        assertEquals(1, response.toDos().size());
+        assertNull(response.pageable());
+        assertEquals(new Cursor("name", 8L), Cursor.decode(response.nextCursor()));
+        verify(toDoDao, never()).selectToDosWhereUserIsAndNameContaining(any(),any(),any());
+    }
+
+    @Test
+    void findTodosWhereUserIsAnNameContainsShouldThrowBadRequestForInvalidCursor() {
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(createFakeUser());
+
+        assertThrows(BadRequestException.class,() -> underTest.findTodosWhereUserIsAnNameContains(authentication,null,null,"invalid cursor",null,null));
+        verifyNoInteractions(toDoDao);
+    }
+
+    @Test
+    void findTodosWhereFeatureIsAndNameContainsShouldReturnSliceWithoutCount() {
+        User projectManager = createFakeProjectManager();
+        User user = createFakeUser();
+        Project project = createFakeProject(projectManager);
+        Run run = createFakeRun(project);
+        Feature feature = createFakeFeature(run,project);
+        TodoDto toDo = createFakeTodoDto();
+
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(featureDao.findFeatureDtoByIdForMember(feature.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(createFakeFeatureDto(), true)));
+        when(toDoDao.selectAllToDoWhereFeatureIdIsAndNameContainingAsSlice(feature.getId(),"",PageRequest.of(0,6)))
+                .thenReturn(new SliceImpl<>(List.of(toDo), PageRequest.of(0,6), false));
+
+        SearchToDoResponse response = underTest.findTodosWhereFeatureIsAndNameContains(authentication,feature.getId(),null,null,null,true,null);
+
+        assertEquals(1, response.toDos().size());
+        assertFalse(response.pageable().hasNext());
+        assertNull(response.pageable().numberOfPage());
+        verify(toDoDao, never()).selectAllToDoWhereFeatureIdIsAndNameContaining(any(),any(),any(Pageable.class));
+    }
+
+    /**
+     * Tests that a page whose to-dos were already counted by the validators is read without count query.
+     */
+    @Test
+    void findTodosWhereFeatureIsAndNameContainsShouldTakeTheTotalOfTheValidators() {
+        // GIVEN
+        User projectManager = createFakeProjectManager();
+        User user = createFakeUser();
+        Project project = createFakeProject(projectManager);
+        Run run = createFakeRun(project);
+        Feature feature = createFakeFeature(run,project);
+        TodoDto toDo = createFakeTodoDto();
+
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(featureDao.findFeatureDtoByIdForMember(feature.getId(), user.getId())).thenReturn(Optional.of(new AuthorizedResource<>(createFakeFeatureDto(), true)));
+        when(toDoDao.selectAllToDoWhereFeatureIdIsAndNameContainingAsSlice(feature.getId(),"",PageRequest.of(2,6)))
+                .thenReturn(new SliceImpl<>(List.of(toDo), PageRequest.of(2,6), false));
+
+        // WHEN
+        SearchToDoResponse response = underTest.findTodosWhereFeatureIsAndNameContains(authentication,feature.getId(),null,2,null,null,13L);
+
+        // THEN
+        assertEquals(1, response.toDos().size());
+        assertEquals(3, response.pageable().numberOfPage());
+        assertEquals(2, response.pageable().lastPage());
+        verify(toDoDao, never()).selectAllToDoWhereFeatureIdIsAndNameContaining(any(),any(),any(Pageable.class));
+    }
+
+    private TodoDto createFakeTodoDto() {
+        return new TodoDto(1L,"name","task","description","New",null,null);
+    }
+
+    private FeatureDto createFakeFeatureDto() {
+        return new FeatureDto(1L,"name","description","New",null,null);
+    }
+}
@@ -0,0 +1,104 @@
+package com.tasky.api.services.user;
+
+import com.tasky.api.models.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link PrincipalCache} class.
+ */
+class PrincipalCacheTest {
+
+    /**
+     * Tests that cached principals are returned as fresh detached copies.
+     */
+    @Test
+    void shouldReturnDetachedCopies() {
+        // GIVEN
+        PrincipalCache underTest = new PrincipalCache(10, 300);
+        User user = createUser("test@test.com");
+
+        // WHEN
+        underTest.put(user);
+        User first = underTest.get(user.getEmail()).orElseThrow();
+        User second = underTest.get(user.getEmail()).orElseThrow();
+
+        // THEN
+        assertNotSame(user, first);
+        assertNotSame(first, second);
+        assertEquals(user.getEmail(), first.getEmail());
+        assertEquals(user.getPassword(), first.getPassword());
+        assertTrue(first.getProjects().isEmpty());
+        assertNull(first.getToDos());
+    }
+
+    /**
+     * Tests that expired principals are not served.
+     */
+    @Test
+    void shouldNotReturnExpiredPrincipal() {
+        // GIVEN
+        PrincipalCache underTest = new PrincipalCache(10, -1);
+        User user = createUser("test@test.com");
+
+        // WHEN
+        underTest.put(user);
+        Optional<User> result = underTest.get(user.getEmail());
+
+        // THEN
+        assertTrue(result.isEmpty());
+        assertEquals(1, underTest.getEvictionCount());
+    }
+
+    /**
+     * Tests that the cache never grows above its maximum size and counts evictions.
+     */
+    @Test
+    void shouldEvictEldestPrincipalWhenFull() {
+        // GIVEN
+        PrincipalCache underTest = new PrincipalCache(1, 300);
+
+        // WHEN
+        underTest.put(createUser("first@test.com"));
+        underTest.put(createUser("second@test.com"));
+
+        // THEN
+        assertTrue(underTest.get("first@test.com").isEmpty());
+        assertTrue(underTest.get("second@test.com").isPresent());
+        assertEquals(1, underTest.getEvictionCount());
+    }
+
+    /**
+     * Tests that hit, miss and eviction counters are published as meters.
+     */
+    @Test
+    void shouldPublishCounters() {
+        // GIVEN
+        PrincipalCache underTest = new PrincipalCache(10, 300);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        underTest.bindTo(registry);
+        User user = createUser("test@test.com");
+
+        // WHEN
+        underTest.get(user.getEmail());
+        underTest.put(user);
+        underTest.get(user.getEmail());
+        underTest.invalidate(user.getEmail());
+
+        // THEN
+        assertEquals(1.0, registry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("result", "miss").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.evictions").functionCounter().count());
+        assertEquals(0.0, registry.get("cache.size").gauge().value());
+    }
+
+    private User createUser(String email) {
+        User user = new User("firstname", "lastname", email, "password");
+        user.setId(1L);
+        return user;
+    }
+}
@@ -0,0 +1,76 @@
+package com.tasky.api.services.user;
+
+import com.tasky.api.dao.user.UserDao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link TokenVersionService} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class TokenVersionServiceTest {
+
+    @Mock private UserDao userDao;
+    private TokenVersionService underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new TokenVersionService(userDao);
+    }
+
+    /**
+     * Tests that the version is loaded once from the database and then served from memory.
+     */
+    @Test
+    void shouldLoadVersionOnlyOnce() {
+        // GIVEN
+        when(userDao.selectTokenVersionById(1L)).thenReturn(Optional.of(0));
+
+        // WHEN
+        boolean first = underTest.isCurrent(1L, 0);
+        boolean second = underTest.isCurrent(1L, 0);
+
+        // THEN
+        assertTrue(first);
+        assertTrue(second);
+        verify(userDao, times(1)).selectTokenVersionById(1L);
+    }
+
+    /**
+     * Tests that tokens carrying an older version are rejected after an update.
+     */
+    @Test
+    void shouldRejectOlderVersionAfterUpdate() {
+        // WHEN
+        underTest.update(1L, 2);
+
+        // THEN
+        assertFalse(underTest.isCurrent(1L, 1));
+        assertTrue(underTest.isCurrent(1L, 2));
+        verifyNoInteractions(userDao);
+    }
+
+    /**
+     * Tests that tokens of a revoked or unknown user are rejected.
+     */
+    @Test
+    void shouldRejectRevokedAndUnknownUsers() {
+        // GIVEN
+        when(userDao.selectTokenVersionById(2L)).thenReturn(Optional.empty());
+
+        // WHEN
+        underTest.revoke(1L);
+
+        // THEN
+        assertFalse(underTest.isCurrent(1L, 0));
+        assertFalse(underTest.isCurrent(2L, 0));
+    }
+}
@@ -24,12 +24,15 @@ class UserDetailsServiceTest {
     private UserDetailsService underTest;
     @Mock private UserDao userDao;
 
+    private PrincipalCache principalCache;
+
     /**
      * Sets up the test environment by creating an instance of {@link UserDetailsService} with a mocked {@link UserDao}.
      */
     @BeforeEach
     void setUp() {
-        underTest = new UserDetailsService(userDao);
+        principalCache = new PrincipalCache(10, 300);
+        underTest = new UserDetailsService(userDao, principalCache);
     }
 
     /**
@@ -71,4 +74,59 @@ class UserDetailsServiceTest {
             underTest.loadUserByUsername(email);
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that a principal already loaded is served from the cache as a detached copy.
+     */
+    @Test
+    void shouldServeCachedPrincipalWithoutDatabaseLookup() {
+        //GIVEN
+        String email = "test@test.test";
+        User user = new User(
+                "test",
+                "test",
+                email,
+                "password123452435134513"
+        );
+        user.setId(1L);
+
+        Mockito.when(userDao.selectUserByEmail(email)).thenReturn(Optional.of(user));
+
+        //WHEN
+        underTest.loadUserByUsername(email);
+        User cachedUser = (User) underTest.loadUserByUsername(email);
+
+        //THEN
+        Mockito.verify(userDao, Mockito.times(1)).selectUserByEmail(email);
+        assertNotSame(user, cachedUser);
+        assertEquals(user.getId(), cachedUser.getId());
+        assertEquals(user.getPassword(), cachedUser.getPassword());
+        assertEquals(user.getRole(), cachedUser.getRole());
+        assertEquals(1, principalCache.getHitCount());
+    }
+
+    /**
+     * Tests that an invalidated principal is loaded again from the database.
+     */
+    @Test
+    void shouldReloadPrincipalAfterInvalidation() {
+        //GIVEN
+        String email = "test@test.test";
+        User user = new User(
+                "test",
+                "test",
+                email,
+                "password123452435134513"
+        );
+
+        Mockito.when(userDao.selectUserByEmail(email)).thenReturn(Optional.of(user));
+
+        //WHEN
+        underTest.loadUserByUsername(email);
+        principalCache.invalidate(email);
+        underTest.loadUserByUsername(email);
+
+        //THEN
+        Mockito.verify(userDao, Mockito.times(2)).selectUserByEmail(email);
+    }
+}
@@ -3,12 +3,17 @@ package com.tasky.api.services.user;
 import com.tasky.api.configurations.errors.BadRequestException;
 import com.tasky.api.configurations.errors.DuplicationException;
 import com.tasky.api.configurations.errors.NotFoundException;
+import com.tasky.api.dao.Cursor;
+import com.tasky.api.dao.CursorPage;
 import com.tasky.api.dao.user.UserDao;
 import com.tasky.api.dto.user.*;
 import com.tasky.api.mappers.UserDtoMapper;
 import com.tasky.api.models.User;
 import com.tasky.api.services.user.UserServiceImpl;
 import com.tasky.api.utilities.JwtUtility;
+import com.tasky.api.services.deletion.DeletionService;
+import com.tasky.api.services.invalidation.InvalidationBus;
+import com.tasky.api.services.membership.MembershipService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -44,7 +49,13 @@ class UserServiceImplTest {
     @Mock private UserDtoMapper userDtoMapper;
     @Mock private UserDao userDao;
     @Mock private PasswordEncoder passwordEncoder;
+    @Mock private TokenVersionService tokenVersionService;
+    @Mock private PrincipalCache principalCache;
+    @Mock private MembershipService membershipService;
+    @Mock private UserSuggestionIndex userSuggestionIndex;
 
+    @Mock private InvalidationBus invalidationBus;
+    @Mock private DeletionService deletionService;
     @InjectMocks private UserServiceImpl underTest;
 
     /**
@@ -104,7 +115,9 @@ class UserServiceImplTest {
         when(
                 jwtUtility.issueToken(
                         userDto.email(),
-                        userDto.role()
+                        userDto.id(),
+                        userDto.role(),
+                        userPrincipal.getTokenVersion()
                 )
         ).thenReturn(
                 "testToken"
@@ -122,7 +135,9 @@ class UserServiceImplTest {
         verify(userDtoMapper, times(1)).apply(any());
         verify(jwtUtility, times(1)).issueToken(
                 userDto.email(),
-                userDto.role()
+                userDto.id(),
+                userDto.role(),
+                userPrincipal.getTokenVersion()
         );
     }
 
@@ -221,6 +236,7 @@ class UserServiceImplTest {
         assertEquals(response.userDto().email(), request.email());
         assertEquals(response.userDto().lastName(), request.lastName());
         assertEquals(response.userDto().email(), request.email());
+        Mockito.verify(userSuggestionIndex).put(user);
     }
 
     private List<User> createUserList() {
@@ -254,7 +270,7 @@ class UserServiceImplTest {
     @Test
     void searchUsersByEmailType() {
         // GIVEN
-        SearchUsersRequest request = new SearchUsersRequest("email", "test@example.com", 0);
+        SearchUsersRequest request = new SearchUsersRequest("email", "test@example.com", 0, null, null);
         List<User> userList = createUserList();
         Page<User> userPage = new PageImpl<>(userList);
 
@@ -276,10 +292,33 @@ class UserServiceImplTest {
         assertEquals(2, response.pageableDto().numberOfResult());
     }
 
+    @Test
+    void searchUsersByLastNameWithCursorShouldReturnNextCursor() {
+        // GIVEN
+        SearchUsersRequest request = new SearchUsersRequest("lastName", "Doe", null, "", null);
+        List<User> userList = createUserList();
+        Cursor next = new Cursor("Doe", userList.get(1).getId());
+
+        when(userDao.selectAllUsersByLastName("Doe", Cursor.FIRST, 10)).thenReturn(new CursorPage<>(userList, next));
+
+        List<UserDto> userDto = createUserDtoList(userList);
+
+        when(userDtoMapper.apply(any(User.class))).thenReturn(userDto.get(0), userDto.get(1));
+
+        // WHEN
+        SearchUsersResponse response = underTest.searchUsers(request);
+
+        // THEN
+        assertEquals(userDto, response.users());
+        assertNull(response.pageableDto());
+        assertEquals(next.encode(), response.nextCursor());
+        verify(userDao, never()).selectAllUsersByLastName(any(), any(Pageable.class));
+    }
+
     @Test
     void searchUsersByFirstNameType() {
         // GIVEN
-        SearchUsersRequest request = new SearchUsersRequest("firstName", "John", 0);
+        SearchUsersRequest request = new SearchUsersRequest("firstName", "John", 0, null, null);
         List<User> userList = createUserList();
         Page<User> userPage = new PageImpl<>(userList);
 
@@ -303,7 +342,7 @@ class UserServiceImplTest {
     @Test
     void searchUsersByLastNameType() {
         // GIVEN
-        SearchUsersRequest request = new SearchUsersRequest("lastName", "Doe", 0);
+        SearchUsersRequest request = new SearchUsersRequest("lastName", "Doe", 0, null, null);
         List<User> userList = createUserList();
         Page<User> userPage = new PageImpl<>(userList);
 
@@ -327,7 +366,7 @@ class UserServiceImplTest {
     @Test
     void searchUsersWithInvalidTypeShouldThrowException() {
         // GIVEN
-        SearchUsersRequest request = new SearchUsersRequest("invalidType", "test", 0);
+        SearchUsersRequest request = new SearchUsersRequest("invalidType", "test", 0, null, null);
 
         // WHEN THEN
         assertThrows(BadRequestException.class, () -> underTest.searchUsers(request));
@@ -360,7 +399,7 @@ class UserServiceImplTest {
     @Test
     void searchUsersWithNullRequestTypeShouldDefaultToEmailType() {
         // GIVEN
-        SearchUsersRequest request = new SearchUsersRequest(null,"test@example.com", 0);
+        SearchUsersRequest request = new SearchUsersRequest(null,"test@example.com", 0, null, null);
         List<User> userList = createUserList();
         Page<User> userPage = new PageImpl<>(userList);
 
@@ -385,7 +424,7 @@ class UserServiceImplTest {
     @Test
     void searchUsersWithInvalidPageShouldThrowException() {
         // GIVEN
-        SearchUsersRequest request = new SearchUsersRequest("email", "test@example.com", 1);
+        SearchUsersRequest request = new SearchUsersRequest("email", "test@example.com", 1, null, null);
 
         List<User> userList = createUserList();
         Page<User> userPage = new PageImpl<>(userList);
@@ -426,11 +465,45 @@ class UserServiceImplTest {
                         "password")
                 )
         );
+        when(deletionService.deleteUser(id, "test@test.com")).thenReturn(Optional.empty());
         //WHEN
         underTest.deleteUserById(id);
 
         //THEN
-        Mockito.verify(userDao).deleteUserById(id);
+        Mockito.verify(deletionService).deleteUser(id, "test@test.com");
+        Mockito.verify(tokenVersionService).revoke(id);
+        Mockito.verify(membershipService).removeUser(id);
+        Mockito.verify(principalCache).invalidate("test@test.com");
+        Mockito.verify(userSuggestionIndex).remove(id);
+    }
+
+    /**
+     * Tests that suggestions are served by the index with the default limit.
+     */
+    @Test
+    void suggestUsersShouldUseTheIndex() {
+        // GIVEN
+        UserSuggestionDto suggestion = new UserSuggestionDto(1L, "john@example.com", "John", "Doe", "USER");
+        when(userSuggestionIndex.suggest("jo", 10)).thenReturn(List.of(suggestion));
+
+        // WHEN
+        SuggestUsersResponse response = underTest.suggestUsers("jo", null);
+
+        // THEN
+        assertEquals(List.of(suggestion), response.users());
+        Mockito.verifyNoInteractions(userDao);
+    }
+
+    /**
+     * Tests that a missing query or an out of range limit are rejected.
+     */
+    @Test
+    void suggestUsersShouldThrowBadRequestIfRequestIsInvalid() {
+        assertThrows(BadRequestException.class, () -> underTest.suggestUsers(null, null));
+        assertThrows(BadRequestException.class, () -> underTest.suggestUsers(" ", 5));
+        assertThrows(BadRequestException.class, () -> underTest.suggestUsers("jo", 0));
+        assertThrows(BadRequestException.class, () -> underTest.suggestUsers("jo", 51));
+        Mockito.verifyNoInteractions(userSuggestionIndex);
     }
 
     @Test
@@ -562,6 +635,7 @@ class UserServiceImplTest {
 
         assertEquals(request.role(),userCaptured.getRole());
         assertEquals(user.getPassword(),userCaptured.getPassword());
+        assertEquals(1,userCaptured.getTokenVersion());
         assertEquals(userDtoExpected,response.user());
 
     }
@@ -719,6 +793,7 @@ class UserServiceImplTest {
                 userPrincipal.getNeverConnected()
         );
 
+        when(userDao.selectUserById(userPrincipal.getId())).thenReturn(Optional.of(userPrincipal));
         when(userDtoMapper.apply(userPrincipal)).thenReturn(userDto);
 
         // WHEN
@@ -753,6 +828,7 @@ class UserServiceImplTest {
         String fakeEncodedPassword = "fakeEncodedPassword";
 
         Authentication authentication = getAuthentication(userPrincipal);
+        when(userDao.selectUserById(userPrincipal.getId())).thenReturn(Optional.of(userPrincipal));
 
         UpdatePasswordRequest updatePasswordRequest = new UpdatePasswordRequest(userPrincipal.getPassword(),newPassword);
 
@@ -767,6 +843,9 @@ class UserServiceImplTest {
         User userCaptured = userArgumentCaptor.getValue();
 
         assertEquals(userCaptured.getPassword(), fakeEncodedPassword);
+        assertEquals(1, userCaptured.getTokenVersion());
+        Mockito.verify(tokenVersionService).update(userPrincipal.getId(), 1);
+        Mockito.verify(principalCache).invalidate(userPrincipal.getEmail());
     }
 
 
@@ -817,6 +896,7 @@ class UserServiceImplTest {
         );
 
         Authentication authentication = getAuthentication(userPrincipal);
+        when(userDao.selectUserById(userPrincipal.getId())).thenReturn(Optional.of(userPrincipal));
         when(passwordEncoder.matches(any(),any())).thenReturn(true);
         UpdatePasswordRequest updatePasswordRequest = new UpdatePasswordRequest(userPrincipal.getPassword(),null);
         assertThrows(BadRequestException.class,() -> underTest.updatePassword(authentication,updatePasswordRequest));
@@ -835,6 +915,7 @@ class UserServiceImplTest {
         );
 
         Authentication authentication = getAuthentication(userPrincipal);
+        when(userDao.selectUserById(userPrincipal.getId())).thenReturn(Optional.of(userPrincipal));
         UpdatePasswordRequest updatePasswordRequest = new UpdatePasswordRequest(userPrincipal.getPassword(),userPrincipal.getPassword());
 
         when(passwordEncoder.matches(any(),any())).thenReturn(true);
@@ -855,6 +936,7 @@ class UserServiceImplTest {
         );
 
         Authentication authentication = getAuthentication(userPrincipal);
+        when(userDao.selectUserById(userPrincipal.getId())).thenReturn(Optional.of(userPrincipal));
         UpdatePasswordRequest updatePasswordRequest = new UpdatePasswordRequest(userPrincipal.getPassword(),"userPrincipal.getPassword()");
 
         when(passwordEncoder.matches(any(),any())).thenReturn(false);
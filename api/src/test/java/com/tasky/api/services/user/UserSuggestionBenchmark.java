@@ -0,0 +1,88 @@
+package com.tasky.api.services.user;
+
+import com.tasky.api.dao.user.UserDao;
+import com.tasky.api.dto.user.UserSuggestionDto;
+import com.tasky.api.models.User;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the {@link UserSuggestionIndex} over one million users, for short and long typed texts,
+ * and of the copy made when a user is registered.
+ * Run it with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.tasky.api.services.user.UserSuggestionBenchmark}
+ * or directly from the IDE through the main method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class UserSuggestionBenchmark {
+
+    private static final int USERS = 1_000_000;
+    private static final String[] FIRST_NAMES = {"John", "Jane", "Jack", "Jill", "Anna", "Annie", "Émile", "Louis", "Marie", "Paul"};
+    private static final String[] LAST_NAMES = {"Doe", "Smith", "Johnson", "Dupont", "Martin", "Bernard", "Dubois", "Durand", "Moreau", "Laurent"};
+
+    private UserSuggestionIndex index;
+    private User registered;
+
+    @Setup
+    public void setUp() {
+        List<UserSuggestionDto> users = new ArrayList<>(USERS);
+        for(int i = 0; i < USERS; i++) {
+            String firstName = FIRST_NAMES[i % FIRST_NAMES.length];
+            String lastName = LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length] + i;
+            users.add(new UserSuggestionDto((long) i, (firstName + "." + lastName + "@tasky.com").toLowerCase(), firstName, lastName, "USER"));
+        }
+
+        UserDao userDao = Mockito.mock(UserDao.class);
+        Mockito.when(userDao.selectAllUserSuggestions()).thenReturn(users);
+        index = new UserSuggestionIndex(userDao);
+        index.suggest("warm", 1);
+
+        registered = new User("Zoe", "Zimmer", "zoe.zimmer@tasky.com", "password");
+        registered.setId((long) USERS);
+        registered.setRole("USER");
+    }
+
+    /**
+     * First keystroke: the text matches a tenth of the users.
+     */
+    @Benchmark
+    public void suggestOneLetter(Blackhole blackhole) {
+        blackhole.consume(index.suggest("j", 10));
+    }
+
+    /**
+     * Later keystrokes: the text narrows the match down to a few users.
+     */
+    @Benchmark
+    public void suggestSeveralLetters(Blackhole blackhole) {
+        blackhole.consume(index.suggest("dupont12345", 10));
+    }
+
+    /**
+     * Registration of a user, which replaces the snapshot with an updated copy.
+     */
+    @Benchmark
+    public void register() {
+        index.put(registered);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                new OptionsBuilder()
+                        .include(UserSuggestionBenchmark.class.getSimpleName())
+                        .build()
+        ).run();
+    }
+}
@@ -0,0 +1,134 @@
+package com.tasky.api.services.user;
+
+import com.tasky.api.dao.user.UserDao;
+import com.tasky.api.dto.user.UserSuggestionDto;
+import com.tasky.api.models.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link UserSuggestionIndex} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserSuggestionIndexTest {
+
+    @Mock private UserDao userDao;
+    private UserSuggestionIndex underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new UserSuggestionIndex(userDao);
+    }
+
+    /**
+     * Tests that users are matched on the start of their email, first name, last name and full name,
+     * ignoring case and accents, and that the users are loaded only once.
+     */
+    @Test
+    void shouldSuggestUsersFromEveryField() {
+        // GIVEN
+        when(userDao.selectAllUserSuggestions()).thenReturn(List.of(
+                suggestion(1L, "john.doe@tasky.com", "John", "Doe"),
+                suggestion(2L, "jane@tasky.com", "Jane", "Dupont-Lefèvre"),
+                suggestion(3L, "admin@tasky.com", "Émile", "Johnson")
+        ));
+
+        // WHEN THEN
+        assertEquals(List.of(1L, 3L), ids(underTest.suggest("JOH", 10)));
+        assertEquals(List.of(1L), ids(underTest.suggest("john d", 10)));
+        assertEquals(List.of(1L), ids(underTest.suggest("doe", 10)));
+        assertEquals(List.of(2L), ids(underTest.suggest("lefev", 10)));
+        assertEquals(List.of(3L), ids(underTest.suggest("emi", 10)));
+        assertEquals(List.of(3L), ids(underTest.suggest("admin@", 10)));
+        assertEquals(List.of(), ids(underTest.suggest("tasky", 10)));
+        assertEquals(List.of(), ids(underTest.suggest("  ", 10)));
+        verify(userDao, times(1)).selectAllUserSuggestions();
+    }
+
+    /**
+     * Tests that exact words come first, that every user is suggested once and that the limit is applied.
+     */
+    @Test
+    void shouldSuggestDistinctUsersUpToTheLimit() {
+        // GIVEN
+        when(userDao.selectAllUserSuggestions()).thenReturn(List.of(
+                suggestion(1L, "anna@tasky.com", "Anna", "Anna"),
+                suggestion(2L, "ann@tasky.com", "Ann", "Smith"),
+                suggestion(3L, "annie@tasky.com", "Annie", "Smith")
+        ));
+
+        // WHEN
+        List<UserSuggestionDto> suggestions = underTest.suggest("ann", 2);
+
+        // THEN
+        assertEquals(List.of(2L, 1L), ids(suggestions));
+    }
+
+    /**
+     * Tests that registered, updated and deleted users are reflected without reloading the index.
+     */
+    @Test
+    void shouldKeepTheIndexCurrent() {
+        // GIVEN
+        when(userDao.selectAllUserSuggestions()).thenReturn(List.of(
+                suggestion(1L, "john@tasky.com", "John", "Doe"),
+                suggestion(5L, "jack@tasky.com", "Jack", "Black")
+        ));
+        assertEquals(List.of(5L, 1L), ids(underTest.suggest("j", 10)));
+
+        // WHEN
+        underTest.put(user(3L, "jill@tasky.com", "Jill", "White", "USER"));
+        underTest.put(user(5L, "jack@tasky.com", "Jacques", "Black", "ADMIN"));
+        underTest.remove(1L);
+        underTest.remove(42L);
+
+        // THEN
+        List<UserSuggestionDto> suggestions = underTest.suggest("j", 10);
+        assertEquals(List.of(5L, 3L), ids(suggestions));
+        assertEquals("ADMIN", suggestions.get(0).role());
+        assertEquals(List.of(5L), ids(underTest.suggest("jacques", 10)));
+        assertEquals(List.of(3L), ids(underTest.suggest("white", 10)));
+        assertEquals(List.of(), ids(underTest.suggest("doe", 10)));
+        verify(userDao, times(1)).selectAllUserSuggestions();
+    }
+
+    /**
+     * Tests that changes made before the index is loaded are not lost, since the load reads them from the database.
+     */
+    @Test
+    void shouldIgnoreChangesBeforeLoading() {
+        // GIVEN
+        underTest.put(user(1L, "john@tasky.com", "John", "Doe", "USER"));
+        underTest.remove(2L);
+        when(userDao.selectAllUserSuggestions()).thenReturn(List.of(suggestion(1L, "john@tasky.com", "John", "Doe")));
+
+        // WHEN
+        List<UserSuggestionDto> suggestions = underTest.suggest("john", 10);
+
+        // THEN
+        assertEquals(List.of(1L), ids(suggestions));
+    }
+
+    private static List<Long> ids(List<UserSuggestionDto> suggestions) {
+        return suggestions.stream().map(UserSuggestionDto::id).toList();
+    }
+
+    private static UserSuggestionDto suggestion(Long id, String email, String firstName, String lastName) {
+        return new UserSuggestionDto(id, email, firstName, lastName, "USER");
+    }
+
+    private static User user(Long id, String email, String firstName, String lastName, String role) {
+        User user = new User(firstName, lastName, email, "password");
+        user.setId(id);
+        user.setRole(role);
+        return user;
+    }
+}
@@ -1,5 +1,7 @@
 package com.tasky.api.utilities;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -91,4 +93,72 @@ class JwtUtilityTest {
         assertNotNull(expirationDate);
         assertTrue(expirationDate.after(new Date()));
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests the {@link JwtUtility#verifyToken(String)} method to ensure verified claims are served from the cache.
+     */
+    @Test
+    void canVerifyTokenOnceAndServeItFromCache() {
+        // GIVEN
+        String subject = "testSubject";
+        String token = underTest.issueToken(subject);
+
+        // WHEN
+        Claims first = underTest.verifyToken(token);
+        Claims second = underTest.verifyToken(token);
+
+        // THEN
+        assertEquals(subject, first.getSubject());
+        assertSame(first, second);
+        assertTrue(underTest.isTokenValid(first, subject));
+        assertFalse(underTest.isTokenValid(first, "otherSubject"));
+    }
+
+    /**
+     * Tests the {@link JwtUtility#verifyToken(String)} method to ensure tampered tokens are rejected.
+     */
+    @Test
+    void cannotVerifyTamperedToken() {
+        // GIVEN
+        String token = underTest.issueToken("testSubject");
+        String tamperedToken = token.substring(0, token.length() - 2) + "xx";
+
+        // WHEN THEN
+        assertThrows(JwtException.class, () -> underTest.verifyToken(tamperedToken));
+    }
+
+    /**
+     * Tests the {@link JwtUtility#issueToken(String, Long, String, Integer)} method to ensure the compact principal is carried by the token.
+     */
+    @Test
+    void canIssueTokenWithPrincipalClaims() {
+        // GIVEN
+        String subject = "test@test.com";
+
+        // WHEN
+        String token = underTest.issueToken(subject, 42L, "PROJECT_MANAGER", 3);
+        Claims claims = underTest.verifyToken(token);
+
+        // THEN
+        assertEquals(subject, claims.getSubject());
+        assertEquals(42L, underTest.getUserId(claims));
+        assertEquals("PROJECT_MANAGER", underTest.getRole(claims));
+        assertEquals(3, underTest.getTokenVersion(claims));
+    }
+
+    /**
+     * Tests the {@link JwtUtility#getTokenVersion(Claims)} method to ensure tokens without version carry the initial one.
+     */
+    @Test
+    void shouldConsiderTokensWithoutVersionAsInitialVersion() {
+        // GIVEN
+        String token = underTest.issueToken("testSubject");
+
+        // WHEN
+        Claims claims = underTest.verifyToken(token);
+
+        // THEN
+        assertNull(underTest.getUserId(claims));
+        assertEquals(0, underTest.getTokenVersion(claims));
+    }
+}
@@ -0,0 +1,100 @@
+package com.tasky.api.utilities;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing the token work done by {@link com.tasky.api.filters.JwtAuthenticationFilter}
+ * before and after the single-parse verification path.
+ * Run it with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.tasky.api.utilities.JwtVerificationBenchmark}
+ * or directly from the IDE through the main method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET_KEY = "secret-key-for-testsqdfqsdfqsdfsdfqsfqs";
+    private static final String SUBJECT = "benchmark@tasky.com";
+
+    private JwtUtility cachedUtility;
+    private JwtUtility uncachedUtility;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedUtility = createUtility(10000);
+        uncachedUtility = createUtility(0);
+        token = cachedUtility.issueToken(SUBJECT, "USER");
+        cachedUtility.verifyToken(token);
+    }
+
+    /**
+     * Previous filter behaviour: getSubject then isTokenValid, which parsed the token three times
+     * and rebuilt the key and the parser on every call.
+     */
+    @Benchmark
+    public void legacyTripleParse(Blackhole blackhole) {
+        String subject = legacyClaims(token).getSubject();
+        boolean valid = legacyClaims(token).getSubject().equals(subject)
+                && !legacyClaims(token).getExpiration().before(Date.from(Instant.now()));
+        blackhole.consume(valid);
+    }
+
+    /**
+     * New filter behaviour on the first request of a session: a single parse with the memoized parser.
+     */
+    @Benchmark
+    public void singleParse(Blackhole blackhole) {
+        Claims claims = uncachedUtility.verifyToken(token);
+        blackhole.consume(uncachedUtility.isTokenValid(claims, SUBJECT));
+    }
+
+    /**
+     * New filter behaviour on repeated requests of a session: the verified-token cache is hit.
+     */
+    @Benchmark
+    public void cachedVerification(Blackhole blackhole) {
+        Claims claims = cachedUtility.verifyToken(token);
+        blackhole.consume(cachedUtility.isTokenValid(claims, SUBJECT));
+    }
+
+    private Claims legacyClaims(String jwt) {
+        return Jwts
+                .parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET_KEY.getBytes()))
+                .build()
+                .parseClaimsJws(jwt)
+                .getBody();
+    }
+
+    private static JwtUtility createUtility(int cacheSize) {
+        JwtUtility utility = new JwtUtility();
+        ReflectionTestUtils.setField(utility, "SECRET_KEY", SECRET_KEY);
+        ReflectionTestUtils.setField(utility, "ISSUER", "http://issuer-for-test.com");
+        ReflectionTestUtils.setField(utility, "jwtCacheSize", cacheSize);
+        return utility;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                new OptionsBuilder()
+                        .include(JwtVerificationBenchmark.class.getSimpleName())
+                        .build()
+        ).run();
+    }
+}
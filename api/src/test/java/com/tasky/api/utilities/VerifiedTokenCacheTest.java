@@ -0,0 +1,93 @@
+package com.tasky.api.utilities;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link VerifiedTokenCache} class.
+ */
+class VerifiedTokenCacheTest {
+
+    /**
+     * Tests that verified claims can be retrieved for the same token.
+     */
+    @Test
+    void canRetrieveCachedClaims() {
+        // GIVEN
+        VerifiedTokenCache underTest = new VerifiedTokenCache(10);
+        Claims claims = createClaims("subject", Instant.now().plus(1, ChronoUnit.DAYS));
+
+        // WHEN
+        underTest.put("token", claims);
+
+        // THEN
+        assertTrue(underTest.get("token").isPresent());
+        assertEquals("subject", underTest.get("token").get().getSubject());
+        assertTrue(underTest.get("otherToken").isEmpty());
+    }
+
+    /**
+     * Tests that expired claims are never served.
+     */
+    @Test
+    void shouldNotReturnExpiredClaims() {
+        // GIVEN
+        VerifiedTokenCache underTest = new VerifiedTokenCache(10);
+        Claims claims = createClaims("subject", Instant.now().minus(1, ChronoUnit.MINUTES));
+
+        // WHEN
+        underTest.put("token", claims);
+
+        // THEN
+        assertTrue(underTest.get("token").isEmpty());
+        assertEquals(0, underTest.size());
+    }
+
+    /**
+     * Tests that the cache never grows above its maximum size.
+     */
+    @Test
+    void shouldEvictEldestEntryWhenFull() {
+        // GIVEN
+        VerifiedTokenCache underTest = new VerifiedTokenCache(2);
+        Instant expiration = Instant.now().plus(1, ChronoUnit.DAYS);
+
+        // WHEN
+        underTest.put("token1", createClaims("subject1", expiration));
+        underTest.put("token2", createClaims("subject2", expiration));
+        underTest.put("token3", createClaims("subject3", expiration));
+
+        // THEN
+        assertEquals(2, underTest.size());
+        assertTrue(underTest.get("token1").isEmpty());
+        assertTrue(underTest.get("token3").isPresent());
+    }
+
+    /**
+     * Tests that a cache with a size of zero stores nothing.
+     */
+    @Test
+    void shouldNotCacheWhenDisabled() {
+        // GIVEN
+        VerifiedTokenCache underTest = new VerifiedTokenCache(0);
+
+        // WHEN
+        underTest.put("token", createClaims("subject", Instant.now().plus(1, ChronoUnit.DAYS)));
+
+        // THEN
+        assertTrue(underTest.get("token").isEmpty());
+    }
+
+    private Claims createClaims(String subject, Instant expiration) {
+        return Jwts.claims()
+                .setSubject(subject)
+                .setExpiration(Date.from(expiration));
+    }
+}